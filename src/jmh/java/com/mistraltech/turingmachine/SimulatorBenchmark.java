@@ -0,0 +1,107 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures whole computations of the bundled machines at increasing input sizes. Besides computations per second, the
+ * {@code steps} counter reports machine steps per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimulatorBenchmark {
+
+  @Param({"cons0", "head", "unary_mult"})
+  private String machine;
+
+  @Param({"16", "128", "1024"})
+  private int inputSize;
+
+  @Param({"reference", "compiled", "bytecode", "chain", "macro"})
+  private String simulator;
+
+  private TuringMachineSimulator turingMachineSimulator;
+  private Tape input;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    TuringMachine tm = new MachineLoader().read("classpath:" + machine + ".tm");
+
+    switch (simulator) {
+      case "reference":
+        turingMachineSimulator = new TuringMachineSimulatorImpl(tm);
+        break;
+      case "compiled":
+        turingMachineSimulator = new CompiledTuringMachineSimulator(tm);
+        break;
+      case "bytecode":
+        turingMachineSimulator = new BytecodeTuringMachineSimulator(tm);
+        break;
+      case "chain":
+        turingMachineSimulator = new ChainStepSimulator(tm);
+        break;
+      case "macro":
+        turingMachineSimulator = new MacroMachineSimulator(tm, MacroMachineSimulator.MAX_BLOCK_SIZE);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown simulator: " + simulator);
+    }
+
+    input = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(inputString()));
+  }
+
+  private String inputString() {
+    switch (machine) {
+      case "cons0":
+        return "01".repeat(inputSize / 2);
+      case "unary_mult":
+        // Multiply by two so that the step count grows quadratically rather than cubically with the input size
+        return "1".repeat(inputSize) + "x11";
+      default:
+        return "1".repeat(inputSize);
+    }
+  }
+
+  @Benchmark
+  public Output compute(StepCounter counter) {
+    Output output = turingMachineSimulator.compute(input, Limits.unlimited());
+    counter.steps += output.getSteps();
+    return output;
+  }
+
+  /**
+   * Accumulates the steps taken by each computation, which JMH reports as a rate.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class StepCounter {
+
+    public long steps;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      steps = 0;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.mistraltech.turingmachine.model;
+
+import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures action lookup in a ProgramImpl with an action for two of the three symbols in every state, cycling through
+ * every (state, symbol) pair so that a third of the lookups find no action.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProgramImplBenchmark {
+
+  private static final char[] SYMBOLS = {'0', '1', '^'};
+
+  @Param({"4", "64", "1024"})
+  private int stateCount;
+
+  private Program program;
+  private IntState[] states;
+  private CharSymbol[] symbols;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    IntStateCharSymbolActionFactory actionFactory = new IntStateCharSymbolActionFactory();
+    Set<Action> actions = new HashSet<>();
+
+    for (int state = 0; state < stateCount; state++) {
+      actions.add(actionFactory.createAction(state, '0', (state + 1) % stateCount, '1', 'R'));
+      actions.add(actionFactory.createAction(state, '1', (state + 2) % stateCount, '0', 'L'));
+    }
+
+    program = new ProgramImpl(actions);
+    states = new IntState[stateCount * SYMBOLS.length];
+    symbols = new CharSymbol[stateCount * SYMBOLS.length];
+
+    for (int i = 0; i < states.length; i++) {
+      states[i] = IntState.getState(i / SYMBOLS.length);
+      symbols[i] = CharSymbol.getSymbol(SYMBOLS[i % SYMBOLS.length]);
+    }
+  }
+
+  @Benchmark
+  public Optional<Action> apply() {
+    int i = next;
+    next = i + 1 == states.length ? 0 : i + 1;
+    return program.apply(states[i], symbols[i]);
+  }
+}
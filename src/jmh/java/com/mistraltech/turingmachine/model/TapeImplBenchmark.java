@@ -0,0 +1,65 @@
+package com.mistraltech.turingmachine.model;
+
+import com.mistraltech.utils.CharSymbolUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures single tape updates and output extraction on a TapeImpl with the head in the middle of its content.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TapeImplBenchmark {
+
+  private static final Symbol SYMBOL_1 = CharSymbol.getSymbol('1');
+
+  @Param({"16", "256", "4096"})
+  private int tapeSize;
+
+  private TapeImpl tape;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    tape = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("10".repeat(tapeSize / 2)));
+
+    for (int i = 0; i < tapeSize / 2; i++) {
+      tape = tape.apply(tape.getCurrentSymbol(), Move.RIGHT);
+    }
+  }
+
+  @Benchmark
+  public TapeImpl applyLeft() {
+    return tape.apply(SYMBOL_1, Move.LEFT);
+  }
+
+  @Benchmark
+  public TapeImpl applyRight() {
+    return tape.apply(SYMBOL_1, Move.RIGHT);
+  }
+
+  @Benchmark
+  public TapeImpl applyNone() {
+    return tape.apply(SYMBOL_1, Move.NONE);
+  }
+
+  @Benchmark
+  public List<Symbol> getOutputString() {
+    return tape.getOutputString();
+  }
+}
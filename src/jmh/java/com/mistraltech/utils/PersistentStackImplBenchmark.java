@@ -0,0 +1,62 @@
+package com.mistraltech.utils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the PersistentStackImpl operations used by TapeImpl on stacks of increasing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistentStackImplBenchmark {
+
+  private static final Integer ITEM = 1;
+
+  @Param({"16", "256", "1024"})
+  private int stackSize;
+
+  private PersistentStackImpl<Integer> stack;
+  private PersistentStackImpl<Integer> other;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    stack = PersistentStackImpl.from(Collections.nCopies(stackSize, ITEM));
+    other = PersistentStackImpl.from(Collections.nCopies(stackSize, ITEM));
+  }
+
+  @Benchmark
+  public PersistentStack<Integer> push() {
+    return stack.push(ITEM);
+  }
+
+  @Benchmark
+  public PersistentStack<Integer> pad() {
+    return stack.pad(ITEM, stackSize * 2);
+  }
+
+  @Benchmark
+  public PersistentStack<Integer> truncate() {
+    return stack.truncate(stackSize / 2);
+  }
+
+  @Benchmark
+  public PersistentStack<Integer> pushAll() {
+    return stack.pushAll(other);
+  }
+}
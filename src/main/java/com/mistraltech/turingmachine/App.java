@@ -1,55 +1,157 @@
 package com.mistraltech.turingmachine;
 
+import com.mistraltech.turingmachine.model.ArrayTape;
 import com.mistraltech.turingmachine.model.CharSymbol;
 import com.mistraltech.turingmachine.model.Tape;
-import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TransitionTable;
 import com.mistraltech.turingmachine.model.TuringMachine;
 import com.mistraltech.utils.CharSymbolUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 public class App {
 
   private final String programFilePathName;
   private final String input;
+  private final Path inputFile;
+  private final Path checkpointDirectory;
+  private final boolean resume;
   private final MachineLoader machineLoader = new MachineLoader();
 
   public App(String programFilePathName, String input) {
+    this(programFilePathName, input, null, false);
+  }
+
+  /**
+   * Construct an application that saves checkpoints of a long computation, which runs without a step limit.
+   *
+   * @param programFilePathName the program file
+   * @param input the input tape
+   * @param checkpointDirectory the directory to save checkpoints to, or null for none
+   * @param resume whether to continue from the latest checkpoint of this computation in checkpointDirectory, if there
+   *     is one
+   */
+  public App(String programFilePathName, String input, Path checkpointDirectory, boolean resume) {
+    this(programFilePathName, input, null, checkpointDirectory, resume);
+  }
+
+  /**
+   * Construct an application that reads its input tape from a file, which is mapped rather than loaded into memory.
+   *
+   * @param programFilePathName the program file
+   * @param inputFile the input tape file
+   * @param checkpointDirectory the directory to save checkpoints to, or null for none
+   * @param resume whether to continue from the latest checkpoint of this computation in checkpointDirectory, if there
+   *     is one
+   */
+  public App(String programFilePathName, Path inputFile, Path checkpointDirectory, boolean resume) {
+    this(programFilePathName, null, inputFile, checkpointDirectory, resume);
+  }
+
+  private App(String programFilePathName, String input, Path inputFile, Path checkpointDirectory, boolean resume) {
     this.programFilePathName = programFilePathName;
     this.input = input;
+    this.inputFile = inputFile;
+    this.checkpointDirectory = checkpointDirectory;
+    this.resume = resume;
   }
 
   /**
-   * Usage: App program_file tape_file.
+   * Usage: App [--checkpoint-dir dir [--resume]] program_file (input | --input-file tape_file).
    *
    * @param args program arguments
    */
   public static void main(String[] args) {
-    if (args.length != 2) {
+    List<String> positional = new ArrayList<>();
+    Path inputFile = null;
+    Path checkpointDirectory = null;
+    boolean resume = false;
+
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--input-file") && i + 1 < args.length) {
+        inputFile = Paths.get(args[++i]);
+      } else if (args[i].equals("--checkpoint-dir") && i + 1 < args.length) {
+        checkpointDirectory = Paths.get(args[++i]);
+      } else if (args[i].equals("--resume")) {
+        resume = true;
+      } else {
+        positional.add(args[i]);
+      }
+    }
+
+    if (positional.size() != (inputFile == null ? 2 : 1) || (resume && checkpointDirectory == null)) {
       usage();
       System.exit(1);
     }
 
-    new App(args[0], args[1]).run();
+    App app = inputFile == null
+        ? new App(positional.get(0), positional.get(1), checkpointDirectory, resume)
+        : new App(positional.get(0), inputFile, checkpointDirectory, resume);
+    app.run();
   }
 
   private static void usage() {
-    System.out.println("Usage: App <program_file> <input>");
+    System.out.println(
+        "Usage: App [--checkpoint-dir <dir> [--resume]] <program_file> (<input> | --input-file <tape_file>)");
   }
 
   /**
    * Run the application.
    */
   public void run() {
-    Tape inputTape = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input));
+    Tape inputTape = inputFile == null
+        ? ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input))
+        : new TapeReader().read(inputFile);
 
     System.out.println("Input:");
-    System.out.println(input);
+    System.out.println(inputFile == null ? input : inputFile);
     System.out.println();
 
     TuringMachine tm = machineLoader.read(programFilePathName);
 
-    Output output = new TuringMachineSimulatorImpl(tm).compute(inputTape);
+    Output output = checkpointDirectory == null
+        ? new TuringMachineSimulatorImpl(tm).compute(inputTape)
+        : computeWithCheckpoints(tm, inputTape);
 
     System.out.println("Output:");
-    System.out.println(CharSymbolUtils.symbolListToString(output.getOutputString()));
+    if (output.succeeded()) {
+      writeOutput(output);
+    } else {
+      System.out.println(output);
+    }
+  }
+
+  private static void writeOutput(Output output) {
+    try {
+      output.writeOutputTo(System.out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    System.out.println();
+  }
+
+  private Output computeWithCheckpoints(TuringMachine tm, Tape inputTape) {
+    TransitionTable table = TransitionTable.compile(tm);
+    CheckpointStore store = CheckpointStore.in(checkpointDirectory);
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(table).withCheckpoints(store);
+    Optional<Checkpoint> checkpoint = resume ? store.latest(table, inputTape) : Optional.empty();
+
+    if (checkpoint.isPresent()) {
+      System.out.println("Resuming from step " + checkpoint.get().getSteps());
+      System.out.println();
+      return simulator.resume(checkpoint.get(), Limits.unlimited());
+    }
+
+    if (resume) {
+      System.out.println("No checkpoint of this program and input found, starting from the beginning");
+      System.out.println();
+    }
+
+    return simulator.compute(inputTape, Limits.unlimited());
   }
 }
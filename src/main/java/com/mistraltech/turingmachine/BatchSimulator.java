@@ -0,0 +1,150 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.Preconditions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs one simulator over many input tapes in parallel on a {@link ForkJoinPool}. The inputs are split into ranges
+ * that idle workers steal from each other, and the outputs are returned in input order. The simulator is shared by all
+ * workers, so it must be safe to use from several threads at once, as the simulators in this package are. Inputs are
+ * passed to the simulator unchanged, so mutable tapes must not be shared between inputs.
+ *
+ * <p>With {@link #withStopOnFirstSuccess()}, inputs after the first successful one are skipped: the outputs end at
+ * the first input, in input order, for which the machine halts and succeeds. BatchSimulator is immutable; the
+ * {@code with} methods return modified copies.
+ */
+public final class BatchSimulator {
+
+  private static final int TASKS_PER_THREAD = 8;
+
+  private final TuringMachineSimulator simulator;
+  private final Limits limits;
+  private final ForkJoinPool pool;
+  private final boolean stopOnFirstSuccess;
+
+  /**
+   * Construct a batch simulator that compiles a machine once and shares it between the workers.
+   *
+   * @param turingMachine the machine to run
+   * @param limits the limits for each input
+   */
+  public BatchSimulator(TuringMachine turingMachine, Limits limits) {
+    this(new CompiledTuringMachineSimulator(turingMachine), limits);
+  }
+
+  /**
+   * Construct a batch simulator that runs each input within the given limits on the common fork-join pool.
+   *
+   * @param simulator the simulator to run each input with
+   * @param limits the limits for each input
+   */
+  public BatchSimulator(TuringMachineSimulator simulator, Limits limits) {
+    this(simulator, limits, ForkJoinPool.commonPool(), false);
+  }
+
+  private BatchSimulator(TuringMachineSimulator simulator, Limits limits, ForkJoinPool pool,
+      boolean stopOnFirstSuccess) {
+    Preconditions.checkArgument(simulator != null, "simulator must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    this.simulator = simulator;
+    this.limits = limits;
+    this.pool = pool;
+    this.stopOnFirstSuccess = stopOnFirstSuccess;
+  }
+
+  public BatchSimulator withPool(ForkJoinPool pool) {
+    Preconditions.checkArgument(pool != null, "pool must not be null");
+
+    return new BatchSimulator(simulator, limits, pool, stopOnFirstSuccess);
+  }
+
+  public BatchSimulator withStopOnFirstSuccess() {
+    return new BatchSimulator(simulator, limits, pool, true);
+  }
+
+  /**
+   * Compute the outputs for a list of input tapes.
+   *
+   * @param inputs the input tapes
+   * @return the outputs in input order, ending at the first success if stopping on first success
+   */
+  public List<Output> computeAll(List<? extends Tape> inputs) {
+    Preconditions.checkArgument(inputs != null, "inputs must not be null");
+    Preconditions.checkArgument(inputs.stream().allMatch(input -> input != null), "inputs must not contain null");
+
+    Output[] outputs = new Output[inputs.size()];
+    AtomicInteger firstSuccess = new AtomicInteger(inputs.size());
+    int threshold = Math.max(1, inputs.size() / (pool.getParallelism() * TASKS_PER_THREAD));
+
+    pool.invoke(new ComputeRange(inputs, outputs, firstSuccess, threshold, 0, inputs.size()));
+
+    int end = stopOnFirstSuccess ? Math.min(firstSuccess.get() + 1, inputs.size()) : inputs.size();
+    return List.of(Arrays.copyOf(outputs, end));
+  }
+
+  /**
+   * Compute the outputs for a stream of input tapes. The stream is collected before computing starts.
+   *
+   * @param inputs the input tapes
+   * @return the outputs in encounter order, ending at the first success if stopping on first success
+   */
+  public List<Output> computeAll(Stream<? extends Tape> inputs) {
+    Preconditions.checkArgument(inputs != null, "inputs must not be null");
+
+    return computeAll(inputs.collect(Collectors.toList()));
+  }
+
+  /**
+   * Computes the outputs for a range of inputs, splitting it in half until it is no larger than the threshold.
+   */
+  private final class ComputeRange extends RecursiveAction {
+
+    private final List<? extends Tape> inputs;
+    private final Output[] outputs;
+    private final AtomicInteger firstSuccess;
+    private final int threshold;
+    private final int from;
+    private final int to;
+
+    private ComputeRange(List<? extends Tape> inputs, Output[] outputs, AtomicInteger firstSuccess, int threshold,
+        int from, int to) {
+      this.inputs = inputs;
+      this.outputs = outputs;
+      this.firstSuccess = firstSuccess;
+      this.threshold = threshold;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > threshold) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new ComputeRange(inputs, outputs, firstSuccess, threshold, from, middle),
+            new ComputeRange(inputs, outputs, firstSuccess, threshold, middle, to));
+        return;
+      }
+
+      for (int i = from; i < to; i++) {
+        if (stopOnFirstSuccess && i > firstSuccess.get()) {
+          return;
+        }
+
+        outputs[i] = simulator.compute(inputs.get(i), limits);
+
+        if (stopOnFirstSuccess && outputs[i].succeeded()) {
+          firstSuccess.accumulateAndGet(i, Math::min);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.State;
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.Preconditions;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes compiled programs in a binary form that can be loaded without parsing: a header, an alphabet table
+ * of state numbers and symbol characters, and the dense next state, new symbol and move arrays of a
+ * {@link TransitionTable}, followed by a checksum. Loading maps the file into memory and copies each array out in
+ * bulk, so no objects are created per transition. As with the text format, states must be IntStates and symbols must
+ * be CharSymbols.
+ *
+ * <pre>
+ *   int    magic "TMPB"
+ *   short  format version
+ *   int    state count, int symbol count, int initial state index
+ *   int[]  state values, byte[] final state flags, char[] symbols (blank first)
+ *   int[]  next states, byte[] new symbols, byte[] moves, by slot
+ *   long   CRC32 of everything before it
+ * </pre>
+ */
+public final class BinaryProgramFormat {
+
+  public static final String FILE_EXTENSION = ".tmb";
+
+  private static final int MAGIC = 0x544D5042;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_SIZE = 4 + 2 + 4 + 4 + 4;
+
+  private BinaryProgramFormat() {
+  }
+
+  /**
+   * Write a compiled program to a file, replacing any existing file.
+   *
+   * @param table the compiled program
+   * @param path the file to write
+   * @throws ProgramLoadException if the program uses states or symbols that cannot be written, or the file could not
+   *     be written
+   */
+  public static void write(TransitionTable table, Path path) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+    Preconditions.checkArgument(path != null, "path must not be null");
+
+    int stateCount = table.getStateCount();
+    int symbolCount = table.getSymbolCount();
+    int slots = stateCount * symbolCount;
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 5 * stateCount + 2 * symbolCount + 6 * slots + 8);
+
+    buffer.putInt(MAGIC).putShort((short) FORMAT_VERSION)
+        .putInt(stateCount).putInt(symbolCount).putInt(table.getInitialState());
+
+    for (int state = 0; state < stateCount; state++) {
+      if (!(table.getState(state) instanceof IntState)) {
+        throw new ProgramLoadException("Only IntStates can be written: " + table.getState(state));
+      }
+      buffer.putInt(((IntState) table.getState(state)).getValue());
+    }
+    for (int state = 0; state < stateCount; state++) {
+      buffer.put((byte) (table.isFinalState(state) ? 1 : 0));
+    }
+    for (int symbol = 0; symbol < symbolCount; symbol++) {
+      if (!(table.getSymbol(symbol) instanceof CharSymbol)) {
+        throw new ProgramLoadException("Only CharSymbols can be written: " + table.getSymbol(symbol));
+      }
+      buffer.putChar(table.getSymbol(symbol).toString().charAt(0));
+    }
+
+    buffer.asIntBuffer().put(table.getNextStates());
+    buffer.position(buffer.position() + 4 * slots);
+    buffer.put(table.getNewSymbols());
+    buffer.put(table.getMoves());
+
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), 0, buffer.position());
+    buffer.putLong(crc.getValue());
+    buffer.flip();
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new ProgramLoadException("Failed to write " + path, e);
+    }
+  }
+
+  /**
+   * Load a compiled program from a file.
+   *
+   * @param path the file to read
+   * @throws ProgramLoadException if the file could not be read or is not a valid compiled program
+   */
+  public static TransitionTable read(Path path) {
+    Preconditions.checkArgument(path != null, "path must not be null");
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw new ProgramLoadException("Load failed", e);
+    }
+  }
+
+  private static TransitionTable read(ByteBuffer buffer) {
+    try {
+      if (buffer.limit() < HEADER_SIZE + 8 || buffer.getInt() != MAGIC || buffer.getShort() != FORMAT_VERSION) {
+        throw new ProgramLoadException("Not a compiled program");
+      }
+
+      CRC32 crc = new CRC32();
+      crc.update(buffer.duplicate().position(0).limit(buffer.limit() - 8));
+      if (crc.getValue() != buffer.getLong(buffer.limit() - 8)) {
+        throw new ProgramLoadException("Compiled program is corrupt");
+      }
+
+      final int stateCount = buffer.getInt();
+      final int symbolCount = buffer.getInt();
+      final int initialState = buffer.getInt();
+
+      List<State> states = new ArrayList<>(stateCount);
+      for (int state = 0; state < stateCount; state++) {
+        states.add(IntState.getState(buffer.getInt()));
+      }
+      boolean[] finalStates = new boolean[stateCount];
+      for (int state = 0; state < stateCount; state++) {
+        finalStates[state] = buffer.get() != 0;
+      }
+      List<Symbol> symbols = new ArrayList<>(symbolCount);
+      for (int symbol = 0; symbol < symbolCount; symbol++) {
+        symbols.add(CharSymbol.getSymbol(buffer.getChar()));
+      }
+
+      int slots = Math.multiplyExact(stateCount, symbolCount);
+      int[] nextStates = new int[slots];
+      buffer.asIntBuffer().get(nextStates);
+      buffer.position(buffer.position() + 4 * slots);
+      byte[] newSymbols = new byte[slots];
+      buffer.get(newSymbols);
+      byte[] moves = new byte[slots];
+      buffer.get(moves);
+
+      return TransitionTable.of(states, symbols, initialState, finalStates, nextStates, newSymbols, moves);
+    } catch (BufferUnderflowException | IllegalArgumentException | ArithmeticException e) {
+      throw new ProgramLoadException("Invalid compiled program: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Return whether a file starts with the magic number of the binary format.
+   *
+   * @param path the file to check
+   */
+  static boolean isBinaryProgram(Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer magic = ByteBuffer.allocate(4);
+      while (magic.hasRemaining() && channel.read(magic) >= 0) {
+        // Keep reading until the magic number is complete or the file ends
+      }
+      return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+    } catch (IOException e) {
+      throw new ProgramLoadException("Load failed", e);
+    }
+  }
+}
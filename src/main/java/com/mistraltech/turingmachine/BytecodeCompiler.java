@@ -0,0 +1,440 @@
+package com.mistraltech.turingmachine;
+
+import static com.mistraltech.utils.Preconditions.checkState;
+
+import com.mistraltech.turingmachine.model.TransitionTable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles a {@link TransitionTable} into a class implementing {@link BytecodeProgram}. Each state becomes a block of
+ * code that switches on the symbol under the head, and each action writes its constant symbol, moves the head by its
+ * constant offset and jumps straight to the block of its next state, so the state is held in the program counter
+ * rather than in a variable.
+ *
+ * <p>The class file is written directly, so no bytecode library is needed. It uses version 49 (Java 5) so that the
+ * JVM infers stack map frames itself. The class is defined as a hidden class when the runtime supports them (Java 15
+ * and later), so it can be unloaded once unused, and otherwise as an ordinary class in this package.
+ */
+final class BytecodeCompiler {
+
+  /**
+   * HotSpot does not JIT compile methods with more bytecode than this, and an interpreted method would be slower than
+   * the table driven simulator.
+   */
+  static final int MAX_CODE_SIZE = 8000;
+
+  private static final String PACKAGE = BytecodeCompiler.class.getPackageName().replace('.', '/');
+  private static final String INTERFACE = BytecodeProgram.class.getName().replace('.', '/');
+  private static final AtomicLong CLASS_COUNT = new AtomicLong();
+
+  private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+  private static final int CLASS_FILE_MAJOR_VERSION = 49;
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_FINAL = 0x0010;
+  private static final int ACC_SUPER = 0x0020;
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_METHODREF = 10;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+  // Local variable slots of the run method
+  private static final int CELLS = 1;
+  private static final int REGISTERS = 2;
+  private static final int MAX_STEPS = 3;
+  private static final int STATE = 5;
+  private static final int HEAD = 6;
+  private static final int STEPS = 7;
+  private static final int MAX_LOCALS = 9;
+  private static final int MAX_STACK = 4;
+
+  private BytecodeCompiler() {
+  }
+
+  /**
+   * Compile a table into a new class and return an instance of it, or an empty optional if the program is too large to
+   * benefit from compilation.
+   *
+   * @param table the compiled program
+   */
+  static Optional<BytecodeProgram> compile(TransitionTable table) {
+    CodeBuilder code = generateRunMethod(table);
+
+    if (code.length > MAX_CODE_SIZE) {
+      return Optional.empty();
+    }
+
+    String className = PACKAGE + "/GeneratedProgram" + CLASS_COUNT.incrementAndGet();
+
+    try {
+      Class<?> generated = defineClass(writeClassFile(className, code.toByteArray()));
+      return Optional.of((BytecodeProgram) generated.getConstructor().newInstance());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to define generated program class", e);
+    }
+  }
+
+  private static Class<?> defineClass(byte[] classFile) throws ReflectiveOperationException {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    Method defineHiddenClass;
+    Object noOptions;
+    try {
+      Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+      noOptions = Array.newInstance(classOption, 0);
+      defineHiddenClass = MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class,
+          noOptions.getClass());
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      return lookup.defineClass(classFile);
+    }
+
+    try {
+      return ((MethodHandles.Lookup) defineHiddenClass.invoke(lookup, classFile, true, noOptions)).lookupClass();
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException("Failed to define hidden class", e.getCause());
+    }
+  }
+
+  /**
+   * Generate the code of the run method. The layout is an entry switch on the initial state, then for each state a
+   * block that checks the step budget and switches on the symbol, followed by the actions of that state and an exit
+   * stub that records the state before returning.
+   */
+  private static CodeBuilder generateRunMethod(TransitionTable table) {
+    int stateCount = table.getStateCount();
+    int symbolCount = table.getSymbolCount();
+    int[] nextStates = table.getNextStates();
+    byte[] newSymbols = table.getNewSymbols();
+    byte[] moves = table.getMoves();
+
+    CodeBuilder code = new CodeBuilder();
+    int[] stateLabels = new int[stateCount];
+    int[] exitLabels = new int[stateCount];
+    for (int state = 0; state < stateCount; state++) {
+      exitLabels[state] = code.newLabel();
+      stateLabels[state] = table.isFinalState(state) ? exitLabels[state] : code.newLabel();
+    }
+    int exit = code.newLabel();
+
+    // head = registers[HEAD]; steps = 0; switch (registers[STATE])
+    code.op(Op.ALOAD).u1(REGISTERS).op(Op.ICONST_1).op(Op.IALOAD).op(Op.ISTORE).u1(HEAD);
+    code.op(Op.LCONST_0).op(Op.LSTORE).u1(STEPS);
+    code.op(Op.ALOAD).u1(REGISTERS).op(Op.ICONST_0).op(Op.IALOAD);
+    int badState = code.newLabel();
+    code.tableSwitch(stateLabels, badState);
+
+    for (int state = 0; state < stateCount; state++) {
+      if (!table.isFinalState(state)) {
+        code.mark(stateLabels[state]);
+
+        // if (steps == maxSteps) exit
+        code.op(Op.LLOAD).u1(STEPS).op(Op.LLOAD).u1(MAX_STEPS).op(Op.LCMP).jump(Op.IFEQ, exitLabels[state]);
+
+        // switch (cells[head] & 0xFF)
+        code.op(Op.ALOAD).u1(CELLS).op(Op.ILOAD).u1(HEAD).op(Op.BALOAD).op(Op.SIPUSH).u2(0xFF).op(Op.IAND);
+
+        int[] actionLabels = new int[symbolCount];
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+          int slot = table.slot(state, symbol);
+          actionLabels[symbol] = nextStates[slot] < 0 ? exitLabels[state] : code.newLabel();
+        }
+        code.tableSwitch(actionLabels, exitLabels[state]);
+
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+          int slot = table.slot(state, symbol);
+          if (nextStates[slot] >= 0) {
+            code.mark(actionLabels[symbol]);
+            generateAction(code, newSymbols[slot], moves[slot], stateLabels[nextStates[slot]],
+                exitLabels[nextStates[slot]]);
+          }
+        }
+      }
+
+      // state = s; goto exit
+      code.mark(exitLabels[state]);
+      code.op(Op.SIPUSH).u2(state).op(Op.ISTORE).u1(STATE).jump(Op.GOTO, exit);
+    }
+
+    // registers[STATE] = state; registers[HEAD] = head; return steps
+    code.mark(exit);
+    code.op(Op.ALOAD).u1(REGISTERS).op(Op.ICONST_0).op(Op.ILOAD).u1(STATE).op(Op.IASTORE);
+    code.op(Op.ALOAD).u1(REGISTERS).op(Op.ICONST_1).op(Op.ILOAD).u1(HEAD).op(Op.IASTORE);
+    code.op(Op.LLOAD).u1(STEPS).op(Op.LRETURN);
+
+    code.mark(badState);
+    code.op(Op.LCONST_0).op(Op.LRETURN);
+
+    return code;
+  }
+
+  private static void generateAction(CodeBuilder code, byte newSymbol, byte move, int nextState, int nextExit) {
+    // cells[head] = newSymbol; head += move; steps++
+    code.op(Op.ALOAD).u1(CELLS).op(Op.ILOAD).u1(HEAD).op(Op.BIPUSH).u1(newSymbol).op(Op.BASTORE);
+    if (move != 0) {
+      code.op(Op.IINC).u1(HEAD).u1(move);
+    }
+    code.op(Op.LLOAD).u1(STEPS).op(Op.LCONST_1).op(Op.LADD).op(Op.LSTORE).u1(STEPS);
+
+    // Leave the method with the next state if the head has moved off the array
+    if (move < 0) {
+      code.op(Op.ILOAD).u1(HEAD).jump(Op.IFLT, nextExit);
+    } else if (move > 0) {
+      code.op(Op.ILOAD).u1(HEAD).op(Op.ALOAD).u1(CELLS).op(Op.ARRAYLENGTH).jump(Op.IF_ICMPGE, nextExit);
+    }
+
+    code.jump(Op.GOTO, nextState);
+  }
+
+  private static byte[] writeClassFile(String className, byte[] runCode) {
+    ConstantPool pool = new ConstantPool();
+    int thisClass = pool.classRef(className);
+    int superClass = pool.classRef("java/lang/Object");
+    int interfaceClass = pool.classRef(INTERFACE);
+    int objectInit = pool.methodRef(superClass, "<init>", "()V");
+    int initName = pool.utf8("<init>");
+    int initDescriptor = pool.utf8("()V");
+    int runName = pool.utf8("run");
+    int runDescriptor = pool.utf8("([B[IJ)J");
+    int codeAttribute = pool.utf8("Code");
+
+    CodeBuilder init = new CodeBuilder();
+    init.op(Op.ALOAD_0).op(Op.INVOKESPECIAL).u2(objectInit).op(Op.RETURN);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(CLASS_FILE_MAGIC);
+      out.writeShort(0);
+      out.writeShort(CLASS_FILE_MAJOR_VERSION);
+      pool.write(out);
+      out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+      out.writeShort(thisClass);
+      out.writeShort(superClass);
+      out.writeShort(1);
+      out.writeShort(interfaceClass);
+      out.writeShort(0);
+      out.writeShort(2);
+      writeMethod(out, initName, initDescriptor, codeAttribute, 1, 1, init.toByteArray());
+      writeMethod(out, runName, runDescriptor, codeAttribute, MAX_STACK, MAX_LOCALS, runCode);
+      out.writeShort(0);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeAttribute, int maxStack,
+      int maxLocals, byte[] code) throws IOException {
+    out.writeShort(ACC_PUBLIC);
+    out.writeShort(name);
+    out.writeShort(descriptor);
+    out.writeShort(1);
+    out.writeShort(codeAttribute);
+    out.writeInt(12 + code.length);
+    out.writeShort(maxStack);
+    out.writeShort(maxLocals);
+    out.writeInt(code.length);
+    out.write(code);
+    out.writeShort(0);
+    out.writeShort(0);
+  }
+
+  /**
+   * The JVM opcodes used by the generated code.
+   */
+  private enum Op {
+    ICONST_0(0x03), ICONST_1(0x04), LCONST_0(0x09), LCONST_1(0x0a), BIPUSH(0x10), SIPUSH(0x11),
+    ILOAD(0x15), LLOAD(0x16), ALOAD(0x19), ALOAD_0(0x2a), IALOAD(0x2e), BALOAD(0x33),
+    ISTORE(0x36), LSTORE(0x37), IASTORE(0x4f), BASTORE(0x54),
+    LADD(0x61), IAND(0x7e), IINC(0x84), LCMP(0x94),
+    IFEQ(0x99), IFLT(0x9b), IF_ICMPGE(0xa2), GOTO(0xa7), TABLESWITCH(0xaa),
+    LRETURN(0xad), RETURN(0xb1), ARRAYLENGTH(0xbe), INVOKESPECIAL(0xb7);
+
+    private final int code;
+
+    Op(int code) {
+      this.code = code;
+    }
+  }
+
+  /**
+   * Assembles a method body, resolving branch targets once all labels have been placed.
+   */
+  private static final class CodeBuilder {
+
+    private byte[] bytes = new byte[256];
+    private int length;
+    private final List<Integer> labelPositions = new ArrayList<>();
+    private final List<Fixup> fixups = new ArrayList<>();
+
+    private CodeBuilder op(Op op) {
+      return u1(op.code);
+    }
+
+    private CodeBuilder u1(int value) {
+      if (length == bytes.length) {
+        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+      }
+      bytes[length++] = (byte) value;
+      return this;
+    }
+
+    private CodeBuilder u2(int value) {
+      return u1(value >> 8).u1(value);
+    }
+
+    private CodeBuilder u4(int value) {
+      return u2(value >> 16).u2(value);
+    }
+
+    private int newLabel() {
+      labelPositions.add(-1);
+      return labelPositions.size() - 1;
+    }
+
+    private void mark(int label) {
+      labelPositions.set(label, length);
+    }
+
+    private CodeBuilder jump(Op op, int label) {
+      int instruction = length;
+      op(op);
+      fixups.add(new Fixup(instruction, length, label, false));
+      return u2(0);
+    }
+
+    private void tableSwitch(int[] labels, int defaultLabel) {
+      int instruction = length;
+      op(Op.TABLESWITCH);
+      while (length % 4 != 0) {
+        u1(0);
+      }
+
+      fixups.add(new Fixup(instruction, length, defaultLabel, true));
+      u4(0);
+      u4(0);
+      u4(labels.length - 1);
+      for (int label : labels) {
+        fixups.add(new Fixup(instruction, length, label, true));
+        u4(0);
+      }
+    }
+
+    private byte[] toByteArray() {
+      for (Fixup fixup : fixups) {
+        int offset = labelPositions.get(fixup.label) - fixup.instruction;
+
+        if (fixup.wide) {
+          bytes[fixup.position] = (byte) (offset >> 24);
+          bytes[fixup.position + 1] = (byte) (offset >> 16);
+          bytes[fixup.position + 2] = (byte) (offset >> 8);
+          bytes[fixup.position + 3] = (byte) offset;
+        } else {
+          checkState(offset == (short) offset, "Branch offset %d out of range", offset);
+          bytes[fixup.position] = (byte) (offset >> 8);
+          bytes[fixup.position + 1] = (byte) offset;
+        }
+      }
+
+      return Arrays.copyOf(bytes, length);
+    }
+  }
+
+  /**
+   * A branch offset to fill in: the position of the offset, the instruction it is relative to and its target label.
+   */
+  private static final class Fixup {
+
+    private final int instruction;
+    private final int position;
+    private final int label;
+    private final boolean wide;
+
+    private Fixup(int instruction, int position, int label, boolean wide) {
+      this.instruction = instruction;
+      this.position = position;
+      this.label = label;
+      this.wide = wide;
+    }
+  }
+
+  /**
+   * The constant pool of a class file, sharing identical entries.
+   */
+  private static final class ConstantPool {
+
+    private final Map<String, Integer> indices = new LinkedHashMap<>();
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    private int utf8(String value) {
+      return add("U" + value, () -> {
+        out.writeByte(CONSTANT_UTF8);
+        out.writeUTF(value);
+      });
+    }
+
+    private int classRef(String name) {
+      int nameIndex = utf8(name);
+      return add("C" + name, () -> {
+        out.writeByte(CONSTANT_CLASS);
+        out.writeShort(nameIndex);
+      });
+    }
+
+    private int methodRef(int classIndex, String name, String descriptor) {
+      int nameIndex = utf8(name);
+      int descriptorIndex = utf8(descriptor);
+      int nameAndType = add("N" + name + descriptor, () -> {
+        out.writeByte(CONSTANT_NAME_AND_TYPE);
+        out.writeShort(nameIndex);
+        out.writeShort(descriptorIndex);
+      });
+      return add("M" + classIndex + name + descriptor, () -> {
+        out.writeByte(CONSTANT_METHODREF);
+        out.writeShort(classIndex);
+        out.writeShort(nameAndType);
+      });
+    }
+
+    private int add(String key, Entry entry) {
+      Integer index = indices.get(key);
+
+      if (index == null) {
+        index = indices.size() + 1;
+        indices.put(key, index);
+        try {
+          entry.write();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      return index;
+    }
+
+    private void write(DataOutputStream classFile) throws IOException {
+      classFile.writeShort(indices.size() + 1);
+      classFile.write(bytes.toByteArray());
+    }
+
+    private interface Entry {
+
+      void write() throws IOException;
+    }
+  }
+}
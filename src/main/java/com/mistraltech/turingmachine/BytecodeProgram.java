@@ -0,0 +1,22 @@
+package com.mistraltech.turingmachine;
+
+/**
+ * A machine program compiled to JVM bytecode by {@link BytecodeCompiler}. Implementations are generated at runtime.
+ */
+interface BytecodeProgram {
+
+  int STATE = 0;
+  int HEAD = 1;
+
+  /**
+   * Run the machine on a tape of symbol indices until it reaches a configuration with no action, takes maxSteps steps
+   * or moves the head off either end of the array. The state and head position are read from and written back to
+   * registers, and the head may be left at -1 or cells.length for the caller to grow the array.
+   *
+   * @param cells the tape, as symbol indices of the compiled table
+   * @param registers the state at index {@link #STATE} and the head position at index {@link #HEAD}
+   * @param maxSteps the maximum number of steps to take
+   * @return the number of steps taken
+   */
+  long run(byte[] cells, int[] registers, long maxSteps);
+}
@@ -0,0 +1,128 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.Preconditions;
+import java.util.Optional;
+
+/**
+ * A TuringMachineSimulator that compiles the machine program into a JVM class at construction time, with one block of
+ * code per state and the symbols, moves and next states of the actions written into it as constants. The JIT can then
+ * turn a long running program into a tight native loop with no table lookups.
+ *
+ * <p>The generated code runs until the machine halts, the head leaves the tape array or the next time check is due;
+ * growing the tape and checking limits are done here. Outputs and step counts are the same as for
+ * {@link CompiledTuringMachineSimulator}, which is also used for programs too large to compile (see
+ * {@link #isCompiledToBytecode()}) and for computations observed by a {@link StepListener}. Instances hold no
+ * per-computation state and may be shared between threads.
+ */
+public class BytecodeTuringMachineSimulator implements TuringMachineSimulator {
+
+  private static final int DEFAULT_MAX_ITERATIONS = 1000;
+
+  private final TransitionTable table;
+  private final int symbolCount;
+  private final int[] nextStates;
+  private final BytecodeProgram program;
+  private final CompiledTuringMachineSimulator fallback;
+
+  public BytecodeTuringMachineSimulator(TuringMachine turingMachine) {
+    this(TransitionTable.compile(turingMachine));
+  }
+
+  /**
+   * Construct a simulator for an already compiled program.
+   *
+   * @param table the compiled program
+   */
+  public BytecodeTuringMachineSimulator(TransitionTable table) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+
+    this.table = table;
+    this.symbolCount = table.getSymbolCount();
+    this.nextStates = table.getNextStates();
+
+    Optional<BytecodeProgram> compiled = BytecodeCompiler.compile(table);
+    this.program = compiled.orElse(null);
+    this.fallback = new CompiledTuringMachineSimulator(table);
+  }
+
+  /**
+   * Return whether the program was compiled to bytecode, rather than being too large and run from its transition table.
+   */
+  public boolean isCompiledToBytecode() {
+    return program != null;
+  }
+
+  @Override
+  public Output compute(Tape input) {
+    return compute(input, DEFAULT_MAX_ITERATIONS);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits, StepListener listener) {
+    return fallback.compute(input, limits, listener);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    if (program == null) {
+      return fallback.compute(input, limits);
+    }
+
+    Limits.Timer timer = limits.startTimer();
+    long maxSteps = limits.getMaxSteps();
+    int checkInterval = limits.getCheckInterval();
+
+    CompiledTape tape = CompiledTape.encode(table, input);
+    int[] registers = new int[2];
+    registers[BytecodeProgram.STATE] = table.getInitialState();
+    registers[BytecodeProgram.HEAD] = tape.head;
+    long steps = 0;
+    long chunkEnd = Math.min(checkInterval, maxSteps);
+
+    while (true) {
+      steps += program.run(tape.cells, registers, chunkEnd - steps);
+
+      tape.head = registers[BytecodeProgram.HEAD];
+      if (tape.head < 0) {
+        tape.growLeft();
+        registers[BytecodeProgram.HEAD] = tape.head;
+        continue;
+      } else if (tape.head == tape.cells.length) {
+        tape.growRight();
+        continue;
+      }
+
+      int state = registers[BytecodeProgram.STATE];
+      int symbol = tape.cells[tape.head] & 0xFF;
+
+      if (symbol >= symbolCount) {
+        // A symbol the program does not know, so only a final state can continue
+        return table.isFinalState(state)
+            ? Output.haltsAndSucceeds(tape.getOutputString(), steps) : Output.haltsAndFails(steps);
+      }
+
+      int nextState = nextStates[table.slot(state, symbol)];
+
+      if (nextState < 0) {
+        return nextState == TransitionTable.FINAL
+            ? Output.haltsAndSucceeds(tape.getOutputString(), steps) : Output.haltsAndFails(steps);
+      }
+
+      if (steps == maxSteps) {
+        return Output.stepLimitReached(steps);
+      }
+
+      if (timer.isExpired()) {
+        return Output.timeLimitReached(steps);
+      }
+
+      chunkEnd = steps + Math.min(checkInterval, maxSteps - steps);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.RunLengthTape;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.Preconditions;
+
+/**
+ * A TuringMachineSimulator that runs on a {@link RunLengthTape} and accelerates chain steps. An action of the form
+ * "in state s reading a, stay in state s, write b and move left or right" repeats until the head leaves the run of a
+ * symbols it started in, so the simulator performs the whole run as a single {@link RunLengthTape#sweep} and counts one
+ * step per rewritten cell. Machines that spend most of their time sweeping over long runs of the same symbol, such as
+ * unary arithmetic, then take time proportional to the number of runs visited rather than the number of steps.
+ */
+public class ChainStepSimulator implements TuringMachineSimulator {
+
+  private static final int DEFAULT_MAX_ITERATIONS = 1000;
+
+  private final TransitionTable table;
+  private final int symbolCount;
+  private final int[] nextStates;
+  private final byte[] newSymbols;
+  private final byte[] moves;
+  private final boolean[] chainSlots;
+
+  public ChainStepSimulator(TuringMachine turingMachine) {
+    this(TransitionTable.compile(turingMachine));
+  }
+
+  /**
+   * Construct a simulator for an already compiled program.
+   *
+   * @param table the compiled program
+   */
+  public ChainStepSimulator(TransitionTable table) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+
+    this.table = table;
+    this.symbolCount = table.getSymbolCount();
+    this.nextStates = table.getNextStates();
+    this.newSymbols = table.getNewSymbols();
+    this.moves = table.getMoves();
+    this.chainSlots = new boolean[nextStates.length];
+
+    for (int slot = 0; slot < nextStates.length; slot++) {
+      chainSlots[slot] = nextStates[slot] == slot / symbolCount && moves[slot] != 0;
+    }
+  }
+
+  @Override
+  public Output compute(Tape input) {
+    return compute(input, DEFAULT_MAX_ITERATIONS);
+  }
+
+  /**
+   * Compute the output for an input tape, delivering every step to a listener. Observed computations take one step at
+   * a time using a {@link CompiledTuringMachineSimulator} for the same program.
+   */
+  @Override
+  public Output compute(Tape input, Limits limits, StepListener listener) {
+    return new CompiledTuringMachineSimulator(table).compute(input, limits, listener);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    Limits.Timer timer = limits.startTimer();
+    long maxSteps = limits.getMaxSteps();
+    int checkInterval = limits.getCheckInterval();
+
+    RunLengthTape tape = RunLengthTape.copyOf(table.getSymbol(0), input);
+    int state = table.getInitialState();
+    long steps = 0;
+    long iterations = 0;
+
+    while (true) {
+      int symbol = table.indexOf(tape.getCurrentSymbol());
+
+      if (symbol == TransitionTable.UNDEFINED) {
+        return table.isFinalState(state)
+            ? Output.haltsAndSucceeds(tape.getOutputString(), steps) : Output.haltsAndFails(steps);
+      }
+
+      int slot = state * symbolCount + symbol;
+      int nextState = nextStates[slot];
+
+      if (nextState < 0) {
+        return nextState == TransitionTable.FINAL
+            ? Output.haltsAndSucceeds(tape.getOutputString(), steps) : Output.haltsAndFails(steps);
+      }
+
+      if (steps == maxSteps) {
+        return Output.stepLimitReached(steps);
+      }
+
+      if (++iterations % checkInterval == 0 && timer.isExpired()) {
+        return Output.timeLimitReached(steps);
+      }
+
+      Move move = TransitionTable.decodeMove(moves[slot]);
+
+      if (chainSlots[slot]) {
+        steps += tape.sweep(table.getSymbol(newSymbols[slot] & 0xFF), move, maxSteps - steps);
+      } else {
+        tape.apply(table.getSymbol(newSymbols[slot] & 0xFF), move);
+        steps++;
+      }
+
+      state = nextState;
+    }
+  }
+}
@@ -0,0 +1,335 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.CheckpointException;
+import com.mistraltech.turingmachine.model.ArrayTape;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.Configuration;
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.Preconditions;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A snapshot of a computation in progress: the machine state, the non-blank part of the tape and the head position,
+ * and the number of steps taken, together with hashes of the machine and of the input tape so that it is only resumed
+ * as part of the same computation. States and symbols are held as indices into the machine's {@link TransitionTable},
+ * so the binary form is a fixed header followed by one byte per tape cell. Input symbols the machine does not know are
+ * stored by character, so they must be CharSymbols.
+ */
+public final class Checkpoint {
+
+  private static final int MAGIC = 0x544D4350;
+  private static final int FORMAT_VERSION = 2;
+  private static final int HEADER_LENGTH = 48;
+  private static final int CHECKSUM_LENGTH = Long.BYTES;
+  private static final int READ_CHUNK_SIZE = 1 << 16;
+
+  private final long machineHash;
+  private final long inputHash;
+  private final long steps;
+  private final int state;
+  private final int headPosition;
+  private final int from;
+  private final byte[] cells;
+  private final List<Symbol> extraSymbols;
+
+  private Checkpoint(long machineHash, long inputHash, long steps, int state, int headPosition, int from, byte[] cells,
+      List<Symbol> extraSymbols) {
+    this.machineHash = machineHash;
+    this.inputHash = inputHash;
+    this.steps = steps;
+    this.state = state;
+    this.headPosition = headPosition;
+    this.from = from;
+    this.cells = cells;
+    this.extraSymbols = extraSymbols;
+  }
+
+  /**
+   * Create a checkpoint of a configuration of a machine.
+   *
+   * @param table the compiled machine program
+   * @param input the input tape of the computation
+   * @param configuration the configuration to save
+   * @param steps the number of steps taken to reach the configuration
+   */
+  public static Checkpoint of(TransitionTable table, Tape input, Configuration configuration, long steps) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(configuration != null, "configuration must not be null");
+    Preconditions.checkArgument(steps >= 0, "steps must not be negative");
+
+    int state = table.indexOf(configuration.getState());
+    Preconditions.checkArgument(state != TransitionTable.UNDEFINED, "State %s is not a state of the machine",
+        configuration.getState());
+
+    CompiledTape tape = CompiledTape.encode(table, configuration.getTape());
+    return capture(table, machineHash(table), inputHash(table, input), tape, state, steps);
+  }
+
+  static Checkpoint capture(TransitionTable table, long machineHash, long inputHash, CompiledTape tape, int state,
+      long steps) {
+    List<Symbol> extraSymbols = List.copyOf(tape.alphabet.subList(table.getSymbolCount(), tape.alphabet.size()));
+    Preconditions.checkArgument(extraSymbols.stream().allMatch(symbol -> symbol instanceof CharSymbol),
+        "Checkpoints only support CharSymbols as input symbols the machine does not know");
+
+    byte[] tapeCells = tape.cells;
+    int first = 0;
+    while (first < tapeCells.length && tapeCells[first] == 0) {
+      first++;
+    }
+    int last = tapeCells.length;
+    while (last > first && tapeCells[last - 1] == 0) {
+      last--;
+    }
+
+    return new Checkpoint(machineHash, inputHash, steps, state, tape.head - tape.origin, first - tape.origin,
+        Arrays.copyOfRange(tapeCells, first, last), extraSymbols);
+  }
+
+  /**
+   * Return a hash of everything about a compiled machine that affects a computation, used to check that a checkpoint is
+   * resumed by the machine that wrote it.
+   *
+   * @param table the compiled machine program
+   */
+  public static long machineHash(TransitionTable table) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+
+    MessageDigest digest = newDigest();
+
+    digest.update(ByteBuffer.allocate(12)
+        .putInt(table.getStateCount())
+        .putInt(table.getSymbolCount())
+        .putInt(table.getInitialState())
+        .array());
+    for (int state = 0; state < table.getStateCount(); state++) {
+      digest.update(table.getState(state).toString().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) (table.isFinalState(state) ? 1 : 0));
+    }
+    for (int symbol = 0; symbol < table.getSymbolCount(); symbol++) {
+      digest.update(table.getSymbol(symbol).toString().getBytes(StandardCharsets.UTF_8));
+    }
+    ByteBuffer nextStates = ByteBuffer.allocate(4 * table.getNextStates().length);
+    nextStates.asIntBuffer().put(table.getNextStates());
+    digest.update(nextStates.array());
+    digest.update(table.getNewSymbols());
+    digest.update(table.getMoves());
+
+    return ByteBuffer.wrap(digest.digest()).getLong();
+  }
+
+  /**
+   * Return a hash of the content of an input tape and its head position, used to check that a checkpoint is resumed
+   * for the input it was written for. Blank cells at either end of the tape do not affect the hash.
+   *
+   * @param table the compiled machine program, whose first symbol is the blank
+   * @param input the input tape
+   */
+  public static long inputHash(TransitionTable table, Tape input) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+    Preconditions.checkArgument(input != null, "input must not be null");
+
+    Symbol blank = table.getSymbol(0);
+    int from = Math.min(input.getLeftBound(), input.getHeadPosition());
+    int to = Math.max(input.getRightBound(), input.getHeadPosition() + 1);
+    List<Symbol> content = input.getString(from, to);
+
+    int first = 0;
+    while (first < content.size() && content.get(first).equals(blank)) {
+      first++;
+    }
+    int last = content.size();
+    while (last > first && content.get(last - 1).equals(blank)) {
+      last--;
+    }
+
+    MessageDigest digest = newDigest();
+    try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+      out.writeInt(input.getHeadPosition());
+      out.writeInt(from + first);
+      out.writeInt(last - first);
+      for (int i = first; i < last; i++) {
+        out.writeUTF(content.get(i).toString());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return ByteBuffer.wrap(digest.digest()).getLong();
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  public long getMachineHash() {
+    return machineHash;
+  }
+
+  public long getInputHash() {
+    return inputHash;
+  }
+
+  /**
+   * Return the number of steps taken to reach the saved configuration.
+   */
+  public long getSteps() {
+    return steps;
+  }
+
+  /**
+   * Restore the saved configuration, with the tape as an {@link ArrayTape}.
+   *
+   * @param table the compiled machine program, which must be the program that wrote the checkpoint
+   * @throws CheckpointException if the checkpoint was written by a different machine
+   */
+  public Configuration toConfiguration(TransitionTable table) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+
+    if (machineHash(table) != machineHash) {
+      throw new CheckpointException("Checkpoint was written by a different machine");
+    }
+
+    List<Symbol> symbols = new ArrayList<>(cells.length);
+    for (byte cell : cells) {
+      int symbol = cell & 0xFF;
+      symbols.add(symbol < table.getSymbolCount()
+          ? table.getSymbol(symbol) : extraSymbols.get(symbol - table.getSymbolCount()));
+    }
+
+    return new Configuration(table.getState(state), ArrayTape.create(table.getSymbol(0), symbols, from, headPosition));
+  }
+
+  /**
+   * Write the checkpoint in binary form, followed by a checksum.
+   *
+   * @param outputStream the stream to write to, which is not closed
+   */
+  public void writeTo(OutputStream outputStream) throws IOException {
+    CheckedOutputStream checked = new CheckedOutputStream(outputStream, new CRC32());
+    DataOutputStream out = new DataOutputStream(checked);
+
+    out.writeInt(MAGIC);
+    out.writeShort(FORMAT_VERSION);
+    out.writeLong(machineHash);
+    out.writeLong(inputHash);
+    out.writeLong(steps);
+    out.writeInt(state);
+    out.writeInt(headPosition);
+    out.writeInt(from);
+    out.writeShort(extraSymbols.size());
+    for (Symbol symbol : extraSymbols) {
+      out.writeChar(symbol.toString().charAt(0));
+    }
+    out.writeInt(cells.length);
+    out.write(cells);
+    out.flush();
+
+    new DataOutputStream(outputStream).writeLong(checked.getChecksum().getValue());
+  }
+
+  /**
+   * Read a checkpoint written by {@link #writeTo}, of unknown length.
+   *
+   * @param inputStream the stream to read from, which is not closed
+   * @throws CheckpointException if the data is not a complete, uncorrupted checkpoint
+   */
+  public static Checkpoint readFrom(InputStream inputStream) throws IOException {
+    return readFrom(inputStream, Long.MAX_VALUE);
+  }
+
+  /**
+   * Read a checkpoint written by {@link #writeTo}. The stored cell count is checked against the bytes that can remain
+   * before anything is allocated for it, so a damaged count is reported as corruption.
+   *
+   * @param inputStream the stream to read from, which is not closed
+   * @param length the number of bytes available for the checkpoint, such as the size of the file holding it
+   * @throws CheckpointException if the data is not a complete, uncorrupted checkpoint
+   */
+  public static Checkpoint readFrom(InputStream inputStream, long length) throws IOException {
+    CheckedInputStream checked = new CheckedInputStream(inputStream, new CRC32());
+    DataInputStream in = new DataInputStream(checked);
+
+    try {
+      if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION) {
+        throw new CheckpointException("Not a checkpoint");
+      }
+
+      final long machineHash = in.readLong();
+      final long inputHash = in.readLong();
+      final long steps = in.readLong();
+      final int state = in.readInt();
+      final int headPosition = in.readInt();
+      final int from = in.readInt();
+      List<Symbol> extraSymbols = new ArrayList<>();
+      for (int i = in.readUnsignedShort(); i > 0; i--) {
+        extraSymbols.add(CharSymbol.getSymbol(in.readChar()));
+      }
+
+      int cellCount = in.readInt();
+      long remaining = length - HEADER_LENGTH - (long) Character.BYTES * extraSymbols.size() - CHECKSUM_LENGTH;
+      if (cellCount < 0 || cellCount > remaining) {
+        throw new CheckpointException("Checkpoint is corrupt");
+      }
+      byte[] cells = readCells(in, cellCount);
+
+      long checksum = checked.getChecksum().getValue();
+      if (new DataInputStream(inputStream).readLong() != checksum) {
+        throw new CheckpointException("Checkpoint is corrupt");
+      }
+
+      return new Checkpoint(machineHash, inputHash, steps, state, headPosition, from, cells, List.copyOf(extraSymbols));
+    } catch (EOFException e) {
+      throw new CheckpointException("Checkpoint is truncated", e);
+    }
+  }
+
+  /**
+   * Read the cells, growing the array as they arrive so that a count larger than the data cannot force a large
+   * allocation.
+   */
+  private static byte[] readCells(DataInputStream in, int cellCount) throws IOException {
+    byte[] cells = new byte[Math.min(cellCount, READ_CHUNK_SIZE)];
+    int read = 0;
+
+    while (read < cellCount) {
+      if (read == cells.length) {
+        cells = Arrays.copyOf(cells, (int) Math.min(cellCount, 2L * cells.length));
+      }
+
+      in.readFully(cells, read, cells.length - read);
+      read = cells.length;
+    }
+
+    return cells;
+  }
+
+  @Override
+  public String toString() {
+    return "Checkpoint [steps=" + steps + ", state=" + state + ", head=" + headPosition + ", cells=" + cells.length
+        + "]";
+  }
+}
@@ -0,0 +1,272 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.CheckpointException;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A directory of checkpoints of one computation, and the schedule on which they are written. Each checkpoint is written
+ * to a temporary file, forced to disk and renamed into place, so a crash leaves either the previous checkpoint or the
+ * new one and never a partial file. Only the most recent checkpoints are kept. A computation that starts from the
+ * beginning {@link #clear() clears} the directory first, so the checkpoints in it are always of one computation, and
+ * only checkpoints of the same machine and input are resumed. CheckpointStore is immutable; the {@code with} methods
+ * return modified copies.
+ */
+public final class CheckpointStore {
+
+  public static final Duration DEFAULT_TIME_INTERVAL = Duration.ofMinutes(1);
+  public static final int DEFAULT_RETAIN_COUNT = 2;
+
+  private static final String PREFIX = "checkpoint-";
+  private static final String SUFFIX = ".bin";
+
+  private final Path directory;
+  private final long stepInterval;
+  private final Duration timeInterval;
+  private final int retainCount;
+
+  private CheckpointStore(Path directory, long stepInterval, Duration timeInterval, int retainCount) {
+    this.directory = directory;
+    this.stepInterval = stepInterval;
+    this.timeInterval = timeInterval;
+    this.retainCount = retainCount;
+  }
+
+  /**
+   * Return a store that writes to a directory once a minute, keeping the two most recent checkpoints.
+   *
+   * @param directory the directory, which is created if it does not exist
+   */
+  public static CheckpointStore in(Path directory) {
+    Preconditions.checkArgument(directory != null, "directory must not be null");
+
+    return new CheckpointStore(directory, 0, DEFAULT_TIME_INTERVAL, DEFAULT_RETAIN_COUNT);
+  }
+
+  /**
+   * Return a store that also writes a checkpoint every stepInterval steps.
+   *
+   * @param stepInterval the number of steps between checkpoints
+   */
+  public CheckpointStore withStepInterval(long stepInterval) {
+    Preconditions.checkArgument(stepInterval > 0, "stepInterval must be positive");
+
+    return new CheckpointStore(directory, stepInterval, timeInterval, retainCount);
+  }
+
+  /**
+   * Return a store that writes a checkpoint at the first time check after each timeInterval has passed. Time is only
+   * checked every {@link Limits#getCheckInterval()} steps.
+   *
+   * @param timeInterval the time between checkpoints
+   */
+  public CheckpointStore withTimeInterval(Duration timeInterval) {
+    Preconditions.checkArgument(timeInterval != null, "timeInterval must not be null");
+    Preconditions.checkArgument(!timeInterval.isNegative() && !timeInterval.isZero(), "timeInterval must be positive");
+
+    return new CheckpointStore(directory, stepInterval, timeInterval, retainCount);
+  }
+
+  public CheckpointStore withRetainCount(int retainCount) {
+    Preconditions.checkArgument(retainCount > 0, "retainCount must be positive");
+
+    return new CheckpointStore(directory, stepInterval, timeInterval, retainCount);
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  public long getStepInterval() {
+    return stepInterval;
+  }
+
+  public Duration getTimeInterval() {
+    return timeInterval;
+  }
+
+  /**
+   * Write a checkpoint atomically and delete all but the most recent checkpoints.
+   *
+   * @param checkpoint the checkpoint to write
+   * @throws CheckpointException if the checkpoint could not be written
+   */
+  public void save(Checkpoint checkpoint) {
+    Preconditions.checkArgument(checkpoint != null, "checkpoint must not be null");
+
+    try {
+      Files.createDirectories(directory);
+
+      Path temporary = Files.createTempFile(directory, PREFIX, ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+          OutputStream out = Channels.newOutputStream(channel);
+          checkpoint.writeTo(out);
+          out.flush();
+          channel.force(true);
+        }
+
+        Files.move(temporary, directory.resolve(fileName(checkpoint.getSteps())), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+
+      syncDirectory();
+      prune();
+    } catch (IOException e) {
+      throw new CheckpointException("Failed to write checkpoint to " + directory, e);
+    }
+  }
+
+  /**
+   * Return the most recent readable checkpoint of a computation, skipping any that are corrupt or were written for a
+   * different machine or input.
+   *
+   * @param table the compiled machine program of the computation
+   * @param input the input tape of the computation
+   * @throws CheckpointException if the directory could not be read
+   */
+  public Optional<Checkpoint> latest(TransitionTable table, Tape input) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+    Preconditions.checkArgument(input != null, "input must not be null");
+
+    if (!Files.isDirectory(directory)) {
+      return Optional.empty();
+    }
+
+    long machineHash = Checkpoint.machineHash(table);
+    long inputHash = Checkpoint.inputHash(table, input);
+
+    try {
+      List<Path> files = list();
+
+      for (int i = files.size() - 1; i >= 0; i--) {
+        try (InputStream in = Files.newInputStream(files.get(i))) {
+          Checkpoint checkpoint = Checkpoint.readFrom(in, Files.size(files.get(i)));
+          if (checkpoint.getMachineHash() == machineHash && checkpoint.getInputHash() == inputHash) {
+            return Optional.of(checkpoint);
+          }
+        } catch (CheckpointException | IOException e) {
+          // Fall back to the previous checkpoint
+        }
+      }
+
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new CheckpointException("Failed to read checkpoints from " + directory, e);
+    }
+  }
+
+  /**
+   * Delete every checkpoint in the directory, ready for a computation that starts from the beginning.
+   *
+   * @throws CheckpointException if a checkpoint could not be deleted
+   */
+  public void clear() {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+
+    try {
+      for (Path file : list()) {
+        Files.deleteIfExists(file);
+      }
+    } catch (IOException e) {
+      throw new CheckpointException("Failed to clear checkpoints from " + directory, e);
+    }
+  }
+
+  /**
+   * Start the schedule of checkpoints for a computation that has already taken a number of steps.
+   *
+   * @param steps the number of steps already taken
+   */
+  Schedule startSchedule(long steps) {
+    return new Schedule(steps);
+  }
+
+  private static String fileName(long steps) {
+    return String.format("%s%020d%s", PREFIX, steps, SUFFIX);
+  }
+
+  /**
+   * Return the checkpoint files, oldest first.
+   */
+  private List<Path> list() throws IOException {
+    List<Path> files = new ArrayList<>();
+
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+      stream.forEach(files::add);
+    }
+
+    files.sort(Comparator.comparing(path -> path.getFileName().toString()));
+    return files;
+  }
+
+  private void prune() throws IOException {
+    List<Path> files = list();
+
+    for (int i = 0; i < files.size() - retainCount; i++) {
+      Files.deleteIfExists(files.get(i));
+    }
+  }
+
+  /**
+   * Force the rename to disk. Not all platforms allow a directory to be opened, so this is best effort.
+   */
+  private void syncDirectory() {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // The rename is still atomic, only its durability is not guaranteed
+    }
+  }
+
+  /**
+   * Decides when the next checkpoint of one computation is due.
+   */
+  final class Schedule {
+
+    private final long timeIntervalNanos = timeInterval.toNanos();
+    private long nextStep;
+    private long nextNanos;
+
+    private Schedule(long steps) {
+      reset(steps);
+    }
+
+    /**
+     * Return the step at which the next checkpoint is due on step count, or Long.MAX_VALUE if there is no step
+     * interval.
+     */
+    long getNextStep() {
+      return nextStep;
+    }
+
+    boolean isDue(long steps) {
+      return steps >= nextStep || System.nanoTime() - nextNanos >= 0;
+    }
+
+    void reset(long steps) {
+      nextStep = stepInterval > 0 && steps <= Long.MAX_VALUE - stepInterval ? steps + stepInterval : Long.MAX_VALUE;
+      nextNanos = System.nanoTime() + timeIntervalNanos;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.PackedSymbolList;
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The working tape of a table driven simulator: a byte array of symbol indices from a {@link TransitionTable},
+ * extended with any input symbols the table does not know, which grows at either end by doubling. Fields are exposed
+ * to the simulators in this package so that inner loops can copy them into locals and write them back on exit.
+ */
+final class CompiledTape {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final int ENCODE_CHUNK_SIZE = 1 << 16;
+
+  final List<Symbol> alphabet;
+  byte[] cells;
+  int origin;
+  int head;
+
+  private CompiledTape(List<Symbol> alphabet, byte[] cells, int origin, int head) {
+    this.alphabet = alphabet;
+    this.cells = cells;
+    this.origin = origin;
+    this.head = head;
+  }
+
+  /**
+   * Copy a tape into the symbol indices of a table.
+   *
+   * @param table the compiled program
+   * @param input the tape to copy
+   */
+  static CompiledTape encode(TransitionTable table, Tape input) {
+    List<Symbol> alphabet = new ArrayList<>();
+    for (int symbol = 0; symbol < table.getSymbolCount(); symbol++) {
+      alphabet.add(table.getSymbol(symbol));
+    }
+
+    int from = Math.min(input.getLeftBound(), input.getHeadPosition());
+    int to = Math.max(input.getRightBound(), input.getHeadPosition() + 1);
+    byte[] cells = new byte[Math.max(MIN_CAPACITY, 2 * (to - from))];
+    int origin = (cells.length - (to - from)) / 2 - from;
+
+    // Copy in chunks so that a large input is never held as one list of symbols
+    for (int chunkFrom = from; chunkFrom < to; ) {
+      int chunkTo = chunkFrom + Math.min(ENCODE_CHUNK_SIZE, to - chunkFrom);
+      List<Symbol> content = input.getString(chunkFrom, chunkTo);
+      for (int i = 0; i < content.size(); i++) {
+        cells[origin + chunkFrom + i] = (byte) encode(table, alphabet, content.get(i));
+      }
+      chunkFrom = chunkTo;
+    }
+
+    return new CompiledTape(alphabet, cells, origin, origin + input.getHeadPosition());
+  }
+
+  private static int encode(TransitionTable table, List<Symbol> alphabet, Symbol symbol) {
+    int index = table.indexOf(symbol);
+
+    if (index == TransitionTable.UNDEFINED) {
+      index = alphabet.indexOf(symbol);
+
+      if (index < 0) {
+        Preconditions.checkArgument(alphabet.size() < TransitionTable.MAX_SYMBOLS,
+            "Input has more than %d distinct symbols", TransitionTable.MAX_SYMBOLS);
+
+        index = alphabet.size();
+        alphabet.add(symbol);
+      }
+    }
+
+    return index;
+  }
+
+  /**
+   * Double the array, adding the new cells on the left, and return how far existing cells moved.
+   */
+  int growLeft() {
+    int growth = cells.length;
+    byte[] grown = new byte[cells.length * 2];
+    System.arraycopy(cells, 0, grown, growth, cells.length);
+    cells = grown;
+    origin += growth;
+    head += growth;
+    return growth;
+  }
+
+  void growRight() {
+    cells = Arrays.copyOf(cells, cells.length * 2);
+  }
+
+  List<Symbol> getOutputString() {
+    int from = origin + 1;
+    int to = from;
+
+    while (to >= 0 && to < cells.length && cells[to] != 0) {
+      to++;
+    }
+
+    return PackedSymbolList.of(alphabet, cells, Math.max(from, 0), Math.max(to, 0));
+  }
+}
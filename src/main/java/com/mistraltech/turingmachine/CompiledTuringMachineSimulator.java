@@ -0,0 +1,503 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Configuration;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.Preconditions;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A TuringMachineSimulator that compiles the machine program into a {@link TransitionTable} once and runs each
+ * computation over primitive arrays, so the inner loop performs no hashing or allocation. The input tape is copied into
+ * a byte array of symbol indices that grows at either end by doubling. Instances hold no per-computation state and may
+ * be shared between threads.
+ *
+ * <p>A simulator returned by {@link #withCycleDetection()} also looks for a configuration that exactly repeats an
+ * earlier one, up to a shift of the whole tape, and reports {@link Output.Outcome#DOES_NOT_HALT} when it finds one.
+ * Repeats are found with Brent's algorithm, which keeps a single saved configuration, so the extra memory is one copy
+ * of the tape. Each step is first compared with the saved configuration by state, number of non-blank cells and a hash
+ * of the cells around the head; the whole tape is only compared when these all match.
+ *
+ * <p>A simulator returned by {@link #withCheckpoints(CheckpointStore)} saves a {@link Checkpoint} between chunks of
+ * steps on the store's schedule, and a long computation can be continued from one with
+ * {@link #resume(Checkpoint, Limits)}. A computation started with {@link #compute(Tape, Limits)} first clears the
+ * store. Checkpoints are not written while detecting cycles.
+ */
+public class CompiledTuringMachineSimulator implements TuringMachineSimulator {
+
+  private static final int DEFAULT_MAX_ITERATIONS = 1000;
+  private static final int WINDOW_RADIUS = 4;
+
+  private final TransitionTable table;
+  private final int symbolCount;
+  private final int[] nextStates;
+  private final byte[] newSymbols;
+  private final byte[] moves;
+  private final boolean detectCycles;
+  private final CheckpointStore checkpoints;
+
+  public CompiledTuringMachineSimulator(TuringMachine turingMachine) {
+    this(TransitionTable.compile(turingMachine));
+  }
+
+  /**
+   * Construct a simulator for an already compiled program.
+   *
+   * @param table the compiled program
+   */
+  public CompiledTuringMachineSimulator(TransitionTable table) {
+    this(table, false, null);
+  }
+
+  private CompiledTuringMachineSimulator(TransitionTable table, boolean detectCycles, CheckpointStore checkpoints) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+
+    this.table = table;
+    this.symbolCount = table.getSymbolCount();
+    this.nextStates = table.getNextStates();
+    this.newSymbols = table.getNewSymbols();
+    this.moves = table.getMoves();
+    this.detectCycles = detectCycles;
+    this.checkpoints = checkpoints;
+  }
+
+  /**
+   * Return a simulator for the same program that stops with {@link Output.Outcome#DOES_NOT_HALT} when the machine
+   * repeats a configuration. Checking for repeats makes each step slower, so only machines that are expected to loop
+   * benefit.
+   */
+  public CompiledTuringMachineSimulator withCycleDetection() {
+    return new CompiledTuringMachineSimulator(table, true, checkpoints);
+  }
+
+  public boolean isCycleDetectionEnabled() {
+    return detectCycles;
+  }
+
+  /**
+   * Return a simulator for the same program that saves checkpoints of each computation to a store.
+   *
+   * @param checkpoints the store to save checkpoints to
+   */
+  public CompiledTuringMachineSimulator withCheckpoints(CheckpointStore checkpoints) {
+    Preconditions.checkArgument(checkpoints != null, "checkpoints must not be null");
+
+    return new CompiledTuringMachineSimulator(table, detectCycles, checkpoints);
+  }
+
+  public Optional<CheckpointStore> getCheckpoints() {
+    return Optional.ofNullable(checkpoints);
+  }
+
+  @Override
+  public Output compute(Tape input) {
+    return compute(input, DEFAULT_MAX_ITERATIONS);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    if (detectCycles) {
+      return computeDetectingCycles(input, limits);
+    }
+
+    long inputHash = 0;
+    if (checkpoints != null) {
+      checkpoints.clear();
+      inputHash = Checkpoint.inputHash(table, input);
+    }
+
+    return computeFast(CompiledTape.encode(table, input), table.getInitialState(), 0, inputHash, limits);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits, StepListener listener) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+    Preconditions.checkArgument(listener != null, "listener must not be null");
+
+    return computeObserved(new Run(input), limits, listener);
+  }
+
+  /**
+   * Continue a computation from a checkpoint. The step limit applies to the whole computation, including the steps
+   * taken before the checkpoint, and the step counts in the output are also totals. Cycles are not detected after
+   * resuming.
+   *
+   * @param checkpoint a checkpoint written by this program
+   * @param limits the limits on the whole computation
+   * @throws com.mistraltech.turingmachine.exceptions.CheckpointException if the checkpoint was written by a different
+   *     program
+   */
+  public Output resume(Checkpoint checkpoint, Limits limits) {
+    Preconditions.checkArgument(checkpoint != null, "checkpoint must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+    Preconditions.checkArgument(checkpoint.getSteps() <= limits.getMaxSteps(),
+        "checkpoint is beyond the step limit");
+
+    Configuration configuration = checkpoint.toConfiguration(table);
+
+    return computeFast(CompiledTape.encode(table, configuration.getTape()), table.indexOf(configuration.getState()),
+        checkpoint.getSteps(), checkpoint.getInputHash(), limits);
+  }
+
+  /**
+   * Run a computation while recording a trace of every step, which {@link TraceReader} can replay. Cycles are not
+   * detected and no checkpoints are written.
+   *
+   * @param input the input tape
+   * @param limits the limits on the computation
+   * @param traceDirectory the directory to write the trace to
+   * @throws com.mistraltech.turingmachine.exceptions.TraceException if the trace could not be written
+   */
+  public Output computeTraced(Tape input, Limits limits, Path traceDirectory) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    try (TraceWriter trace = TraceWriter.create(traceDirectory, table,
+        new Configuration(table.getState(table.getInitialState()), input))) {
+      return computeObserved(new Run(input), limits, trace);
+    }
+  }
+
+  /**
+   * Run a computation one step at a time, collecting the slot and head position of each step into batches for a
+   * listener. This is kept apart from {@link #computeFast} so that the unobserved loop carries no listener checks.
+   */
+  private Output computeObserved(Run run, Limits limits, StepListener listener) {
+    Limits.Timer timer = limits.startTimer();
+    long maxSteps = limits.getMaxSteps();
+    int checkInterval = limits.getCheckInterval();
+
+    StepBatch batch = StepBatch.forTable(table, run.steps);
+
+    while (true) {
+      int slot = run.slot();
+
+      if (slot < 0) {
+        batch.flush(listener);
+        Output output = slot == TransitionTable.FINAL
+            ? Output.haltsAndSucceeds(run.tape.getOutputString(), run.steps) : Output.haltsAndFails(run.steps);
+        listener.onHalt(output);
+        return output;
+      }
+
+      if (run.steps == maxSteps) {
+        batch.flush(listener);
+        Output output = Output.stepLimitReached(run.steps);
+        listener.onLimit(output);
+        return output;
+      }
+
+      if (run.steps > 0 && run.steps % checkInterval == 0 && timer.isExpired()) {
+        batch.flush(listener);
+        Output output = Output.timeLimitReached(run.steps);
+        listener.onLimit(output);
+        return output;
+      }
+
+      if (batch.add(slot, run.tape.head - run.tape.origin)) {
+        batch.flush(listener);
+      }
+
+      run.apply(slot);
+    }
+  }
+
+  private Output computeFast(CompiledTape tape, int initialState, long initialSteps, long inputHash, Limits limits) {
+    Limits.Timer timer = limits.startTimer();
+    long maxSteps = limits.getMaxSteps();
+    int checkInterval = limits.getCheckInterval();
+
+    long machineHash = checkpoints != null ? Checkpoint.machineHash(table) : 0;
+    CheckpointStore.Schedule schedule = checkpoints != null ? checkpoints.startSchedule(initialSteps) : null;
+
+    byte[] cells = tape.cells;
+    int head = tape.head;
+    int state = initialState;
+    long steps = initialSteps;
+
+    while (true) {
+      // Run up to the next time check or checkpoint without leaving the inner loop
+      long chunkEnd = steps + Math.min(checkInterval, maxSteps - steps);
+      if (schedule != null) {
+        chunkEnd = Math.min(chunkEnd, schedule.getNextStep());
+      }
+
+      while (true) {
+        int symbol = cells[head] & 0xFF;
+
+        if (symbol >= symbolCount) {
+          // A symbol the program does not know, so only a final state can continue
+          return table.isFinalState(state)
+              ? Output.haltsAndSucceeds(tape.getOutputString(), steps) : Output.haltsAndFails(steps);
+        }
+
+        int slot = state * symbolCount + symbol;
+        int nextState = nextStates[slot];
+
+        if (nextState < 0) {
+          return nextState == TransitionTable.FINAL
+              ? Output.haltsAndSucceeds(tape.getOutputString(), steps) : Output.haltsAndFails(steps);
+        }
+
+        if (steps == chunkEnd) {
+          break;
+        }
+
+        cells[head] = newSymbols[slot];
+        head += moves[slot];
+
+        if (head < 0) {
+          tape.head = head;
+          head += tape.growLeft();
+          cells = tape.cells;
+        } else if (head == cells.length) {
+          tape.growRight();
+          cells = tape.cells;
+        }
+
+        state = nextState;
+        steps++;
+      }
+
+      if (steps == maxSteps) {
+        return Output.stepLimitReached(steps);
+      }
+
+      if (timer.isExpired()) {
+        return Output.timeLimitReached(steps);
+      }
+
+      if (schedule != null && schedule.isDue(steps)) {
+        tape.head = head;
+        checkpoints.save(Checkpoint.capture(table, machineHash, inputHash, tape, state, steps));
+        schedule.reset(steps);
+      }
+    }
+  }
+
+  private Output computeDetectingCycles(Tape input, Limits limits) {
+    Limits.Timer timer = limits.startTimer();
+    long maxSteps = limits.getMaxSteps();
+    int checkInterval = limits.getCheckInterval();
+
+    Run run = new Run(input);
+    Snapshot saved = run.snapshot();
+    long savedAt = 0;
+    long power = 1;
+
+    while (true) {
+      int slot = run.slot();
+
+      if (slot < 0) {
+        return slot == TransitionTable.FINAL
+            ? Output.haltsAndSucceeds(run.tape.getOutputString(), run.steps) : Output.haltsAndFails(run.steps);
+      }
+
+      if (run.steps == maxSteps) {
+        return Output.stepLimitReached(run.steps);
+      }
+
+      if (run.steps > 0 && run.steps % checkInterval == 0 && timer.isExpired()) {
+        return Output.timeLimitReached(run.steps);
+      }
+
+      run.apply(slot);
+
+      long period = run.steps - savedAt;
+
+      if (run.matches(saved)) {
+        long cycleStart = findCycleStart(input, period, timer, checkInterval);
+        return cycleStart < 0 ? Output.timeLimitReached(run.steps) : Output.doesNotHalt(cycleStart, period, run.steps);
+      }
+
+      if (period == power) {
+        // Brent's algorithm: move the saved configuration forward at each power of two
+        saved = run.snapshot();
+        savedAt = run.steps;
+        power *= 2;
+      }
+    }
+  }
+
+  /**
+   * Find the first step of a cycle of known period by running two copies of the machine period steps apart until they
+   * reach the same configuration. The search shares the computation's deadline.
+   *
+   * @return the first step of the cycle, or -1 if the time limit expired first
+   */
+  private long findCycleStart(Tape input, long period, Limits.Timer timer, int checkInterval) {
+    Run first = new Run(input);
+    Run second = new Run(input);
+
+    for (long i = 0; i < period; i++) {
+      if (i % checkInterval == 0 && timer.isExpired()) {
+        return -1;
+      }
+      second.apply(second.slot());
+    }
+
+    while (!first.matches(second)) {
+      if (first.steps % checkInterval == 0 && timer.isExpired()) {
+        return -1;
+      }
+      first.apply(first.slot());
+      second.apply(second.slot());
+    }
+
+    return first.steps;
+  }
+
+  /**
+   * A computation that is advanced one step at a time, keeping the count of non-blank cells up to date.
+   */
+  private final class Run {
+
+    private final CompiledTape tape;
+    private int state;
+    private long steps;
+    private int nonBlank;
+
+    private Run(Tape input) {
+      this.tape = CompiledTape.encode(table, input);
+      this.state = table.getInitialState();
+
+      for (byte cell : tape.cells) {
+        if (cell != 0) {
+          nonBlank++;
+        }
+      }
+    }
+
+    /**
+     * Return the slot of the action for the current configuration, or {@link TransitionTable#FINAL} or
+     * {@link TransitionTable#UNDEFINED} if the machine halts here.
+     */
+    private int slot() {
+      int symbol = tape.cells[tape.head] & 0xFF;
+
+      if (symbol >= symbolCount) {
+        return table.isFinalState(state) ? TransitionTable.FINAL : TransitionTable.UNDEFINED;
+      }
+
+      int slot = state * symbolCount + symbol;
+      return nextStates[slot] < 0 ? nextStates[slot] : slot;
+    }
+
+    private void apply(int slot) {
+      byte oldSymbol = tape.cells[tape.head];
+      byte newSymbol = newSymbols[slot];
+      nonBlank += (newSymbol != 0 ? 1 : 0) - (oldSymbol != 0 ? 1 : 0);
+
+      tape.cells[tape.head] = newSymbol;
+      tape.head += moves[slot];
+
+      if (tape.head < 0) {
+        tape.growLeft();
+      } else if (tape.head == tape.cells.length) {
+        tape.growRight();
+      }
+
+      state = nextStates[slot];
+      steps++;
+    }
+
+    private int windowHash() {
+      int hash = 0;
+
+      for (int i = tape.head - WINDOW_RADIUS; i <= tape.head + WINDOW_RADIUS; i++) {
+        hash = 31 * hash + (i >= 0 && i < tape.cells.length ? tape.cells[i] : 0);
+      }
+
+      return hash;
+    }
+
+    private Snapshot snapshot() {
+      int first = firstNonBlank();
+      int last = lastNonBlank();
+      byte[] content = Arrays.copyOfRange(tape.cells, first, Math.max(first, last + 1));
+
+      return new Snapshot(state, nonBlank, windowHash(), first - tape.head, content);
+    }
+
+    private boolean matches(Snapshot snapshot) {
+      if (state != snapshot.state || nonBlank != snapshot.nonBlank || windowHash() != snapshot.windowHash) {
+        return false;
+      }
+
+      if (nonBlank == 0) {
+        return true;
+      }
+
+      int first = firstNonBlank();
+      int last = lastNonBlank();
+
+      return first - tape.head == snapshot.offset && last + 1 - first == snapshot.content.length
+          && Arrays.equals(tape.cells, first, last + 1, snapshot.content, 0, snapshot.content.length);
+    }
+
+    /**
+     * Return whether another run is in the same configuration, comparing the two tapes in place.
+     */
+    private boolean matches(Run other) {
+      if (state != other.state || nonBlank != other.nonBlank || windowHash() != other.windowHash()) {
+        return false;
+      }
+
+      if (nonBlank == 0) {
+        return true;
+      }
+
+      int first = firstNonBlank();
+      int last = lastNonBlank();
+      int otherFirst = other.firstNonBlank();
+      int otherLast = other.lastNonBlank();
+
+      return first - tape.head == otherFirst - other.tape.head && last - first == otherLast - otherFirst
+          && Arrays.equals(tape.cells, first, last + 1, other.tape.cells, otherFirst, otherLast + 1);
+    }
+
+    private int firstNonBlank() {
+      int i = 0;
+      while (i < tape.cells.length && tape.cells[i] == 0) {
+        i++;
+      }
+      return i;
+    }
+
+    private int lastNonBlank() {
+      int i = tape.cells.length - 1;
+      while (i >= 0 && tape.cells[i] == 0) {
+        i--;
+      }
+      return i;
+    }
+  }
+
+  /**
+   * A configuration saved for comparison: the state and the non-blank part of the tape, positioned relative to the
+   * head.
+   */
+  private static final class Snapshot {
+
+    private final int state;
+    private final int nonBlank;
+    private final int windowHash;
+    private final int offset;
+    private final byte[] content;
+
+    private Snapshot(int state, int nonBlank, int windowHash, int offset, byte[] content) {
+      this.state = state;
+      this.nonBlank = nonBlank;
+      this.windowHash = windowHash;
+      this.offset = offset;
+      this.content = content;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.mistraltech.turingmachine;
+
+import static com.mistraltech.utils.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * The limits placed on a single computation: a maximum number of steps and, optionally, a timeout measured from the
+ * start of the computation and/or a wall-clock deadline. Time is only checked every {@link #getCheckInterval()} steps
+ * so that reading the clock does not slow down the simulation. Limits are immutable; the {@code with} methods return
+ * modified copies.
+ */
+public final class Limits {
+
+  public static final int DEFAULT_CHECK_INTERVAL = 1 << 16;
+
+  private final long maxSteps;
+  private final Duration timeout;
+  private final Instant deadline;
+  private final int checkInterval;
+
+  private Limits(long maxSteps, Duration timeout, Instant deadline, int checkInterval) {
+    this.maxSteps = maxSteps;
+    this.timeout = timeout;
+    this.deadline = deadline;
+    this.checkInterval = checkInterval;
+  }
+
+  /**
+   * Return limits allowing at most the given number of steps, with no time limit.
+   *
+   * @param maxSteps the maximum number of actions the machine may perform
+   */
+  public static Limits maxSteps(long maxSteps) {
+    checkArgument(maxSteps >= 0, "maxSteps must not be negative");
+
+    return new Limits(maxSteps, null, null, DEFAULT_CHECK_INTERVAL);
+  }
+
+  /**
+   * Return limits that never stop a computation on step count. A time limit can be added with
+   * {@link #withTimeout(Duration)} or {@link #withDeadline(Instant)}.
+   */
+  public static Limits unlimited() {
+    return maxSteps(Long.MAX_VALUE);
+  }
+
+  public Limits withMaxSteps(long maxSteps) {
+    checkArgument(maxSteps >= 0, "maxSteps must not be negative");
+
+    return new Limits(maxSteps, timeout, deadline, checkInterval);
+  }
+
+  public Limits withTimeout(Duration timeout) {
+    checkArgument(timeout != null, "timeout must not be null");
+    checkArgument(!timeout.isNegative(), "timeout must not be negative");
+
+    return new Limits(maxSteps, timeout, deadline, checkInterval);
+  }
+
+  public Limits withDeadline(Instant deadline) {
+    checkArgument(deadline != null, "deadline must not be null");
+
+    return new Limits(maxSteps, timeout, deadline, checkInterval);
+  }
+
+  public Limits withCheckInterval(int checkInterval) {
+    checkArgument(checkInterval > 0, "checkInterval must be positive");
+
+    return new Limits(maxSteps, timeout, deadline, checkInterval);
+  }
+
+  public long getMaxSteps() {
+    return maxSteps;
+  }
+
+  public Optional<Duration> getTimeout() {
+    return Optional.ofNullable(timeout);
+  }
+
+  public Optional<Instant> getDeadline() {
+    return Optional.ofNullable(deadline);
+  }
+
+  public int getCheckInterval() {
+    return checkInterval;
+  }
+
+  /**
+   * Start timing a computation against these limits.
+   */
+  public Timer startTimer() {
+    long budget = Long.MAX_VALUE;
+
+    if (timeout != null) {
+      budget = saturatedNanos(timeout);
+    }
+    if (deadline != null) {
+      budget = Math.min(budget, Math.max(0, saturatedNanos(Duration.between(Instant.now(), deadline))));
+    }
+
+    return new Timer(System.nanoTime(), budget);
+  }
+
+  private static long saturatedNanos(Duration duration) {
+    try {
+      return duration.toNanos();
+    } catch (ArithmeticException e) {
+      return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", Limits.class.getSimpleName() + "[", "]")
+        .add("maxSteps=" + maxSteps)
+        .add("timeout=" + timeout)
+        .add("deadline=" + deadline)
+        .add("checkInterval=" + checkInterval)
+        .toString();
+  }
+
+  /**
+   * Tracks the elapsed time of one computation.
+   */
+  public static final class Timer {
+
+    private final long startNanos;
+    private final long budgetNanos;
+
+    private Timer(long startNanos, long budgetNanos) {
+      this.startNanos = startNanos;
+      this.budgetNanos = budgetNanos;
+    }
+
+    public boolean isExpired() {
+      return budgetNanos != Long.MAX_VALUE && System.nanoTime() - startNanos >= budgetNanos;
+    }
+
+    /**
+     * Return the time left before the limit is reached, which is zero once it has expired, or empty if there is no
+     * time limit.
+     */
+    public Optional<Duration> getRemaining() {
+      if (budgetNanos == Long.MAX_VALUE) {
+        return Optional.empty();
+      }
+
+      return Optional.of(Duration.ofNanos(Math.max(0, budgetNanos - (System.nanoTime() - startNanos))));
+    }
+  }
+}
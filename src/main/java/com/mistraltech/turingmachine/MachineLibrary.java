@@ -4,27 +4,48 @@ import com.mistraltech.turingmachine.model.Action;
 import com.mistraltech.turingmachine.model.CharSymbol;
 import com.mistraltech.turingmachine.model.IntState;
 import com.mistraltech.turingmachine.model.Program;
+import com.mistraltech.turingmachine.model.TransitionTable;
 import com.mistraltech.turingmachine.model.TuringMachine;
 import com.mistraltech.turingmachine.model.builder.ProgramBuilder;
 import com.mistraltech.turingmachine.model.builder.TuringMachineBuilder;
 import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 public class MachineLibrary {
 
   private static final IntStateCharSymbolActionFactory ACTION_FACTORY = new IntStateCharSymbolActionFactory();
 
-  private static final HashMap<MachineType, TuringMachine> machineCache = new HashMap<>();
+  private static final Map<MachineType, TuringMachine> machineCache = new ConcurrentHashMap<>();
+  private static final ProgramCache programCache = new ProgramCache();
 
   public static TuringMachine getMachine(MachineType machine) {
     return machineCache.computeIfAbsent(machine, m -> machine.supplier.get());
   }
 
+  /**
+   * Return the machine defined by a text program file, from a cache shared by all callers (see {@link ProgramCache}).
+   *
+   * @param path the file path, or a classpath resource prefixed with "classpath:"
+   */
+  public static TuringMachine getMachine(String path) {
+    return programCache.getMachine(path);
+  }
+
+  /**
+   * Return the compiled table of a program file, from a cache shared by all callers (see {@link ProgramCache}).
+   *
+   * @param path the file path, or a classpath resource prefixed with "classpath:"
+   */
+  public static TransitionTable getCompiled(String path) {
+    return programCache.getCompiled(path);
+  }
+
   private static TuringMachine createCons0TuringMachine() {
     List<IntState> states = IntState.createClosedRangeFromZeroTo(3);
     Set<CharSymbol> inputSymbols = CharSymbol.toSymbols("01");
@@ -3,39 +3,60 @@ package com.mistraltech.turingmachine;
 import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
 import com.mistraltech.turingmachine.model.Action;
 import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.MultiTapeAction;
+import com.mistraltech.turingmachine.model.MultiTapeMachine;
+import com.mistraltech.turingmachine.model.NondeterministicProgram;
 import com.mistraltech.turingmachine.model.Program;
 import com.mistraltech.turingmachine.model.ProgramImpl;
 import com.mistraltech.turingmachine.model.State;
 import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.TransitionTable;
 import com.mistraltech.turingmachine.model.TuringMachine;
-import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class MachineLoader {
 
   private static final String CLASSPATH_PREFIX = "classpath:";
-  private static final Pattern ACTION_PATTERN = Pattern
-      .compile("\\((\\d+),\\s?'(.)'\\)\\s?->\\s?\\((\\d+),\\s?'(.)',\\s?([LR0])\\)");
-  private static final IntStateCharSymbolActionFactory ACTION_FACTORY = new IntStateCharSymbolActionFactory();
-
 
   public TuringMachine read(String path) {
-    List<Action> actions = readActions(path);
+    return toMachine(readActions(path, false), ProgramImpl::new);
+  }
 
+  /**
+   * Read a text program that is already in memory.
+   *
+   * @param content the program text, from its position to its limit
+   */
+  TuringMachine read(ByteBuffer content) {
+    return toMachine(ProgramParser.parse(content, ForkJoinPool.commonPool()), ProgramImpl::new);
+  }
+
+  /**
+   * Load a nondeterministic program, in which several actions may share a state and symbol. The machine's program is
+   * a {@link NondeterministicProgram}.
+   *
+   * @param path the file path, or a classpath resource prefixed with "classpath:"
+   */
+  public TuringMachine readNondeterministic(String path) {
+    return toMachine(readActions(path, true), NondeterministicProgram::new);
+  }
+
+  private TuringMachine toMachine(List<Action> actions, Function<Set<Action>, Program> programFactory) {
     if (actions.isEmpty()) {
       throw new ProgramLoadException("Invalid program - no actions");
     }
@@ -47,11 +68,64 @@ public class MachineLoader {
     Set<Symbol> symbols = addSymbol(actionSymbols, CharSymbol.BLANK);
     Set<Symbol> inputSymbols = removeSymbol(actionSymbols, CharSymbol.BLANK);
     Symbol blankSymbol = CharSymbol.BLANK;
-    Program program = new ProgramImpl(Set.copyOf(actions));
+    Program program = programFactory.apply(Set.copyOf(actions));
 
     return new TuringMachine(states, finalStates, initialState, symbols, inputSymbols, blankSymbol, program);
   }
 
+  /**
+   * Load a program already compiled to a transition table. Files in the binary format written by
+   * {@link BinaryProgramFormat} are memory mapped and loaded directly; text files are read and compiled.
+   *
+   * @param path the file path, or a classpath resource prefixed with "classpath:"
+   */
+  public TransitionTable readCompiled(String path) {
+    Path resolvedPath = resolvePath(path);
+
+    return BinaryProgramFormat.isBinaryProgram(resolvedPath)
+        ? BinaryProgramFormat.read(resolvedPath) : TransitionTable.compile(read(path));
+  }
+
+  /**
+   * Load a k-tape program, in the format read by {@link MultiTapeProgramParser}. As for single tape programs, the
+   * initial state is the state of the first action and the final states are those with no actions.
+   *
+   * @param path the file path, or a classpath resource prefixed with "classpath:"
+   */
+  public MultiTapeMachine readMultiTape(String path) {
+    List<MultiTapeAction> actions;
+
+    try {
+      actions = MultiTapeProgramParser.parse(Files.readAllLines(resolvePath(path)));
+    } catch (IOException e) {
+      throw new ProgramLoadException("Load failed", e);
+    }
+
+    if (actions.isEmpty()) {
+      throw new ProgramLoadException("Invalid program - no actions");
+    }
+
+    Set<State> states = actions.stream()
+        .flatMap(a -> Stream.of(a.getState(), a.getNewState()))
+        .collect(Collectors.toSet());
+    Set<State> predecessorStates = actions.stream()
+        .map(MultiTapeAction::getState)
+        .collect(Collectors.toSet());
+    Set<State> finalStates = states.stream()
+        .filter(s -> !predecessorStates.contains(s))
+        .collect(Collectors.toSet());
+    Set<Symbol> symbols = addSymbol(actions.stream()
+        .flatMap(a -> Stream.concat(a.getSymbols().stream(), a.getNewSymbols().stream()))
+        .collect(Collectors.toSet()), CharSymbol.BLANK);
+
+    try {
+      return new MultiTapeMachine(actions.get(0).getTapeCount(), states, finalStates, actions.get(0).getState(),
+          symbols, CharSymbol.BLANK, actions);
+    } catch (IllegalArgumentException e) {
+      throw new ProgramLoadException(e.getMessage());
+    }
+  }
+
   private Set<Symbol> removeSymbol(Set<Symbol> symbolSet, CharSymbol symbol) {
     HashSet<Symbol> reduced = new HashSet<>(symbolSet);
     reduced.remove(symbol);
@@ -86,21 +160,18 @@ public class MachineLoader {
         .collect(Collectors.toSet());
   }
 
-  private List<Action> readActions(String path) {
+  private List<Action> readActions(String path, boolean nondeterministic) {
     Path resolvedPath = resolvePath(path);
 
-    try (Stream<String> lines = Files.lines(resolvedPath, StandardCharsets.UTF_8)) {
-      return lines
-          .map(this::readAction)
-          .filter(Optional::isPresent)
-          .map(Optional::get)
-          .collect(Collectors.toList());
+    try (FileChannel channel = FileChannel.open(resolvedPath, StandardOpenOption.READ)) {
+      return ProgramParser.parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()),
+          ForkJoinPool.commonPool(), nondeterministic);
     } catch (IOException e) {
       throw new ProgramLoadException("Load failed", e);
     }
   }
 
-  private Path resolvePath(String path) {
+  Path resolvePath(String path) {
     if (path.startsWith(CLASSPATH_PREFIX)) {
       try {
         String resourceName = path.substring(CLASSPATH_PREFIX.length());
@@ -112,26 +183,4 @@ public class MachineLoader {
 
     return Paths.get(path);
   }
-
-  private Optional<Action> readAction(String s) {
-    String trimmed = s.trim();
-
-    if (s.length() == 0 || s.startsWith("#")) {
-      return Optional.empty();
-    }
-
-    Matcher actionMatcher = ACTION_PATTERN.matcher(trimmed);
-
-    if (!actionMatcher.matches()) {
-      throw new ProgramLoadException("Invalid line: " + s);
-    }
-
-    int state = Integer.parseInt(actionMatcher.group(1));
-    char symbol = actionMatcher.group(2).charAt(0);
-    int newState = Integer.parseInt(actionMatcher.group(3));
-    char newSymbol = actionMatcher.group(4).charAt(0);
-    char move = actionMatcher.group(5).charAt(0);
-
-    return Optional.of(ACTION_FACTORY.createAction(state, symbol, newState, newSymbol, move));
-  }
 }
@@ -0,0 +1,223 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.Preconditions;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Runtime metrics of one machine, collected by {@link MeteredTuringMachineSimulator}s and published as a platform
+ * MBean. Counters are {@link LongAdder}s, so runs on many threads update them without contention; transition hits are
+ * counted per run and added once the run ends.
+ */
+public final class MachineMetrics implements MachineMetricsMxBean {
+
+  private static final int HISTOGRAM_BUCKETS = Long.SIZE + 1;
+
+  private final TransitionTable table;
+  private final ObjectName objectName;
+  private final LongAdder[] outcomes = newAdders(Output.Outcome.values().length);
+  private final LongAdder totalSteps = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAdder[] runLengths = newAdders(HISTOGRAM_BUCKETS);
+  private final LongAdder[] transitionHits;
+  private final LongAccumulator maxTapeExtent = new LongAccumulator(Math::max, 0);
+
+  private MachineMetrics(TransitionTable table, ObjectName objectName) {
+    this.table = table;
+    this.objectName = objectName;
+    this.transitionHits = newAdders(table.getStateCount() * table.getSymbolCount());
+  }
+
+  /**
+   * Create metrics for a machine and register them with the platform MBean server under
+   * {@code com.mistraltech.turingmachine:type=MachineMetrics,name=<name>}.
+   *
+   * @param name the name of the machine, unique among registered metrics
+   * @param turingMachine the machine
+   * @throws IllegalStateException if the metrics could not be registered
+   */
+  public static MachineMetrics register(String name, TuringMachine turingMachine) {
+    Preconditions.checkArgument(turingMachine != null, "turingMachine must not be null");
+
+    return register(name, TransitionTable.compile(turingMachine));
+  }
+
+  /**
+   * Create metrics for an already compiled machine and register them with the platform MBean server.
+   *
+   * @param name the name of the machine, unique among registered metrics
+   * @param table the compiled machine program
+   * @throws IllegalStateException if the metrics could not be registered
+   */
+  public static MachineMetrics register(String name, TransitionTable table) {
+    Preconditions.checkArgument(name != null, "name must not be null");
+    Preconditions.checkArgument(table != null, "table must not be null");
+
+    try {
+      MachineMetrics metrics = new MachineMetrics(table,
+          new ObjectName("com.mistraltech.turingmachine:type=MachineMetrics,name=" + ObjectName.quote(name)));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, metrics.objectName);
+      return metrics;
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to register metrics for " + name, e);
+    }
+  }
+
+  /**
+   * Remove the metrics from the platform MBean server. They can still be updated and read directly.
+   */
+  public void unregister() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to unregister " + objectName, e);
+    }
+  }
+
+  public ObjectName getObjectName() {
+    return objectName;
+  }
+
+  TransitionTable getTable() {
+    return table;
+  }
+
+  /**
+   * Add a finished run.
+   *
+   * @param output the output of the run, with statistics attached
+   * @param nanos the time the run took
+   * @param hits the number of times the run took each transition, indexed by slot
+   */
+  void record(Output output, long nanos, long[] hits) {
+    RunStatistics statistics = output.getStatistics().orElseThrow();
+    maxTapeExtent.accumulate(statistics.getCellsVisited());
+
+    outcomes[output.getOutcome().ordinal()].increment();
+    totalSteps.add(output.getSteps());
+    totalNanos.add(nanos);
+    runLengths[Long.SIZE - Long.numberOfLeadingZeros(output.getSteps())].increment();
+
+    for (int slot = 0; slot < hits.length; slot++) {
+      if (hits[slot] != 0) {
+        transitionHits[slot].add(hits[slot]);
+      }
+    }
+  }
+
+  @Override
+  public long getRuns() {
+    long runs = 0;
+    for (LongAdder outcome : outcomes) {
+      runs += outcome.sum();
+    }
+    return runs;
+  }
+
+  @Override
+  public long getSucceededRuns() {
+    return runs(Output.Outcome.HALTS_AND_SUCCEEDS);
+  }
+
+  @Override
+  public long getFailedRuns() {
+    return runs(Output.Outcome.HALTS_AND_FAILS);
+  }
+
+  @Override
+  public long getNonHaltingRuns() {
+    return runs(Output.Outcome.DOES_NOT_HALT);
+  }
+
+  @Override
+  public long getLimitReachedRuns() {
+    return runs(Output.Outcome.STEP_LIMIT_REACHED) + runs(Output.Outcome.TIME_LIMIT_REACHED);
+  }
+
+  @Override
+  public long getTotalSteps() {
+    return totalSteps.sum();
+  }
+
+  @Override
+  public double getStepsPerSecond() {
+    long nanos = totalNanos.sum();
+    return nanos == 0 ? 0 : totalSteps.sum() * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+  }
+
+  @Override
+  public long[] getRunLengthHistogram() {
+    return sums(runLengths);
+  }
+
+  @Override
+  public Map<String, Long> getTransitionHits() {
+    Map<String, Long> hits = new LinkedHashMap<>();
+    int symbolCount = table.getSymbolCount();
+
+    for (int slot = 0; slot < transitionHits.length; slot++) {
+      long count = transitionHits[slot].sum();
+      if (count != 0) {
+        hits.put(table.getState(slot / symbolCount) + "," + table.getSymbol(slot % symbolCount), count);
+      }
+    }
+
+    return hits;
+  }
+
+  /**
+   * Return the number of times each transition was taken, indexed by transition table slot.
+   */
+  public long[] getTransitionHitCounts() {
+    return sums(transitionHits);
+  }
+
+  @Override
+  public long getMaxTapeExtent() {
+    return maxTapeExtent.get();
+  }
+
+  @Override
+  public void reset() {
+    resetAll(outcomes);
+    resetAll(runLengths);
+    resetAll(transitionHits);
+    totalSteps.reset();
+    totalNanos.reset();
+    maxTapeExtent.reset();
+  }
+
+  private long runs(Output.Outcome outcome) {
+    return outcomes[outcome.ordinal()].sum();
+  }
+
+  private static LongAdder[] newAdders(int count) {
+    LongAdder[] adders = new LongAdder[count];
+    for (int i = 0; i < count; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+
+  private static long[] sums(LongAdder[] adders) {
+    long[] sums = new long[adders.length];
+    for (int i = 0; i < adders.length; i++) {
+      sums[i] = adders[i].sum();
+    }
+    return sums;
+  }
+
+  private static void resetAll(LongAdder[] adders) {
+    for (LongAdder adder : adders) {
+      adder.reset();
+    }
+  }
+}
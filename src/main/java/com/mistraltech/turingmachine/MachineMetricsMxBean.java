@@ -0,0 +1,53 @@
+package com.mistraltech.turingmachine;
+
+import java.util.Map;
+import javax.management.MXBean;
+
+/**
+ * The management interface of {@link MachineMetrics}, as seen through JMX. The annotation marks it as an MXBean
+ * interface in place of the usual name suffix.
+ */
+@MXBean
+public interface MachineMetricsMxBean {
+
+  long getRuns();
+
+  long getSucceededRuns();
+
+  long getFailedRuns();
+
+  /**
+   * Return the number of runs that were proved never to halt.
+   */
+  long getNonHaltingRuns();
+
+  /**
+   * Return the number of runs stopped by a step or time limit.
+   */
+  long getLimitReachedRuns();
+
+  long getTotalSteps();
+
+  /**
+   * Return the total steps divided by the total time spent computing, across all threads.
+   */
+  double getStepsPerSecond();
+
+  /**
+   * Return the number of runs by length, where element i counts runs of 2^(i-1) to 2^i - 1 steps (element 0 counts
+   * runs of no steps).
+   */
+  long[] getRunLengthHistogram();
+
+  /**
+   * Return the number of times each transition was taken, keyed by "state,symbol".
+   */
+  Map<String, Long> getTransitionHits();
+
+  /**
+   * Return the largest number of cells visited by a single run.
+   */
+  long getMaxTapeExtent();
+
+  void reset();
+}
@@ -0,0 +1,305 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A TuringMachineSimulator that groups blockSize consecutive tape cells into a macro-symbol and moves the machine a
+ * whole block at a time. When the head enters a block from one side, the base program is run inside the block until the
+ * head leaves it or the machine halts; the outcome is a macro-transition that is cached, keyed by state, block content
+ * and entry side, and reused whenever the same combination occurs again.
+ *
+ * <p>The cache is a bounded direct-mapped table: each key hashes to a single slot and a new entry replaces whatever
+ * was there. Entries are immutable, so the table can be shared between threads without locking. Each macro-transition
+ * records how many base steps it represents, so outputs and step counts are the same as for the other simulators.
+ * Starting mid-block, a macro-transition that would exceed the step budget, or one that does not finish within a
+ * bounded number of base steps, is simulated one base step at a time instead.
+ */
+public class MacroMachineSimulator implements TuringMachineSimulator {
+
+  public static final int MAX_BLOCK_SIZE = 8;
+  public static final int DEFAULT_CACHE_SIZE = 1 << 16;
+
+  private static final int DEFAULT_MAX_ITERATIONS = 1000;
+  private static final int BITS_PER_SYMBOL = 8;
+  private static final int MIN_BLOCKS = 16;
+  private static final long TRANSITION_STEP_CAP = 1 << 16;
+
+  private static final int EXITED = 0;
+  private static final int HALTED = 1;
+  private static final int STOPPED = 2;
+
+  private final TransitionTable table;
+  private final int blockSize;
+  private final int symbolCount;
+  private final int[] nextStates;
+  private final byte[] newSymbols;
+  private final byte[] moves;
+  private final MacroTransition[] cache;
+
+  public MacroMachineSimulator(TuringMachine turingMachine, int blockSize) {
+    this(TransitionTable.compile(turingMachine), blockSize, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Construct a simulator for an already compiled program.
+   *
+   * @param table the compiled program
+   * @param blockSize the number of cells in each block, from 1 to {@link #MAX_BLOCK_SIZE}
+   * @param cacheSize the maximum number of cached macro-transitions, rounded up to a power of two
+   */
+  public MacroMachineSimulator(TransitionTable table, int blockSize, int cacheSize) {
+    Preconditions.checkArgument(table != null, "table must not be null");
+    Preconditions.checkArgument(blockSize >= 1 && blockSize <= MAX_BLOCK_SIZE,
+        "blockSize must be between 1 and %d", MAX_BLOCK_SIZE);
+    Preconditions.checkArgument(cacheSize > 0, "cacheSize must be positive");
+
+    this.table = table;
+    this.blockSize = blockSize;
+    this.symbolCount = table.getSymbolCount();
+    this.nextStates = table.getNextStates();
+    this.newSymbols = table.getNewSymbols();
+    this.moves = table.getMoves();
+    this.cache = new MacroTransition[Integer.highestOneBit(Math.max(1, cacheSize - 1)) << 1];
+  }
+
+  @Override
+  public Output compute(Tape input) {
+    return compute(input, DEFAULT_MAX_ITERATIONS);
+  }
+
+  /**
+   * Compute the output for an input tape, delivering every step to a listener. Observed computations take one step at
+   * a time using a {@link CompiledTuringMachineSimulator} for the same program.
+   */
+  @Override
+  public Output compute(Tape input, Limits limits, StepListener listener) {
+    return new CompiledTuringMachineSimulator(table).compute(input, limits, listener);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    Limits.Timer timer = limits.startTimer();
+    long maxSteps = limits.getMaxSteps();
+    int checkInterval = limits.getCheckInterval();
+
+    List<Symbol> alphabet = new ArrayList<>();
+    for (int symbol = 0; symbol < symbolCount; symbol++) {
+      alphabet.add(table.getSymbol(symbol));
+    }
+
+    // Blocks are aligned so that position 1, where output is read from, starts a block
+    int from = Math.min(input.getLeftBound(), input.getHeadPosition());
+    int to = Math.max(input.getRightBound(), input.getHeadPosition() + 1);
+    int firstBlock = Math.floorDiv(from - 1, blockSize);
+    int lastBlock = Math.floorDiv(to - 2, blockSize);
+    long[] blocks = new long[Math.max(MIN_BLOCKS, 2 * (lastBlock - firstBlock + 1))];
+    int originBlock = (blocks.length - (lastBlock - firstBlock + 1)) / 2 - firstBlock;
+
+    List<Symbol> content = input.getString(from, to);
+    for (int i = 0; i < content.size(); i++) {
+      int position = from + i;
+      int block = originBlock + Math.floorDiv(position - 1, blockSize);
+      blocks[block] = withCell(blocks[block], Math.floorMod(position - 1, blockSize), encode(content.get(i), alphabet));
+    }
+
+    int block = originBlock + Math.floorDiv(input.getHeadPosition() - 1, blockSize);
+    int offset = Math.floorMod(input.getHeadPosition() - 1, blockSize);
+    int state = table.getInitialState();
+    long steps = 0;
+    long iterations = 0;
+
+    while (true) {
+      MacroTransition transition = null;
+
+      if (offset == 0 || offset == blockSize - 1) {
+        transition = lookup(state, blocks[block], offset);
+
+        if (transition.status == STOPPED || transition.steps > maxSteps - steps) {
+          transition = null;
+        }
+      }
+
+      if (transition == null) {
+        // Step through the block one base step at a time, stopping at the next time check
+        transition = run(state, blocks[block], offset, Math.min(maxSteps - steps, checkInterval));
+      }
+
+      blocks[block] = transition.newBlock;
+      state = transition.newState;
+      offset = transition.newOffset;
+      steps += transition.steps;
+
+      if (transition.status == HALTED) {
+        return table.isFinalState(state)
+            ? Output.haltsAndSucceeds(outputString(blocks, originBlock, alphabet), steps)
+            : Output.haltsAndFails(steps);
+      }
+
+      if (transition.status == STOPPED) {
+        if (steps == maxSteps) {
+          return Output.stepLimitReached(steps);
+        }
+      } else if (offset < 0) {
+        offset = blockSize - 1;
+        if (--block < 0) {
+          int growth = blocks.length;
+          blocks = growLeft(blocks);
+          block += growth;
+          originBlock += growth;
+        }
+      } else {
+        offset = 0;
+        if (++block == blocks.length) {
+          blocks = Arrays.copyOf(blocks, blocks.length * 2);
+        }
+      }
+
+      if (++iterations % checkInterval == 0 && timer.isExpired()) {
+        return Output.timeLimitReached(steps);
+      }
+    }
+  }
+
+  private MacroTransition lookup(int state, long block, int offset) {
+    long hash = (block ^ ((long) state << 1 | (offset == 0 ? 0 : 1))) * 0x9E3779B97F4A7C15L;
+    int index = (int) (hash >>> 32) & (cache.length - 1);
+
+    MacroTransition transition = cache[index];
+
+    if (transition == null || transition.state != state || transition.block != block || transition.offset != offset) {
+      transition = run(state, block, offset, TRANSITION_STEP_CAP);
+      cache[index] = transition;
+    }
+
+    return transition;
+  }
+
+  /**
+   * Run the base program inside a single block until the head leaves the block, the machine halts or maxSteps steps
+   * have been taken.
+   */
+  private MacroTransition run(int state, long block, int offset, long maxSteps) {
+    long newBlock = block;
+    int newOffset = offset;
+    int newState = state;
+    long steps = 0;
+
+    while (true) {
+      int symbol = cell(newBlock, newOffset);
+
+      if (symbol >= symbolCount) {
+        return new MacroTransition(state, block, offset, HALTED, newState, newBlock, newOffset, steps);
+      }
+
+      int slot = newState * symbolCount + symbol;
+      int nextState = nextStates[slot];
+
+      if (nextState < 0) {
+        return new MacroTransition(state, block, offset, HALTED, newState, newBlock, newOffset, steps);
+      }
+
+      if (steps == maxSteps) {
+        return new MacroTransition(state, block, offset, STOPPED, newState, newBlock, newOffset, steps);
+      }
+
+      newBlock = withCell(newBlock, newOffset, newSymbols[slot] & 0xFF);
+      newOffset += moves[slot];
+      newState = nextState;
+      steps++;
+
+      if (newOffset < 0 || newOffset >= blockSize) {
+        return new MacroTransition(state, block, offset, EXITED, newState, newBlock, newOffset, steps);
+      }
+    }
+  }
+
+  private static int cell(long block, int offset) {
+    return (int) (block >>> (offset * BITS_PER_SYMBOL)) & 0xFF;
+  }
+
+  private static long withCell(long block, int offset, int symbol) {
+    int shift = offset * BITS_PER_SYMBOL;
+    return block & ~(0xFFL << shift) | (long) symbol << shift;
+  }
+
+  private int encode(Symbol symbol, List<Symbol> alphabet) {
+    int index = table.indexOf(symbol);
+
+    if (index == TransitionTable.UNDEFINED) {
+      index = alphabet.indexOf(symbol);
+
+      if (index < 0) {
+        Preconditions.checkArgument(alphabet.size() < TransitionTable.MAX_SYMBOLS,
+            "Input has more than %d distinct symbols", TransitionTable.MAX_SYMBOLS);
+
+        index = alphabet.size();
+        alphabet.add(symbol);
+      }
+    }
+
+    return index;
+  }
+
+  private static long[] growLeft(long[] blocks) {
+    long[] grown = new long[blocks.length * 2];
+    System.arraycopy(blocks, 0, grown, blocks.length, blocks.length);
+    return grown;
+  }
+
+  private List<Symbol> outputString(long[] blocks, int originBlock, List<Symbol> alphabet) {
+    List<Symbol> outputString = new ArrayList<>();
+
+    for (int block = originBlock; block >= 0 && block < blocks.length; block++) {
+      for (int offset = 0; offset < blockSize; offset++) {
+        int symbol = cell(blocks[block], offset);
+
+        if (symbol == 0) {
+          return outputString;
+        }
+
+        outputString.add(alphabet.get(symbol));
+      }
+    }
+
+    return outputString;
+  }
+
+  /**
+   * The result of running the base program inside one block, together with the (state, block, offset) it started from.
+   * Symbols the program does not know halt the machine whichever input symbol they stand for, so a transition is valid
+   * for every computation of the same program.
+   */
+  private static final class MacroTransition {
+
+    private final int state;
+    private final long block;
+    private final int offset;
+    private final int status;
+    private final int newState;
+    private final long newBlock;
+    private final int newOffset;
+    private final long steps;
+
+    private MacroTransition(int state, long block, int offset, int status, int newState, long newBlock, int newOffset,
+        long steps) {
+      this.state = state;
+      this.block = block;
+      this.offset = offset;
+      this.status = status;
+      this.newState = newState;
+      this.newBlock = newBlock;
+      this.newOffset = newOffset;
+      this.steps = steps;
+    }
+  }
+}
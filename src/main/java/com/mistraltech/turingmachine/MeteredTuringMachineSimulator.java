@@ -0,0 +1,123 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.Preconditions;
+
+/**
+ * A TuringMachineSimulator that runs each computation on another simulator, observing its steps to update
+ * {@link MachineMetrics} and attaching {@link RunStatistics} to the output. Observing steps takes the simulator's
+ * step-at-a-time loop, so metering costs throughput and is meant for finding hot machines and runaway inputs rather
+ * than for the fastest runs. Instances hold no per-computation state and may be shared between threads if the
+ * simulator may.
+ */
+public class MeteredTuringMachineSimulator implements TuringMachineSimulator {
+
+  private static final int DEFAULT_MAX_ITERATIONS = 1000;
+
+  private final TuringMachineSimulator simulator;
+  private final MachineMetrics metrics;
+  private final TransitionTable table;
+  private final byte[] moves;
+
+  /**
+   * Construct a simulator that meters another.
+   *
+   * @param simulator the simulator that runs computations, which must support step listeners
+   * @param metrics the metrics of the simulator's machine
+   */
+  public MeteredTuringMachineSimulator(TuringMachineSimulator simulator, MachineMetrics metrics) {
+    Preconditions.checkArgument(simulator != null, "simulator must not be null");
+    Preconditions.checkArgument(metrics != null, "metrics must not be null");
+
+    this.simulator = simulator;
+    this.metrics = metrics;
+    this.table = metrics.getTable();
+    this.moves = table.getMoves();
+  }
+
+  @Override
+  public Output compute(Tape input) {
+    return compute(input, DEFAULT_MAX_ITERATIONS);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits) {
+    return compute(input, limits, null);
+  }
+
+  /**
+   * Compute the output for an input tape within the given limits, passing the steps on to a listener as well as
+   * metering them.
+   *
+   * @param input the input tape
+   * @param limits the step and time limits
+   * @param listener a listener to deliver steps to, or null for none
+   */
+  @Override
+  public Output compute(Tape input, Limits limits, StepListener listener) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    Meter meter = new Meter(input.getHeadPosition(), listener);
+    long start = System.nanoTime();
+    Output output = simulator.compute(input, limits, meter);
+    long nanos = System.nanoTime() - start;
+
+    Output metered = output.withStatistics(new RunStatistics(output.getSteps(), meter.minHead, meter.maxHead));
+    metrics.record(metered, nanos, meter.hits);
+    return metered;
+  }
+
+  /**
+   * Counts the transitions of one computation and tracks the range of head positions.
+   */
+  private final class Meter implements StepListener {
+
+    private final StepListener listener;
+    private final long[] hits = new long[moves.length];
+    private int minHead;
+    private int maxHead;
+
+    private Meter(int headPosition, StepListener listener) {
+      this.listener = listener;
+      this.minHead = headPosition;
+      this.maxHead = headPosition;
+    }
+
+    @Override
+    public void onSteps(StepBatch batch) {
+      for (int i = 0; i < batch.size(); i++) {
+        int slot = batch.hasSlots() ? batch.getSlot(i) : slot(batch.getAction(i));
+        // The head position is before the step, and the step moves at most one cell
+        int head = batch.getHeadPosition(i) + moves[slot];
+        hits[slot]++;
+        minHead = Math.min(minHead, head);
+        maxHead = Math.max(maxHead, head);
+      }
+
+      if (listener != null) {
+        listener.onSteps(batch);
+      }
+    }
+
+    @Override
+    public void onHalt(Output output) {
+      if (listener != null) {
+        listener.onHalt(output);
+      }
+    }
+
+    @Override
+    public void onLimit(Output output) {
+      if (listener != null) {
+        listener.onLimit(output);
+      }
+    }
+
+    private int slot(Action action) {
+      return table.slot(table.indexOf(action.getState()), table.indexOf(action.getSymbol()));
+    }
+  }
+}
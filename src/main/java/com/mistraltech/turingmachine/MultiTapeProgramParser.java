@@ -0,0 +1,163 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.MultiTapeAction;
+import com.mistraltech.turingmachine.model.Symbol;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the text format of k-tape programs, which extends the single tape format with one symbol per tape on the
+ * left and one symbol and one move per tape on the right:
+ * {@code (state, 'symbol1', ..., 'symbolk') -> (newState, 'newSymbol1', ..., 'newSymbolk', move1, ..., movek)}.
+ * Whitespace may appear around any token. Blank lines and lines starting with '#' are skipped, and the tape count is
+ * taken from the first action.
+ */
+final class MultiTapeProgramParser {
+
+  private final String line;
+  private int position;
+
+  private MultiTapeProgramParser(String line) {
+    this.line = line;
+  }
+
+  /**
+   * Parse the actions of a program, in the order they appear.
+   *
+   * @param lines the lines of the program
+   * @throws ProgramLoadException if a line is not a valid action or has a different tape count from the first
+   */
+  static List<MultiTapeAction> parse(List<String> lines) {
+    List<MultiTapeAction> actions = new ArrayList<>();
+
+    for (int i = 0; i < lines.size(); i++) {
+      String text = lines.get(i).trim();
+
+      if (text.isEmpty() || text.startsWith("#")) {
+        continue;
+      }
+
+      MultiTapeAction action = new MultiTapeProgramParser(text).action();
+      if (action == null || (!actions.isEmpty() && action.getTapeCount() != actions.get(0).getTapeCount())) {
+        throw new ProgramLoadException("Invalid line " + (i + 1) + ": " + lines.get(i));
+      }
+
+      actions.add(action);
+    }
+
+    return actions;
+  }
+
+  /**
+   * Parse the line as an action, or return null if it is not one.
+   */
+  private MultiTapeAction action() {
+    if (!expect('(')) {
+      return null;
+    }
+    int state = number();
+    List<Symbol> symbols = new ArrayList<>();
+    while (state >= 0 && expect(',')) {
+      Symbol symbol = quotedSymbol();
+      if (symbol == null) {
+        return null;
+      }
+      symbols.add(symbol);
+    }
+
+    if (state < 0 || symbols.isEmpty() || !expect(')') || !expect('-') || !expect('>') || !expect('(')) {
+      return null;
+    }
+    int newState = number();
+    List<Symbol> newSymbols = new ArrayList<>();
+    List<Move> moves = new ArrayList<>();
+    while (newState >= 0 && expect(',')) {
+      if (newSymbols.size() < symbols.size()) {
+        Symbol symbol = quotedSymbol();
+        if (symbol == null) {
+          return null;
+        }
+        newSymbols.add(symbol);
+      } else {
+        Move move = move();
+        if (move == null) {
+          return null;
+        }
+        moves.add(move);
+      }
+    }
+
+    if (newState < 0 || moves.size() != symbols.size() || !expect(')') || position != line.length()) {
+      return null;
+    }
+
+    return new MultiTapeAction(IntState.getState(state), symbols, IntState.getState(newState), newSymbols, moves);
+  }
+
+  /**
+   * Skip whitespace and consume a character, returning whether it was there.
+   */
+  private boolean expect(char c) {
+    skipWhitespace();
+
+    if (position < line.length() && line.charAt(position) == c) {
+      position++;
+      return true;
+    }
+
+    return false;
+  }
+
+  private void skipWhitespace() {
+    while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+      position++;
+    }
+  }
+
+  private int number() {
+    skipWhitespace();
+    int from = position;
+
+    while (position < line.length() && position - from < 9 && line.charAt(position) >= '0'
+        && line.charAt(position) <= '9') {
+      position++;
+    }
+
+    return position == from ? -1 : Integer.parseInt(line.substring(from, position));
+  }
+
+  private Symbol quotedSymbol() {
+    skipWhitespace();
+
+    if (position + 2 < line.length() && line.charAt(position) == '\'' && line.charAt(position + 2) == '\'') {
+      Symbol symbol = CharSymbol.getSymbol(line.charAt(position + 1));
+      position += 3;
+      return symbol;
+    }
+
+    return null;
+  }
+
+  private Move move() {
+    skipWhitespace();
+
+    if (position < line.length()) {
+      switch (line.charAt(position++)) {
+        case 'L':
+          return Move.LEFT;
+        case 'R':
+          return Move.RIGHT;
+        case '0':
+          return Move.NONE;
+        default:
+          return null;
+      }
+    }
+
+    return null;
+  }
+}
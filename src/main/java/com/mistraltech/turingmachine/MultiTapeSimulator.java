@@ -0,0 +1,301 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.MultiTapeAction;
+import com.mistraltech.turingmachine.model.MultiTapeMachine;
+import com.mistraltech.turingmachine.model.PackedSymbolList;
+import com.mistraltech.turingmachine.model.State;
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A simulator for {@link MultiTapeMachine}s. The program is compiled into primitive arrays: states and symbols are
+ * given contiguous indices, as in a {@link TransitionTable}, and the state and the k symbols under the heads are packed
+ * into one key, {@code ((state * m + symbol0) * m + symbol1) ... * m + symbolk-1} for m symbols. When every key fits
+ * in a table of {@link #MAX_DENSE_SLOTS} the key indexes an array of actions directly; larger programs look keys up in
+ * an open addressing hash table holding only the defined actions.
+ *
+ * <p>Each tape is a byte array of symbol indices that grows at either end by doubling. The input is placed on tape 0,
+ * the other tapes start blank, and the output is read from tape 0. Instances hold no per-computation state and may be
+ * shared between threads.
+ */
+public class MultiTapeSimulator implements TuringMachineSimulator {
+
+  static final int MAX_DENSE_SLOTS = 1 << 22;
+
+  private static final int DEFAULT_MAX_ITERATIONS = 1000;
+  private static final int MIN_CAPACITY = 16;
+  private static final int NO_ACTION = -1;
+
+  private final int tapeCount;
+  private final List<Symbol> symbols;
+  private final Map<Symbol, Integer> symbolIndices;
+  private final boolean[] finalStates;
+  private final int initialState;
+  private final int[] nextStates;
+  private final byte[] newSymbols;
+  private final byte[] moves;
+
+  private final int[] denseActions;
+  private final long[] sparseKeys;
+  private final int[] sparseActions;
+
+  public MultiTapeSimulator(MultiTapeMachine machine) {
+    Preconditions.checkArgument(machine != null, "machine must not be null");
+    Preconditions.checkArgument(machine.getSymbols().size() <= TransitionTable.MAX_SYMBOLS,
+        "Cannot compile more than %d symbols", TransitionTable.MAX_SYMBOLS);
+
+    List<State> states = new ArrayList<>(machine.getStates());
+    states.sort(null);
+
+    this.tapeCount = machine.getTapeCount();
+    this.symbols = new ArrayList<>();
+    symbols.add(machine.getBlank());
+    machine.getSymbols().stream()
+        .filter(s -> !s.equals(machine.getBlank()))
+        .sorted()
+        .forEach(symbols::add);
+    this.symbolIndices = indexMap(symbols);
+
+    this.finalStates = new boolean[states.size()];
+    for (int state = 0; state < finalStates.length; state++) {
+      finalStates[state] = machine.isFinalState(states.get(state));
+    }
+    Map<State, Integer> stateIndices = indexMap(states);
+    this.initialState = stateIndices.get(machine.getInitialState());
+
+    final long keyCount = keyCount(states.size(), symbols.size(), tapeCount);
+
+    List<MultiTapeAction> actions = new ArrayList<>(machine.getActions());
+    long[] keys = new long[actions.size()];
+    this.nextStates = new int[actions.size()];
+    this.newSymbols = new byte[actions.size() * tapeCount];
+    this.moves = new byte[actions.size() * tapeCount];
+
+    for (int i = 0; i < actions.size(); i++) {
+      MultiTapeAction action = actions.get(i);
+      long key = stateIndices.get(action.getState());
+
+      for (int tape = 0; tape < tapeCount; tape++) {
+        key = key * symbols.size() + symbolIndices.get(action.getSymbols().get(tape));
+        newSymbols[i * tapeCount + tape] = (byte) (int) symbolIndices.get(action.getNewSymbols().get(tape));
+        moves[i * tapeCount + tape] = encodeMove(action.getMoves().get(tape));
+      }
+
+      keys[i] = key;
+      nextStates[i] = stateIndices.get(action.getNewState());
+    }
+
+    if (keyCount <= MAX_DENSE_SLOTS) {
+      this.denseActions = new int[(int) keyCount];
+      Arrays.fill(denseActions, NO_ACTION);
+      for (int i = 0; i < keys.length; i++) {
+        denseActions[(int) keys[i]] = i;
+      }
+      this.sparseKeys = null;
+      this.sparseActions = null;
+    } else {
+      int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, keys.length * 2)) * 2;
+      this.denseActions = null;
+      this.sparseKeys = new long[capacity];
+      this.sparseActions = new int[capacity];
+      Arrays.fill(sparseActions, NO_ACTION);
+      for (int i = 0; i < keys.length; i++) {
+        int bucket = bucket(keys[i]);
+        while (sparseActions[bucket] != NO_ACTION) {
+          bucket = (bucket + 1) & (capacity - 1);
+        }
+        sparseKeys[bucket] = keys[i];
+        sparseActions[bucket] = i;
+      }
+    }
+  }
+
+  private static <T> Map<T, Integer> indexMap(List<T> items) {
+    Map<T, Integer> map = new HashMap<>();
+    for (int i = 0; i < items.size(); i++) {
+      map.put(items.get(i), i);
+    }
+    return map;
+  }
+
+  private static byte encodeMove(Move move) {
+    return (byte) (move == Move.LEFT ? -1 : move == Move.RIGHT ? 1 : 0);
+  }
+
+  public int getTapeCount() {
+    return tapeCount;
+  }
+
+  @Override
+  public Output compute(Tape input) {
+    return compute(input, DEFAULT_MAX_ITERATIONS);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    Limits.Timer timer = limits.startTimer();
+
+    // Input symbols the program does not know are added after its own, so they never match an action
+    List<Symbol> alphabet = new ArrayList<>(symbols);
+    Map<Symbol, Integer> alphabetIndices = new HashMap<>(symbolIndices);
+    int machineSymbolCount = symbols.size();
+
+    byte[][] cells = new byte[tapeCount][];
+    int[] origins = new int[tapeCount];
+    int[] heads = new int[tapeCount];
+
+    int from = Math.min(input.getLeftBound(), input.getHeadPosition());
+    int to = Math.max(input.getRightBound(), input.getHeadPosition() + 1);
+    cells[0] = new byte[Math.max(MIN_CAPACITY, 2 * (to - from))];
+    origins[0] = (cells[0].length - (to - from)) / 2 - from;
+    heads[0] = origins[0] + input.getHeadPosition();
+
+    List<Symbol> content = input.getString(from, to);
+    for (int i = 0; i < content.size(); i++) {
+      cells[0][origins[0] + from + i] = (byte) encode(content.get(i), alphabet, alphabetIndices);
+    }
+
+    for (int tape = 1; tape < tapeCount; tape++) {
+      cells[tape] = new byte[MIN_CAPACITY];
+      origins[tape] = MIN_CAPACITY / 2 - 1;
+      heads[tape] = origins[tape] + 1;
+    }
+
+    int state = initialState;
+    long steps = 0;
+    long maxSteps = limits.getMaxSteps();
+    int checkInterval = limits.getCheckInterval();
+    long nextCheck = checkInterval;
+
+    while (true) {
+      if (finalStates[state]) {
+        return Output.haltsAndSucceeds(outputString(alphabet, cells[0], origins[0]), steps);
+      }
+
+      int action = findAction(state, cells, heads, machineSymbolCount);
+
+      if (action == NO_ACTION) {
+        return Output.haltsAndFails(steps);
+      }
+
+      if (steps == maxSteps) {
+        return Output.stepLimitReached(steps);
+      }
+
+      if (steps == nextCheck) {
+        if (timer.isExpired()) {
+          return Output.timeLimitReached(steps);
+        }
+        nextCheck += checkInterval;
+      }
+
+      int base = action * tapeCount;
+      for (int tape = 0; tape < tapeCount; tape++) {
+        byte[] tapeCells = cells[tape];
+        int head = heads[tape];
+        tapeCells[head] = newSymbols[base + tape];
+        head += moves[base + tape];
+
+        if (head < 0) {
+          int growth = tapeCells.length;
+          byte[] grown = new byte[tapeCells.length * 2];
+          System.arraycopy(tapeCells, 0, grown, growth, tapeCells.length);
+          cells[tape] = grown;
+          origins[tape] += growth;
+          head += growth;
+        } else if (head == tapeCells.length) {
+          cells[tape] = Arrays.copyOf(tapeCells, tapeCells.length * 2);
+        }
+
+        heads[tape] = head;
+      }
+
+      state = nextStates[action];
+      steps++;
+    }
+  }
+
+  /**
+   * Return the number of distinct keys of a state and the symbols under every head. Each key packs the state and
+   * symbols into one long, so a machine whose keys would not all fit is rejected rather than letting keys collide.
+   */
+  private static long keyCount(int stateCount, int symbolCount, int tapeCount) {
+    try {
+      long keyCount = stateCount;
+      for (int tape = 0; tape < tapeCount; tape++) {
+        keyCount = Math.multiplyExact(keyCount, symbolCount);
+      }
+      return keyCount;
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(String.format(
+          "Cannot index the actions of %d states and %d symbols on %d tapes", stateCount, symbolCount, tapeCount));
+    }
+  }
+
+  private int findAction(int state, byte[][] cells, int[] heads, int machineSymbolCount) {
+    long key = state;
+
+    for (int tape = 0; tape < tapeCount; tape++) {
+      int symbol = cells[tape][heads[tape]] & 0xFF;
+      if (symbol >= machineSymbolCount) {
+        return NO_ACTION;
+      }
+      key = key * machineSymbolCount + symbol;
+    }
+
+    if (denseActions != null) {
+      return denseActions[(int) key];
+    }
+
+    int mask = sparseKeys.length - 1;
+    for (int bucket = bucket(key); sparseActions[bucket] != NO_ACTION; bucket = (bucket + 1) & mask) {
+      if (sparseKeys[bucket] == key) {
+        return sparseActions[bucket];
+      }
+    }
+
+    return NO_ACTION;
+  }
+
+  private int bucket(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash >>> 32) & (sparseKeys.length - 1);
+  }
+
+  private static int encode(Symbol symbol, List<Symbol> alphabet, Map<Symbol, Integer> alphabetIndices) {
+    Integer index = alphabetIndices.get(symbol);
+
+    if (index == null) {
+      Preconditions.checkArgument(alphabet.size() < TransitionTable.MAX_SYMBOLS,
+          "Input has more than %d distinct symbols", TransitionTable.MAX_SYMBOLS);
+
+      index = alphabet.size();
+      alphabet.add(symbol);
+      alphabetIndices.put(symbol, index);
+    }
+
+    return index;
+  }
+
+  private static List<Symbol> outputString(List<Symbol> alphabet, byte[] cells, int origin) {
+    int from = origin + 1;
+    int to = from;
+
+    while (to < cells.length && cells[to] != 0) {
+      to++;
+    }
+
+    return PackedSymbolList.of(alphabet, cells, from, to);
+  }
+}
@@ -0,0 +1,407 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.PackedSymbolList;
+import com.mistraltech.turingmachine.model.State;
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.turingmachine.model.Zobrist;
+import com.mistraltech.utils.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A simulator for nondeterministic machines, whose programs may have several actions for a state and symbol (see
+ * {@link TuringMachine#findActions}). The tree of configurations is searched breadth first, one level per step, and
+ * the machine accepts as soon as any branch reaches a final state; its output is that branch's output and its step
+ * count the depth of the branch. If every branch halts without reaching a final state the machine fails.
+ *
+ * <p>Each level is expanded in parallel on a fork-join pool. Configurations already reached on any branch are pruned,
+ * so branches that converge are only explored once. Reached configurations are kept by a 64-bit {@link Zobrist} hash
+ * of their state, head position and tape, updated as each branch steps, and a configuration whose hash matches is
+ * compared in full before it is pruned, so a hash collision never discards a different configuration. The step limit
+ * bounds the depth of the search, and the time limit is checked while each level is expanded.
+ * NondeterministicSimulator is immutable; the {@code with} methods return modified copies.
+ */
+public class NondeterministicSimulator implements TuringMachineSimulator {
+
+  private static final int DEFAULT_MAX_ITERATIONS = 1000;
+  private static final int MIN_CAPACITY = 16;
+  private static final int SPLIT_THRESHOLD = 64;
+  private static final int TIME_CHECK_INTERVAL = 256;
+
+  private final TuringMachine turingMachine;
+  private final List<Symbol> symbols;
+  private final Map<Symbol, Integer> symbolIndices;
+  private final int symbolCount;
+  private final boolean[] finalStates;
+  private final int initialState;
+  private final int[] slotStarts;
+  private final int[] nextStates;
+  private final byte[] newSymbols;
+  private final byte[] moves;
+  private final ForkJoinPool pool;
+
+  public NondeterministicSimulator(TuringMachine turingMachine) {
+    this(turingMachine, ForkJoinPool.commonPool());
+  }
+
+  private NondeterministicSimulator(TuringMachine turingMachine, ForkJoinPool pool) {
+    Preconditions.checkArgument(turingMachine != null, "turingMachine must not be null");
+    Preconditions.checkArgument(turingMachine.getSymbols().size() <= TransitionTable.MAX_SYMBOLS,
+        "Cannot compile more than %d symbols", TransitionTable.MAX_SYMBOLS);
+
+    this.turingMachine = turingMachine;
+    this.pool = pool;
+
+    List<State> states = new ArrayList<>(turingMachine.getStates());
+    states.sort(null);
+    Map<State, Integer> stateIndices = new HashMap<>();
+    for (int i = 0; i < states.size(); i++) {
+      stateIndices.put(states.get(i), i);
+    }
+
+    this.symbols = new ArrayList<>();
+    symbols.add(turingMachine.getBlank());
+    turingMachine.getSymbols().stream()
+        .filter(s -> !s.equals(turingMachine.getBlank()))
+        .sorted()
+        .forEach(symbols::add);
+    this.symbolIndices = new HashMap<>();
+    for (int i = 0; i < symbols.size(); i++) {
+      symbolIndices.put(symbols.get(i), i);
+    }
+    this.symbolCount = symbols.size();
+
+    this.finalStates = new boolean[states.size()];
+    this.initialState = stateIndices.get(turingMachine.getInitialState());
+
+    // The actions of slot (state * symbolCount + symbol) are at indices slotStarts[slot] to slotStarts[slot + 1]
+    List<Action> actions = new ArrayList<>();
+    this.slotStarts = new int[states.size() * symbolCount + 1];
+    for (int state = 0; state < states.size(); state++) {
+      finalStates[state] = turingMachine.isFinalState(states.get(state));
+      for (int symbol = 0; symbol < symbolCount; symbol++) {
+        slotStarts[state * symbolCount + symbol] = actions.size();
+        actions.addAll(turingMachine.findActions(states.get(state), symbols.get(symbol)));
+      }
+    }
+    slotStarts[slotStarts.length - 1] = actions.size();
+
+    this.nextStates = new int[actions.size()];
+    this.newSymbols = new byte[actions.size()];
+    this.moves = new byte[actions.size()];
+    for (int i = 0; i < actions.size(); i++) {
+      Action action = actions.get(i);
+      Preconditions.checkArgument(stateIndices.containsKey(action.getNewState()),
+          "Action %s moves to an unknown state", action);
+      Preconditions.checkArgument(symbolIndices.containsKey(action.getNewSymbol()),
+          "Action %s writes an unknown symbol", action);
+
+      nextStates[i] = stateIndices.get(action.getNewState());
+      newSymbols[i] = (byte) (int) symbolIndices.get(action.getNewSymbol());
+      moves[i] = (byte) (action.getMove() == Move.LEFT ? -1 : action.getMove() == Move.RIGHT ? 1 : 0);
+    }
+  }
+
+  public NondeterministicSimulator withPool(ForkJoinPool pool) {
+    Preconditions.checkArgument(pool != null, "pool must not be null");
+
+    return new NondeterministicSimulator(turingMachine, pool);
+  }
+
+  @Override
+  public Output compute(Tape input) {
+    return compute(input, DEFAULT_MAX_ITERATIONS);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    Search search = new Search(limits);
+    List<Branch> frontier = List.of(search.start(input));
+    search.visit(frontier.get(0));
+    long depth = 0;
+
+    while (true) {
+      pool.invoke(new Expand(search, frontier, 0, frontier.size(), depth));
+
+      if (search.accepted.get() != null) {
+        Branch accepted = search.accepted.get();
+        return Output.haltsAndSucceeds(accepted.outputString(search.alphabet), depth);
+      }
+
+      if (search.timedOut.get()) {
+        return Output.timeLimitReached(depth);
+      }
+
+      if (search.next.isEmpty()) {
+        return search.limitReached.get() ? Output.stepLimitReached(depth) : Output.haltsAndFails(depth);
+      }
+
+      frontier = new ArrayList<>(search.next);
+      search.next.clear();
+      depth++;
+    }
+  }
+
+  /**
+   * The state of one search: the configurations reached so far and the outcome of the level being expanded.
+   */
+  private final class Search {
+
+    private final Limits limits;
+    private final Limits.Timer timer;
+    private final List<Symbol> alphabet = new ArrayList<>(symbols);
+    private final ConcurrentHashMap<Long, List<Branch>> visited = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Branch> next = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Branch> accepted = new AtomicReference<>();
+    private final AtomicBoolean limitReached = new AtomicBoolean();
+    private final AtomicBoolean timedOut = new AtomicBoolean();
+
+    private Search(Limits limits) {
+      this.limits = limits;
+      this.timer = limits.startTimer();
+    }
+
+    /**
+     * Return the initial configuration, adding any input symbols the program does not know to the alphabet. Such
+     * symbols have no actions.
+     */
+    private Branch start(Tape input) {
+      Map<Symbol, Integer> alphabetIndices = new HashMap<>(symbolIndices);
+      int from = Math.min(input.getLeftBound(), input.getHeadPosition());
+      int to = Math.max(input.getRightBound(), input.getHeadPosition() + 1);
+      byte[] cells = new byte[Math.max(MIN_CAPACITY, to - from)];
+
+      List<Symbol> content = input.getString(from, to);
+      for (int i = 0; i < content.size(); i++) {
+        Symbol symbol = content.get(i);
+        Integer index = alphabetIndices.get(symbol);
+
+        if (index == null) {
+          Preconditions.checkArgument(alphabet.size() < TransitionTable.MAX_SYMBOLS,
+              "Input has more than %d distinct symbols", TransitionTable.MAX_SYMBOLS);
+          index = alphabet.size();
+          alphabet.add(symbol);
+          alphabetIndices.put(symbol, index);
+        }
+
+        cells[i] = (byte) (int) index;
+      }
+
+      return new Branch(initialState, cells, from, input.getHeadPosition() - from);
+    }
+
+    /**
+     * Examine one configuration, accepting it if its state is final and otherwise queueing each unvisited successor.
+     */
+    private void expand(Branch branch, long depth) {
+      if (finalStates[branch.state]) {
+        accepted.compareAndSet(null, branch);
+        return;
+      }
+
+      int symbol = branch.cells[branch.head] & 0xFF;
+      if (symbol >= symbolCount) {
+        return;
+      }
+
+      int slot = branch.state * symbolCount + symbol;
+      if (slotStarts[slot] == slotStarts[slot + 1]) {
+        return;
+      }
+
+      if (depth == limits.getMaxSteps()) {
+        limitReached.set(true);
+        return;
+      }
+
+      for (int action = slotStarts[slot]; action < slotStarts[slot + 1]; action++) {
+        Branch successor = branch.apply(nextStates[action], newSymbols[action], moves[action]);
+        if (visit(successor)) {
+          next.add(successor);
+        }
+      }
+    }
+
+    /**
+     * Record a configuration as reached, returning false if it had been reached already. The hash only selects the
+     * configurations to compare against, so configurations whose hashes collide are told apart.
+     */
+    private boolean visit(Branch branch) {
+      while (true) {
+        List<Branch> reached = visited.putIfAbsent(branch.hash, List.of(branch));
+        if (reached == null) {
+          return true;
+        }
+
+        for (Branch other : reached) {
+          if (other.sameConfiguration(branch)) {
+            return false;
+          }
+        }
+
+        List<Branch> extended = new ArrayList<>(reached);
+        extended.add(branch);
+        if (visited.replace(branch.hash, reached, extended)) {
+          return true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Expands a range of the frontier, splitting it between workers.
+   */
+  private final class Expand extends RecursiveAction {
+
+    private final Search search;
+    private final List<Branch> frontier;
+    private final int from;
+    private final int to;
+    private final long depth;
+
+    private Expand(Search search, List<Branch> frontier, int from, int to, long depth) {
+      this.search = search;
+      this.frontier = frontier;
+      this.from = from;
+      this.to = to;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > SPLIT_THRESHOLD) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new Expand(search, frontier, from, middle, depth), new Expand(search, frontier, middle, to, depth));
+        return;
+      }
+
+      for (int i = from; i < to && search.accepted.get() == null && !search.timedOut.get(); i++) {
+        if ((i - from) % TIME_CHECK_INTERVAL == 0 && search.timer.isExpired()) {
+          search.timedOut.set(true);
+          return;
+        }
+
+        search.expand(frontier.get(i), depth);
+      }
+    }
+  }
+
+  /**
+   * One configuration of the machine: a state and a tape of symbol indices, of which cells[0] is at position origin.
+   * Its {@link Zobrist} hash is carried from branch to branch and updated for the cell written and the head moved.
+   */
+  private static final class Branch {
+
+    private final int state;
+    private final byte[] cells;
+    private final int origin;
+    private final int head;
+    private final long hash;
+
+    private Branch(int state, byte[] cells, int origin, int head) {
+      this.state = state;
+      this.cells = cells;
+      this.origin = origin;
+      this.head = head;
+
+      long contentHash = 0;
+      for (int i = 0; i < cells.length; i++) {
+        contentHash ^= cellHash(origin + i, cells[i]);
+      }
+      this.hash = Zobrist.state(state) ^ Zobrist.head(origin + head) ^ contentHash;
+    }
+
+    private Branch(int state, byte[] cells, int origin, int head, long hash) {
+      this.state = state;
+      this.cells = cells;
+      this.origin = origin;
+      this.head = head;
+      this.hash = hash;
+    }
+
+    private Branch apply(int nextState, byte newSymbol, int move) {
+      int position = origin + head;
+      long nextHash = hash ^ Zobrist.state(state) ^ Zobrist.state(nextState)
+          ^ Zobrist.head(position) ^ Zobrist.head(position + move)
+          ^ cellHash(position, cells[head]) ^ cellHash(position, newSymbol);
+
+      byte[] nextCells = cells.clone();
+      nextCells[head] = newSymbol;
+      int nextOrigin = origin;
+      int nextHead = head + move;
+
+      if (nextHead < 0) {
+        byte[] grown = new byte[nextCells.length * 2];
+        System.arraycopy(nextCells, 0, grown, nextCells.length, nextCells.length);
+        nextOrigin -= nextCells.length;
+        nextHead += nextCells.length;
+        nextCells = grown;
+      } else if (nextHead == nextCells.length) {
+        nextCells = Arrays.copyOf(nextCells, nextCells.length * 2);
+      }
+
+      return new Branch(nextState, nextCells, nextOrigin, nextHead, nextHash);
+    }
+
+    /**
+     * Return whether another branch has the same state, head position and tape, wherever each tape's array starts.
+     */
+    private boolean sameConfiguration(Branch other) {
+      if (state != other.state || origin + head != other.origin + other.head) {
+        return false;
+      }
+
+      if (origin == other.origin && cells.length == other.cells.length) {
+        return Arrays.equals(cells, other.cells);
+      }
+
+      int from = Math.min(origin, other.origin);
+      int to = Math.max(origin + cells.length, other.origin + other.cells.length);
+      for (int position = from; position < to; position++) {
+        if (cellAt(position) != other.cellAt(position)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private byte cellAt(int position) {
+      int index = position - origin;
+      return index >= 0 && index < cells.length ? cells[index] : 0;
+    }
+
+    private static long cellHash(int position, byte symbol) {
+      return symbol == 0 ? 0 : Zobrist.cell(position, symbol & 0xFF);
+    }
+
+    private List<Symbol> outputString(List<Symbol> alphabet) {
+      // Position 1 is outside the array only if it was never visited, in which case it is blank
+      int from = Math.min(Math.max(1 - origin, 0), cells.length);
+      int to = from;
+
+      while (to < cells.length && cells[to] != 0) {
+        to++;
+      }
+
+      return PackedSymbolList.of(alphabet, cells, from, 1 - origin < 0 ? from : to);
+    }
+  }
+}
@@ -1,27 +1,202 @@
 package com.mistraltech.turingmachine;
 
 import com.mistraltech.turingmachine.model.Configuration;
+import com.mistraltech.turingmachine.model.PackedSymbolList;
 import com.mistraltech.turingmachine.model.Symbol;
 import com.mistraltech.utils.CharSymbolUtils;
+import com.mistraltech.utils.Preconditions;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
+import java.util.Optional;
 
 public abstract class Output {
 
-  protected Output() {
+  private final long steps;
+  private final RunStatistics statistics;
+
+  protected Output(long steps) {
+    this(steps, null);
+  }
+
+  protected Output(long steps, RunStatistics statistics) {
+    this.steps = steps;
+    this.statistics = statistics;
   }
 
   public static Output haltsAndSucceeds(Configuration haltingConfiguration) {
+    return haltsAndSucceeds(haltingConfiguration, 0);
+  }
+
+  public static Output haltsAndSucceeds(Configuration haltingConfiguration, long steps) {
     List<Symbol> outputString = haltingConfiguration.getTape().getOutputString();
-    return new HaltsAndSucceeds(outputString);
+    return new HaltsAndSucceeds(outputString, steps);
+  }
+
+  public static Output haltsAndSucceeds(List<Symbol> outputString, long steps) {
+    return new HaltsAndSucceeds(
+        outputString instanceof PackedSymbolList ? outputString : List.copyOf(outputString), steps);
   }
 
   public static Output haltsAndFails() {
-    return new HaltsAndFails();
+    return haltsAndFails(0);
+  }
+
+  public static Output haltsAndFails(long steps) {
+    return new HaltsAndFails(steps);
+  }
+
+  public static Output stepLimitReached(long steps) {
+    return new LimitReached(Outcome.STEP_LIMIT_REACHED, steps);
+  }
+
+  public static Output timeLimitReached(long steps) {
+    return new LimitReached(Outcome.TIME_LIMIT_REACHED, steps);
+  }
+
+  /**
+   * Create an output for a computation that was found to repeat a configuration, so the machine never halts.
+   *
+   * @param cycleStart the number of steps before the machine first entered the cycle
+   * @param period the number of steps in each repetition of the cycle
+   * @param steps the number of steps run before the cycle was detected
+   */
+  public static Output doesNotHalt(long cycleStart, long period, long steps) {
+    return new DoesNotHalt(cycleStart, period, steps);
   }
 
   public abstract List<Symbol> getOutputString();
 
-  public abstract boolean succeeded();
+  /**
+   * Write the output string to a channel as UTF-8, without building it as a String.
+   *
+   * @param channel the channel to write to
+   * @throws IOException if the channel could not be written
+   * @throws IllegalStateException if the machine did not halt and succeed
+   */
+  public void writeOutputTo(WritableByteChannel channel) throws IOException {
+    Preconditions.checkArgument(channel != null, "channel must not be null");
+
+    new OutputEncoder(getOutputString()).writeTo(channel);
+  }
+
+  /**
+   * Write the output string to a stream as UTF-8, without building it as a String. The stream is not flushed.
+   *
+   * @param stream the stream to write to
+   * @throws IOException if the stream could not be written
+   * @throws IllegalStateException if the machine did not halt and succeed
+   */
+  public void writeOutputTo(OutputStream stream) throws IOException {
+    Preconditions.checkArgument(stream != null, "stream must not be null");
+
+    writeOutputTo(Channels.newChannel(stream));
+  }
+
+  /**
+   * Write the output string into a buffer as UTF-8, from the buffer's position. Use {@link #getOutputLength()} to size
+   * the buffer.
+   *
+   * @param buffer the buffer to write to
+   * @throws java.nio.BufferOverflowException if the buffer has too little space, in which case nothing is written
+   * @throws IllegalStateException if the machine did not halt and succeed
+   */
+  public void writeOutputTo(ByteBuffer buffer) {
+    Preconditions.checkArgument(buffer != null, "buffer must not be null");
+
+    new OutputEncoder(getOutputString()).writeTo(buffer);
+  }
+
+  /**
+   * Return the number of bytes the output string takes when written as UTF-8.
+   *
+   * @throws IllegalStateException if the machine did not halt and succeed
+   */
+  public long getOutputLength() {
+    return new OutputEncoder(getOutputString()).length();
+  }
+
+  public abstract Outcome getOutcome();
+
+  public boolean succeeded() {
+    return getOutcome() == Outcome.HALTS_AND_SUCCEEDS;
+  }
+
+  public boolean halted() {
+    return getOutcome().isHalted();
+  }
+
+  /**
+   * Return the number of actions the machine performed before the computation ended.
+   */
+  public long getSteps() {
+    return steps;
+  }
+
+  /**
+   * Return the statistics of the computation, if they were collected.
+   */
+  public Optional<RunStatistics> getStatistics() {
+    return Optional.ofNullable(statistics);
+  }
+
+  /**
+   * Return a copy of this output with statistics of the computation attached.
+   *
+   * @param statistics the statistics
+   */
+  public abstract Output withStatistics(RunStatistics statistics);
+
+  /**
+   * Return the number of steps before the machine first entered the cycle it repeats forever.
+   *
+   * @throws IllegalStateException if the outcome is not {@link Outcome#DOES_NOT_HALT}
+   */
+  public long getCycleStart() {
+    throw new IllegalStateException("No cycle detected");
+  }
+
+  /**
+   * Return the number of steps in each repetition of the cycle the machine repeats forever.
+   *
+   * @throws IllegalStateException if the outcome is not {@link Outcome#DOES_NOT_HALT}
+   */
+  public long getPeriod() {
+    throw new IllegalStateException("No cycle detected");
+  }
+
+  /**
+   * The ways in which a computation can end.
+   */
+  public enum Outcome {
+    HALTS_AND_SUCCEEDS(true, false),
+    HALTS_AND_FAILS(true, false),
+    DOES_NOT_HALT(false, false),
+    STEP_LIMIT_REACHED(false, true),
+    TIME_LIMIT_REACHED(false, true);
+
+    private final boolean halted;
+    private final boolean limitReached;
+
+    Outcome(boolean halted, boolean limitReached) {
+      this.halted = halted;
+      this.limitReached = limitReached;
+    }
+
+    public boolean isHalted() {
+      return halted;
+    }
+
+    /**
+     * Return whether the computation was stopped before it was known whether the machine halts.
+     */
+    public boolean isLimitReached() {
+      return limitReached;
+    }
+  }
 
   /**
    * An implementation of Output that indicates the machine halted and succeeded.
@@ -30,18 +205,28 @@ public abstract class Output {
 
     private List<Symbol> outputString;
 
-    public HaltsAndSucceeds(List<Symbol> outputString) {
+    public HaltsAndSucceeds(List<Symbol> outputString, long steps) {
+      this(outputString, steps, null);
+    }
+
+    private HaltsAndSucceeds(List<Symbol> outputString, long steps, RunStatistics statistics) {
+      super(steps, statistics);
       this.outputString = outputString;
     }
 
+    @Override
+    public Output withStatistics(RunStatistics statistics) {
+      return new HaltsAndSucceeds(outputString, getSteps(), statistics);
+    }
+
     @Override
     public List<Symbol> getOutputString() {
       return outputString;
     }
 
     @Override
-    public boolean succeeded() {
-      return true;
+    public Outcome getOutcome() {
+      return Outcome.HALTS_AND_SUCCEEDS;
     }
 
     @Override
@@ -55,14 +240,27 @@ public abstract class Output {
    */
   private static class HaltsAndFails extends Output {
 
+    public HaltsAndFails(long steps) {
+      this(steps, null);
+    }
+
+    private HaltsAndFails(long steps, RunStatistics statistics) {
+      super(steps, statistics);
+    }
+
+    @Override
+    public Output withStatistics(RunStatistics statistics) {
+      return new HaltsAndFails(getSteps(), statistics);
+    }
+
     @Override
     public List<Symbol> getOutputString() {
       throw new IllegalStateException("No output available");
     }
 
     @Override
-    public boolean succeeded() {
-      return false;
+    public Outcome getOutcome() {
+      return Outcome.HALTS_AND_FAILS;
     }
 
     @Override
@@ -70,4 +268,92 @@ public abstract class Output {
       return "Output: failed";
     }
   }
+
+  /**
+   * An implementation of Output that indicates the computation was stopped by a step or time limit before the machine
+   * halted.
+   */
+  private static class LimitReached extends Output {
+
+    private final Outcome outcome;
+
+    public LimitReached(Outcome outcome, long steps) {
+      this(outcome, steps, null);
+    }
+
+    private LimitReached(Outcome outcome, long steps, RunStatistics statistics) {
+      super(steps, statistics);
+      this.outcome = outcome;
+    }
+
+    @Override
+    public Output withStatistics(RunStatistics statistics) {
+      return new LimitReached(outcome, getSteps(), statistics);
+    }
+
+    @Override
+    public List<Symbol> getOutputString() {
+      throw new IllegalStateException("No output available");
+    }
+
+    @Override
+    public Outcome getOutcome() {
+      return outcome;
+    }
+
+    @Override
+    public String toString() {
+      return "Output: " + (outcome == Outcome.STEP_LIMIT_REACHED ? "step" : "time") + " limit reached after "
+          + getSteps() + " steps";
+    }
+  }
+
+  /**
+   * An implementation of Output that indicates the machine entered a cycle of configurations and will never halt.
+   */
+  private static class DoesNotHalt extends Output {
+
+    private final long cycleStart;
+    private final long period;
+
+    public DoesNotHalt(long cycleStart, long period, long steps) {
+      this(cycleStart, period, steps, null);
+    }
+
+    private DoesNotHalt(long cycleStart, long period, long steps, RunStatistics statistics) {
+      super(steps, statistics);
+      this.cycleStart = cycleStart;
+      this.period = period;
+    }
+
+    @Override
+    public Output withStatistics(RunStatistics statistics) {
+      return new DoesNotHalt(cycleStart, period, getSteps(), statistics);
+    }
+
+    @Override
+    public List<Symbol> getOutputString() {
+      throw new IllegalStateException("No output available");
+    }
+
+    @Override
+    public Outcome getOutcome() {
+      return Outcome.DOES_NOT_HALT;
+    }
+
+    @Override
+    public long getCycleStart() {
+      return cycleStart;
+    }
+
+    @Override
+    public long getPeriod() {
+      return period;
+    }
+
+    @Override
+    public String toString() {
+      return "Output: does not halt, cycle of " + period + " steps from step " + cycleStart;
+    }
+  }
 }
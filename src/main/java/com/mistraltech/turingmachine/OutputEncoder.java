@@ -0,0 +1,111 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.PackedSymbolList;
+import com.mistraltech.turingmachine.model.Symbol;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes an output string as UTF-8, each symbol being written as its string form. The encoding of each distinct
+ * symbol is computed once, and a {@link PackedSymbolList} is encoded by looking up its alphabet indices, so long
+ * outputs are copied into the destination in bulk without building a String.
+ */
+final class OutputEncoder {
+
+  static final int CHUNK_SIZE = 1 << 16;
+
+  private final List<Symbol> outputString;
+  private final byte[][] packedEncodings;
+  private final Map<Symbol, byte[]> encodings = new HashMap<>();
+
+  OutputEncoder(List<Symbol> outputString) {
+    this.outputString = outputString;
+
+    if (outputString instanceof PackedSymbolList) {
+      List<Symbol> alphabet = ((PackedSymbolList) outputString).getAlphabet();
+      this.packedEncodings = new byte[alphabet.size()][];
+      for (int i = 0; i < alphabet.size(); i++) {
+        packedEncodings[i] = encode(alphabet.get(i));
+      }
+    } else {
+      this.packedEncodings = null;
+    }
+  }
+
+  /**
+   * Return the number of bytes in the encoded output.
+   */
+  long length() {
+    long length = 0;
+
+    for (int i = 0; i < outputString.size(); i++) {
+      length += encodingAt(i).length;
+    }
+
+    return length;
+  }
+
+  /**
+   * Write the encoded output to a channel, through a buffer of {@link #CHUNK_SIZE} bytes.
+   *
+   * @param channel the channel to write to
+   * @throws IOException if the channel could not be written
+   */
+  void writeTo(WritableByteChannel channel) throws IOException {
+    ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+
+    for (int i = 0; i < outputString.size(); i++) {
+      byte[] encoding = encodingAt(i);
+
+      if (chunk.remaining() < encoding.length) {
+        drain(chunk, channel);
+      }
+
+      chunk.put(encoding);
+    }
+
+    drain(chunk, channel);
+  }
+
+  /**
+   * Write the encoded output into a buffer, from its position. Nothing is written if the buffer has too little space.
+   *
+   * @param buffer the buffer to write to
+   * @throws BufferOverflowException if the buffer has fewer bytes remaining than the encoded output
+   */
+  void writeTo(ByteBuffer buffer) {
+    if (buffer.remaining() < length()) {
+      throw new BufferOverflowException();
+    }
+
+    for (int i = 0; i < outputString.size(); i++) {
+      buffer.put(encodingAt(i));
+    }
+  }
+
+  private byte[] encodingAt(int index) {
+    if (packedEncodings != null) {
+      return packedEncodings[((PackedSymbolList) outputString).getIndex(index)];
+    }
+
+    return encodings.computeIfAbsent(outputString.get(index), OutputEncoder::encode);
+  }
+
+  private static byte[] encode(Symbol symbol) {
+    return symbol.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void drain(ByteBuffer chunk, WritableByteChannel channel) throws IOException {
+    chunk.flip();
+    while (chunk.hasRemaining()) {
+      channel.write(chunk);
+    }
+    chunk.clear();
+  }
+}
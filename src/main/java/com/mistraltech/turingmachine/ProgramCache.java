@@ -0,0 +1,218 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.Preconditions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A thread safe cache of loaded and compiled programs, keyed by file path. Each entry records the modification time
+ * and size of its file when it was loaded, and is reloaded when either has changed.
+ *
+ * <p>A program is loaded at most once however many threads ask for it: the first caller loads it, and the others wait
+ * for that load to finish and share its result. A failed load is not cached. When the cache holds more than its
+ * maximum number of files, the least recently used entry is evicted.
+ */
+public final class ProgramCache {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+  private final MachineLoader loader;
+  private final int maximumSize;
+  private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong clock = new AtomicLong();
+
+  public ProgramCache() {
+    this(new MachineLoader(), DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Construct a cache of programs read by a loader.
+   *
+   * @param loader the loader to read programs with
+   * @param maximumSize the maximum number of files to hold
+   */
+  public ProgramCache(MachineLoader loader, int maximumSize) {
+    Preconditions.checkArgument(loader != null, "loader must not be null");
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+
+    this.loader = loader;
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Return the machine defined by a text program file, loading it if it is not cached or the file has changed.
+   *
+   * @param path the file path, or a classpath resource prefixed with "classpath:"
+   * @throws ProgramLoadException if the program could not be loaded
+   */
+  public TuringMachine getMachine(String path) {
+    return entry(path).machine.get(() -> loader.read(path));
+  }
+
+  /**
+   * Return the compiled table of a program file, in either the text or the binary format, loading it if it is not
+   * cached or the file has changed. A text program shares its cached machine with {@link #getMachine}.
+   *
+   * @param path the file path, or a classpath resource prefixed with "classpath:"
+   * @throws ProgramLoadException if the program could not be loaded
+   */
+  public TransitionTable getCompiled(String path) {
+    Entry entry = entry(path);
+
+    return entry.table.get(() -> BinaryProgramFormat.isBinaryProgram(entry.path)
+        ? BinaryProgramFormat.read(entry.path) : TransitionTable.compile(entry.machine.get(() -> loader.read(path))));
+  }
+
+  /**
+   * Return the number of files cached.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Remove every entry from the cache.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Return the current entry for a file, replacing the cached one if the file has changed since it was loaded.
+   */
+  private Entry entry(String path) {
+    Path resolvedPath = loader.resolvePath(path).toAbsolutePath().normalize();
+    FileVersion version = FileVersion.of(resolvedPath);
+
+    Entry entry = entries.compute(resolvedPath,
+        (key, cached) -> cached != null && cached.version.equals(version) ? cached : new Entry(key, version));
+    entry.lastAccess = clock.incrementAndGet();
+
+    if (entries.size() > maximumSize) {
+      evict();
+    }
+
+    return entry;
+  }
+
+  /**
+   * Evict least recently used entries until the cache is back to its maximum size. Eviction is rare compared to
+   * lookups, so entries are scanned rather than kept in access order.
+   */
+  private synchronized void evict() {
+    while (entries.size() > maximumSize) {
+      entries.values().stream()
+          .min(Comparator.comparingLong(entry -> entry.lastAccess))
+          .ifPresent(entry -> entries.remove(entry.path, entry));
+    }
+  }
+
+  /**
+   * The modification time and size of a file, which identify the version of it that was loaded.
+   */
+  private static final class FileVersion {
+
+    private final FileTime lastModified;
+    private final long size;
+
+    private FileVersion(FileTime lastModified, long size) {
+      this.lastModified = lastModified;
+      this.size = size;
+    }
+
+    private static FileVersion of(Path path) {
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new FileVersion(attributes.lastModifiedTime(), attributes.size());
+      } catch (IOException e) {
+        throw new ProgramLoadException("Load failed", e);
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      FileVersion that = (FileVersion) o;
+
+      return size == that.size && lastModified.equals(that.lastModified);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(lastModified, size);
+    }
+  }
+
+  /**
+   * The programs loaded from one version of a file.
+   */
+  private static final class Entry {
+
+    private final Path path;
+    private final FileVersion version;
+    private final Load<TuringMachine> machine = new Load<>();
+    private final Load<TransitionTable> table = new Load<>();
+    private volatile long lastAccess;
+
+    private Entry(Path path, FileVersion version) {
+      this.path = path;
+      this.version = version;
+    }
+  }
+
+  /**
+   * A value loaded once on first use. The caller that starts the load runs it; concurrent callers wait for it.
+   */
+  private static final class Load<T> {
+
+    private final AtomicReference<CompletableFuture<T>> result = new AtomicReference<>();
+
+    private T get(Supplier<T> loader) {
+      CompletableFuture<T> future = result.get();
+
+      while (future == null) {
+        CompletableFuture<T> started = new CompletableFuture<>();
+
+        if (result.compareAndSet(null, started)) {
+          try {
+            started.complete(loader.get());
+          } catch (RuntimeException | Error e) {
+            // Let the next caller try again
+            result.compareAndSet(started, null);
+            started.completeExceptionally(e);
+          }
+          future = started;
+        } else {
+          future = result.get();
+        }
+      }
+
+      try {
+        return future.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+      }
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.TransitionTable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts programs from the text format read by {@link MachineLoader} to the binary format of
+ * {@link BinaryProgramFormat}.
+ */
+public class ProgramConverter {
+
+  private final MachineLoader machineLoader = new MachineLoader();
+
+  /**
+   * Usage: ProgramConverter text_program_file binary_program_file.
+   *
+   * @param args program arguments
+   */
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      usage();
+      System.exit(1);
+    }
+
+    new ProgramConverter().convert(args[0], Paths.get(args[1]));
+  }
+
+  private static void usage() {
+    System.out.println("Usage: ProgramConverter <program_file> <binary_program_file>");
+  }
+
+  /**
+   * Compile a text program and write it in the binary format.
+   *
+   * @param textPath the text program file path, or a classpath resource prefixed with "classpath:"
+   * @param binaryPath the file to write
+   * @return the compiled program
+   */
+  public TransitionTable convert(String textPath, Path binaryPath) {
+    TransitionTable table = TransitionTable.compile(machineLoader.read(textPath));
+    BinaryProgramFormat.write(table, binaryPath);
+    return table;
+  }
+}
@@ -0,0 +1,344 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.Move;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses the text program format directly from UTF-8 bytes, accepting the same lines as the action pattern of
+ * {@link MachineLoader}: {@code (state, 'symbol') -> (newState, 'newSymbol', move)}, with at most one whitespace
+ * character at each optional gap. Blank lines and lines starting with '#' are skipped.
+ *
+ * <p>Large inputs are split into chunks on line boundaries and the chunks are parsed in parallel. The actions are then
+ * merged in file order; repeated identical actions are kept once, and two different actions for the same state and
+ * symbol are rejected, as {@link com.mistraltech.turingmachine.model.ProgramImpl} requires, unless the program is
+ * nondeterministic.
+ */
+final class ProgramParser {
+
+  static final int MIN_CHUNK_SIZE = 1 << 18;
+
+  private static final int CHUNKS_PER_THREAD = 4;
+  private static final int[] MIN_CODE_POINTS = {0, 0, 0x80, 0x800, 0x10000};
+
+  private final ByteBuffer content;
+
+  private ProgramParser(ByteBuffer content) {
+    this.content = content;
+  }
+
+  /**
+   * Parse the actions of a deterministic program, in the order they appear.
+   *
+   * @param content the program text, from its position to its limit
+   * @param pool the pool to parse chunks on
+   * @throws ProgramLoadException if a line is not a valid action or two actions conflict
+   */
+  static List<Action> parse(ByteBuffer content, ForkJoinPool pool) {
+    return parse(content, pool, false);
+  }
+
+  /**
+   * Parse the actions of a program, in the order they appear.
+   *
+   * @param content the program text, from its position to its limit
+   * @param pool the pool to parse chunks on
+   * @param nondeterministic whether several actions may share a state and symbol
+   * @throws ProgramLoadException if a line is not a valid action, or two actions conflict in a deterministic program
+   */
+  static List<Action> parse(ByteBuffer content, ForkJoinPool pool, boolean nondeterministic) {
+    ProgramParser parser = new ProgramParser(content.slice());
+    List<Chunk> chunks = parser.split(pool.getParallelism());
+
+    if (chunks.size() == 1) {
+      chunks.get(0).compute();
+    } else {
+      chunks.forEach(pool::execute);
+      chunks.forEach(ForkJoinTask::join);
+    }
+
+    return merge(chunks, nondeterministic);
+  }
+
+  /**
+   * Split the content into chunks that each start at the beginning of a line.
+   */
+  private List<Chunk> split(int parallelism) {
+    int size = content.limit();
+    int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (parallelism * CHUNKS_PER_THREAD));
+    List<Chunk> chunks = new ArrayList<>();
+    int start = 0;
+
+    while (start < size || chunks.isEmpty()) {
+      int end = start + chunkSize;
+
+      if (end >= size) {
+        end = size;
+      } else {
+        while (end < size && content.get(end - 1) != '\n') {
+          end++;
+        }
+      }
+
+      chunks.add(new Chunk(start, end));
+      start = end;
+    }
+
+    return chunks;
+  }
+
+  private static List<Action> merge(List<Chunk> chunks, boolean nondeterministic) {
+    List<Action> actions = new ArrayList<>();
+    Map<Long, Action> byKey = new HashMap<>();
+
+    if (nondeterministic) {
+      Set<Action> distinct = new HashSet<>();
+      for (Chunk chunk : chunks) {
+        chunk.actions.stream().filter(distinct::add).forEach(actions::add);
+      }
+      return actions;
+    }
+
+    for (Chunk chunk : chunks) {
+      for (Action action : chunk.actions) {
+        long key = ((long) ((IntState) action.getState()).getValue() << Character.SIZE)
+            | action.getSymbol().toString().charAt(0);
+        Action previous = byKey.putIfAbsent(key, action);
+
+        if (previous == null) {
+          actions.add(action);
+        } else if (!previous.equals(action)) {
+          throw new ProgramLoadException(String.format(
+              "state and symbol combination must be unique - multiple actions with state '%s' and symbol '%s'",
+              action.getState(), action.getSymbol()));
+        }
+      }
+    }
+
+    return actions;
+  }
+
+  /**
+   * Return the line number of a byte offset, counting from 1, by counting the line breaks before it.
+   */
+  private int lineNumber(int offset) {
+    int line = 1;
+    for (int i = 0; i < offset; i++) {
+      byte b = content.get(i);
+      if (b == '\n' || (b == '\r' && (i + 1 == content.limit() || content.get(i + 1) != '\n'))) {
+        line++;
+      }
+    }
+    return line;
+  }
+
+  /**
+   * A range of whole lines, parsed into actions.
+   */
+  private final class Chunk extends RecursiveAction {
+
+    private final int start;
+    private final int end;
+    private final List<Action> actions = new ArrayList<>();
+
+    private int position;
+    private int limit;
+
+    private Chunk(int start, int end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      int lineStart = start;
+
+      while (lineStart < end) {
+        int lineEnd = lineStart;
+        while (lineEnd < end && content.get(lineEnd) != '\n' && content.get(lineEnd) != '\r') {
+          lineEnd++;
+        }
+
+        if (lineEnd > lineStart && content.get(lineStart) != '#') {
+          parseLine(lineStart, lineEnd);
+        }
+
+        lineStart = lineEnd + 1;
+        if (lineEnd + 1 < end && content.get(lineEnd) == '\r' && content.get(lineEnd + 1) == '\n') {
+          lineStart++;
+        }
+      }
+    }
+
+    private void parseLine(int lineStart, int lineEnd) {
+      int lineFrom = lineStart;
+      int lineTo = lineEnd;
+      // Trim as String.trim does; multi-byte UTF-8 sequences never contain bytes this low
+      while (lineFrom < lineTo && (content.get(lineFrom) & 0xFF) <= ' ') {
+        lineFrom++;
+      }
+      while (lineTo > lineFrom && (content.get(lineTo - 1) & 0xFF) <= ' ') {
+        lineTo--;
+      }
+
+      position = lineFrom;
+      limit = lineTo;
+
+      try {
+        expect('(');
+        final int state = number();
+        expect(',');
+        optionalWhitespace();
+        final char symbol = quotedChar();
+        expect(')');
+        optionalWhitespace();
+        expect('-');
+        expect('>');
+        optionalWhitespace();
+        expect('(');
+        final int newState = number();
+        expect(',');
+        optionalWhitespace();
+        final char newSymbol = quotedChar();
+        expect(',');
+        optionalWhitespace();
+        final Move move = move();
+        expect(')');
+
+        if (position != limit) {
+          throw new InvalidLine();
+        }
+
+        actions.add(new Action(IntState.getState(state), CharSymbol.getSymbol(symbol), IntState.getState(newState),
+            CharSymbol.getSymbol(newSymbol), move));
+      } catch (InvalidLine e) {
+        throw new ProgramLoadException("Invalid line " + lineNumber(lineStart) + ": " + text(lineStart));
+      }
+    }
+
+    private void expect(char c) {
+      if (position == limit || content.get(position) != c) {
+        throw new InvalidLine();
+      }
+      position++;
+    }
+
+    private void optionalWhitespace() {
+      if (position < limit) {
+        byte b = content.get(position);
+        if (b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r') {
+          position++;
+        }
+      }
+    }
+
+    private int number() {
+      int from = position;
+      long value = 0;
+
+      while (position < limit && content.get(position) >= '0' && content.get(position) <= '9') {
+        value = value * 10 + (content.get(position++) - '0');
+        if (value > Integer.MAX_VALUE) {
+          throw new InvalidLine();
+        }
+      }
+
+      if (position == from) {
+        throw new InvalidLine();
+      }
+
+      return (int) value;
+    }
+
+    /**
+     * Read a character between single quotes, decoding it from UTF-8. As with the character the action pattern
+     * matches, a character outside the basic multilingual plane is read as its high surrogate.
+     */
+    private char quotedChar() {
+      expect('\'');
+
+      if (position == limit) {
+        throw new InvalidLine();
+      }
+
+      int codePoint = content.get(position++) & 0xFF;
+      int length = codePoint < 0x80 ? 1 : Integer.numberOfLeadingZeros(~codePoint << 24);
+      if (length == 1) {
+        // Plain ASCII
+      } else if (length < 2 || length > 4 || position + length - 1 > limit) {
+        throw new InvalidLine();
+      } else {
+        codePoint &= 0x7F >> length;
+        for (int i = 1; i < length; i++) {
+          int continuation = content.get(position++) & 0xFF;
+          if ((continuation & 0xC0) != 0x80) {
+            throw new InvalidLine();
+          }
+          codePoint = (codePoint << 6) | (continuation & 0x3F);
+        }
+      }
+
+      boolean malformed = codePoint < MIN_CODE_POINTS[length] || codePoint > Character.MAX_CODE_POINT
+          || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE);
+      boolean lineTerminator = codePoint == 0x85 || codePoint == 0x2028 || codePoint == 0x2029;
+      if (malformed || lineTerminator) {
+        throw new InvalidLine();
+      }
+
+      expect('\'');
+
+      return Character.isBmpCodePoint(codePoint) ? (char) codePoint : Character.highSurrogate(codePoint);
+    }
+
+    private Move move() {
+      if (position == limit) {
+        throw new InvalidLine();
+      }
+
+      switch (content.get(position++)) {
+        case 'L':
+          return Move.LEFT;
+        case 'R':
+          return Move.RIGHT;
+        case '0':
+          return Move.NONE;
+        default:
+          throw new InvalidLine();
+      }
+    }
+
+    private String text(int lineStart) {
+      int to = lineStart;
+      while (to < end && content.get(to) != '\n' && content.get(to) != '\r') {
+        to++;
+      }
+
+      byte[] bytes = new byte[to - lineStart];
+      content.duplicate().position(lineStart).get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Thrown within a chunk to abandon a line that does not match, so the line is only decoded for the error message.
+   */
+  private static final class InvalidLine extends RuntimeException {
+
+    private InvalidLine() {
+      super(null, null, false, false);
+    }
+  }
+}
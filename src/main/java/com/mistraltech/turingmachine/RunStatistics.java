@@ -0,0 +1,73 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.utils.Preconditions;
+import java.util.Objects;
+
+/**
+ * Statistics of a single computation: the number of steps and the range of tape positions the head visited. The head
+ * moves one cell at a time, so every cell in the range was visited.
+ */
+public final class RunStatistics {
+
+  private final long steps;
+  private final int minHeadPosition;
+  private final int maxHeadPosition;
+
+  /**
+   * Construct statistics of a computation.
+   *
+   * @param steps the number of steps taken
+   * @param minHeadPosition the leftmost position of the head
+   * @param maxHeadPosition the rightmost position of the head
+   */
+  public RunStatistics(long steps, int minHeadPosition, int maxHeadPosition) {
+    Preconditions.checkArgument(steps >= 0, "steps must not be negative");
+    Preconditions.checkArgument(minHeadPosition <= maxHeadPosition,
+        "minHeadPosition must not be greater than maxHeadPosition");
+
+    this.steps = steps;
+    this.minHeadPosition = minHeadPosition;
+    this.maxHeadPosition = maxHeadPosition;
+  }
+
+  public long getSteps() {
+    return steps;
+  }
+
+  public int getMinHeadPosition() {
+    return minHeadPosition;
+  }
+
+  public int getMaxHeadPosition() {
+    return maxHeadPosition;
+  }
+
+  /**
+   * Return the number of distinct cells the head visited.
+   */
+  public long getCellsVisited() {
+    return (long) maxHeadPosition - minHeadPosition + 1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RunStatistics that = (RunStatistics) o;
+    return steps == that.steps && minHeadPosition == that.minHeadPosition && maxHeadPosition == that.maxHeadPosition;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(steps, minHeadPosition, maxHeadPosition);
+  }
+
+  @Override
+  public String toString() {
+    return "RunStatistics [steps=" + steps + ", head=" + minHeadPosition + ".." + maxHeadPosition + "]";
+  }
+}
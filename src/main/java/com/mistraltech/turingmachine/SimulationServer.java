@@ -0,0 +1,411 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.ArrayTape;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.CharSymbolUtils;
+import com.mistraltech.utils.Preconditions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local HTTP service that runs simulations in a long lived JVM, so that each request pays neither JVM startup nor
+ * program parsing. Programs named by path are loaded through a {@link ProgramCache} and shared by all requests.
+ *
+ * <p>Requests go to {@code /simulate}, with these query parameters:
+ * <ul>
+ *   <li>{@code program} - the path of a program file, relative to the server's program root. Paths outside the root
+ *   are rejected, as are all paths if the server has no program root. Without it, the request body is the program
+ *   text.</li>
+ *   <li>{@code input} - an input tape; repeat it, up to {@value #MAX_INPUTS} times, to run the program on several
+ *   inputs.</li>
+ *   <li>{@code maxSteps}, {@code timeoutMillis} - the budget of the whole request, which cannot exceed the server's
+ *   limits. The inputs are run in turn, each with the steps and time the earlier ones left.</li>
+ *   <li>{@code format} - {@code json} (the default) for a JSON array with one object per input, or {@code raw} to
+ *   stream the output string of a single input as the response body, with the outcome and step count in the
+ *   {@code X-Outcome} and {@code X-Steps} headers.</li>
+ * </ul>
+ *
+ * <p>Error responses describe what was wrong with the request's parameters, but never echo a program or the cause of
+ * a failure. Request bodies larger than {@value #MAX_BODY_SIZE} bytes are rejected.
+ *
+ * <p>Each request is handled on its own virtual thread when the JVM supports them, and on a cached thread pool
+ * otherwise.
+ */
+public final class SimulationServer implements AutoCloseable {
+
+  public static final int DEFAULT_PORT = 8080;
+  public static final Limits DEFAULT_LIMITS = Limits.maxSteps(1_000_000_000L).withTimeout(Duration.ofSeconds(10));
+
+  public static final int MAX_INPUTS = 100;
+  public static final int MAX_BODY_SIZE = 1 << 20;
+
+  private static final String PATH = "/simulate";
+  private static final String JSON_TYPE = "application/json; charset=utf-8";
+
+  private final ProgramCache cache;
+  private final Path programRoot;
+  private final Limits limits;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final boolean virtualThreads;
+
+  private SimulationServer(ProgramCache cache, Path programRoot, Limits limits, HttpServer server) {
+    this.cache = cache;
+    this.programRoot = programRoot;
+    this.limits = limits;
+    this.server = server;
+
+    ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor();
+    this.virtualThreads = virtualExecutor != null;
+    this.executor = virtualThreads ? virtualExecutor : Executors.newCachedThreadPool();
+
+    server.createContext(PATH, this::handle);
+    server.setExecutor(executor);
+  }
+
+  /**
+   * Start a server on an address that only runs programs sent as request bodies.
+   *
+   * @param address the address to listen on; port 0 picks a free port
+   * @param cache the cache to load programs through
+   * @param limits the largest budget a request may ask for, which is also the default budget
+   * @throws IOException if the server could not listen on the address
+   */
+  public static SimulationServer start(InetSocketAddress address, ProgramCache cache, Limits limits)
+      throws IOException {
+    Preconditions.checkArgument(address != null, "address must not be null");
+    Preconditions.checkArgument(cache != null, "cache must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    return start(new SimulationServer(cache, null, limits, HttpServer.create(address, 0)));
+  }
+
+  /**
+   * Start a server on an address that also runs program files from under a directory.
+   *
+   * @param address the address to listen on; port 0 picks a free port
+   * @param cache the cache to load programs through
+   * @param programRoot the directory that program paths are resolved against and must stay inside
+   * @param limits the largest budget a request may ask for, which is also the default budget
+   * @throws IOException if the server could not listen on the address
+   */
+  public static SimulationServer start(InetSocketAddress address, ProgramCache cache, Path programRoot, Limits limits)
+      throws IOException {
+    Preconditions.checkArgument(address != null, "address must not be null");
+    Preconditions.checkArgument(cache != null, "cache must not be null");
+    Preconditions.checkArgument(programRoot != null, "programRoot must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+
+    return start(new SimulationServer(cache, programRoot.toAbsolutePath().normalize(), limits,
+        HttpServer.create(address, 0)));
+  }
+
+  private static SimulationServer start(SimulationServer simulationServer) {
+    simulationServer.server.start();
+    return simulationServer;
+  }
+
+  /**
+   * Usage: SimulationServer [port [programRoot]]. The server listens on the loopback address only.
+   *
+   * @param args program arguments
+   * @throws IOException if the server could not be started
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length > 2) {
+      System.out.println("Usage: SimulationServer [port [programRoot]]");
+      System.exit(1);
+    }
+
+    int port = args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    SimulationServer server = args.length == 2
+        ? start(address, new ProgramCache(), Paths.get(args[1]), DEFAULT_LIMITS)
+        : start(address, new ProgramCache(), DEFAULT_LIMITS);
+
+    System.out.println("Listening on " + server.getAddress()
+        + (server.isUsingVirtualThreads() ? " with virtual threads" : ""));
+  }
+
+  /**
+   * Return the executor of JDK 21 onwards that starts a virtual thread for each task, or null if the JVM has none.
+   * It is looked up reflectively so that the project still builds for Java 11.
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /**
+   * Return whether requests are handled on virtual threads.
+   */
+  public boolean isUsingVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Stop taking new requests, wait for the requests in progress to finish and then stop the server. Requests cannot
+   * run for longer than the server's time limit, so that bounds the wait when there is one.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_SIZE + 1);
+      if (body.length > MAX_BODY_SIZE) {
+        sendError(exchange, 413, "Request body is too large");
+        return;
+      }
+
+      Request request;
+      try {
+        request = new Request(parseQuery(exchange.getRequestURI().getRawQuery()), body);
+      } catch (IllegalArgumentException e) {
+        sendError(exchange, 400, e.getMessage());
+        return;
+      }
+
+      List<Output> outputs = compute(request);
+      if (request.raw) {
+        sendRaw(exchange, outputs.get(0));
+      } else {
+        sendJson(exchange, 200, toJson(outputs));
+      }
+    } catch (ProgramLoadException | IllegalArgumentException e) {
+      sendError(exchange, 400, "Invalid program or input");
+    } catch (RuntimeException e) {
+      sendError(exchange, 500, "Internal error");
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Run the program of a request on each of its inputs in turn, under one budget for the whole request.
+   */
+  private List<Output> compute(Request request) {
+    TransitionTable table = request.program != null
+        ? cache.getCompiled(request.program.toString())
+        : TransitionTable.compile(new MachineLoader().read(request.body));
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(table);
+
+    Limits.Timer timer = request.limits.startTimer();
+    long stepsLeft = request.limits.getMaxSteps();
+    List<Output> outputs = new ArrayList<>(request.inputs.size());
+
+    for (String input : request.inputs) {
+      if (timer.isExpired()) {
+        outputs.add(Output.timeLimitReached(0));
+        continue;
+      }
+
+      Limits inputLimits = request.limits.withMaxSteps(stepsLeft);
+      inputLimits = timer.getRemaining().map(inputLimits::withTimeout).orElse(inputLimits);
+
+      Output output = simulator.compute(ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input)),
+          inputLimits);
+      stepsLeft -= output.getSteps();
+      outputs.add(output);
+    }
+
+    return outputs;
+  }
+
+  private static void sendRaw(HttpExchange exchange, Output output) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.getResponseHeaders().set("X-Outcome", output.getOutcome().name());
+    exchange.getResponseHeaders().set("X-Steps", Long.toString(output.getSteps()));
+
+    if (output.succeeded()) {
+      exchange.sendResponseHeaders(200, output.getOutputLength());
+      output.writeOutputTo(exchange.getResponseBody());
+    } else {
+      exchange.sendResponseHeaders(200, -1);
+    }
+  }
+
+  private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+    sendJson(exchange, status, "{\"error\":" + quote(message) + "}");
+  }
+
+  private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+    byte[] body = json.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+    exchange.sendResponseHeaders(status, body.length);
+
+    try (OutputStream stream = exchange.getResponseBody()) {
+      stream.write(body);
+    }
+  }
+
+  private static String toJson(List<Output> outputs) {
+    StringBuilder json = new StringBuilder("[");
+
+    for (Output output : outputs) {
+      if (json.length() > 1) {
+        json.append(',');
+      }
+
+      json.append("{\"outcome\":\"").append(output.getOutcome().name())
+          .append("\",\"steps\":").append(output.getSteps());
+
+      if (output.succeeded()) {
+        json.append(",\"output\":").append(quote(CharSymbolUtils.symbolListToString(output.getOutputString())));
+      } else if (output.getOutcome() == Output.Outcome.DOES_NOT_HALT) {
+        json.append(",\"cycleStart\":").append(output.getCycleStart())
+            .append(",\"period\":").append(output.getPeriod());
+      }
+
+      json.append('}');
+    }
+
+    return json.append(']').toString();
+  }
+
+  private static String quote(String text) {
+    StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+
+      if (c == '"' || c == '\\') {
+        quoted.append('\\').append(c);
+      } else if (c < ' ') {
+        quoted.append(String.format("\\u%04x", (int) c));
+      } else {
+        quoted.append(c);
+      }
+    }
+
+    return quoted.append('"').toString();
+  }
+
+  private static Map<String, List<String>> parseQuery(String query) {
+    Map<String, List<String>> parameters = new HashMap<>();
+
+    if (query != null && !query.isEmpty()) {
+      for (String pair : query.split("&")) {
+        int equals = pair.indexOf('=');
+        String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+        String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+        parameters.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+      }
+    }
+
+    return parameters;
+  }
+
+  /**
+   * The parameters of a simulation request, checked against the server's limits.
+   */
+  private final class Request {
+
+    private final Path program;
+    private final ByteBuffer body;
+    private final List<String> inputs;
+    private final Limits limits;
+    private final boolean raw;
+
+    private Request(Map<String, List<String>> parameters, byte[] body) {
+      String programPath = single(parameters, "program");
+      this.program = programPath != null ? resolveProgram(programPath) : null;
+      this.body = ByteBuffer.wrap(body);
+      this.inputs = parameters.getOrDefault("input", List.of());
+
+      String format = single(parameters, "format");
+      Preconditions.checkArgument(format == null || format.equals("json") || format.equals("raw"),
+          "format must be json or raw");
+      this.raw = "raw".equals(format);
+
+      Preconditions.checkArgument(!inputs.isEmpty(), "At least one input is required");
+      Preconditions.checkArgument(inputs.size() <= MAX_INPUTS, "At most %s inputs are allowed", MAX_INPUTS);
+      Preconditions.checkArgument(!raw || inputs.size() == 1, "The raw format takes a single input");
+
+      Limits requestLimits = SimulationServer.this.limits;
+
+      String maxSteps = single(parameters, "maxSteps");
+      if (maxSteps != null) {
+        requestLimits =
+            requestLimits.withMaxSteps(Math.min(parseLong(maxSteps, "maxSteps"), requestLimits.getMaxSteps()));
+      }
+
+      String timeoutMillis = single(parameters, "timeoutMillis");
+      if (timeoutMillis != null) {
+        Duration timeout = Duration.ofMillis(parseLong(timeoutMillis, "timeoutMillis"));
+        requestLimits = requestLimits.withTimeout(
+            SimulationServer.this.limits.getTimeout().filter(max -> max.compareTo(timeout) < 0).orElse(timeout));
+      }
+
+      this.limits = requestLimits;
+    }
+
+    /**
+     * Resolve a program path against the program root, rejecting any path that leads outside it.
+     */
+    private Path resolveProgram(String programPath) {
+      Preconditions.checkArgument(programRoot != null, "program paths are not accepted by this server");
+
+      Path path;
+      try {
+        path = programRoot.resolve(programPath).normalize();
+      } catch (InvalidPathException e) {
+        throw new IllegalArgumentException("program must be a path inside the program root");
+      }
+      Preconditions.checkArgument(path.startsWith(programRoot), "program must be a path inside the program root");
+
+      return path;
+    }
+
+    private String single(Map<String, List<String>> parameters, String name) {
+      List<String> values = parameters.getOrDefault(name, List.of());
+      Preconditions.checkArgument(values.size() <= 1, "%s must not be repeated", name);
+      return values.isEmpty() ? null : values.get(0);
+    }
+
+    private long parseLong(String value, String name) {
+      try {
+        return Long.parseLong(value);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException(name + " must be a number");
+      }
+    }
+  }
+}
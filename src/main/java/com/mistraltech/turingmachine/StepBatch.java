@@ -0,0 +1,126 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.State;
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.TransitionTable;
+
+/**
+ * A run of consecutive steps delivered to a {@link StepListener}, held in arrays that are filled by the simulator and
+ * reused for the next batch. Steps from a table driven simulator are held as transition table slots and their actions
+ * are only created when asked for.
+ */
+public final class StepBatch {
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private final TransitionTable table;
+  private final int[] slots;
+  private final Action[] actions;
+  private final int[] headPositions;
+  private long firstStep;
+  private int size;
+
+  private StepBatch(TransitionTable table, int[] slots, Action[] actions, long firstStep) {
+    this.table = table;
+    this.slots = slots;
+    this.actions = actions;
+    this.headPositions = new int[DEFAULT_CAPACITY];
+    this.firstStep = firstStep;
+  }
+
+  static StepBatch forTable(TransitionTable table, long firstStep) {
+    return new StepBatch(table, new int[DEFAULT_CAPACITY], null, firstStep);
+  }
+
+  static StepBatch forActions(long firstStep) {
+    return new StepBatch(null, null, new Action[DEFAULT_CAPACITY], firstStep);
+  }
+
+  /**
+   * Add a step from a table driven simulator, returning whether the batch is now full.
+   */
+  boolean add(int slot, int headPosition) {
+    slots[size] = slot;
+    headPositions[size] = headPosition;
+    return ++size == headPositions.length;
+  }
+
+  /**
+   * Add a step from an action driven simulator, returning whether the batch is now full.
+   */
+  boolean add(Action action, int headPosition) {
+    actions[size] = action;
+    headPositions[size] = headPosition;
+    return ++size == headPositions.length;
+  }
+
+  /**
+   * Deliver the steps in the batch, if there are any, and empty it for the steps that follow.
+   */
+  void flush(StepListener listener) {
+    if (size > 0) {
+      listener.onSteps(this);
+      firstStep += size;
+      size = 0;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Return the number of steps taken before the i-th step of the batch.
+   */
+  public long getStep(int i) {
+    return firstStep + checkIndex(i);
+  }
+
+  /**
+   * Return whether the steps are held as transition table slots, so that {@link #getSlot(int)} can be used.
+   */
+  public boolean hasSlots() {
+    return slots != null;
+  }
+
+  /**
+   * Return the transition table slot of the i-th step.
+   *
+   * @throws IllegalStateException if the steps are not from a table driven simulator
+   */
+  public int getSlot(int i) {
+    if (slots == null) {
+      throw new IllegalStateException("Steps are not held as slots");
+    }
+
+    return slots[checkIndex(i)];
+  }
+
+  public Action getAction(int i) {
+    return actions != null ? actions[checkIndex(i)] : table.getAction(slots[checkIndex(i)]).orElseThrow();
+  }
+
+  public State getState(int i) {
+    return actions != null ? actions[checkIndex(i)].getState() : table.getState(getSlot(i) / table.getSymbolCount());
+  }
+
+  public Symbol getSymbol(int i) {
+    return actions != null ? actions[checkIndex(i)].getSymbol() : table.getSymbol(getSlot(i) % table.getSymbolCount());
+  }
+
+  /**
+   * Return the position of the head before the i-th step.
+   */
+  public int getHeadPosition(int i) {
+    return headPositions[checkIndex(i)];
+  }
+
+  private int checkIndex(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("Step " + i + " is not in a batch of " + size);
+    }
+
+    return i;
+  }
+}
@@ -0,0 +1,52 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.State;
+import com.mistraltech.turingmachine.model.Symbol;
+
+/**
+ * Observes the steps of a computation run with a listener by a {@link TuringMachineSimulator}. Steps are delivered in
+ * batches, so a listener that only needs counts or slots can handle a whole batch in one call; by default each step of
+ * a batch is passed to {@link #onStep}. A listener is called from the thread running the computation.
+ */
+public interface StepListener {
+
+  /**
+   * Handle a batch of steps. The batch is reused once this returns, so it must not be kept.
+   *
+   * @param batch the steps, in order
+   */
+  default void onSteps(StepBatch batch) {
+    for (int i = 0; i < batch.size(); i++) {
+      onStep(batch.getStep(i), batch.getState(i), batch.getSymbol(i), batch.getAction(i), batch.getHeadPosition(i));
+    }
+  }
+
+  /**
+   * Handle one step.
+   *
+   * @param step the number of steps taken before this one
+   * @param state the state before the step
+   * @param symbol the symbol under the head before the step
+   * @param action the action taken
+   * @param headPosition the position of the head before the step
+   */
+  default void onStep(long step, State state, Symbol symbol, Action action, int headPosition) {
+  }
+
+  /**
+   * Handle the end of a computation that halted, after all of its steps have been delivered.
+   *
+   * @param output the output of the computation
+   */
+  default void onHalt(Output output) {
+  }
+
+  /**
+   * Handle the end of a computation that reached a limit, after all of its steps have been delivered.
+   *
+   * @param output the output of the computation
+   */
+  default void onLimit(Output output) {
+  }
+}
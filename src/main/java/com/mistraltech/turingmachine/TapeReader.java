@@ -1,11 +1,43 @@
 package com.mistraltech.turingmachine;
 
+import com.mistraltech.turingmachine.exceptions.TapeLoadException;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.MappedTape;
 import com.mistraltech.turingmachine.model.Tape;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * Reads input tapes from files. The file is memory mapped and exposed as a {@link MappedTape}, so an input of any size
+ * is read lazily as the machine reaches it rather than being loaded into the heap. Each byte of the file is one
+ * symbol, and a single line break at the end of the file is ignored.
+ */
 public class TapeReader {
 
+  /**
+   * Read an input tape from a file.
+   *
+   * @param path the file path
+   * @throws TapeLoadException if the file could not be read
+   */
   public Tape read(Path path) {
-    return null;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      int length = mapped.limit();
+      if (length > 0 && mapped.get(length - 1) == '\n') {
+        length--;
+      }
+      if (length > 0 && mapped.get(length - 1) == '\r') {
+        length--;
+      }
+
+      return MappedTape.create(CharSymbol.BLANK, mapped.limit(length));
+    } catch (IOException e) {
+      throw new TapeLoadException("Failed to read tape from " + path, e);
+    }
   }
 }
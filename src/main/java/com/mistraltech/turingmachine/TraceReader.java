@@ -0,0 +1,173 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.TraceException;
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.Configuration;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.Preconditions;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a trace written by {@link TraceWriter} and replays it against the machine program to rebuild the configuration
+ * at any step. Segments are memory mapped read only, so replaying billions of steps allocates nothing per step. A
+ * TraceReader is immutable after it is opened and may be shared between threads.
+ */
+public final class TraceReader {
+
+  private final TransitionTable table;
+  private final Configuration initial;
+  private final long machineHash;
+  private final int slotWidth;
+  private final long stepsPerSegment;
+  private final long steps;
+  private final MappedByteBuffer[] segments;
+
+  private TraceReader(TransitionTable table, Configuration initial, long machineHash, int slotWidth, int segmentSize,
+      long steps, MappedByteBuffer[] segments) {
+    this.table = table;
+    this.initial = initial;
+    this.machineHash = machineHash;
+    this.slotWidth = slotWidth;
+    this.stepsPerSegment = segmentSize / slotWidth;
+    this.steps = steps;
+    this.segments = segments;
+  }
+
+  /**
+   * Open a completed trace.
+   *
+   * @param directory the trace directory
+   * @param table the compiled machine program, which must be the program that was traced
+   * @throws TraceException if the trace is incomplete or could not be read
+   * @throws com.mistraltech.turingmachine.exceptions.CheckpointException if the trace is of a different program
+   */
+  public static TraceReader open(Path directory, TransitionTable table) {
+    Preconditions.checkArgument(directory != null, "directory must not be null");
+    Preconditions.checkArgument(table != null, "table must not be null");
+
+    Path header = directory.resolve(TraceWriter.HEADER_FILE);
+    if (!Files.exists(header)) {
+      throw new TraceException("No completed trace in " + directory);
+    }
+
+    try (InputStream stream = Files.newInputStream(header)) {
+      DataInputStream in = new DataInputStream(stream);
+      if (in.readInt() != TraceWriter.MAGIC || in.readShort() != TraceWriter.FORMAT_VERSION) {
+        throw new TraceException("Not a trace: " + directory);
+      }
+
+      int slotWidth = in.readByte();
+      int segmentSize = in.readInt();
+      int segmentCount = in.readInt();
+      long steps = in.readLong();
+      Checkpoint initial = Checkpoint.readFrom(in);
+
+      MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+      for (int i = 0; i < segmentCount; i++) {
+        try (FileChannel channel = FileChannel.open(TraceWriter.segmentPath(directory, i))) {
+          segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+      }
+
+      return new TraceReader(table, initial.toConfiguration(table), initial.getMachineHash(), slotWidth, segmentSize,
+          steps, segments);
+    } catch (IOException e) {
+      throw new TraceException("Failed to read trace from " + directory, e);
+    }
+  }
+
+  /**
+   * Return the number of steps in the trace.
+   */
+  public long getSteps() {
+    return steps;
+  }
+
+  public Configuration getInitialConfiguration() {
+    return initial;
+  }
+
+  /**
+   * Return the slot of the transition taken at a step.
+   *
+   * @param step the step, counting from 0
+   */
+  public int getSlot(long step) {
+    Preconditions.checkArgument(step >= 0 && step < steps, "step must be between 0 and %d", steps - 1);
+
+    return slot(segments[(int) (step / stepsPerSegment)], (int) (step % stepsPerSegment) * slotWidth);
+  }
+
+  /**
+   * Return the action taken at a step.
+   *
+   * @param step the step, counting from 0
+   */
+  public Action getAction(long step) {
+    return table.getAction(getSlot(step)).orElseThrow(() -> new TraceException("No action at step " + step));
+  }
+
+  /**
+   * Rebuild the configuration after a number of steps by replaying the trace from the initial configuration.
+   *
+   * @param step the number of steps to replay, from 0 to {@link #getSteps()}
+   * @throws TraceException if the trace does not match the program
+   */
+  public Configuration getConfiguration(long step) {
+    Preconditions.checkArgument(step >= 0 && step <= steps, "step must be between 0 and %d", steps);
+
+    int symbolCount = table.getSymbolCount();
+    int[] nextStates = table.getNextStates();
+    byte[] newSymbols = table.getNewSymbols();
+    byte[] moves = table.getMoves();
+
+    CompiledTape tape = CompiledTape.encode(table, initial.getTape());
+    int state = table.indexOf(initial.getState());
+    long replayed = 0;
+
+    for (int segment = 0; replayed < step; segment++) {
+      MappedByteBuffer buffer = segments[segment];
+      int end = (int) Math.min(stepsPerSegment, step - replayed) * slotWidth;
+
+      for (int offset = 0; offset < end; offset += slotWidth) {
+        int slot = slot(buffer, offset);
+
+        if (slot / symbolCount != state || slot % symbolCount != (tape.cells[tape.head] & 0xFF)
+            || nextStates[slot] < 0) {
+          throw new TraceException("Trace does not match the program at step " + replayed);
+        }
+
+        tape.cells[tape.head] = newSymbols[slot];
+        tape.head += moves[slot];
+
+        if (tape.head < 0) {
+          tape.growLeft();
+        } else if (tape.head == tape.cells.length) {
+          tape.growRight();
+        }
+
+        state = nextStates[slot];
+        replayed++;
+      }
+    }
+
+    return Checkpoint.capture(table, machineHash, 0, tape, state, step).toConfiguration(table);
+  }
+
+  private int slot(MappedByteBuffer buffer, int offset) {
+    switch (slotWidth) {
+      case 1:
+        return buffer.get(offset) & 0xFF;
+      case 2:
+        return buffer.getShort(offset) & 0xFFFF;
+      default:
+        return buffer.getInt(offset);
+    }
+  }
+}
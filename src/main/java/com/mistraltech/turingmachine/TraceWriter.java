@@ -0,0 +1,200 @@
+package com.mistraltech.turingmachine;
+
+import com.mistraltech.turingmachine.exceptions.TraceException;
+import com.mistraltech.turingmachine.model.Configuration;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.Preconditions;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a computation as the sequence of transition table slots it used, one to four bytes per step depending on the
+ * size of the table. The machine is deterministic, so the initial configuration and the slots are enough for
+ * {@link TraceReader} to rebuild every configuration.
+ *
+ * <p>A trace is a directory holding a header, written on {@link #close()}, and numbered segment files. Each segment is
+ * memory mapped while it is written, so recording a step is a store into the mapped buffer and the operating system
+ * writes pages back in the background. A TraceWriter is a {@link StepListener} for table driven simulators, and is
+ * used by a single computation and is not thread safe.
+ */
+public final class TraceWriter implements StepListener, AutoCloseable {
+
+  public static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+  static final String HEADER_FILE = "trace.hdr";
+  static final int MAGIC = 0x544D5452;
+  static final int FORMAT_VERSION = 1;
+
+  private final Path directory;
+  private final Checkpoint initial;
+  private final int slotWidth;
+  private final int segmentSize;
+
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private int segmentCount;
+  private long steps;
+
+  private TraceWriter(Path directory, Checkpoint initial, int slotWidth, int segmentSize) {
+    this.directory = directory;
+    this.initial = initial;
+    this.slotWidth = slotWidth;
+    this.segmentSize = segmentSize - segmentSize % slotWidth;
+  }
+
+  /**
+   * Start a trace of a computation with the default segment size.
+   *
+   * @param directory the directory to write to, which is created if it does not exist
+   * @param table the compiled machine program
+   * @param initial the configuration the computation starts from
+   * @throws TraceException if the directory could not be created
+   */
+  public static TraceWriter create(Path directory, TransitionTable table, Configuration initial) {
+    return create(directory, table, initial, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Start a trace of a computation.
+   *
+   * @param directory the directory to write to, which is created if it does not exist
+   * @param table the compiled machine program
+   * @param initial the configuration the computation starts from
+   * @param segmentSize the size in bytes of each segment file
+   * @throws TraceException if the directory could not be created
+   */
+  public static TraceWriter create(Path directory, TransitionTable table, Configuration initial, int segmentSize) {
+    Preconditions.checkArgument(directory != null, "directory must not be null");
+    Preconditions.checkArgument(segmentSize >= 4, "segmentSize must be at least 4");
+
+    Checkpoint checkpoint = Checkpoint.of(table, initial.getTape(), initial, 0);
+
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new TraceException("Failed to create trace directory " + directory, e);
+    }
+
+    return new TraceWriter(directory, checkpoint, slotWidth(table), segmentSize);
+  }
+
+  /**
+   * Return the number of bytes needed to record a slot of a table.
+   */
+  static int slotWidth(TransitionTable table) {
+    int slots = table.getStateCount() * table.getSymbolCount();
+    return slots <= 1 << 8 ? 1 : slots <= 1 << 16 ? 2 : 4;
+  }
+
+  static Path segmentPath(Path directory, int segment) {
+    return directory.resolve(String.format("segment-%06d.bin", segment));
+  }
+
+  /**
+   * Record one step.
+   *
+   * @param slot the slot of the transition taken
+   * @throws TraceException if a new segment could not be mapped
+   */
+  public void record(int slot) {
+    if (buffer == null || !buffer.hasRemaining()) {
+      nextSegment();
+    }
+
+    switch (slotWidth) {
+      case 1:
+        buffer.put((byte) slot);
+        break;
+      case 2:
+        buffer.putShort((short) slot);
+        break;
+      default:
+        buffer.putInt(slot);
+        break;
+    }
+
+    steps++;
+  }
+
+  /**
+   * Record a batch of steps from a table driven simulator.
+   *
+   * @param batch the steps, which must be held as slots
+   */
+  @Override
+  public void onSteps(StepBatch batch) {
+    for (int i = 0; i < batch.size(); i++) {
+      record(batch.getSlot(i));
+    }
+  }
+
+  public long getSteps() {
+    return steps;
+  }
+
+  /**
+   * Finish the trace: force the last segment to disk, trim it to the steps recorded and write the header.
+   *
+   * @throws TraceException if the trace could not be completed
+   */
+  @Override
+  public void close() {
+    try {
+      closeSegment();
+      writeHeader();
+    } catch (IOException e) {
+      throw new TraceException("Failed to complete trace in " + directory, e);
+    }
+  }
+
+  private void nextSegment() {
+    try {
+      closeSegment();
+
+      channel = FileChannel.open(segmentPath(directory, segmentCount), StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+      segmentCount++;
+    } catch (IOException e) {
+      throw new TraceException("Failed to map trace segment in " + directory, e);
+    }
+  }
+
+  private void closeSegment() throws IOException {
+    if (channel == null) {
+      return;
+    }
+
+    buffer.force();
+    channel.truncate(buffer.position());
+    channel.close();
+    channel = null;
+    buffer = null;
+  }
+
+  private void writeHeader() throws IOException {
+    Path temporary = directory.resolve(HEADER_FILE + ".tmp");
+
+    try (OutputStream stream = Files.newOutputStream(temporary)) {
+      DataOutputStream out = new DataOutputStream(stream);
+      out.writeInt(MAGIC);
+      out.writeShort(FORMAT_VERSION);
+      out.writeByte(slotWidth);
+      out.writeInt(segmentSize);
+      out.writeInt(segmentCount);
+      out.writeLong(steps);
+      initial.writeTo(out);
+      out.flush();
+    }
+
+    Files.move(temporary, directory.resolve(HEADER_FILE), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+}
@@ -1,10 +1,54 @@
 package com.mistraltech.turingmachine;
 
+import com.mistraltech.turingmachine.exceptions.DidNotHaltException;
 import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.utils.Preconditions;
 
 public interface TuringMachineSimulator {
 
   Output compute(Tape input);
 
-  Output compute(Tape input, int maxIterations);
+  /**
+   * Compute the output for an input tape, examining at most maxIterations configurations (so the machine must halt
+   * within maxIterations - 1 steps). A simulator that can prove the machine never halts returns that verdict instead.
+   *
+   * @param input the input tape
+   * @param maxIterations the maximum number of configurations to examine
+   * @throws DidNotHaltException if the limit is reached before the machine halts
+   */
+  default Output compute(Tape input, long maxIterations) {
+    Preconditions.checkArgument(maxIterations > 0, "maxIterations must be positive");
+
+    Output output = compute(input, Limits.maxSteps(maxIterations - 1));
+
+    if (output.getOutcome().isLimitReached()) {
+      throw new DidNotHaltException(maxIterations);
+    }
+
+    return output;
+  }
+
+  /**
+   * Compute the output for an input tape within the given limits. Reaching a limit is reported through the returned
+   * output, together with the number of steps that were run.
+   *
+   * @param input the input tape
+   * @param limits the step and time limits
+   */
+  Output compute(Tape input, Limits limits);
+
+  /**
+   * Compute the output for an input tape within the given limits, delivering every step to a listener. The compiled
+   * simulators run observed computations in a separate loop, so unobserved computations are not slowed down, and
+   * simulators that skip over steps fall back to taking them one at a time. Cycles are not detected in observed
+   * computations. {@link MultiTapeSimulator} and {@link NondeterministicSimulator} do not support listeners.
+   *
+   * @param input the input tape
+   * @param limits the step and time limits
+   * @param listener the listener to deliver steps to
+   * @throws UnsupportedOperationException if the simulator cannot deliver steps
+   */
+  default Output compute(Tape input, Limits limits, StepListener listener) {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support step listeners");
+  }
 }
@@ -1,17 +1,19 @@
 package com.mistraltech.turingmachine;
 
-import com.mistraltech.turingmachine.exceptions.DidNotHaltException;
 import com.mistraltech.turingmachine.model.Action;
 import com.mistraltech.turingmachine.model.Configuration;
 import com.mistraltech.turingmachine.model.State;
 import com.mistraltech.turingmachine.model.Symbol;
 import com.mistraltech.turingmachine.model.Tape;
 import com.mistraltech.turingmachine.model.TuringMachine;
-import com.mistraltech.utils.PersistentStack;
-import com.mistraltech.utils.PersistentStackImpl;
 import com.mistraltech.utils.Preconditions;
 import java.util.Optional;
 
+/**
+ * A TuringMachineSimulator that steps through the machine program one action at a time. Only the current
+ * configuration and a step counter are kept, so memory use does not grow with the number of steps; earlier tapes
+ * become garbage as soon as they are replaced (or are overwritten in place when the tape is mutable).
+ */
 public class TuringMachineSimulatorImpl implements TuringMachineSimulator {
 
   private static final int DEFAULT_MAX_ITERATIONS = 1000;
@@ -28,17 +30,44 @@ public class TuringMachineSimulatorImpl implements TuringMachineSimulator {
   }
 
   @Override
-  public Output compute(Tape input, int maxIterations) {
+  public Output compute(Tape input, Limits limits) {
     Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
 
-    PersistentStack<Configuration> configurations = PersistentStackImpl.singleton(getInitialConfiguration(input));
+    return compute(input, limits, null, null);
+  }
+
+  @Override
+  public Output compute(Tape input, Limits limits, StepListener listener) {
+    Preconditions.checkArgument(input != null, "input must not be null");
+    Preconditions.checkArgument(limits != null, "limits must not be null");
+    Preconditions.checkArgument(listener != null, "listener must not be null");
+
+    Output output = compute(input, limits, listener, StepBatch.forActions(0));
+
+    if (output.getOutcome().isLimitReached()) {
+      listener.onLimit(output);
+    } else {
+      listener.onHalt(output);
+    }
+
+    return output;
+  }
+
+  private Output compute(Tape input, Limits limits, StepListener listener, StepBatch batch) {
+    Limits.Timer timer = limits.startTimer();
+    long maxSteps = limits.getMaxSteps();
+    long checkInterval = limits.getCheckInterval();
 
-    while (configurations.size() <= maxIterations) {
-      Configuration currentConfiguration = configurations.read();
+    Configuration currentConfiguration = getInitialConfiguration(input);
+    long steps = 0;
+
+    while (true) {
       State currentState = currentConfiguration.getState();
 
       if (turingMachine.isFinalState(currentState)) {
-        return Output.haltsAndSucceeds(currentConfiguration);
+        flush(listener, batch);
+        return Output.haltsAndSucceeds(currentConfiguration, steps);
       }
 
       Tape currentTape = currentConfiguration.getTape();
@@ -46,14 +75,33 @@ public class TuringMachineSimulatorImpl implements TuringMachineSimulator {
       Optional<Action> maybeAction = turingMachine.findAction(currentState, currentSymbol);
 
       if (maybeAction.isEmpty()) {
-        return Output.haltsAndFails();
+        flush(listener, batch);
+        return Output.haltsAndFails(steps);
+      }
+
+      if (steps == maxSteps) {
+        flush(listener, batch);
+        return Output.stepLimitReached(steps);
+      }
+
+      if (steps % checkInterval == 0 && timer.isExpired()) {
+        flush(listener, batch);
+        return Output.timeLimitReached(steps);
       }
 
-      Configuration newConfiguration = getNewConfiguration(maybeAction.get(), currentTape);
-      configurations = configurations.push(newConfiguration);
+      if (listener != null && batch.add(maybeAction.get(), currentTape.getHeadPosition())) {
+        batch.flush(listener);
+      }
+
+      currentConfiguration = getNewConfiguration(maybeAction.get(), currentTape);
+      steps++;
     }
+  }
 
-    throw new DidNotHaltException(maxIterations);
+  private static void flush(StepListener listener, StepBatch batch) {
+    if (listener != null) {
+      batch.flush(listener);
+    }
   }
 
   private Configuration getInitialConfiguration(Tape input) {
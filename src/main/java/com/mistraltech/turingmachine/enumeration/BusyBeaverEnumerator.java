@@ -0,0 +1,378 @@
+package com.mistraltech.turingmachine.enumeration;
+
+import com.mistraltech.turingmachine.enumeration.EnumeratedMachine.Classification;
+import com.mistraltech.utils.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Enumerates the n-state, m-symbol machines in tree normal form and classifies each as halting, non-halting or
+ * undecided when started on a blank tape.
+ *
+ * <p>The search starts from a machine with no transitions and simulates it. When the simulation first reaches a
+ * (state, symbol) pair with no transition, the machine is branched: one child halts there, and the others define the
+ * transition in every way that is not equivalent to another by renumbering states or symbols (a new transition may use
+ * at most one state and one symbol that have not been used before) or by mirroring (the first move is always right).
+ * Each child continues from a copy of the configuration where its parent stopped, so no machine is run from the start.
+ *
+ * <p>While it runs, each machine is checked for a repeated configuration with Brent's algorithm, as
+ * {@link com.mistraltech.turingmachine.CompiledTuringMachineSimulator#withCycleDetection()} does: the configuration is
+ * saved at each power of two steps and compared with the configurations that follow. A repeat only uses transitions
+ * that are defined, so the machine and every machine branched from it never halt. A machine that reaches the step
+ * limit without a repeat or a missing transition is undecided.
+ *
+ * <p>Branches are explored as fork-join tasks, so idle workers steal subtrees from busy ones. BusyBeaverEnumerator is
+ * immutable; the {@code with} methods return modified copies.
+ */
+public final class BusyBeaverEnumerator {
+
+  public static final int MAX_SYMBOLS = 10;
+  public static final long DEFAULT_STEP_LIMIT = 1000;
+
+  private static final int UNDEFINED = -1;
+  private static final int CYCLE = -2;
+  private static final int WINDOW_RADIUS = 4;
+  private static final int MIN_CAPACITY = 16;
+
+  private final int stateCount;
+  private final int symbolCount;
+  private final long stepLimit;
+  private final ForkJoinPool pool;
+
+  /**
+   * Construct an enumerator with the default step limit, running on the common fork-join pool.
+   *
+   * @param stateCount the number of states, excluding the halting state
+   * @param symbolCount the number of symbols, including the blank
+   */
+  public BusyBeaverEnumerator(int stateCount, int symbolCount) {
+    this(stateCount, symbolCount, DEFAULT_STEP_LIMIT, ForkJoinPool.commonPool());
+  }
+
+  private BusyBeaverEnumerator(int stateCount, int symbolCount, long stepLimit, ForkJoinPool pool) {
+    Preconditions.checkArgument(stateCount > 0, "stateCount must be positive");
+    Preconditions.checkArgument(symbolCount >= 2 && symbolCount <= MAX_SYMBOLS,
+        "symbolCount must be between 2 and %d", MAX_SYMBOLS);
+
+    this.stateCount = stateCount;
+    this.symbolCount = symbolCount;
+    this.stepLimit = stepLimit;
+    this.pool = pool;
+  }
+
+  public BusyBeaverEnumerator withStepLimit(long stepLimit) {
+    Preconditions.checkArgument(stepLimit > 0, "stepLimit must be positive");
+
+    return new BusyBeaverEnumerator(stateCount, symbolCount, stepLimit, pool);
+  }
+
+  public BusyBeaverEnumerator withPool(ForkJoinPool pool) {
+    Preconditions.checkArgument(pool != null, "pool must not be null");
+
+    return new BusyBeaverEnumerator(stateCount, symbolCount, stepLimit, pool);
+  }
+
+  public EnumerationResult enumerate() {
+    return enumerate(machine -> { });
+  }
+
+  /**
+   * Enumerate the machines, passing each classified machine to a consumer. The consumer is called from the worker
+   * threads, so it must be thread safe.
+   *
+   * @param consumer the consumer of classified machines
+   */
+  public EnumerationResult enumerate(Consumer<? super EnumeratedMachine> consumer) {
+    Preconditions.checkArgument(consumer != null, "consumer must not be null");
+
+    Totals totals = new Totals(consumer);
+    pool.invoke(new Explore(new PartialMachine(), totals));
+
+    return new EnumerationResult(totals.halting.sum(), totals.nonHalting.sum(), totals.undecided.sum(),
+        totals.champion.get());
+  }
+
+  /**
+   * The counts and the longest running halting machine, shared by all tasks of one enumeration.
+   */
+  private static final class Totals {
+
+    private final Consumer<? super EnumeratedMachine> consumer;
+    private final LongAdder halting = new LongAdder();
+    private final LongAdder nonHalting = new LongAdder();
+    private final LongAdder undecided = new LongAdder();
+    private final AtomicReference<EnumeratedMachine> champion = new AtomicReference<>();
+
+    private Totals(Consumer<? super EnumeratedMachine> consumer) {
+      this.consumer = consumer;
+    }
+
+    private void add(EnumeratedMachine machine) {
+      switch (machine.getClassification()) {
+        case HALTING:
+          halting.increment();
+          champion.accumulateAndGet(machine, (current, candidate) ->
+              current == null || candidate.getSteps() > current.getSteps() ? candidate : current);
+          break;
+        case NON_HALTING:
+          nonHalting.increment();
+          break;
+        default:
+          undecided.increment();
+          break;
+      }
+
+      consumer.accept(machine);
+    }
+  }
+
+  /**
+   * Simulates a partially defined machine until it needs a new transition, then explores each choice in a subtask.
+   */
+  private final class Explore extends RecursiveAction {
+
+    private final PartialMachine machine;
+    private final Totals totals;
+
+    private Explore(PartialMachine machine, Totals totals) {
+      this.machine = machine;
+      this.totals = totals;
+    }
+
+    @Override
+    protected void compute() {
+      int slot = machine.run();
+
+      if (slot == CYCLE) {
+        totals.add(machine.toEnumeratedMachine(Classification.NON_HALTING));
+        return;
+      }
+
+      if (slot == UNDEFINED) {
+        totals.add(machine.toEnumeratedMachine(Classification.UNDECIDED));
+        return;
+      }
+
+      totals.add(machine.toHaltingMachine(slot));
+
+      if (machine.definedCount == stateCount * symbolCount - 1) {
+        // In tree normal form the last missing transition is always the halting one
+        return;
+      }
+
+      List<Explore> children = new ArrayList<>();
+      int maxNextState = Math.min(stateCount - 1, machine.maxState + 1);
+      int maxNewSymbol = Math.min(symbolCount - 1, machine.maxSymbol + 1);
+
+      for (int nextState = 0; nextState <= maxNextState; nextState++) {
+        for (int newSymbol = 0; newSymbol <= maxNewSymbol; newSymbol++) {
+          if (machine.definedCount > 0) {
+            children.add(new Explore(machine.define(slot, nextState, newSymbol, -1), totals));
+          }
+          children.add(new Explore(machine.define(slot, nextState, newSymbol, 1), totals));
+        }
+      }
+
+      invokeAll(children);
+    }
+  }
+
+  /**
+   * A machine with some transitions defined, in the middle of a computation from a blank tape.
+   */
+  private final class PartialMachine {
+
+    private final int[] nextStates;
+    private final byte[] newSymbols;
+    private final byte[] moves;
+    private int definedCount;
+    private int maxState;
+    private int maxSymbol;
+
+    private byte[] cells;
+    private int head;
+    private int state;
+    private long steps;
+    private int nonBlank;
+
+    // The configuration saved for cycle detection, with its content positioned relative to the head
+    private int savedState;
+    private int savedNonBlank;
+    private int savedWindowHash;
+    private int savedOffset;
+    private byte[] savedContent;
+    private long savedAt;
+    private long power;
+
+    private PartialMachine() {
+      this.nextStates = new int[stateCount * symbolCount];
+      this.newSymbols = new byte[stateCount * symbolCount];
+      this.moves = new byte[stateCount * symbolCount];
+      this.cells = new byte[MIN_CAPACITY];
+      this.head = MIN_CAPACITY / 2;
+
+      Arrays.fill(nextStates, UNDEFINED);
+      save();
+      this.power = 1;
+    }
+
+    private PartialMachine(PartialMachine other) {
+      this.nextStates = other.nextStates.clone();
+      this.newSymbols = other.newSymbols.clone();
+      this.moves = other.moves.clone();
+      this.definedCount = other.definedCount;
+      this.maxState = other.maxState;
+      this.maxSymbol = other.maxSymbol;
+      this.cells = other.cells.clone();
+      this.head = other.head;
+      this.state = other.state;
+      this.steps = other.steps;
+      this.nonBlank = other.nonBlank;
+      this.savedState = other.savedState;
+      this.savedNonBlank = other.savedNonBlank;
+      this.savedWindowHash = other.savedWindowHash;
+      this.savedOffset = other.savedOffset;
+      this.savedContent = other.savedContent;
+      this.savedAt = other.savedAt;
+      this.power = other.power;
+    }
+
+    /**
+     * Run until the machine reaches a missing transition, returning its slot, until it repeats a configuration,
+     * returning {@link #CYCLE}, or until the step limit, returning {@link #UNDEFINED}.
+     */
+    private int run() {
+      while (true) {
+        int slot = state * symbolCount + cells[head];
+        int nextState = nextStates[slot];
+
+        if (nextState == UNDEFINED) {
+          return slot;
+        }
+
+        if (steps == stepLimit) {
+          return UNDEFINED;
+        }
+
+        nonBlank += (newSymbols[slot] != 0 ? 1 : 0) - (cells[head] != 0 ? 1 : 0);
+        cells[head] = newSymbols[slot];
+        head += moves[slot];
+
+        if (head < 0) {
+          byte[] grown = new byte[cells.length * 2];
+          System.arraycopy(cells, 0, grown, cells.length, cells.length);
+          head += cells.length;
+          cells = grown;
+        } else if (head == cells.length) {
+          cells = Arrays.copyOf(cells, cells.length * 2);
+        }
+
+        state = nextState;
+        steps++;
+
+        if (matchesSaved()) {
+          return CYCLE;
+        }
+
+        if (steps - savedAt == power) {
+          save();
+          power *= 2;
+        }
+      }
+    }
+
+    private void save() {
+      savedState = state;
+      savedNonBlank = nonBlank;
+      savedWindowHash = windowHash();
+      int first = firstNonBlank();
+      savedOffset = first - head;
+      savedContent = Arrays.copyOfRange(cells, first, Math.max(first, lastNonBlank() + 1));
+      savedAt = steps;
+    }
+
+    /**
+     * Return whether the configuration is the saved one, allowing for a shift along the tape. The state, the count of
+     * non-blank cells and the cells around the head are compared before the whole content.
+     */
+    private boolean matchesSaved() {
+      if (state != savedState || nonBlank != savedNonBlank || windowHash() != savedWindowHash) {
+        return false;
+      }
+
+      if (nonBlank == 0) {
+        return true;
+      }
+
+      int first = firstNonBlank();
+      int last = lastNonBlank();
+
+      return first - head == savedOffset && last + 1 - first == savedContent.length
+          && Arrays.equals(cells, first, last + 1, savedContent, 0, savedContent.length);
+    }
+
+    private int windowHash() {
+      int hash = 0;
+
+      for (int i = head - WINDOW_RADIUS; i <= head + WINDOW_RADIUS; i++) {
+        hash = 31 * hash + (i >= 0 && i < cells.length ? cells[i] : 0);
+      }
+
+      return hash;
+    }
+
+    private int firstNonBlank() {
+      int i = 0;
+      while (i < cells.length && cells[i] == 0) {
+        i++;
+      }
+      return i;
+    }
+
+    private int lastNonBlank() {
+      int i = cells.length - 1;
+      while (i >= 0 && cells[i] == 0) {
+        i--;
+      }
+      return i;
+    }
+
+    private PartialMachine define(int slot, int nextState, int newSymbol, int move) {
+      PartialMachine child = new PartialMachine(this);
+      child.nextStates[slot] = nextState;
+      child.newSymbols[slot] = (byte) newSymbol;
+      child.moves[slot] = (byte) move;
+      child.definedCount++;
+      child.maxState = Math.max(maxState, nextState);
+      child.maxSymbol = Math.max(maxSymbol, newSymbol);
+      return child;
+    }
+
+    /**
+     * Return the machine that halts on a missing transition, by moving to the halting state and writing the first
+     * non-blank symbol.
+     */
+    private EnumeratedMachine toHaltingMachine(int slot) {
+      int[] haltingNextStates = nextStates.clone();
+      byte[] haltingNewSymbols = newSymbols.clone();
+      byte[] haltingMoves = moves.clone();
+      haltingNextStates[slot] = stateCount;
+      haltingNewSymbols[slot] = 1;
+      haltingMoves[slot] = 1;
+
+      return new EnumeratedMachine(stateCount, symbolCount, haltingNextStates, haltingNewSymbols, haltingMoves,
+          Classification.HALTING, steps + 1);
+    }
+
+    private EnumeratedMachine toEnumeratedMachine(Classification classification) {
+      return new EnumeratedMachine(stateCount, symbolCount, nextStates.clone(), newSymbols.clone(), moves.clone(),
+          classification, steps);
+    }
+  }
+}
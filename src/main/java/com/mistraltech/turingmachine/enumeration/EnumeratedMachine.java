@@ -0,0 +1,112 @@
+package com.mistraltech.turingmachine.enumeration;
+
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.turingmachine.model.builder.ProgramBuilder;
+import com.mistraltech.turingmachine.model.builder.TuringMachineBuilder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A machine produced by {@link BusyBeaverEnumerator}, with its classification. States are numbered from 0, the initial
+ * state, and state {@link #getStateCount()} is the halting state. Symbols are the blank followed by '1', '2' and so on.
+ * Transitions that the machine never reaches from a blank tape are left undefined.
+ */
+public final class EnumeratedMachine {
+
+  private final int stateCount;
+  private final int symbolCount;
+  private final int[] nextStates;
+  private final byte[] newSymbols;
+  private final byte[] moves;
+  private final Classification classification;
+  private final long steps;
+
+  EnumeratedMachine(int stateCount, int symbolCount, int[] nextStates, byte[] newSymbols, byte[] moves,
+      Classification classification, long steps) {
+    this.stateCount = stateCount;
+    this.symbolCount = symbolCount;
+    this.nextStates = nextStates;
+    this.newSymbols = newSymbols;
+    this.moves = moves;
+    this.classification = classification;
+    this.steps = steps;
+  }
+
+  static CharSymbol symbol(int index) {
+    return index == 0 ? CharSymbol.BLANK : CharSymbol.getSymbol((char) ('0' + index));
+  }
+
+  public int getStateCount() {
+    return stateCount;
+  }
+
+  public int getSymbolCount() {
+    return symbolCount;
+  }
+
+  public Classification getClassification() {
+    return classification;
+  }
+
+  /**
+   * Return the number of steps the machine takes to halt from a blank tape, counting the step into the halting state,
+   * or the number of steps simulated if the machine does not halt or is undecided.
+   */
+  public long getSteps() {
+    return steps;
+  }
+
+  /**
+   * Return the defined transitions of the machine.
+   */
+  public List<Action> getActions() {
+    List<Action> actions = new ArrayList<>();
+
+    for (int slot = 0; slot < nextStates.length; slot++) {
+      if (nextStates[slot] >= 0) {
+        actions.add(new Action(IntState.getState(slot / symbolCount), symbol(slot % symbolCount),
+            IntState.getState(nextStates[slot]), symbol(newSymbols[slot]), moves[slot] < 0 ? Move.LEFT : Move.RIGHT));
+      }
+    }
+
+    return actions;
+  }
+
+  /**
+   * Return the machine in the Turing machine model, with the halting state as its only final state.
+   */
+  public TuringMachine toTuringMachine() {
+    List<CharSymbol> symbols = new ArrayList<>();
+    for (int symbol = 0; symbol < symbolCount; symbol++) {
+      symbols.add(symbol(symbol));
+    }
+
+    return TuringMachineBuilder.aTuringMachine()
+        .withStates(IntState.createClosedRangeFromZeroTo(stateCount))
+        .withFinalStates(List.of(IntState.getState(stateCount)))
+        .withInitialState(IntState.getState(0))
+        .withSymbols(symbols)
+        .withInputSymbols(symbols.subList(1, symbols.size()))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withProgram(ProgramBuilder.aProgram().withActions(getActions()).build())
+        .build();
+  }
+
+  @Override
+  public String toString() {
+    return "EnumeratedMachine " + classification + " after " + steps + " steps " + getActions();
+  }
+
+  /**
+   * What is known about whether a machine halts when started on a blank tape.
+   */
+  public enum Classification {
+    HALTING,
+    NON_HALTING,
+    UNDECIDED
+  }
+}
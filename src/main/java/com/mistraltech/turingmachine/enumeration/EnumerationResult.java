@@ -0,0 +1,58 @@
+package com.mistraltech.turingmachine.enumeration;
+
+import java.util.Optional;
+
+/**
+ * The totals of a busy beaver enumeration, together with a halting machine that runs for the most steps.
+ */
+public final class EnumerationResult {
+
+  private final long haltingCount;
+  private final long nonHaltingCount;
+  private final long undecidedCount;
+  private final EnumeratedMachine champion;
+
+  EnumerationResult(long haltingCount, long nonHaltingCount, long undecidedCount, EnumeratedMachine champion) {
+    this.haltingCount = haltingCount;
+    this.nonHaltingCount = nonHaltingCount;
+    this.undecidedCount = undecidedCount;
+    this.champion = champion;
+  }
+
+  public long getHaltingCount() {
+    return haltingCount;
+  }
+
+  public long getNonHaltingCount() {
+    return nonHaltingCount;
+  }
+
+  public long getUndecidedCount() {
+    return undecidedCount;
+  }
+
+  public long getMachineCount() {
+    return haltingCount + nonHaltingCount + undecidedCount;
+  }
+
+  /**
+   * Return the most steps taken by a halting machine, which is the busy beaver number S(n, m) if no machine is
+   * undecided.
+   */
+  public long getMaxSteps() {
+    return champion == null ? 0 : champion.getSteps();
+  }
+
+  /**
+   * Return a halting machine that takes {@link #getMaxSteps()} steps.
+   */
+  public Optional<EnumeratedMachine> getChampion() {
+    return Optional.ofNullable(champion);
+  }
+
+  @Override
+  public String toString() {
+    return "EnumerationResult [halting=" + haltingCount + ", nonHalting=" + nonHaltingCount + ", undecided="
+        + undecidedCount + ", maxSteps=" + getMaxSteps() + "]";
+  }
+}
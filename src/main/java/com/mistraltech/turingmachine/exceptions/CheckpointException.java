@@ -0,0 +1,12 @@
+package com.mistraltech.turingmachine.exceptions;
+
+public class CheckpointException extends RuntimeException {
+
+  public CheckpointException(String message) {
+    super(message);
+  }
+
+  public CheckpointException(String message, Exception cause) {
+    super(message, cause);
+  }
+}
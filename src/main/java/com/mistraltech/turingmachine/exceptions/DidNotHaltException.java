@@ -2,7 +2,14 @@ package com.mistraltech.turingmachine.exceptions;
 
 public class DidNotHaltException extends RuntimeException {
 
-  public DidNotHaltException(int iterations) {
+  private final long iterations;
+
+  public DidNotHaltException(long iterations) {
     super(String.format("Machine did not halt within %d steps", iterations));
+    this.iterations = iterations;
+  }
+
+  public long getIterations() {
+    return iterations;
   }
 }
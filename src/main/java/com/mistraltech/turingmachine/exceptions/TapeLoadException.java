@@ -0,0 +1,8 @@
+package com.mistraltech.turingmachine.exceptions;
+
+public class TapeLoadException extends RuntimeException {
+
+  public TapeLoadException(String message, Exception cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,12 @@
+package com.mistraltech.turingmachine.exceptions;
+
+public class TraceException extends RuntimeException {
+
+  public TraceException(String message) {
+    super(message);
+  }
+
+  public TraceException(String message, Exception cause) {
+    super(message, cause);
+  }
+}
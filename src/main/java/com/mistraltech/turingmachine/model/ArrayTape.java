@@ -0,0 +1,229 @@
+package com.mistraltech.turingmachine.model;
+
+import com.mistraltech.utils.CharSymbolUtils;
+import com.mistraltech.utils.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A mutable Tape backed by a contiguous byte array. Each distinct symbol is given an index on first use (the blank
+ * symbol is index 0) and cells hold that index. Symbols are written in place, moving the head only changes an index
+ * and the array doubles in size when the head moves beyond either end.
+ *
+ * <p>Because the tape is updated in place, {@link #apply} returns this tape rather than a new one, and previous tape
+ * contents are not retained. It is intended for a single-threaded simulator that only needs the current configuration.
+ */
+public final class ArrayTape implements Tape {
+
+  private static final int MAX_SYMBOLS = 256;
+  private static final int MIN_CAPACITY = 16;
+
+  private final Symbol blankSymbol;
+  private final List<Symbol> symbols = new ArrayList<>();
+  private final Map<Symbol, Integer> symbolIndices = new HashMap<>();
+
+  private byte[] cells;
+  private int origin;
+  private int head;
+  private int low;
+  private int high;
+  private long contentHash;
+  private boolean hashed;
+
+  private ArrayTape(Symbol blankSymbol, List<Symbol> initial) {
+    Preconditions.checkArgument(blankSymbol != null, "blankSymbol cannot be null");
+    Preconditions.checkArgument(initial != null, "initial symbols cannot be null");
+
+    this.blankSymbol = blankSymbol;
+    indexOf(blankSymbol);
+
+    this.cells = new byte[Math.max(MIN_CAPACITY, 2 * initial.size())];
+    this.origin = (cells.length - initial.size()) / 2 - 1;
+    this.head = origin + 1;
+    this.low = head;
+    this.high = head;
+
+    for (Symbol symbol : initial) {
+      write(high++, symbol);
+    }
+  }
+
+  public static ArrayTape create(Symbol blankSymbol) {
+    return new ArrayTape(blankSymbol, List.of());
+  }
+
+  public static ArrayTape create(Symbol blankSymbol, List<Symbol> symbols) {
+    return new ArrayTape(blankSymbol, symbols);
+  }
+
+  /**
+   * Create an array tape holding symbols from a given position onwards, with the head at another position.
+   *
+   * @param blankSymbol the blank symbol
+   * @param symbols the symbols on the tape, starting at position from
+   * @param from the position of the first symbol
+   * @param headPosition the position of the head
+   */
+  public static ArrayTape create(Symbol blankSymbol, List<Symbol> symbols, int from, int headPosition) {
+    ArrayTape tape = new ArrayTape(blankSymbol, symbols);
+    tape.origin -= from - 1;
+    tape.moveTo(tape.origin + headPosition);
+    return tape;
+  }
+
+  /**
+   * Create an array tape with the same content and head position as another tape.
+   *
+   * @param blankSymbol the blank symbol
+   * @param tape the tape to copy
+   */
+  public static ArrayTape copyOf(Symbol blankSymbol, Tape tape) {
+    Preconditions.checkArgument(tape != null, "tape cannot be null");
+
+    int from = tape.getLeftBound();
+    return create(blankSymbol, tape.getString(from, tape.getRightBound()), from, tape.getHeadPosition());
+  }
+
+  @Override
+  public ArrayTape apply(Symbol newSymbol, Move move) {
+    Preconditions.checkArgument(newSymbol != null, "newSymbol cannot be null");
+
+    write(head, newSymbol);
+
+    if (move == Move.LEFT) {
+      moveTo(head - 1);
+    } else if (move == Move.RIGHT) {
+      moveTo(head + 1);
+    }
+
+    return this;
+  }
+
+  private void write(int index, Symbol symbol) {
+    int symbolIndex = indexOf(symbol);
+
+    if (hashed) {
+      contentHash ^= cellHash(index, cells[index] & 0xFF) ^ cellHash(index, symbolIndex);
+    }
+
+    cells[index] = (byte) symbolIndex;
+
+    if (symbolIndex != 0) {
+      low = Math.min(low, index);
+      high = Math.max(high, index + 1);
+    }
+  }
+
+  private void moveTo(int index) {
+    if (index < 0) {
+      int growth = Math.max(cells.length, -index);
+      byte[] grown = new byte[cells.length + growth];
+      System.arraycopy(cells, 0, grown, growth, cells.length);
+      cells = grown;
+      origin += growth;
+      low += growth;
+      high += growth;
+      index += growth;
+    } else if (index >= cells.length) {
+      cells = Arrays.copyOf(cells, Math.max(cells.length * 2, index + 1));
+    }
+
+    head = index;
+  }
+
+  private int indexOf(Symbol symbol) {
+    Integer index = symbolIndices.get(symbol);
+
+    if (index == null) {
+      Preconditions.checkArgument(symbols.size() < MAX_SYMBOLS, "Tape cannot hold more than %d symbols", MAX_SYMBOLS);
+
+      index = symbols.size();
+      symbols.add(symbol);
+      symbolIndices.put(symbol, index);
+    }
+
+    return index;
+  }
+
+  private long cellHash(int index, int symbolIndex) {
+    return symbolIndex == 0 ? 0 : Zobrist.cell(index - origin, symbols.get(symbolIndex).getId());
+  }
+
+  private Symbol symbolAt(int index) {
+    return index < 0 || index >= cells.length ? blankSymbol : symbols.get(cells[index] & 0xFF);
+  }
+
+  @Override
+  public List<Symbol> getOutputString() {
+    int from = origin + 1;
+    if (from < 0) {
+      // Position 1 is left of the array, so it has never been written and is blank
+      return PackedSymbolList.of(symbols, cells, 0, 0);
+    }
+
+    int to = from;
+
+    while (to < cells.length && cells[to] != 0) {
+      to++;
+    }
+
+    return PackedSymbolList.of(symbols, cells, from, to);
+  }
+
+  @Override
+  public List<Symbol> getString(int from, int to) {
+    Preconditions.checkArgument(to >= from, "to cannot be less than from");
+
+    List<Symbol> string = new ArrayList<>(to - from);
+
+    for (int position = from; position < to; position++) {
+      string.add(symbolAt(origin + position));
+    }
+
+    return string;
+  }
+
+  @Override
+  public Symbol getCurrentSymbol() {
+    return symbols.get(cells[head] & 0xFF);
+  }
+
+  @Override
+  public int getHeadPosition() {
+    return head - origin;
+  }
+
+  @Override
+  public int getLeftBound() {
+    return low - origin;
+  }
+
+  @Override
+  public int getRightBound() {
+    return high - origin;
+  }
+
+  /**
+   * {@inheritDoc} The hash is computed from the cells on first use and then updated by each write.
+   */
+  @Override
+  public long getContentHash() {
+    if (!hashed) {
+      contentHash = 0;
+      for (int index = low; index < high; index++) {
+        contentHash ^= cellHash(index, cells[index] & 0xFF);
+      }
+      hashed = true;
+    }
+
+    return contentHash;
+  }
+
+  @Override
+  public String toString() {
+    return "Tape [" + CharSymbolUtils.symbolListToString(getString(getLeftBound(), getRightBound())) + "]";
+  }
+}
@@ -2,30 +2,41 @@ package com.mistraltech.turingmachine.model;
 
 import static com.mistraltech.utils.Preconditions.checkArgument;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
 /**
  * An implementation of Symbol using a single character. The blank symbol is represented by the carat character ('^').
  * CharSymbols cannot be constructed directly. Use one of the static factory methods to construct and retrieve
  * CharSymbol instances.
+ *
+ * <p>Instances are interned, so there is one per character. Looking up an existing symbol takes no lock: ISO-8859-1
+ * characters are read from an array and other characters from a concurrent map. Creating a symbol is serialised so
+ * that each is given the next {@link #getId() id} in turn.
  */
 public class CharSymbol implements Symbol {
 
   public final static CharSymbol BLANK;
 
-  private final static Map<Character, CharSymbol> symbolMap = new HashMap<>();
+  private static final int SMALL_LIMIT = 256;
+  private static final AtomicReferenceArray<CharSymbol> smallSymbols = new AtomicReferenceArray<>(SMALL_LIMIT);
+  private static final Map<Character, CharSymbol> symbolMap = new ConcurrentHashMap<>();
+  private static final Object lock = new Object();
+  private static int nextId;
 
   static {
     BLANK = CharSymbol.getSymbol('^');
   }
 
   private final char value;
+  private final int id;
 
-  private CharSymbol(char value) {
+  private CharSymbol(char value, int id) {
     this.value = value;
+    this.id = id;
   }
 
   public static Set<CharSymbol> toSymbols(String symbols) {
@@ -35,7 +46,30 @@ public class CharSymbol implements Symbol {
   }
 
   public static CharSymbol getSymbol(char c) {
-    return symbolMap.computeIfAbsent(c, CharSymbol::new);
+    CharSymbol symbol = c < SMALL_LIMIT ? smallSymbols.get(c) : symbolMap.get(c);
+    return symbol != null ? symbol : intern(c);
+  }
+
+  private static CharSymbol intern(char c) {
+    synchronized (lock) {
+      CharSymbol symbol = c < SMALL_LIMIT ? smallSymbols.get(c) : symbolMap.get(c);
+
+      if (symbol == null) {
+        symbol = new CharSymbol(c, nextId++);
+        if (c < SMALL_LIMIT) {
+          smallSymbols.set(c, symbol);
+        } else {
+          symbolMap.put(c, symbol);
+        }
+      }
+
+      return symbol;
+    }
+  }
+
+  @Override
+  public int getId() {
+    return id;
   }
 
   @Override
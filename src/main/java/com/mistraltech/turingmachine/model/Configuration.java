@@ -3,6 +3,11 @@ package com.mistraltech.turingmachine.model;
 /**
  * Represents a machine configuration. This is a combination of the current machine state and the content and current
  * head location of the tape.
+ *
+ * <p>Configurations are identified by a 64-bit {@link Zobrist} hash of the state, head position and tape content, which
+ * the tape keeps up to date as it is written, so hashing a configuration takes constant time. Equality compares the
+ * hashes first and only compares tape contents when they match. A configuration of a tape that is updated in place
+ * reflects the tape's current content, so it should not be kept as a map key while the tape changes.
  */
 public class Configuration {
 
@@ -21,4 +26,37 @@ public class Configuration {
   public Tape getTape() {
     return tape;
   }
+
+  /**
+   * Return the 64-bit hash of this configuration.
+   */
+  public long getHash() {
+    return Zobrist.state(state.getId()) ^ Zobrist.head(tape.getHeadPosition()) ^ tape.getContentHash();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+
+    Configuration that = (Configuration) o;
+
+    if (getHash() != that.getHash() || !state.equals(that.state)
+        || tape.getHeadPosition() != that.tape.getHeadPosition()) {
+      return false;
+    }
+
+    int from = Math.min(tape.getLeftBound(), that.tape.getLeftBound());
+    int to = Math.max(tape.getRightBound(), that.tape.getRightBound());
+    return tape.getString(from, to).equals(that.tape.getString(from, to));
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(getHash());
+  }
 }
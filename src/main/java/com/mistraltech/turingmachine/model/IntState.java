@@ -3,24 +3,36 @@ package com.mistraltech.turingmachine.model;
 import static com.mistraltech.utils.Preconditions.checkArgument;
 
 import com.mistraltech.utils.Preconditions;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * A State implementation with states represented by Integers. IntState cannot be constructed directly. Use one of the
  * static factory methods to construct and retrieve IntState instances.
+ *
+ * <p>Instances are interned, so there is one per value. Looking up an existing state takes no lock: values below
+ * {@link #SMALL_LIMIT} are read from an array and other values from a concurrent map. Creating a state is serialised
+ * so that each is given the next {@link #getId() id} in turn.
  */
 public final class IntState implements State {
 
-  private static final Map<Integer, IntState> stateMap = new HashMap<>();
+  static final int SMALL_LIMIT = 1024;
+
+  private static final AtomicReferenceArray<IntState> smallStates = new AtomicReferenceArray<>(SMALL_LIMIT);
+  private static final Map<Integer, IntState> stateMap = new ConcurrentHashMap<>();
+  private static final Object lock = new Object();
+  private static int nextId;
 
   private final int value;
+  private final int id;
 
-  private IntState(int value) {
+  private IntState(int value, int id) {
     this.value = value;
+    this.id = id;
   }
 
   public static List<IntState> createClosedRangeFromZeroTo(int maxState) {
@@ -32,7 +44,35 @@ public final class IntState implements State {
   }
 
   public static IntState getState(int value) {
-    return stateMap.computeIfAbsent(value, IntState::new);
+    IntState state = value >= 0 && value < SMALL_LIMIT ? smallStates.get(value) : stateMap.get(value);
+    return state != null ? state : intern(value);
+  }
+
+  private static IntState intern(int value) {
+    synchronized (lock) {
+      boolean small = value >= 0 && value < SMALL_LIMIT;
+      IntState state = small ? smallStates.get(value) : stateMap.get(value);
+
+      if (state == null) {
+        state = new IntState(value, nextId++);
+        if (small) {
+          smallStates.set(value, state);
+        } else {
+          stateMap.put(value, state);
+        }
+      }
+
+      return state;
+    }
+  }
+
+  public int getValue() {
+    return value;
+  }
+
+  @Override
+  public int getId() {
+    return id;
   }
 
   @Override
@@ -0,0 +1,233 @@
+package com.mistraltech.turingmachine.model;
+
+import com.mistraltech.utils.CharSymbolUtils;
+import com.mistraltech.utils.Preconditions;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A mutable Tape whose input is read on demand from a byte buffer, typically a memory mapped file. Each byte is one
+ * CharSymbol, read as ISO-8859-1, with the first byte at position 1. Unwritten cells are decoded from the buffer when
+ * they are read, so an input costs no heap until the machine writes to it; the first write to a page of cells copies
+ * that page into a byte array of symbol indices, as held by {@link ArrayTape}.
+ *
+ * <p>Like ArrayTape, {@link #apply} updates the tape in place and returns it. It is intended for a single-threaded
+ * simulator that only needs the current configuration.
+ */
+public final class MappedTape implements Tape {
+
+  private static final int MAX_SYMBOLS = 256;
+  private static final int PAGE_BITS = 12;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+  private final Symbol blankSymbol;
+  private final ByteBuffer input;
+  private final int inputLength;
+  private final Symbol[] inputSymbols = new Symbol[256];
+  private final List<Symbol> symbols = new ArrayList<>();
+  private final Map<Symbol, Integer> symbolIndices = new HashMap<>();
+  private final Map<Integer, byte[]> pages = new HashMap<>();
+
+  private int head = 1;
+  private int low = 1;
+  private int high;
+  private int cachedPageNumber = Integer.MIN_VALUE;
+  private byte[] cachedPage;
+  private long contentHash;
+  private boolean hashed;
+
+  private MappedTape(Symbol blankSymbol, ByteBuffer input) {
+    this.blankSymbol = blankSymbol;
+    this.input = input;
+    this.inputLength = input.limit();
+    this.high = inputLength + 1;
+
+    indexOf(blankSymbol);
+  }
+
+  /**
+   * Create a tape holding the bytes of a buffer, from its position to its limit, at positions 1 onwards, with the head
+   * at position 1. The buffer must not be changed while the tape is in use.
+   *
+   * @param blankSymbol the blank symbol
+   * @param input the input bytes
+   */
+  public static MappedTape create(Symbol blankSymbol, ByteBuffer input) {
+    Preconditions.checkArgument(blankSymbol != null, "blankSymbol cannot be null");
+    Preconditions.checkArgument(input != null, "input cannot be null");
+    Preconditions.checkArgument(input.remaining() < Integer.MAX_VALUE - 1, "input is too large");
+
+    return new MappedTape(blankSymbol, input.slice());
+  }
+
+  @Override
+  public MappedTape apply(Symbol newSymbol, Move move) {
+    Preconditions.checkArgument(newSymbol != null, "newSymbol cannot be null");
+
+    if (hashed) {
+      contentHash ^= Zobrist.cell(head, symbolAt(head), blankSymbol) ^ Zobrist.cell(head, newSymbol, blankSymbol);
+    }
+
+    int symbolIndex = indexOf(newSymbol);
+    writablePage(head)[head & (PAGE_SIZE - 1)] = (byte) symbolIndex;
+
+    if (symbolIndex != 0) {
+      low = Math.min(low, head);
+      high = Math.max(high, head + 1);
+    }
+
+    if (move == Move.LEFT) {
+      head--;
+    } else if (move == Move.RIGHT) {
+      head++;
+    }
+
+    return this;
+  }
+
+  private Symbol symbolAt(int position) {
+    byte[] page = page(position);
+
+    if (page != null) {
+      return symbols.get(page[position & (PAGE_SIZE - 1)] & 0xFF);
+    }
+
+    return position >= 1 && position <= inputLength ? inputSymbol(position) : blankSymbol;
+  }
+
+  private Symbol inputSymbol(int position) {
+    int b = input.get(position - 1) & 0xFF;
+    Symbol symbol = inputSymbols[b];
+
+    if (symbol == null) {
+      symbol = CharSymbol.getSymbol((char) b);
+      inputSymbols[b] = symbol;
+    }
+
+    return symbol;
+  }
+
+  /**
+   * Return the written page holding a position, or null if no cell of the page has been written.
+   */
+  private byte[] page(int position) {
+    int pageNumber = position >> PAGE_BITS;
+
+    if (pageNumber != cachedPageNumber) {
+      cachedPage = pages.get(pageNumber);
+      cachedPageNumber = pageNumber;
+    }
+
+    return cachedPage;
+  }
+
+  private byte[] writablePage(int position) {
+    byte[] page = page(position);
+
+    if (page == null) {
+      page = new byte[PAGE_SIZE];
+      int first = position & -PAGE_SIZE;
+
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        int cell = first + i;
+        if (cell >= 1 && cell <= inputLength) {
+          page[i] = (byte) indexOf(inputSymbol(cell));
+        }
+      }
+
+      pages.put(cachedPageNumber, page);
+      cachedPage = page;
+    }
+
+    return page;
+  }
+
+  private int indexOf(Symbol symbol) {
+    Integer index = symbolIndices.get(symbol);
+
+    if (index == null) {
+      Preconditions.checkArgument(symbols.size() < MAX_SYMBOLS, "Tape cannot hold more than %d symbols", MAX_SYMBOLS);
+
+      index = symbols.size();
+      symbols.add(symbol);
+      symbolIndices.put(symbol, index);
+    }
+
+    return index;
+  }
+
+  @Override
+  public List<Symbol> getOutputString() {
+    List<Symbol> outputString = new ArrayList<>();
+
+    for (int position = 1; position < high; position++) {
+      Symbol symbol = symbolAt(position);
+
+      if (symbol.equals(blankSymbol)) {
+        break;
+      }
+
+      outputString.add(symbol);
+    }
+
+    return outputString;
+  }
+
+  @Override
+  public List<Symbol> getString(int from, int to) {
+    Preconditions.checkArgument(to >= from, "to cannot be less than from");
+
+    List<Symbol> string = new ArrayList<>(to - from);
+
+    for (int position = from; position < to; position++) {
+      string.add(symbolAt(position));
+    }
+
+    return string;
+  }
+
+  @Override
+  public Symbol getCurrentSymbol() {
+    return symbolAt(head);
+  }
+
+  @Override
+  public int getHeadPosition() {
+    return head;
+  }
+
+  @Override
+  public int getLeftBound() {
+    return low;
+  }
+
+  @Override
+  public int getRightBound() {
+    return high;
+  }
+
+  /**
+   * {@inheritDoc} The hash is computed from the whole tape on first use, reading every input cell, and then updated
+   * by each write.
+   */
+  @Override
+  public long getContentHash() {
+    if (!hashed) {
+      contentHash = 0;
+      for (int position = low; position < high; position++) {
+        contentHash ^= Zobrist.cell(position, symbolAt(position), blankSymbol);
+      }
+      hashed = true;
+    }
+
+    return contentHash;
+  }
+
+  @Override
+  public String toString() {
+    return "Tape [" + CharSymbolUtils.symbolListToString(getString(getLeftBound(), getRightBound())) + "]";
+  }
+}
@@ -0,0 +1,95 @@
+package com.mistraltech.turingmachine.model;
+
+import static com.mistraltech.utils.Preconditions.checkArgument;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * An action of a k-tape machine: the current state and the symbols under each of the k heads, and the new state, the
+ * symbols to write under each head and the movement of each head. Tapes are numbered from 0, and tape 0 holds the
+ * input and output.
+ */
+public final class MultiTapeAction {
+
+  private final State state;
+  private final List<Symbol> symbols;
+  private final State newState;
+  private final List<Symbol> newSymbols;
+  private final List<Move> moves;
+
+  public MultiTapeAction(State state, List<? extends Symbol> symbols, State newState, List<? extends Symbol> newSymbols,
+      List<Move> moves) {
+    checkArgument(state != null, "state cannot be null");
+    checkArgument(symbols != null && !symbols.isEmpty(), "symbols cannot be empty");
+    checkArgument(newState != null, "newState cannot be null");
+    checkArgument(newSymbols != null && newSymbols.size() == symbols.size(), "newSymbols must have one per tape");
+    checkArgument(moves != null && moves.size() == symbols.size(), "moves must have one per tape");
+
+    this.state = state;
+    this.symbols = List.copyOf(symbols);
+    this.newState = newState;
+    this.newSymbols = List.copyOf(newSymbols);
+    this.moves = List.copyOf(moves);
+  }
+
+  public int getTapeCount() {
+    return symbols.size();
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public List<Symbol> getSymbols() {
+    return symbols;
+  }
+
+  public State getNewState() {
+    return newState;
+  }
+
+  public List<Symbol> getNewSymbols() {
+    return newSymbols;
+  }
+
+  public List<Move> getMoves() {
+    return moves;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (other == null || getClass() != other.getClass()) {
+      return false;
+    }
+
+    MultiTapeAction action = (MultiTapeAction) other;
+
+    return state.equals(action.state) && symbols.equals(action.symbols) && newState.equals(action.newState)
+        && newSymbols.equals(action.newSymbols) && moves.equals(action.moves);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = state.hashCode();
+    result = 31 * result + symbols.hashCode();
+    result = 31 * result + newState.hashCode();
+    result = 31 * result + newSymbols.hashCode();
+    result = 31 * result + moves.hashCode();
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", "[", "]")
+        .add(state.toString())
+        .add(symbols.toString())
+        .add(newState.toString())
+        .add(newSymbols.toString())
+        .add(moves.toString())
+        .toString();
+  }
+}
@@ -0,0 +1,114 @@
+package com.mistraltech.turingmachine.model;
+
+import static com.mistraltech.utils.Preconditions.checkArgument;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * A Turing machine with k tapes, each with its own head. Every action reads the symbols under all k heads, writes a
+ * symbol under each and moves each head independently. The input is placed on tape 0 and the output is read from it;
+ * the other tapes start blank.
+ */
+public class MultiTapeMachine {
+
+  private final int tapeCount;
+  private final Set<? extends State> states;
+  private final Set<? extends State> finalStates;
+  private final State initialState;
+  private final Set<? extends Symbol> symbols;
+  private final Symbol blankSymbol;
+  private final Set<MultiTapeAction> actions;
+  private final Map<State, Map<List<Symbol>, MultiTapeAction>> actionMap = new HashMap<>();
+
+  public MultiTapeMachine(int tapeCount, Set<? extends State> states, Set<? extends State> finalStates,
+      State initialState, Set<? extends Symbol> symbols, Symbol blankSymbol, Collection<MultiTapeAction> actions) {
+    checkArgument(tapeCount > 0, "tapeCount must be positive");
+    checkArgument(states != null, "states cannot be null");
+    checkArgument(!states.isEmpty(), "states cannot be empty");
+    checkArgument(finalStates != null, "finalStates cannot be null");
+    checkArgument(states.containsAll(finalStates), "finalStates elements must exist in states");
+    checkArgument(initialState != null, "initialState cannot be null");
+    checkArgument(states.contains(initialState), "initialState must exist in states");
+    checkArgument(symbols != null, "symbols cannot be null");
+    checkArgument(blankSymbol != null, "blankSymbol cannot be null");
+    checkArgument(symbols.contains(blankSymbol), "blankSymbol must exist in symbols");
+    checkArgument(actions != null, "actions cannot be null");
+
+    for (MultiTapeAction action : actions) {
+      checkArgument(action.getTapeCount() == tapeCount, "action %s must have %d tapes", action, tapeCount);
+      checkArgument(states.contains(action.getState()) && states.contains(action.getNewState()),
+          "action %s states must exist in states", action);
+      checkArgument(symbols.containsAll(action.getSymbols()) && symbols.containsAll(action.getNewSymbols()),
+          "action %s symbols must exist in symbols", action);
+
+      MultiTapeAction previous = actionMap.computeIfAbsent(action.getState(), state -> new HashMap<>())
+          .putIfAbsent(action.getSymbols(), action);
+      checkArgument(previous == null || previous.equals(action),
+          "state and symbol combination must be unique - multiple actions with state '%s' and symbols %s",
+          action.getState(), action.getSymbols());
+    }
+
+    this.tapeCount = tapeCount;
+    this.states = states;
+    this.finalStates = finalStates;
+    this.initialState = initialState;
+    this.symbols = symbols;
+    this.blankSymbol = blankSymbol;
+    this.actions = Set.copyOf(actions);
+  }
+
+  public int getTapeCount() {
+    return tapeCount;
+  }
+
+  public State getInitialState() {
+    return initialState;
+  }
+
+  public Set<? extends State> getStates() {
+    return states;
+  }
+
+  public Set<? extends Symbol> getSymbols() {
+    return symbols;
+  }
+
+  public Set<MultiTapeAction> getActions() {
+    return actions;
+  }
+
+  public boolean isFinalState(State state) {
+    return finalStates.contains(state);
+  }
+
+  /**
+   * Return the action for a state and the symbols under the heads, if there is one.
+   *
+   * @param state the current state
+   * @param symbols the symbol under each head, by tape
+   */
+  public Optional<MultiTapeAction> findAction(State state, List<Symbol> symbols) {
+    return Optional.ofNullable(actionMap.getOrDefault(state, Map.of()).get(symbols));
+  }
+
+  public Symbol getBlank() {
+    return blankSymbol;
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", MultiTapeMachine.class.getSimpleName() + "[", "]")
+        .add("tapeCount=" + tapeCount)
+        .add("initialState=" + initialState)
+        .add("finalStates=" + finalStates)
+        .add("blankSymbol=" + blankSymbol)
+        .add("actions=" + actions)
+        .toString();
+  }
+}
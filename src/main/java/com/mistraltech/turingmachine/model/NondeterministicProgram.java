@@ -0,0 +1,80 @@
+package com.mistraltech.turingmachine.model;
+
+import static com.mistraltech.utils.Preconditions.checkArgument;
+import static com.mistraltech.utils.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A Program that may have several actions for the same state and symbol, for a nondeterministic machine. The actions
+ * are returned by {@link #applyAll}; {@link #apply} only succeeds where the program happens to be deterministic, so
+ * that simulators of deterministic machines fail clearly rather than picking a branch.
+ */
+public final class NondeterministicProgram implements Program {
+
+  private final Map<State, Map<Symbol, List<Action>>> actions = new HashMap<>();
+  private final Set<Action> actionSet;
+
+  public NondeterministicProgram(Set<Action> actions) {
+    checkArgument(actions != null, "actions must not be null");
+
+    this.actionSet = Set.copyOf(actions);
+    actionSet.stream()
+        .sorted()
+        .forEach(action -> this.actions.computeIfAbsent(action.getState(), state -> new HashMap<>())
+            .computeIfAbsent(action.getSymbol(), symbol -> new ArrayList<>())
+            .add(action));
+  }
+
+  @Override
+  public Optional<Action> apply(State state, Symbol symbol) {
+    List<Action> matching = applyAll(state, symbol);
+    checkState(matching.size() <= 1,
+        "Program is nondeterministic for state '%s' and symbol '%s'", state, symbol);
+
+    return matching.stream().findFirst();
+  }
+
+  @Override
+  public List<Action> applyAll(State state, Symbol symbol) {
+    return List.copyOf(actions.getOrDefault(state, Map.of()).getOrDefault(symbol, List.of()));
+  }
+
+  /**
+   * Return whether some state and symbol have more than one action.
+   */
+  public boolean isNondeterministic() {
+    return actions.values().stream().flatMap(bySymbol -> bySymbol.values().stream()).anyMatch(list -> list.size() > 1);
+  }
+
+  @Override
+  public String toString() {
+    return actionSet.stream()
+        .sorted()
+        .map(Object::toString)
+        .collect(Collectors.joining(", ", "{ ", " }"));
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (other == null || getClass() != other.getClass()) {
+      return false;
+    }
+
+    return actionSet.equals(((NondeterministicProgram) other).actionSet);
+  }
+
+  @Override
+  public int hashCode() {
+    return actionSet.hashCode();
+  }
+}
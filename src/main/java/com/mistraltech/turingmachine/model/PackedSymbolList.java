@@ -0,0 +1,65 @@
+package com.mistraltech.turingmachine.model;
+
+import com.mistraltech.utils.Preconditions;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of symbols held as one byte per symbol, each an index into an alphabet of at most 256 symbols. It
+ * is how the array backed tapes return their output, so a long output string costs a byte per cell rather than a
+ * reference, and can be encoded a cell at a time with a table lookup (see {@link #getIndex}).
+ */
+public final class PackedSymbolList extends AbstractList<Symbol> implements RandomAccess {
+
+  private final List<Symbol> alphabet;
+  private final byte[] indices;
+
+  private PackedSymbolList(List<Symbol> alphabet, byte[] indices) {
+    this.alphabet = alphabet;
+    this.indices = indices;
+  }
+
+  /**
+   * Create a list from a range of an array of symbol indices. The range is copied.
+   *
+   * @param alphabet the symbols, in index order
+   * @param cells the symbol indices
+   * @param from the index of the first cell, inclusive
+   * @param to the index of the last cell, exclusive
+   */
+  public static PackedSymbolList of(List<Symbol> alphabet, byte[] cells, int from, int to) {
+    Preconditions.checkArgument(alphabet != null, "alphabet cannot be null");
+    Preconditions.checkArgument(cells != null, "cells cannot be null");
+    Preconditions.checkArgument(from >= 0 && to >= from && to <= cells.length, "Invalid range %d to %d", from, to);
+
+    return new PackedSymbolList(List.copyOf(alphabet), Arrays.copyOfRange(cells, from, to));
+  }
+
+  /**
+   * Return the alphabet that the indices of this list refer to.
+   */
+  public List<Symbol> getAlphabet() {
+    return alphabet;
+  }
+
+  /**
+   * Return the alphabet index of the symbol at a position in this list.
+   *
+   * @param index the position in this list
+   */
+  public int getIndex(int index) {
+    return indices[index] & 0xFF;
+  }
+
+  @Override
+  public Symbol get(int index) {
+    return alphabet.get(getIndex(index));
+  }
+
+  @Override
+  public int size() {
+    return indices.length;
+  }
+}
@@ -1,8 +1,19 @@
 package com.mistraltech.turingmachine.model;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
 
 public interface Program extends BiFunction<State, Symbol, Optional<Action>> {
 
+  /**
+   * Return every action for a state and symbol. A deterministic program has at most one; a nondeterministic program
+   * may have several, one for each branch of the computation.
+   *
+   * @param state the current state
+   * @param symbol the symbol under the head
+   */
+  default List<Action> applyAll(State state, Symbol symbol) {
+    return apply(state, symbol).map(List::of).orElse(List.of());
+  }
 }
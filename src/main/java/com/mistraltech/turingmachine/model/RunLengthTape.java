@@ -0,0 +1,312 @@
+package com.mistraltech.turingmachine.model;
+
+import com.mistraltech.utils.CharSymbolUtils;
+import com.mistraltech.utils.Preconditions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A mutable Tape that stores its content as runs of identical symbols. The cell under the head is held on its own, with
+ * a stack of runs on each side ordered outwards from the head. Blank cells beyond the outermost run are implied rather
+ * than stored.
+ *
+ * <p>Besides single-cell updates through {@link #apply}, the tape supports {@link #sweep}, which rewrites a whole run
+ * and moves the head past it in one operation. Like {@link ArrayTape}, it is updated in place and is not thread safe.
+ */
+public final class RunLengthTape implements Tape {
+
+  private final Symbol blankSymbol;
+  private final Deque<Run> leftRuns = new ArrayDeque<>();
+  private final Deque<Run> rightRuns = new ArrayDeque<>();
+
+  private Symbol current;
+  private int head;
+  private int leftCount;
+  private int rightCount;
+  private long contentHash;
+  private boolean hashed;
+
+  private RunLengthTape(Symbol blankSymbol) {
+    Preconditions.checkArgument(blankSymbol != null, "blankSymbol cannot be null");
+
+    this.blankSymbol = blankSymbol;
+    this.current = blankSymbol;
+    this.head = 1;
+  }
+
+  public static RunLengthTape create(Symbol blankSymbol) {
+    return new RunLengthTape(blankSymbol);
+  }
+
+  public static RunLengthTape create(Symbol blankSymbol, List<Symbol> symbols) {
+    Preconditions.checkArgument(symbols != null, "initial symbols cannot be null");
+
+    RunLengthTape tape = new RunLengthTape(blankSymbol);
+
+    for (int i = symbols.size() - 1; i > 0; i--) {
+      tape.rightCount += push(tape.rightRuns, symbols.get(i), 1, blankSymbol);
+    }
+    if (!symbols.isEmpty()) {
+      tape.current = symbols.get(0);
+    }
+
+    return tape;
+  }
+
+  /**
+   * Create a run-length tape with the same content and head position as another tape.
+   *
+   * @param blankSymbol the blank symbol
+   * @param tape the tape to copy
+   */
+  public static RunLengthTape copyOf(Symbol blankSymbol, Tape tape) {
+    Preconditions.checkArgument(tape != null, "tape cannot be null");
+
+    int position = tape.getHeadPosition();
+    List<Symbol> left = tape.getString(Math.min(tape.getLeftBound(), position), position);
+    List<Symbol> right = tape.getString(position, Math.max(tape.getRightBound(), position + 1));
+
+    RunLengthTape copy = create(blankSymbol, right);
+    copy.head = position;
+    for (Symbol symbol : left) {
+      copy.leftCount += push(copy.leftRuns, symbol, 1, blankSymbol);
+    }
+
+    return copy;
+  }
+
+  @Override
+  public RunLengthTape apply(Symbol newSymbol, Move move) {
+    Preconditions.checkArgument(newSymbol != null, "newSymbol cannot be null");
+
+    if (hashed) {
+      contentHash ^= Zobrist.cell(head, current, blankSymbol) ^ Zobrist.cell(head, newSymbol, blankSymbol);
+    }
+
+    current = newSymbol;
+
+    if (move == Move.LEFT) {
+      rightCount += push(rightRuns, current, 1, blankSymbol);
+      current = take(leftRuns, 1);
+      leftCount = Math.max(0, leftCount - 1);
+      head--;
+    } else if (move == Move.RIGHT) {
+      leftCount += push(leftRuns, current, 1, blankSymbol);
+      current = take(rightRuns, 1);
+      rightCount = Math.max(0, rightCount - 1);
+      head++;
+    }
+
+    return this;
+  }
+
+  /**
+   * Repeatedly write a symbol and move in one direction while the head reads the symbol it started on, as a machine
+   * in a self-looping state would. The whole run containing the head is rewritten in one operation, and the head is
+   * left on the first cell beyond it. At most maxCells cells are rewritten, which bounds a sweep over the infinite run
+   * of blanks beyond the ends of the tape.
+   *
+   * @param newSymbol the symbol to write to each cell of the run
+   * @param move the direction to move, which must not be NONE
+   * @param maxCells the maximum number of cells to rewrite
+   * @return the number of cells rewritten, which is the number of steps taken
+   */
+  public long sweep(Symbol newSymbol, Move move, long maxCells) {
+    Preconditions.checkArgument(newSymbol != null, "newSymbol cannot be null");
+    Preconditions.checkArgument(move != Move.NONE, "move must be LEFT or RIGHT");
+    Preconditions.checkArgument(maxCells > 0, "maxCells must be positive");
+
+    Deque<Run> ahead = move == Move.RIGHT ? rightRuns : leftRuns;
+    Deque<Run> behind = move == Move.RIGHT ? leftRuns : rightRuns;
+
+    long available;
+    if (ahead.isEmpty()) {
+      available = current.equals(blankSymbol) ? Long.MAX_VALUE : 1;
+    } else {
+      available = 1 + (ahead.peek().symbol.equals(current) ? ahead.peek().count : 0);
+    }
+
+    int cells = (int) Math.min(Math.min(available, maxCells), Integer.MAX_VALUE);
+
+    // Updating the hash would cost a step per cell, so it is recomputed when next needed instead
+    hashed &= current.equals(newSymbol);
+
+    int pushed = push(behind, newSymbol, cells, blankSymbol);
+    current = take(ahead, cells);
+
+    if (move == Move.RIGHT) {
+      leftCount += pushed;
+      rightCount = Math.max(0, rightCount - cells);
+      head += cells;
+    } else {
+      rightCount += pushed;
+      leftCount = Math.max(0, leftCount - cells);
+      head -= cells;
+    }
+
+    return cells;
+  }
+
+  /**
+   * Return the number of runs stored on the tape, excluding the cell under the head.
+   */
+  public int getRunCount() {
+    return leftRuns.size() + rightRuns.size();
+  }
+
+  private static int push(Deque<Run> runs, Symbol symbol, int count, Symbol blankSymbol) {
+    if (runs.isEmpty() && symbol.equals(blankSymbol)) {
+      // Blanks beyond the outermost run are implied
+      return 0;
+    }
+
+    if (!runs.isEmpty() && runs.peek().symbol.equals(symbol)) {
+      runs.peek().count += count;
+    } else {
+      runs.push(new Run(symbol, count));
+    }
+
+    return count;
+  }
+
+  private Symbol take(Deque<Run> runs, int count) {
+    Symbol last = blankSymbol;
+
+    while (count > 0 && !runs.isEmpty()) {
+      Run run = runs.peek();
+      int taken = Math.min(count, run.count);
+      run.count -= taken;
+      count -= taken;
+      last = run.symbol;
+
+      if (run.count == 0) {
+        runs.pop();
+      }
+    }
+
+    return count > 0 ? blankSymbol : last;
+  }
+
+  @Override
+  public List<Symbol> getOutputString() {
+    List<Symbol> outputString = new ArrayList<>();
+
+    Iterator<Symbol> symbols = symbolsFrom(1);
+    Symbol symbol = symbols.next();
+    while (!symbol.equals(blankSymbol)) {
+      outputString.add(symbol);
+      symbol = symbols.next();
+    }
+
+    return outputString;
+  }
+
+  @Override
+  public List<Symbol> getString(int from, int to) {
+    Preconditions.checkArgument(to >= from, "to cannot be less than from");
+
+    List<Symbol> string = new ArrayList<>(to - from);
+
+    Iterator<Symbol> symbols = symbolsFrom(from);
+    for (int position = from; position < to; position++) {
+      string.add(symbols.next());
+    }
+
+    return string;
+  }
+
+  /**
+   * Return an endless iterator over the symbols of the tape starting at a position.
+   */
+  private Iterator<Symbol> symbolsFrom(int from) {
+    List<Run> runs = new ArrayList<>();
+    Iterator<Run> left = leftRuns.descendingIterator();
+    while (left.hasNext()) {
+      runs.add(left.next());
+    }
+    runs.add(new Run(current, 1));
+    runs.addAll(rightRuns);
+
+    int start = head - leftCount;
+
+    return new Iterator<>() {
+      private int position = from;
+      private int runIndex = 0;
+      private int runStart = start;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public Symbol next() {
+        while (runIndex < runs.size() && position >= runStart + runs.get(runIndex).count) {
+          runStart += runs.get(runIndex).count;
+          runIndex++;
+        }
+
+        Symbol symbol = position < start || runIndex >= runs.size() ? blankSymbol : runs.get(runIndex).symbol;
+        position++;
+        return symbol;
+      }
+    };
+  }
+
+  @Override
+  public Symbol getCurrentSymbol() {
+    return current;
+  }
+
+  @Override
+  public int getHeadPosition() {
+    return head;
+  }
+
+  @Override
+  public int getLeftBound() {
+    return head - leftCount;
+  }
+
+  @Override
+  public int getRightBound() {
+    return head + 1 + rightCount;
+  }
+
+  /**
+   * {@inheritDoc} The hash is computed from the runs on first use and then updated by each write, except that a sweep
+   * that changes the symbols of a run discards it.
+   */
+  @Override
+  public long getContentHash() {
+    if (!hashed) {
+      contentHash = 0;
+      int position = getLeftBound();
+      for (Symbol symbol : getString(position, getRightBound())) {
+        contentHash ^= Zobrist.cell(position++, symbol, blankSymbol);
+      }
+      hashed = true;
+    }
+
+    return contentHash;
+  }
+
+  @Override
+  public String toString() {
+    return "Tape [" + CharSymbolUtils.symbolListToString(getString(getLeftBound(), getRightBound())) + "]";
+  }
+
+  private static final class Run {
+
+    private final Symbol symbol;
+    private int count;
+
+    private Run(Symbol symbol, int count) {
+      this.symbol = symbol;
+      this.count = count;
+    }
+  }
+}
@@ -2,4 +2,10 @@ package com.mistraltech.turingmachine.model;
 
 public interface State extends Comparable<State> {
 
+  /**
+   * Return a small non-negative id for this state, which is unique among the states of its class and does not change
+   * while the program runs. Ids are handed out densely from 0 as states are created, so they can index primitive
+   * arrays.
+   */
+  int getId();
 }
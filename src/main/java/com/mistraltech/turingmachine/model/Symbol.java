@@ -2,4 +2,10 @@ package com.mistraltech.turingmachine.model;
 
 public interface Symbol extends Comparable<Symbol> {
 
+  /**
+   * Return a small non-negative id for this symbol, which is unique among the symbols of its class and does not change
+   * while the program runs. Ids are handed out densely from 0 as symbols are created, so they can index primitive
+   * arrays.
+   */
+  int getId();
 }
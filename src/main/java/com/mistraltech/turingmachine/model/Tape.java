@@ -11,4 +11,27 @@ public interface Tape {
   List<Symbol> getString(int from, int to);
 
   Symbol getCurrentSymbol();
+
+  /**
+   * Return the current position of the head. The first input symbol of a newly created tape is at position 1.
+   */
+  int getHeadPosition();
+
+  /**
+   * Return the lowest position that may contain a non-blank symbol. Every cell to the left of it is blank.
+   */
+  int getLeftBound();
+
+  /**
+   * Return the position just beyond the highest position that may contain a non-blank symbol. Every cell from this
+   * position rightwards is blank.
+   */
+  int getRightBound();
+
+  /**
+   * Return the {@link Zobrist} hash of the non-blank cells at their positions. Blank cells do not contribute, so tapes
+   * with the same content have the same hash whatever their bounds. Implementations keep the hash up to date as cells
+   * are written, rather than recomputing it from the whole tape.
+   */
+  long getContentHash();
 }
@@ -14,12 +14,14 @@ public class TapeImpl implements Tape {
   private final PersistentStack<Symbol> leftString;
   private final PersistentStack<Symbol> rightString;
   private final int index;
+  private final long contentHash;
 
   private TapeImpl(Symbol blankSymbol) {
     this.blankSymbol = blankSymbol;
     this.leftString = PersistentStackImpl.empty();
     this.rightString = PersistentStackImpl.singleton(blankSymbol);
     this.index = 1;
+    this.contentHash = 0;
   }
 
   private TapeImpl(Symbol blankSymbol, List<Symbol> initial) {
@@ -27,14 +29,21 @@ public class TapeImpl implements Tape {
     this.leftString = PersistentStackImpl.empty();
     this.rightString = PersistentStackImpl.from(initial);
     this.index = 1;
+
+    long hash = 0;
+    for (int i = 0; i < initial.size(); i++) {
+      hash ^= Zobrist.cell(i + 1, initial.get(i), blankSymbol);
+    }
+    this.contentHash = hash;
   }
 
   private TapeImpl(Symbol blankSymbol, PersistentStack<Symbol> leftString, PersistentStack<Symbol> rightString,
-      int index) {
+      int index, long contentHash) {
     this.leftString = leftString;
     this.rightString = rightString.pad(blankSymbol, 1);
     this.blankSymbol = blankSymbol;
     this.index = index;
+    this.contentHash = contentHash;
   }
 
   public static TapeImpl create(Symbol blankSymbol) {
@@ -46,16 +55,19 @@ public class TapeImpl implements Tape {
   }
 
   public TapeImpl apply(Symbol newSymbol, Move move) {
+    long newHash = contentHash ^ Zobrist.cell(index, getCurrentSymbol(), blankSymbol)
+        ^ Zobrist.cell(index, newSymbol, blankSymbol);
+
     if (move == Move.LEFT) {
       return new TapeImpl(blankSymbol, tail(leftString), rightString.pop().push(newSymbol).push(head(leftString)),
-          index - 1);
+          index - 1, newHash);
     }
 
     if (move == Move.RIGHT) {
-      return new TapeImpl(blankSymbol, leftString.push(newSymbol), tail(rightString), index + 1);
+      return new TapeImpl(blankSymbol, leftString.push(newSymbol), tail(rightString), index + 1, newHash);
     }
 
-    return new TapeImpl(blankSymbol, leftString, rightString.pop().push(newSymbol), index);
+    return new TapeImpl(blankSymbol, leftString, rightString.pop().push(newSymbol), index, newHash);
   }
 
   private Symbol head(PersistentStack<Symbol> string) {
@@ -75,6 +87,26 @@ public class TapeImpl implements Tape {
     return rightString.read();
   }
 
+  @Override
+  public int getHeadPosition() {
+    return index;
+  }
+
+  @Override
+  public int getLeftBound() {
+    return index - leftString.size();
+  }
+
+  @Override
+  public int getRightBound() {
+    return index + rightString.size();
+  }
+
+  @Override
+  public long getContentHash() {
+    return contentHash;
+  }
+
   private List<Symbol> calculateOutputString() {
     List<Symbol> outputString;
 
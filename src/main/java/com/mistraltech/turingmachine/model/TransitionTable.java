@@ -0,0 +1,343 @@
+package com.mistraltech.turingmachine.model;
+
+import static com.mistraltech.utils.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+
+/**
+ * A program compiled into dense primitive arrays. States and symbols are mapped to contiguous indices, with the blank
+ * symbol always at index 0, and the transition for a (state, symbol) pair is held at index
+ * {@code state * symbolCount + symbol} of each of the next state, new symbol and move arrays. Every slot of a final
+ * state holds {@link #FINAL} as its next state and slots without an action hold {@link #UNDEFINED}, so a simulator
+ * can decide whether to halt with a single lookup.
+ */
+public final class TransitionTable {
+
+  public static final int UNDEFINED = -1;
+  public static final int FINAL = -2;
+  public static final int MAX_SYMBOLS = 256;
+
+  private final State[] states;
+  private final Symbol[] symbols;
+  private final IdIndex stateIndicesById;
+  private final IdIndex symbolIndicesById;
+  private final boolean[] finalStates;
+  private final int initialState;
+  private final int[] nextStates;
+  private final byte[] newSymbols;
+  private final byte[] moves;
+
+  private TransitionTable(List<State> states, List<Symbol> symbols, int initialState, boolean[] finalStates,
+      int[] nextStates, byte[] newSymbols, byte[] moves) {
+    checkArgument(symbols.size() <= MAX_SYMBOLS, "Cannot compile more than %d symbols", MAX_SYMBOLS);
+
+    this.states = states.toArray(new State[0]);
+    this.symbols = symbols.toArray(new Symbol[0]);
+    this.stateIndicesById = IdIndex.of(states, State::getId);
+    this.symbolIndicesById = IdIndex.of(symbols, Symbol::getId);
+    this.finalStates = finalStates;
+    this.initialState = initialState;
+    this.nextStates = nextStates;
+    this.newSymbols = newSymbols;
+    this.moves = moves;
+
+    for (int state = 0; state < finalStates.length; state++) {
+      if (finalStates[state]) {
+        Arrays.fill(nextStates, slot(state, 0), slot(state + 1, 0), FINAL);
+      }
+    }
+  }
+
+  /**
+   * Create a table directly from its arrays, as read from a compiled program file. The arrays are copied, and the slots
+   * of final states are set to {@link #FINAL} whatever they hold.
+   *
+   * @param states the states, by index
+   * @param symbols the symbols, by index, with the blank symbol first
+   * @param initialState the index of the initial state
+   * @param finalStates whether each state is final, by index
+   * @param nextStates the next state index of each slot, or {@link #UNDEFINED}
+   * @param newSymbols the new symbol index of each slot
+   * @param moves the encoded head movement of each slot
+   */
+  public static TransitionTable of(List<State> states, List<Symbol> symbols, int initialState, boolean[] finalStates,
+      int[] nextStates, byte[] newSymbols, byte[] moves) {
+    checkArgument(states != null && !states.isEmpty(), "states must not be empty");
+    checkArgument(symbols != null && !symbols.isEmpty(), "symbols must not be empty");
+    checkArgument(initialState >= 0 && initialState < states.size(), "initialState must be a state index");
+    checkArgument(finalStates != null && finalStates.length == states.size(), "finalStates must have one per state");
+
+    int size = states.size() * symbols.size();
+    checkArgument(nextStates != null && nextStates.length == size, "nextStates must have one per slot");
+    checkArgument(newSymbols != null && newSymbols.length == size, "newSymbols must have one per slot");
+    checkArgument(moves != null && moves.length == size, "moves must have one per slot");
+
+    for (int slot = 0; slot < size; slot++) {
+      checkArgument(finalStates[slot / symbols.size()]
+              || (nextStates[slot] >= UNDEFINED && nextStates[slot] < states.size()),
+          "Slot %d has an invalid next state", slot);
+      checkArgument((newSymbols[slot] & 0xFF) < symbols.size(), "Slot %d has an invalid new symbol", slot);
+      checkArgument(moves[slot] >= -1 && moves[slot] <= 1, "Slot %d has an invalid move", slot);
+    }
+
+    return new TransitionTable(List.copyOf(states), List.copyOf(symbols), initialState, finalStates.clone(),
+        nextStates.clone(), newSymbols.clone(), moves.clone());
+  }
+
+  /**
+   * Compile the program of a Turing machine. Every (state, symbol) pair of the machine is probed once; states and
+   * symbols produced by the program that the machine does not declare are added to the table as they are found.
+   *
+   * @param turingMachine the machine to compile
+   */
+  public static TransitionTable compile(TuringMachine turingMachine) {
+    checkArgument(turingMachine != null, "turingMachine cannot be null");
+
+    List<State> states = new ArrayList<>(turingMachine.getStates());
+    Collections.sort(states);
+
+    List<Symbol> symbols = new ArrayList<>();
+    symbols.add(turingMachine.getBlank());
+    turingMachine.getSymbols().stream()
+        .filter(s -> !s.equals(turingMachine.getBlank()))
+        .sorted()
+        .forEach(symbols::add);
+
+    List<Action> actions = new ArrayList<>();
+    int probedStates = 0;
+    int probedSymbols = 0;
+
+    while (probedStates < states.size() || probedSymbols < symbols.size()) {
+      int stateCount = states.size();
+      int symbolCount = symbols.size();
+
+      for (int state = 0; state < stateCount; state++) {
+        for (int symbol = state < probedStates ? probedSymbols : 0; symbol < symbolCount; symbol++) {
+          Optional<Action> action = turingMachine.findAction(states.get(state), symbols.get(symbol));
+
+          if (action.isPresent()) {
+            addIfAbsent(states, action.get().getNewState());
+            addIfAbsent(symbols, action.get().getNewSymbol());
+            actions.add(action.get());
+          }
+        }
+      }
+
+      probedStates = stateCount;
+      probedSymbols = symbolCount;
+    }
+
+    boolean[] finalStates = new boolean[states.size()];
+    for (int state = 0; state < finalStates.length; state++) {
+      finalStates[state] = turingMachine.isFinalState(states.get(state));
+    }
+
+    Map<State, Integer> stateIndices = indexMap(states);
+    Map<Symbol, Integer> symbolIndices = indexMap(symbols);
+
+    int size = states.size() * symbols.size();
+    int[] nextStates = new int[size];
+    byte[] newSymbols = new byte[size];
+    byte[] moves = new byte[size];
+
+    Arrays.fill(nextStates, UNDEFINED);
+
+    for (Action action : actions) {
+      int slot = stateIndices.get(action.getState()) * symbols.size() + symbolIndices.get(action.getSymbol());
+      nextStates[slot] = stateIndices.get(action.getNewState());
+      newSymbols[slot] = (byte) (int) symbolIndices.get(action.getNewSymbol());
+      moves[slot] = encodeMove(action.getMove());
+    }
+
+    return new TransitionTable(states, symbols, stateIndices.get(turingMachine.getInitialState()), finalStates,
+        nextStates, newSymbols, moves);
+  }
+
+  private static <T> void addIfAbsent(List<T> list, T item) {
+    if (!list.contains(item)) {
+      list.add(item);
+    }
+  }
+
+  private static <T> Map<T, Integer> indexMap(List<T> items) {
+    Map<T, Integer> map = new HashMap<>();
+    for (int i = 0; i < items.size(); i++) {
+      map.put(items.get(i), i);
+    }
+    return map;
+  }
+
+  private static byte encodeMove(Move move) {
+    return (byte) (move == Move.LEFT ? -1 : move == Move.RIGHT ? 1 : 0);
+  }
+
+  /**
+   * Decode a head movement held in the moves array.
+   *
+   * @param move the encoded movement (-1, 0 or 1)
+   */
+  public static Move decodeMove(int move) {
+    return move < 0 ? Move.LEFT : move > 0 ? Move.RIGHT : Move.NONE;
+  }
+
+  public int slot(int state, int symbol) {
+    return state * symbols.length + symbol;
+  }
+
+  public int getStateCount() {
+    return states.length;
+  }
+
+  public int getSymbolCount() {
+    return symbols.length;
+  }
+
+  public int getInitialState() {
+    return initialState;
+  }
+
+  public boolean isFinalState(int state) {
+    return finalStates[state];
+  }
+
+  public State getState(int state) {
+    return states[state];
+  }
+
+  public Symbol getSymbol(int symbol) {
+    return symbols[symbol];
+  }
+
+  /**
+   * Return the index of a state, or {@link #UNDEFINED} if the state is not in the table.
+   */
+  public int indexOf(State state) {
+    int index = stateIndicesById.get(state.getId());
+    return index != UNDEFINED && states[index].equals(state) ? index : UNDEFINED;
+  }
+
+  /**
+   * Return the index of a symbol, or {@link #UNDEFINED} if the symbol is not in the table.
+   */
+  public int indexOf(Symbol symbol) {
+    int index = symbolIndicesById.get(symbol.getId());
+    return index != UNDEFINED && symbols[index].equals(symbol) ? index : UNDEFINED;
+  }
+
+  /**
+   * Return a copy of the next state array, indexed by slot.
+   */
+  public int[] getNextStates() {
+    return nextStates.clone();
+  }
+
+  /**
+   * Return a copy of the new symbol array, indexed by slot.
+   */
+  public byte[] getNewSymbols() {
+    return newSymbols.clone();
+  }
+
+  /**
+   * Return a copy of the move array, indexed by slot. Moves are encoded as -1 (left), 0 (none) and 1 (right).
+   */
+  public byte[] getMoves() {
+    return moves.clone();
+  }
+
+  /**
+   * Return the action held in a slot, if there is one.
+   *
+   * @param slot the slot index
+   */
+  public Optional<Action> getAction(int slot) {
+    if (nextStates[slot] < 0) {
+      return Optional.empty();
+    }
+
+    int symbolCount = symbols.length;
+    return Optional.of(new Action(states[slot / symbolCount], symbols[slot % symbolCount], states[nextStates[slot]],
+        symbols[newSymbols[slot] & 0xFF], decodeMove(moves[slot])));
+  }
+
+  /**
+   * The index of each item of a table by the item's id. Ids are handed out as states and symbols are interned, so they
+   * only grow over the life of the JVM. While a table's ids are dense they index an array directly; once they are
+   * sparse they are hashed into an open addressing table, so the memory used depends on the size of the table and not
+   * on how many states and symbols were interned before it.
+   */
+  private static final class IdIndex {
+
+    private static final int MIN_DENSE_LENGTH = 1024;
+    private static final int EMPTY = -1;
+
+    // The ids held in each slot of a hashed index, or null if indices is indexed by id
+    private final int[] ids;
+    private final int[] indices;
+
+    private IdIndex(int[] ids, int[] indices) {
+      this.ids = ids;
+      this.indices = indices;
+    }
+
+    static <T> IdIndex of(List<T> items, ToIntFunction<T> id) {
+      int maxId = items.stream().mapToInt(id).max().orElse(-1);
+
+      if (maxId < Math.max(MIN_DENSE_LENGTH, 4 * items.size())) {
+        int[] indices = new int[maxId + 1];
+        Arrays.fill(indices, UNDEFINED);
+        for (int i = 0; i < items.size(); i++) {
+          indices[id.applyAsInt(items.get(i))] = i;
+        }
+        return new IdIndex(null, indices);
+      }
+
+      // At most half full, so every probe sequence reaches an empty slot
+      int capacity = Integer.highestOneBit(2 * items.size() - 1) << 1;
+      int[] ids = new int[capacity];
+      int[] indices = new int[capacity];
+      Arrays.fill(ids, EMPTY);
+
+      for (int i = 0; i < items.size(); i++) {
+        int itemId = id.applyAsInt(items.get(i));
+        int slot = hash(itemId) & (capacity - 1);
+        while (ids[slot] != EMPTY) {
+          slot = (slot + 1) & (capacity - 1);
+        }
+        ids[slot] = itemId;
+        indices[slot] = i;
+      }
+
+      return new IdIndex(ids, indices);
+    }
+
+    /**
+     * Return the index of the item with an id, or {@link #UNDEFINED} if there is none.
+     */
+    int get(int id) {
+      if (ids == null) {
+        return id < indices.length ? indices[id] : UNDEFINED;
+      }
+
+      int mask = ids.length - 1;
+      for (int slot = hash(id) & mask; ids[slot] != EMPTY; slot = (slot + 1) & mask) {
+        if (ids[slot] == id) {
+          return indices[slot];
+        }
+      }
+
+      return UNDEFINED;
+    }
+
+    private static int hash(int id) {
+      return id * 0x9E3779B9;
+    }
+  }
+}
@@ -2,13 +2,16 @@ package com.mistraltech.turingmachine.model;
 
 import static com.mistraltech.utils.Preconditions.checkArgument;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
 
 public class TuringMachine {
 
+  private final Set<? extends State> states;
   private final Set<? extends State> finalStates;
+  private final Set<? extends Symbol> symbols;
   private final Symbol blankSymbol;
   private final State initialState;
   private final Program program;
@@ -29,7 +32,9 @@ public class TuringMachine {
     checkArgument(!inputSymbols.contains(blankSymbol), "blankSymbol must not exist in inputSymbols");
     checkArgument(program != null, "program cannot be null");
 
+    this.states = states;
     this.finalStates = finalStates;
+    this.symbols = symbols;
     this.initialState = initialState;
     this.blankSymbol = blankSymbol;
     this.program = program;
@@ -39,6 +44,14 @@ public class TuringMachine {
     return initialState;
   }
 
+  public Set<? extends State> getStates() {
+    return states;
+  }
+
+  public Set<? extends Symbol> getSymbols() {
+    return symbols;
+  }
+
   public boolean isFinalState(State state) {
     return finalStates.contains(state);
   }
@@ -47,6 +60,16 @@ public class TuringMachine {
     return program.apply(state, symbol);
   }
 
+  /**
+   * Return every action for a state and symbol, of which a nondeterministic machine may have several.
+   *
+   * @param state the current state
+   * @param symbol the symbol under the head
+   */
+  public List<Action> findActions(State state, Symbol symbol) {
+    return program.applyAll(state, symbol);
+  }
+
   public Symbol getBlank() {
     return blankSymbol;
   }
@@ -0,0 +1,62 @@
+package com.mistraltech.turingmachine.model;
+
+/**
+ * Zobrist keys for hashing machine configurations. A configuration hashes to the exclusive or of the key of its state,
+ * the key of its head position and the keys of its non-blank cells, so a step updates the hash in constant time by
+ * removing the old keys and adding the new ones. Blank cells have no key, so a tape hashes the same however far its
+ * blank margins extend.
+ *
+ * <p>Rather than being drawn from a table, each key is a 64-bit mix of its position, symbol or state id, which covers
+ * every position without storing anything. Ids are only stable within one JVM, so hashes must not be persisted.
+ */
+public final class Zobrist {
+
+  private static final long STATE_SEED = 0x3C6EF372FE94F82BL;
+  private static final long HEAD_SEED = 0xA54FF53A5F1D36F1L;
+  private static final long CELL_SEED = 0x510E527FADE682D1L;
+
+  private Zobrist() {
+  }
+
+  /**
+   * Return the key of a state.
+   *
+   * @param stateId the state id, or its index in a compiled program
+   */
+  public static long state(int stateId) {
+    return mix(STATE_SEED + stateId);
+  }
+
+  /**
+   * Return the key of the head being at a position.
+   */
+  public static long head(int position) {
+    return mix(HEAD_SEED + position);
+  }
+
+  /**
+   * Return the key of a non-blank symbol at a position.
+   *
+   * @param position the tape position
+   * @param symbolId the symbol id, or its index in a compiled program
+   */
+  public static long cell(int position, int symbolId) {
+    return mix(CELL_SEED + (((long) position << Integer.SIZE) | (symbolId & 0xFFFFFFFFL)));
+  }
+
+  /**
+   * Return the key of a symbol at a position, which is zero for the blank symbol.
+   */
+  public static long cell(int position, Symbol symbol, Symbol blankSymbol) {
+    return symbol.equals(blankSymbol) ? 0 : cell(position, symbol.getId());
+  }
+
+  /**
+   * The MurmurHash3 64-bit finalizer, a bijection whose output bits each depend on every input bit.
+   */
+  private static long mix(long value) {
+    long z = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+    z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return z ^ (z >>> 33);
+  }
+}
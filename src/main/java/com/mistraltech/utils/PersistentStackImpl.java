@@ -13,11 +13,13 @@ public final class PersistentStackImpl<T> implements PersistentStack<T> {
   private final T head;
   private final PersistentStackImpl<T> tail;
   private final int size;
+  private final int hash;
 
   private PersistentStackImpl() {
     this.head = null;
     this.tail = null;
     this.size = 0;
+    this.hash = 0;
   }
 
   private PersistentStackImpl(T head) {
@@ -26,12 +28,14 @@ public final class PersistentStackImpl<T> implements PersistentStack<T> {
     this.head = head;
     this.tail = new PersistentStackImpl<>();
     this.size = 1;
+    this.hash = 31 * head.hashCode();
   }
 
   private PersistentStackImpl(T head, PersistentStackImpl<T> tail) {
     this.head = head;
     this.tail = tail;
     this.size = 1 + tail.size();
+    this.hash = 31 * Objects.hashCode(head) + tail.hash;
   }
 
   /**
@@ -134,12 +138,7 @@ public final class PersistentStackImpl<T> implements PersistentStack<T> {
   }
 
   private PersistentStackImpl<T> copyTo(PersistentStackImpl<T> other) {
-    if (isEmpty()) {
-      return other;
-    }
-
-    T t = read();
-    return pop().copyTo(other).push(t);
+    return pushInOrder(other, size);
   }
 
   @Override
@@ -149,12 +148,29 @@ public final class PersistentStackImpl<T> implements PersistentStack<T> {
   }
 
   private PersistentStackImpl<T> uncheckedTruncate(int to) {
-    if (to == 0) {
-      return empty();
-    } else {
-      T t = this.read();
-      return this.pop().uncheckedTruncate(to - 1).push(t);
+    return pushInOrder(empty(), to);
+  }
+
+  /**
+   * Return the first n elements of this stack pushed onto another so that they keep their order. The elements are
+   * gathered into an array first, so that long stacks are copied without recursion.
+   */
+  @SuppressWarnings("unchecked")
+  private PersistentStackImpl<T> pushInOrder(PersistentStackImpl<T> other, int n) {
+    Object[] elements = new Object[Math.min(n, size)];
+    PersistentStackImpl<T> stack = this;
+
+    for (int i = 0; i < n; i++) {
+      elements[i] = stack.read();
+      stack = stack.pop();
+    }
+
+    PersistentStackImpl<T> result = other;
+    for (int i = n - 1; i >= 0; i--) {
+      result = result.push((T) elements[i]);
     }
+
+    return result;
   }
 
   @Override
@@ -169,6 +185,10 @@ public final class PersistentStackImpl<T> implements PersistentStack<T> {
     return result;
   }
 
+  /**
+   * Compare the elements of two stacks in turn. Stacks of different sizes or hashes are unequal without walking them,
+   * and the walk is iterative so that long stacks do not overflow the call stack.
+   */
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -180,17 +200,31 @@ public final class PersistentStackImpl<T> implements PersistentStack<T> {
 
     PersistentStackImpl<?> that = (PersistentStackImpl<?>) o;
 
-    if (!Objects.equals(head, that.head)) {
+    if (size != that.size || hash != that.hash) {
       return false;
     }
-    return Objects.equals(tail, that.tail);
+
+    PersistentStackImpl<?> left = this;
+    PersistentStackImpl<?> right = that;
+
+    while (left != right && left.head != null) {
+      if (!left.head.equals(right.head)) {
+        return false;
+      }
+      left = left.tail;
+      right = right.tail;
+    }
+
+    return true;
   }
 
+  /**
+   * Return the same hash as a recursive {@code 31 * head.hashCode() + tail.hashCode()}, computed once as each element
+   * is pushed.
+   */
   @Override
   public int hashCode() {
-    int result = head != null ? head.hashCode() : 0;
-    result = 31 * result + (tail != null ? tail.hashCode() : 0);
-    return result;
+    return hash;
   }
 
   @Override
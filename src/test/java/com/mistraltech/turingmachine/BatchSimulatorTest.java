@@ -0,0 +1,82 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class BatchSimulatorTest {
+
+  private static final TuringMachine UNARY_MULT = new MachineLoader().read("classpath:unary_mult.tm");
+
+  @Test
+  public void computeAll_WithNullInputs_ThrowsException() {
+    BatchSimulator batch = new BatchSimulator(UNARY_MULT, Limits.maxSteps(10_000));
+
+    assertThatThrownBy(() -> batch.computeAll((List<Tape>) null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("inputs must not be null");
+  }
+
+  @Test
+  public void computeAll_WithManyInputs_ReturnsOutputsInInputOrder() {
+    List<Tape> inputs = IntStream.range(1, 200)
+        .mapToObj(n -> tape("1".repeat(n % 7 + 1) + "x" + "1".repeat(n % 5 + 1)))
+        .collect(Collectors.toList());
+
+    List<Output> outputs = new BatchSimulator(UNARY_MULT, Limits.maxSteps(100_000))
+        .withPool(new ForkJoinPool(4))
+        .computeAll(inputs);
+
+    assertThat(outputs).hasSize(inputs.size());
+    for (int i = 0; i < inputs.size(); i++) {
+      int n = i + 1;
+      assertThat(outputs.get(i).getOutputString()).hasSize((n % 7 + 1) * (n % 5 + 1));
+    }
+  }
+
+  @Test
+  public void computeAll_WithStream_ReturnsOutputsInEncounterOrder() {
+    List<Output> outputs = new BatchSimulator(new TuringMachineSimulatorImpl(UNARY_MULT), Limits.maxSteps(10_000))
+        .computeAll(Stream.of(tape("11x111"), tape("1x1"), tape("111x1111")));
+
+    assertThat(outputs).extracting(output -> output.getOutputString().size()).containsExactly(6, 1, 12);
+  }
+
+  @Test
+  public void computeAll_WithStopOnFirstSuccess_EndsAtFirstSuccessInInputOrder() {
+    List<Tape> inputs = List.of(tape("x11"), tape("x"), tape("11x11"), tape("1x1"), tape("x1"));
+
+    List<Output> outputs = new BatchSimulator(UNARY_MULT, Limits.maxSteps(10_000))
+        .withStopOnFirstSuccess()
+        .computeAll(inputs);
+
+    assertThat(outputs).hasSize(3);
+    assertThat(outputs.get(0).succeeded()).isFalse();
+    assertThat(outputs.get(1).succeeded()).isFalse();
+    assertThat(outputs.get(2).succeeded()).isTrue();
+  }
+
+  @Test
+  public void computeAll_WithStepLimit_ReportsLimitForEachInput() {
+    List<Output> outputs = new BatchSimulator(UNARY_MULT, Limits.maxSteps(3))
+        .computeAll(List.of(tape("11x11"), tape("111x111")));
+
+    assertThat(outputs).extracting(Output::getOutcome)
+        .containsExactly(Output.Outcome.STEP_LIMIT_REACHED, Output.Outcome.STEP_LIMIT_REACHED);
+  }
+
+  private static Tape tape(String input) {
+    return TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input));
+  }
+}
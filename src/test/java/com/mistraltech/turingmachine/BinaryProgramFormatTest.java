@@ -0,0 +1,126 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.State;
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BinaryProgramFormatTest {
+
+  private static final Tape INPUT = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("111x11"));
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void read_WithConvertedProgram_ReturnsSameTable() {
+    Path path = directory.resolve("unary_mult" + BinaryProgramFormat.FILE_EXTENSION);
+    TransitionTable table = new ProgramConverter().convert("classpath:unary_mult.tm", path);
+
+    TransitionTable loaded = BinaryProgramFormat.read(path);
+
+    assertSameTable(loaded, table);
+  }
+
+  @Test
+  public void read_WithLargeProgram_RunsSameAsOriginal() {
+    TransitionTable table = counter(50_000);
+    Path path = directory.resolve("counter.tmb");
+    BinaryProgramFormat.write(table, path);
+
+    TransitionTable loaded = BinaryProgramFormat.read(path);
+
+    assertSameTable(loaded, table);
+    assertThat(new CompiledTuringMachineSimulator(loaded).compute(TapeImpl.create(CharSymbol.BLANK), Limits.unlimited())
+        .getOutputString()).hasSize(50_000);
+  }
+
+  @Test
+  public void read_WithCorruptFile_ThrowsException() throws IOException {
+    Path path = directory.resolve("unary_mult.tmb");
+    new ProgramConverter().convert("classpath:unary_mult.tm", path);
+    byte[] bytes = Files.readAllBytes(path);
+    bytes[bytes.length / 2] ^= 1;
+    Files.write(path, bytes);
+
+    assertThatThrownBy(() -> BinaryProgramFormat.read(path))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("Compiled program is corrupt");
+  }
+
+  @Test
+  public void read_WithTextProgram_ThrowsException() {
+    assertThatThrownBy(() -> BinaryProgramFormat.read(Path.of("src/main/resources/unary_mult.tm")))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("Not a compiled program");
+  }
+
+  @Test
+  public void readCompiled_WithBinaryOrTextProgram_ComputesSameOutput() {
+    Path path = directory.resolve("unary_mult.tmb");
+    new ProgramConverter().convert("classpath:unary_mult.tm", path);
+    MachineLoader loader = new MachineLoader();
+
+    Output fromBinary = new CompiledTuringMachineSimulator(loader.readCompiled(path.toString())).compute(INPUT);
+    Output fromText = new CompiledTuringMachineSimulator(loader.readCompiled("classpath:unary_mult.tm")).compute(INPUT);
+
+    assertThat(fromBinary.getOutputString()).isEqualTo(fromText.getOutputString());
+    assertThat(fromBinary.getSteps()).isEqualTo(fromText.getSteps());
+  }
+
+  /**
+   * A machine that writes n ones, using one state per cell.
+   */
+  private static TransitionTable counter(int n) {
+    List<State> states = new ArrayList<>();
+    for (int i = 0; i <= n; i++) {
+      states.add(IntState.getState(i));
+    }
+    List<Symbol> symbols = List.of(CharSymbol.BLANK, CharSymbol.getSymbol('1'));
+    boolean[] finalStates = new boolean[n + 1];
+    finalStates[n] = true;
+    int[] nextStates = new int[2 * (n + 1)];
+    byte[] newSymbols = new byte[2 * (n + 1)];
+    byte[] moves = new byte[2 * (n + 1)];
+
+    for (int i = 0; i < n; i++) {
+      nextStates[2 * i] = i + 1;
+      nextStates[2 * i + 1] = TransitionTable.UNDEFINED;
+      newSymbols[2 * i] = 1;
+      moves[2 * i] = 1;
+    }
+
+    return TransitionTable.of(states, symbols, 0, finalStates, nextStates, newSymbols, moves);
+  }
+
+  private static void assertSameTable(TransitionTable actual, TransitionTable expected) {
+    assertThat(actual.getStateCount()).isEqualTo(expected.getStateCount());
+    assertThat(actual.getSymbolCount()).isEqualTo(expected.getSymbolCount());
+    assertThat(actual.getInitialState()).isEqualTo(expected.getInitialState());
+    for (int state = 0; state < expected.getStateCount(); state++) {
+      assertThat(actual.getState(state)).isEqualTo(expected.getState(state));
+      assertThat(actual.isFinalState(state)).isEqualTo(expected.isFinalState(state));
+    }
+    for (int symbol = 0; symbol < expected.getSymbolCount(); symbol++) {
+      assertThat(actual.getSymbol(symbol)).isEqualTo(expected.getSymbol(symbol));
+    }
+    assertThat(actual.getNextStates()).isEqualTo(expected.getNextStates());
+    assertThat(actual.getNewSymbols()).isEqualTo(expected.getNewSymbols());
+    assertThat(actual.getMoves()).isEqualTo(expected.getMoves());
+  }
+}
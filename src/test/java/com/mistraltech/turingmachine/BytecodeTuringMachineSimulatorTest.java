@@ -0,0 +1,159 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.Program;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.turingmachine.model.builder.ProgramBuilder;
+import com.mistraltech.turingmachine.model.builder.TuringMachineBuilder;
+import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class BytecodeTuringMachineSimulatorTest {
+
+  private static final Tape BLANK_TAPE = TapeImpl.create(CharSymbol.BLANK);
+
+  private static IntStateCharSymbolActionFactory actionFactory = new IntStateCharSymbolActionFactory();
+
+  // The 4-state, 2-symbol busy beaver champion, halting after 107 steps
+  private static final Program BUSY_BEAVER_4 = ProgramBuilder.aProgram()
+      .withActions(Set.of(
+          actionFactory.createAction(0, '^', 1, '1', 'R'),
+          actionFactory.createAction(0, '1', 1, '1', 'L'),
+          actionFactory.createAction(1, '^', 0, '1', 'L'),
+          actionFactory.createAction(1, '1', 2, '^', 'L'),
+          actionFactory.createAction(2, '^', 4, '1', 'R'),
+          actionFactory.createAction(2, '1', 3, '1', 'L'),
+          actionFactory.createAction(3, '^', 3, '1', 'R'),
+          actionFactory.createAction(3, '1', 0, '^', 'R')))
+      .build();
+
+  private static final Program LOOPER = ProgramBuilder.aProgram()
+      .withActions(Set.of(actionFactory.createAction(0, '^', 0, '1', 'L')))
+      .build();
+
+  @Test
+  public void construct_WithSmallProgram_CompilesToBytecode() {
+    BytecodeTuringMachineSimulator simulator = new BytecodeTuringMachineSimulator(machine(BUSY_BEAVER_4, 4));
+
+    assertThat(simulator.isCompiledToBytecode()).isTrue();
+  }
+
+  @Test
+  public void compute_WithBusyBeaver_MatchesCompiledSimulatorOutputAndSteps() {
+    TuringMachine tm = machine(BUSY_BEAVER_4, 4);
+    Output expected = new CompiledTuringMachineSimulator(tm).compute(BLANK_TAPE, Limits.unlimited());
+
+    Output output = new BytecodeTuringMachineSimulator(tm).compute(BLANK_TAPE, Limits.unlimited());
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getSteps()).isEqualTo(107);
+    assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+  }
+
+  @Test
+  public void compute_WithUnaryMultiplication_MatchesCompiledSimulatorOutputAndSteps() {
+    TuringMachine tm = new MachineLoader().read("classpath:unary_mult.tm");
+    BytecodeTuringMachineSimulator simulator = new BytecodeTuringMachineSimulator(tm);
+
+    for (String input : new String[]{"1x1", "11x111", "111x11111"}) {
+      Tape tape = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input));
+
+      Output expected = new CompiledTuringMachineSimulator(tm).compute(tape, Limits.unlimited());
+      Output output = simulator.compute(tape, Limits.unlimited());
+
+      assertThat(output.succeeded()).isTrue();
+      assertThat(output.getSteps()).isEqualTo(expected.getSteps());
+      assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+    }
+  }
+
+  @Test
+  public void compute_WithInputSymbolUnknownToProgram_HaltsAndFails() {
+    BytecodeTuringMachineSimulator simulator =
+        new BytecodeTuringMachineSimulator(new MachineLoader().read("classpath:cons0.tm"));
+
+    Output output = simulator.compute(TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("12")));
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.HALTS_AND_FAILS);
+  }
+
+  @Test
+  public void compute_WithInputTapeHeadNotAtOrigin_StartsFromInputHeadPosition() {
+    BytecodeTuringMachineSimulator simulator =
+        new BytecodeTuringMachineSimulator(new MachineLoader().read("classpath:cons0.tm"));
+    Tape input = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("110"))
+        .apply(CharSymbol.getSymbol('1'), Move.RIGHT);
+
+    Output output = simulator.compute(input);
+
+    assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo("1010");
+  }
+
+  @Test
+  public void compute_WithStepLimitsAtEachStep_MatchesCompiledSimulator() {
+    TuringMachine tm = machine(BUSY_BEAVER_4, 4);
+    BytecodeTuringMachineSimulator simulator = new BytecodeTuringMachineSimulator(tm);
+    CompiledTuringMachineSimulator reference = new CompiledTuringMachineSimulator(tm);
+
+    for (long maxSteps = 0; maxSteps <= 108; maxSteps++) {
+      Limits limits = Limits.maxSteps(maxSteps).withCheckInterval(7);
+
+      Output expected = reference.compute(BLANK_TAPE, limits);
+      Output output = simulator.compute(BLANK_TAPE, limits);
+
+      assertThat(output.getOutcome()).isEqualTo(expected.getOutcome());
+      assertThat(output.getSteps()).isEqualTo(expected.getSteps());
+    }
+  }
+
+  @Test
+  public void compute_WithLoopingProgramGrowingTapeLeft_StopsOnTimeout() {
+    Limits limits = Limits.unlimited().withTimeout(Duration.ofMillis(50)).withCheckInterval(1 << 20);
+
+    Output output = new BytecodeTuringMachineSimulator(machine(LOOPER, 1)).compute(BLANK_TAPE, limits);
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.TIME_LIMIT_REACHED);
+    assertThat(output.getSteps()).isPositive();
+  }
+
+  @Test
+  public void construct_WithProgramTooLargeToCompile_FallsBackToTransitionTable() {
+    Set<Action> actions = new HashSet<>();
+    for (int state = 0; state < 1000; state++) {
+      actions.add(actionFactory.createAction(state, '^', state + 1, '1', 'R'));
+    }
+    TuringMachine tm = machine(ProgramBuilder.aProgram().withActions(actions).build(), 1000);
+
+    BytecodeTuringMachineSimulator simulator = new BytecodeTuringMachineSimulator(tm);
+    Output output = simulator.compute(BLANK_TAPE, Limits.unlimited());
+
+    assertThat(simulator.isCompiledToBytecode()).isFalse();
+    assertThat(output.getOutputString()).hasSize(1000);
+  }
+
+  private TuringMachine machine(Program program, int finalState) {
+    IntState initialState = IntState.getState(0);
+
+    return TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(initialState, IntState.getState(finalState)))
+        .withFinalStates(Set.of(IntState.getState(finalState)))
+        .withInitialState(initialState)
+        .withSymbols(Set.of(CharSymbol.BLANK))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of())
+        .withProgram(program)
+        .build();
+  }
+}
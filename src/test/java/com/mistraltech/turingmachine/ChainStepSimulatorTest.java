@@ -0,0 +1,78 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.Program;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.turingmachine.model.builder.ProgramBuilder;
+import com.mistraltech.turingmachine.model.builder.TuringMachineBuilder;
+import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ChainStepSimulatorTest {
+
+  private static final IntState STATE_0 = IntState.getState(0);
+  private static final IntState STATE_1 = IntState.getState(1);
+
+  private static final Tape BLANK_TAPE = TapeImpl.create(CharSymbol.BLANK);
+
+  private static IntStateCharSymbolActionFactory actionFactory = new IntStateCharSymbolActionFactory();
+
+  private static final Program RUNAWAY = ProgramBuilder.aProgram()
+      .withActions(Set.of(actionFactory.createAction(0, '^', 0, '1', 'R')))
+      .build();
+
+  @Test
+  public void compute_WithUnaryMultiplication_MatchesCompiledSimulatorOutputAndSteps() {
+    TuringMachine tm = new MachineLoader().read("classpath:unary_mult.tm");
+
+    for (String input : new String[]{"1x1", "11x111", "1111x11111"}) {
+      Tape tape = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input));
+
+      Output expected = new CompiledTuringMachineSimulator(tm).compute(tape, Limits.maxSteps(1_000_000));
+      Output output = new ChainStepSimulator(tm).compute(tape, Limits.maxSteps(1_000_000));
+
+      assertThat(output.succeeded()).isTrue();
+      assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+      assertThat(output.getSteps()).isEqualTo(expected.getSteps());
+    }
+  }
+
+  @Test
+  public void compute_WithUnaryMultiplicationOfLargeNumbers_Succeeds() {
+    TuringMachine tm = new MachineLoader().read("classpath:unary_mult.tm");
+    String input = "1".repeat(300) + "x" + "1".repeat(300);
+
+    Output output = new ChainStepSimulator(tm)
+        .compute(TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input)), Limits.unlimited());
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getOutputString()).hasSize(90_000);
+  }
+
+  @Test
+  public void compute_WithStepLimitInsideSweep_StopsAtExactStep() {
+    Output output = new ChainStepSimulator(machine(RUNAWAY)).compute(BLANK_TAPE, Limits.maxSteps(2_000_000_000L));
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.STEP_LIMIT_REACHED);
+    assertThat(output.getSteps()).isEqualTo(2_000_000_000L);
+  }
+
+  private TuringMachine machine(Program program) {
+    return TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(STATE_0, STATE_1))
+        .withFinalStates(Set.of(STATE_1))
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of())
+        .withProgram(program)
+        .build();
+  }
+}
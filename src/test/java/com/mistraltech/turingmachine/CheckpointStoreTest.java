@@ -0,0 +1,110 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.Configuration;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckpointStoreTest {
+
+  private static final TransitionTable UNARY_MULT =
+      TransitionTable.compile(new MachineLoader().read("classpath:unary_mult.tm"));
+  private static final Tape BLANK_TAPE = TapeImpl.create(CharSymbol.BLANK);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void latest_WithNoCheckpoints_ReturnsEmpty() {
+    assertThat(CheckpointStore.in(directory.resolve("missing")).latest(UNARY_MULT, BLANK_TAPE)).isEmpty();
+  }
+
+  @Test
+  public void save_WithManyCheckpoints_KeepsMostRecent() throws IOException {
+    CheckpointStore store = CheckpointStore.in(directory).withRetainCount(2);
+
+    store.save(checkpoint(10));
+    store.save(checkpoint(30));
+    store.save(checkpoint(20));
+    store.save(checkpoint(40));
+
+    assertThat(store.latest(UNARY_MULT, BLANK_TAPE)).hasValueSatisfying(checkpoint -> assertThat(checkpoint.getSteps()).isEqualTo(40));
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(path -> path.getFileName().toString()).collect(Collectors.toList()))
+          .containsExactlyInAnyOrder("checkpoint-00000000000000000030.bin", "checkpoint-00000000000000000040.bin");
+    }
+  }
+
+  @Test
+  public void latest_WithCorruptLatestCheckpoint_ReturnsPrevious() throws IOException {
+    CheckpointStore store = CheckpointStore.in(directory);
+    store.save(checkpoint(10));
+    Files.write(directory.resolve("checkpoint-00000000000000000020.bin"), new byte[] {1, 2, 3});
+
+    assertThat(store.latest(UNARY_MULT, BLANK_TAPE)).hasValueSatisfying(checkpoint -> assertThat(checkpoint.getSteps()).isEqualTo(10));
+  }
+
+  @Test
+  public void latest_WithCheckpointOfDifferentInput_ReturnsEmpty() {
+    CheckpointStore store = CheckpointStore.in(directory);
+    store.save(checkpoint(10));
+
+    assertThat(store.latest(UNARY_MULT, input("11x11"))).isEmpty();
+  }
+
+  @Test
+  public void compute_WithCheckpointsOfEarlierComputation_ReplacesThem() throws IOException {
+    CheckpointStore store = CheckpointStore.in(directory).withStepInterval(10);
+    store.save(checkpoint(1_000_000));
+    store.save(checkpoint(2_000_000));
+    Tape input = input("11x11");
+
+    new CompiledTuringMachineSimulator(UNARY_MULT).withCheckpoints(store).compute(input, Limits.maxSteps(15));
+
+    assertThat(store.latest(UNARY_MULT, input))
+        .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getSteps()).isEqualTo(10));
+    assertThat(store.latest(UNARY_MULT, BLANK_TAPE)).isEmpty();
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(path -> path.getFileName().toString()).collect(Collectors.toList()))
+          .containsExactly("checkpoint-00000000000000000010.bin");
+    }
+  }
+
+  @Test
+  public void clear_WithCheckpoints_DeletesThem() {
+    CheckpointStore store = CheckpointStore.in(directory);
+    store.save(checkpoint(10));
+
+    store.clear();
+
+    assertThat(store.latest(UNARY_MULT, BLANK_TAPE)).isEmpty();
+  }
+
+  @Test
+  public void withStepInterval_WithZeroInterval_ThrowsException() {
+    assertThatThrownBy(() -> CheckpointStore.in(directory).withStepInterval(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("stepInterval must be positive");
+  }
+
+  private static Checkpoint checkpoint(long steps) {
+    return Checkpoint.of(UNARY_MULT, BLANK_TAPE,
+        new Configuration(UNARY_MULT.getState(UNARY_MULT.getInitialState()), BLANK_TAPE), steps);
+  }
+
+  private static Tape input(String input) {
+    return TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input));
+  }
+}
@@ -0,0 +1,171 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.CheckpointException;
+import com.mistraltech.turingmachine.model.ArrayTape;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.Configuration;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class CheckpointTest {
+
+  private static final TransitionTable UNARY_MULT =
+      TransitionTable.compile(new MachineLoader().read("classpath:unary_mult.tm"));
+  private static final TransitionTable HEAD =
+      TransitionTable.compile(new MachineLoader().read("classpath:head.tm"));
+  // The cell count follows the fixed header fields and the (empty) list of extra symbols
+  private static final int CELL_COUNT_OFFSET = 44;
+
+  @Test
+  public void readFrom_WithWrittenCheckpoint_RestoresConfiguration() throws IOException {
+    Tape tape = ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("11x1?1"), 1, 3);
+    Configuration configuration = new Configuration(IntState.getState(2), tape);
+
+    Checkpoint restored = roundTrip(Checkpoint.of(UNARY_MULT, tape, configuration, 1234));
+    Configuration restoredConfiguration = restored.toConfiguration(UNARY_MULT);
+
+    assertThat(restored.getSteps()).isEqualTo(1234);
+    assertThat(restoredConfiguration.getState()).isEqualTo(IntState.getState(2));
+    assertThat(restoredConfiguration.getTape().getHeadPosition()).isEqualTo(3);
+    assertThat(CharSymbolUtils.symbolListToString(restoredConfiguration.getTape().getOutputString()))
+        .isEqualTo("11x1?1");
+  }
+
+  @Test
+  public void readFrom_WithCorruptData_ThrowsException() throws IOException {
+    byte[] bytes = write(initialCheckpoint("11x11", 10));
+    bytes[bytes.length / 2] ^= 1;
+
+    assertThatThrownBy(() -> Checkpoint.readFrom(new ByteArrayInputStream(bytes)))
+        .isInstanceOf(CheckpointException.class)
+        .hasMessage("Checkpoint is corrupt");
+  }
+
+  @Test
+  public void readFrom_WithNegativeCellCount_ThrowsException() throws IOException {
+    byte[] bytes = write(initialCheckpoint("11x11", 10));
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    assertThat(buffer.getShort(CELL_COUNT_OFFSET - Short.BYTES)).isZero();
+    buffer.putInt(CELL_COUNT_OFFSET, -1);
+
+    assertThatThrownBy(() -> Checkpoint.readFrom(new ByteArrayInputStream(bytes), bytes.length))
+        .isInstanceOf(CheckpointException.class)
+        .hasMessage("Checkpoint is corrupt");
+  }
+
+  @Test
+  public void readFrom_WithCellCountBeyondData_ThrowsException() throws IOException {
+    byte[] bytes = write(initialCheckpoint("11x11", 10));
+    ByteBuffer.wrap(bytes).putInt(CELL_COUNT_OFFSET, Integer.MAX_VALUE);
+
+    assertThatThrownBy(() -> Checkpoint.readFrom(new ByteArrayInputStream(bytes), bytes.length))
+        .isInstanceOf(CheckpointException.class)
+        .hasMessage("Checkpoint is corrupt");
+    assertThatThrownBy(() -> Checkpoint.readFrom(new ByteArrayInputStream(bytes)))
+        .isInstanceOf(CheckpointException.class)
+        .hasMessage("Checkpoint is truncated");
+  }
+
+  @Test
+  public void readFrom_WithTruncatedData_ThrowsException() throws IOException {
+    byte[] bytes = write(initialCheckpoint("11x11", 10));
+
+    assertThatThrownBy(() -> Checkpoint.readFrom(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3))))
+        .isInstanceOf(CheckpointException.class)
+        .hasMessage("Checkpoint is truncated");
+  }
+
+  @Test
+  public void toConfiguration_WithDifferentMachine_ThrowsException() {
+    Checkpoint checkpoint = initialCheckpoint("11x11", 10);
+
+    assertThatThrownBy(() -> checkpoint.toConfiguration(HEAD))
+        .isInstanceOf(CheckpointException.class)
+        .hasMessage("Checkpoint was written by a different machine");
+  }
+
+  @Test
+  public void machineHash_WithSameMachine_ReturnsSameHash() {
+    TransitionTable recompiled = TransitionTable.compile(new MachineLoader().read("classpath:unary_mult.tm"));
+
+    assertThat(Checkpoint.machineHash(recompiled)).isEqualTo(Checkpoint.machineHash(UNARY_MULT));
+    assertThat(Checkpoint.machineHash(HEAD)).isNotEqualTo(Checkpoint.machineHash(UNARY_MULT));
+  }
+
+  @Test
+  public void toConfiguration_WithTapeStartingRightOfPositionOne_RestoresBlankOutput() throws IOException {
+    Tape tape = ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("11x1"), 100, 100);
+    Configuration configuration = new Configuration(IntState.getState(2), tape);
+
+    Configuration restored = roundTrip(Checkpoint.of(UNARY_MULT, tape, configuration, 10)).toConfiguration(UNARY_MULT);
+    Tape restoredTape = restored.getTape();
+    assertThat(CharSymbolUtils.symbolListToString(restoredTape.getString(99, 104))).isEqualTo("^11x1");
+
+    // Write leftwards from the head while staying inside the restored tape's array
+    for (int i = 0; i < 6; i++) {
+      restoredTape = restoredTape.apply(CharSymbol.getSymbol('1'), Move.LEFT);
+    }
+    restoredTape = restoredTape.apply(CharSymbol.getSymbol('1'), Move.NONE);
+
+    assertThat(restoredTape.getOutputString()).isEmpty();
+  }
+
+  @Test
+  public void readFrom_WithWrittenCheckpoint_RestoresHashes() throws IOException {
+    Checkpoint checkpoint = initialCheckpoint("11x11", 10);
+
+    Checkpoint restored = roundTrip(checkpoint);
+
+    assertThat(restored.getMachineHash()).isEqualTo(Checkpoint.machineHash(UNARY_MULT));
+    assertThat(restored.getInputHash()).isEqualTo(checkpoint.getInputHash());
+  }
+
+  @Test
+  public void inputHash_WithSameContentAndBlankMargins_ReturnsSameHash() {
+    Tape tape = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("11x11"));
+    Tape padded = ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("^^11x11^"), -1, 1);
+
+    assertThat(Checkpoint.inputHash(UNARY_MULT, padded)).isEqualTo(Checkpoint.inputHash(UNARY_MULT, tape));
+  }
+
+  @Test
+  public void inputHash_WithDifferentInput_ReturnsDifferentHash() {
+    Tape tape = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("11x11"));
+    Tape other = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("11x1"));
+
+    assertThat(Checkpoint.inputHash(UNARY_MULT, other)).isNotEqualTo(Checkpoint.inputHash(UNARY_MULT, tape));
+  }
+
+  private static Checkpoint initialCheckpoint(String input, long steps) {
+    Configuration configuration = initialConfiguration(input);
+    return Checkpoint.of(UNARY_MULT, configuration.getTape(), configuration, steps);
+  }
+
+  private static Configuration initialConfiguration(String input) {
+    return new Configuration(UNARY_MULT.getState(UNARY_MULT.getInitialState()),
+        TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input)));
+  }
+
+  private static Checkpoint roundTrip(Checkpoint checkpoint) throws IOException {
+    return Checkpoint.readFrom(new ByteArrayInputStream(write(checkpoint)));
+  }
+
+  private static byte[] write(Checkpoint checkpoint) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    checkpoint.writeTo(out);
+    return out.toByteArray();
+  }
+}
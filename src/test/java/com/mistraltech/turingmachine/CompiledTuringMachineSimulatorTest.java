@@ -0,0 +1,347 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.DidNotHaltException;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.Program;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.turingmachine.model.builder.ProgramBuilder;
+import com.mistraltech.turingmachine.model.builder.TuringMachineBuilder;
+import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CompiledTuringMachineSimulatorTest {
+
+  private static final IntState STATE_0 = IntState.getState(0);
+  private static final IntState STATE_1 = IntState.getState(1);
+  private static final IntState STATE_2 = IntState.getState(2);
+  private static final IntState STATE_3 = IntState.getState(3);
+  private static final IntState STATE_4 = IntState.getState(4);
+
+  private static final CharSymbol SYMBOL_1 = CharSymbol.getSymbol('1');
+
+  private static final Tape BLANK_TAPE = TapeImpl.create(CharSymbol.BLANK);
+
+  private static IntStateCharSymbolActionFactory actionFactory = new IntStateCharSymbolActionFactory();
+
+  private static final Program PROGRAM_UNDEF = ProgramBuilder.aProgram()
+      .withActions(Set.of())
+      .build();
+
+  private static final Program LOOPER = ProgramBuilder.aProgram()
+      .withActions(Set.of(actionFactory.createAction(0, '^', 0, '^', '0')))
+      .build();
+
+  private static final Program FOUR_ONES = ProgramBuilder.aProgram()
+      .withActions(Set.of(
+          actionFactory.createAction(0, '^', 1, '1', 'R'),
+          actionFactory.createAction(1, '^', 2, '1', 'R'),
+          actionFactory.createAction(2, '^', 3, '1', 'R'),
+          actionFactory.createAction(3, '^', 4, '1', '0')))
+      .build();
+
+  private static final Program FOUR_ONES_LEFT = ProgramBuilder.aProgram()
+      .withActions(Set.of(
+          actionFactory.createAction(0, '^', 1, '1', 'L'),
+          actionFactory.createAction(1, '^', 2, '1', 'L'),
+          actionFactory.createAction(2, '^', 3, '1', 'L'),
+          actionFactory.createAction(3, '^', 4, '1', '0')))
+      .build();
+
+  private static final Program RIGHT_FOREVER = ProgramBuilder.aProgram()
+      .withActions(Set.of(actionFactory.createAction(0, '^', 0, '^', 'R')))
+      .build();
+
+  private static final Program ONES_FOREVER = ProgramBuilder.aProgram()
+      .withActions(Set.of(actionFactory.createAction(0, '^', 0, '1', 'R')))
+      .build();
+
+  private static final Program WRITE_THEN_SHUFFLE = ProgramBuilder.aProgram()
+      .withActions(Set.of(
+          actionFactory.createAction(0, '^', 1, '1', 'R'),
+          actionFactory.createAction(1, '^', 2, '^', 'L'),
+          actionFactory.createAction(2, '1', 1, '1', 'R')))
+      .build();
+
+  @Test
+  public void compute_WithNullInput_ThrowsException() {
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(machine(PROGRAM_UNDEF, Set.of()));
+
+    assertThatThrownBy(() -> simulator.compute(null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("input must not be null");
+  }
+
+  @Test
+  public void compute_WithProgramWithOneNonFinalStateWithoutMatchingAction_HaltsAndFails() {
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(machine(PROGRAM_UNDEF, Set.of()));
+
+    Output output = simulator.compute(BLANK_TAPE);
+
+    assertThat(output.succeeded()).isFalse();
+  }
+
+  @Test
+  public void compute_WithProgramWithOneFinalState_HaltsAndSucceedsWithEmptyOutput() {
+    CompiledTuringMachineSimulator simulator =
+        new CompiledTuringMachineSimulator(machine(PROGRAM_UNDEF, Set.of(STATE_0)));
+
+    Output output = simulator.compute(BLANK_TAPE);
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getOutputString()).isEmpty();
+  }
+
+  @Test
+  public void compute_WithProgramWithLoopingState_ThrowsDidNotHaltException() {
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(machine(LOOPER, Set.of()));
+
+    assertThatThrownBy(() -> simulator.compute(BLANK_TAPE))
+        .isInstanceOf(DidNotHaltException.class);
+  }
+
+  @Test
+  public void compute_WithProgramWithThatHaltsInSeveralMoves_SucceedsAndHalts() {
+    CompiledTuringMachineSimulator simulator =
+        new CompiledTuringMachineSimulator(machine(FOUR_ONES, Set.of(STATE_4)));
+
+    Output output = simulator.compute(BLANK_TAPE);
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getOutputString()).isEqualTo(List.of(SYMBOL_1, SYMBOL_1, SYMBOL_1, SYMBOL_1));
+  }
+
+  @Test
+  public void compute_WithProgramWithThatHaltsInSeveralMovesAndLowerMaxIterations_ThrowsDidNotHaltException() {
+    CompiledTuringMachineSimulator simulator =
+        new CompiledTuringMachineSimulator(machine(FOUR_ONES, Set.of(STATE_4)));
+
+    assertThatThrownBy(() -> simulator.compute(BLANK_TAPE, 4))
+        .isInstanceOf(DidNotHaltException.class);
+  }
+
+  @Test
+  public void compute_WithProgramThatWritesLeftOfOrigin_GrowsTapeAndReturnsOutputFromOrigin() {
+    CompiledTuringMachineSimulator simulator =
+        new CompiledTuringMachineSimulator(machine(FOUR_ONES_LEFT, Set.of(STATE_4)));
+
+    Output output = simulator.compute(BLANK_TAPE);
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getOutputString()).isEqualTo(List.of(SYMBOL_1));
+  }
+
+  @Test
+  public void compute_WithInputSymbolUnknownToProgram_HaltsAndFails() {
+    MachineLoader loader = new MachineLoader();
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(loader.read("classpath:cons0.tm"));
+
+    Output output = simulator.compute(TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("12")));
+
+    assertThat(output.succeeded()).isFalse();
+  }
+
+  @Test
+  public void compute_WithInputTapeHeadNotAtOrigin_StartsFromInputHeadPosition() {
+    MachineLoader loader = new MachineLoader();
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(loader.read("classpath:cons0.tm"));
+    Tape input = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("110"))
+        .apply(CharSymbol.getSymbol('1'), Move.RIGHT);
+
+    Output output = simulator.compute(input);
+
+    assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo("1010");
+  }
+
+  @Test
+  public void compute_WithUnaryMultiplication_ProducesSameOutputAsTuringMachineSimulatorImpl() {
+    TuringMachine tm = new MachineLoader().read("classpath:unary_mult.tm");
+    Tape input = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("111x1111"));
+
+    Output expected = new TuringMachineSimulatorImpl(tm).compute(input, 10_000);
+    Output output = new CompiledTuringMachineSimulator(tm).compute(input, 10_000);
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+    assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo("111111111111");
+  }
+
+  private TuringMachine machine(Program program, Set<IntState> finalStates) {
+    return TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(STATE_0, STATE_1, STATE_2, STATE_3, STATE_4))
+        .withFinalStates(finalStates)
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of())
+        .withProgram(program)
+        .build();
+  }
+
+  @Test
+  public void compute_WithLimitsAndHaltingProgram_ReportsStepsRun() {
+    TuringMachine tm = machine(FOUR_ONES, Set.of(STATE_4));
+
+    Output output = new CompiledTuringMachineSimulator(tm).compute(BLANK_TAPE, Limits.maxSteps(4));
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getSteps()).isEqualTo(4);
+  }
+
+  @Test
+  public void compute_WithStepLimitBelowHaltingStep_ReturnsStepLimitReached() {
+    TuringMachine tm = machine(FOUR_ONES, Set.of(STATE_4));
+
+    Output output = new CompiledTuringMachineSimulator(tm).compute(BLANK_TAPE, Limits.maxSteps(3));
+
+    assertThat(output.halted()).isFalse();
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.STEP_LIMIT_REACHED);
+    assertThat(output.getSteps()).isEqualTo(3);
+  }
+
+  @Test
+  public void compute_WithLoopingProgramAndStepBudgetBeyondIntRange_StopsOnTimeout() {
+    TuringMachine tm = machine(LOOPER, Set.of());
+
+    Limits limits = Limits.maxSteps(10_000_000_000L)
+        .withTimeout(Duration.ofMillis(50))
+        .withCheckInterval(1000);
+
+    Output output = new CompiledTuringMachineSimulator(tm).compute(BLANK_TAPE, limits);
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.TIME_LIMIT_REACHED);
+    assertThat(output.getSteps()).isPositive().isLessThan(10_000_000_000L);
+  }
+
+  @Test
+  public void compute_WithLoopingProgramAndLongMaxIterations_ThrowsDidNotHaltException() {
+    TuringMachine tm = machine(LOOPER, Set.of());
+
+    assertThatThrownBy(() -> new CompiledTuringMachineSimulator(tm).compute(BLANK_TAPE, 100_000L))
+        .isInstanceOf(DidNotHaltException.class)
+        .hasMessage("Machine did not halt within 100000 steps");
+  }
+
+  @Test
+  public void compute_WithCycleDetectionAndStationaryLoop_ReturnsDoesNotHalt() {
+    TuringMachineSimulator simulator = new CompiledTuringMachineSimulator(machine(LOOPER, Set.of())).withCycleDetection();
+
+    Output output = simulator.compute(BLANK_TAPE, Limits.unlimited());
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.DOES_NOT_HALT);
+    assertThat(output.getCycleStart()).isEqualTo(0);
+    assertThat(output.getPeriod()).isEqualTo(1);
+  }
+
+  @Test
+  public void compute_WithCycleDetectionAndHeadMovingOverBlanks_ReturnsDoesNotHalt() {
+    TuringMachineSimulator simulator =
+        new CompiledTuringMachineSimulator(machine(RIGHT_FOREVER, Set.of())).withCycleDetection();
+
+    Output output = simulator.compute(BLANK_TAPE, Limits.unlimited());
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.DOES_NOT_HALT);
+    assertThat(output.getPeriod()).isEqualTo(1);
+  }
+
+  @Test
+  public void compute_WithCycleDetectionAndLoopAfterPrefix_ReportsCycleStartAndPeriod() {
+    TuringMachineSimulator simulator =
+        new CompiledTuringMachineSimulator(machine(WRITE_THEN_SHUFFLE, Set.of())).withCycleDetection();
+
+    Output output = simulator.compute(BLANK_TAPE, Limits.unlimited());
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.DOES_NOT_HALT);
+    assertThat(output.getCycleStart()).isEqualTo(1);
+    assertThat(output.getPeriod()).isEqualTo(2);
+    assertThat(output.getSteps()).isLessThan(10);
+  }
+
+  @Test
+  public void compute_WithCycleDetectionAndExpiredDeadline_DoesNotSearchForCycleStart() {
+    TuringMachineSimulator simulator =
+        new CompiledTuringMachineSimulator(machine(WRITE_THEN_SHUFFLE, Set.of())).withCycleDetection();
+
+    Output output = simulator.compute(BLANK_TAPE, Limits.unlimited().withDeadline(Instant.EPOCH));
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.TIME_LIMIT_REACHED);
+  }
+
+  @Test
+  public void compute_WithCycleDetectionAndGrowingTape_ReachesStepLimit() {
+    TuringMachineSimulator simulator =
+        new CompiledTuringMachineSimulator(machine(ONES_FOREVER, Set.of())).withCycleDetection();
+
+    Output output = simulator.compute(BLANK_TAPE, Limits.maxSteps(10_000));
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.STEP_LIMIT_REACHED);
+    assertThat(output.getSteps()).isEqualTo(10_000);
+  }
+
+  @Test
+  public void compute_WithCycleDetectionAndMaxIterations_ReturnsDoesNotHaltInsteadOfThrowing() {
+    TuringMachineSimulator simulator = new CompiledTuringMachineSimulator(machine(LOOPER, Set.of())).withCycleDetection();
+
+    Output output = simulator.compute(BLANK_TAPE, 1000);
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.DOES_NOT_HALT);
+  }
+
+  @Test
+  public void compute_WithCycleDetectionAndHaltingProgram_ProducesSameOutputAndSteps() {
+    TuringMachine tm = new MachineLoader().read("classpath:unary_mult.tm");
+    Tape input = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("111x1111"));
+
+    Output expected = new CompiledTuringMachineSimulator(tm).compute(input, Limits.unlimited());
+    Output output = new CompiledTuringMachineSimulator(tm).withCycleDetection().compute(input, Limits.unlimited());
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+    assertThat(output.getSteps()).isEqualTo(expected.getSteps());
+  }
+
+  @Test
+  public void resume_WithLatestCheckpoint_ProducesSameOutputAndTotalSteps(@TempDir Path directory) {
+    TuringMachine tm = new MachineLoader().read("classpath:unary_mult.tm");
+    Tape input = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("111x1111"));
+    CheckpointStore store = CheckpointStore.in(directory).withStepInterval(25);
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(tm).withCheckpoints(store);
+
+    Output expected = simulator.compute(input, Limits.unlimited());
+    Checkpoint checkpoint = store.latest(TransitionTable.compile(tm), input).orElseThrow();
+    Output output = simulator.resume(checkpoint, Limits.unlimited());
+
+    assertThat(checkpoint.getSteps()).isPositive().isLessThan(expected.getSteps());
+    assertThat(checkpoint.getSteps() % 25).isZero();
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+    assertThat(output.getSteps()).isEqualTo(expected.getSteps());
+  }
+
+  @Test
+  public void resume_WithStepLimit_CountsStepsBeforeCheckpoint(@TempDir Path directory) {
+    CheckpointStore store = CheckpointStore.in(directory).withStepInterval(100);
+    TransitionTable table = TransitionTable.compile(machine(ONES_FOREVER, Set.of()));
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(table).withCheckpoints(store);
+
+    simulator.compute(BLANK_TAPE, Limits.maxSteps(250));
+    Output output = simulator.resume(store.latest(table, BLANK_TAPE).orElseThrow(), Limits.maxSteps(300));
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.STEP_LIMIT_REACHED);
+    assertThat(output.getSteps()).isEqualTo(300);
+  }
+}
@@ -0,0 +1,88 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class LimitsTest {
+
+  @Test
+  void maxSteps_WithNegativeSteps_ThrowsException() {
+    assertThatThrownBy(() -> Limits.maxSteps(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSteps must not be negative");
+  }
+
+  @Test
+  void maxSteps_WithStepsBeyondIntRange_ReturnsLimitsWithThoseSteps() {
+    Limits limits = Limits.maxSteps(50_000_000_000L);
+
+    assertThat(limits.getMaxSteps()).isEqualTo(50_000_000_000L);
+    assertThat(limits.getTimeout()).isEmpty();
+    assertThat(limits.getDeadline()).isEmpty();
+  }
+
+  @Test
+  void unlimited_ReturnsLimitsWithMaximumSteps() {
+    assertThat(Limits.unlimited().getMaxSteps()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void withCheckInterval_WithZeroInterval_ThrowsException() {
+    assertThatThrownBy(() -> Limits.unlimited().withCheckInterval(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("checkInterval must be positive");
+  }
+
+  @Test
+  void startTimer_WithoutTimeLimit_NeverExpires() {
+    assertThat(Limits.unlimited().startTimer().isExpired()).isFalse();
+  }
+
+  @Test
+  void startTimer_WithZeroTimeout_IsExpired() {
+    Limits.Timer timer = Limits.unlimited().withTimeout(Duration.ZERO).startTimer();
+
+    assertThat(timer.isExpired()).isTrue();
+  }
+
+  @Test
+  void startTimer_WithPastDeadline_IsExpired() {
+    Limits.Timer timer = Limits.unlimited().withDeadline(Instant.now().minusSeconds(1)).startTimer();
+
+    assertThat(timer.isExpired()).isTrue();
+  }
+
+  @Test
+  void startTimer_WithDistantDeadlineAndTimeout_IsNotExpired() {
+    Limits.Timer timer = Limits.unlimited()
+        .withTimeout(Duration.ofDays(1))
+        .withDeadline(Instant.MAX)
+        .startTimer();
+
+    assertThat(timer.isExpired()).isFalse();
+  }
+
+  @Test
+  void getRemaining_WithoutTimeLimit_IsEmpty() {
+    assertThat(Limits.unlimited().startTimer().getRemaining()).isEmpty();
+  }
+
+  @Test
+  void getRemaining_WithTimeout_IsAtMostTimeout() {
+    Limits.Timer timer = Limits.unlimited().withTimeout(Duration.ofDays(1)).startTimer();
+
+    assertThat(timer.getRemaining()).hasValueSatisfying(remaining ->
+        assertThat(remaining).isGreaterThan(Duration.ZERO).isLessThanOrEqualTo(Duration.ofDays(1)));
+  }
+
+  @Test
+  void getRemaining_WithExpiredTimer_IsZero() {
+    Limits.Timer timer = Limits.unlimited().withDeadline(Instant.now().minusSeconds(1)).startTimer();
+
+    assertThat(timer.getRemaining()).contains(Duration.ZERO);
+  }
+}
@@ -0,0 +1,133 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.IntState;
+import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.Program;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.turingmachine.model.builder.ProgramBuilder;
+import com.mistraltech.turingmachine.model.builder.TuringMachineBuilder;
+import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MacroMachineSimulatorTest {
+
+  private static final IntState STATE_0 = IntState.getState(0);
+  private static final IntState STATE_1 = IntState.getState(1);
+  private static final IntState STATE_2 = IntState.getState(2);
+  private static final IntState STATE_3 = IntState.getState(3);
+  private static final IntState STATE_4 = IntState.getState(4);
+
+  private static final Tape BLANK_TAPE = TapeImpl.create(CharSymbol.BLANK);
+
+  private static IntStateCharSymbolActionFactory actionFactory = new IntStateCharSymbolActionFactory();
+
+  // The 4-state, 2-symbol busy beaver champion, halting after 107 steps
+  private static final Program BUSY_BEAVER_4 = ProgramBuilder.aProgram()
+      .withActions(Set.of(
+          actionFactory.createAction(0, '^', 1, '1', 'R'),
+          actionFactory.createAction(0, '1', 1, '1', 'L'),
+          actionFactory.createAction(1, '^', 0, '1', 'L'),
+          actionFactory.createAction(1, '1', 2, '^', 'L'),
+          actionFactory.createAction(2, '^', 4, '1', 'R'),
+          actionFactory.createAction(2, '1', 3, '1', 'L'),
+          actionFactory.createAction(3, '^', 3, '1', 'R'),
+          actionFactory.createAction(3, '1', 0, '^', 'R')))
+      .build();
+
+  @Test
+  public void construct_WithBlockSizeTooLarge_ThrowsException() {
+    TuringMachine tm = busyBeaver();
+
+    assertThatThrownBy(() -> new MacroMachineSimulator(tm, 9))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("blockSize must be between 1 and 8");
+  }
+
+  @Test
+  public void compute_WithBusyBeaverAndEachBlockSize_MatchesCompiledSimulatorOutputAndSteps() {
+    TuringMachine tm = busyBeaver();
+    Output expected = new CompiledTuringMachineSimulator(tm).compute(BLANK_TAPE, Limits.unlimited());
+
+    for (int blockSize = 1; blockSize <= MacroMachineSimulator.MAX_BLOCK_SIZE; blockSize++) {
+      Output output = new MacroMachineSimulator(tm, blockSize).compute(BLANK_TAPE, Limits.unlimited());
+
+      assertThat(output.succeeded()).isTrue();
+      assertThat(output.getSteps()).isEqualTo(107);
+      assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+    }
+  }
+
+  @Test
+  public void compute_WithUnaryMultiplication_MatchesCompiledSimulatorOutputAndSteps() {
+    TuringMachine tm = new MachineLoader().read("classpath:unary_mult.tm");
+    MacroMachineSimulator simulator = new MacroMachineSimulator(tm, 4);
+
+    for (String input : new String[]{"1x1", "11x111", "111x11111"}) {
+      Tape tape = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input));
+
+      Output expected = new CompiledTuringMachineSimulator(tm).compute(tape, Limits.maxSteps(1_000_000));
+      Output output = simulator.compute(tape, Limits.maxSteps(1_000_000));
+
+      assertThat(output.succeeded()).isTrue();
+      assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+      assertThat(output.getSteps()).isEqualTo(expected.getSteps());
+    }
+  }
+
+  @Test
+  public void compute_WithInputHeadMidBlock_MatchesCompiledSimulator() {
+    TuringMachine tm = new MachineLoader().read("classpath:cons0.tm");
+    Tape tape = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("0110101"))
+        .apply(CharSymbol.getSymbol('1'), Move.RIGHT)
+        .apply(CharSymbol.getSymbol('1'), Move.RIGHT);
+
+    Output expected = new CompiledTuringMachineSimulator(tm).compute(tape, Limits.unlimited());
+    Output output = new MacroMachineSimulator(tm, 3).compute(tape, Limits.unlimited());
+
+    assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+    assertThat(output.getSteps()).isEqualTo(expected.getSteps());
+  }
+
+  @Test
+  public void compute_WithStepLimitPartWayThroughMacroTransition_StopsAtExactStep() {
+    TuringMachine tm = busyBeaver();
+
+    for (long maxSteps : new long[]{0, 1, 50, 106}) {
+      Output output = new MacroMachineSimulator(tm, 5).compute(BLANK_TAPE, Limits.maxSteps(maxSteps));
+
+      assertThat(output.getOutcome()).isEqualTo(Output.Outcome.STEP_LIMIT_REACHED);
+      assertThat(output.getSteps()).isEqualTo(maxSteps);
+    }
+  }
+
+  @Test
+  public void compute_WithTinyCache_StillMatchesCompiledSimulator() {
+    TuringMachine tm = busyBeaver();
+
+    Output output = new MacroMachineSimulator(TransitionTable.compile(tm), 2, 1).compute(BLANK_TAPE);
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getSteps()).isEqualTo(107);
+  }
+
+  private TuringMachine busyBeaver() {
+    return TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(STATE_0, STATE_1, STATE_2, STATE_3, STATE_4))
+        .withFinalStates(Set.of(STATE_4))
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK, CharSymbol.getSymbol('1')))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of(CharSymbol.getSymbol('1')))
+        .withProgram(BUSY_BEAVER_4)
+        .build();
+  }
+}
@@ -0,0 +1,119 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MeteredTuringMachineSimulatorTest {
+
+  private static final TuringMachine UNARY_MULT = new MachineLoader().read("classpath:unary_mult.tm");
+
+  private MachineMetrics metrics;
+
+  @BeforeEach
+  public void setUp() {
+    metrics = MachineMetrics.register("unary_mult", UNARY_MULT);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    metrics.unregister();
+  }
+
+  @Test
+  public void compute_WithHaltingRun_AttachesStatistics() {
+    Output expected = new TuringMachineSimulatorImpl(UNARY_MULT).compute(tape("11x111"), Limits.unlimited());
+
+    Output output = new MeteredTuringMachineSimulator(new CompiledTuringMachineSimulator(UNARY_MULT), metrics)
+        .compute(tape("11x111"), Limits.unlimited());
+
+    assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+    assertThat(output.getStatistics()).hasValueSatisfying(statistics -> {
+      assertThat(statistics.getSteps()).isEqualTo(expected.getSteps());
+      assertThat(statistics.getMinHeadPosition()).isLessThanOrEqualTo(1);
+      assertThat(statistics.getMaxHeadPosition()).isGreaterThanOrEqualTo(6);
+    });
+  }
+
+  @Test
+  public void compute_WithReferenceAndCompiledSimulators_CollectsSameStatistics() {
+    Output reference = new MeteredTuringMachineSimulator(new TuringMachineSimulatorImpl(UNARY_MULT), metrics)
+        .compute(tape("111x11"), Limits.unlimited());
+    Output compiled = new MeteredTuringMachineSimulator(new CompiledTuringMachineSimulator(UNARY_MULT), metrics)
+        .compute(tape("111x11"), Limits.unlimited());
+
+    assertThat(compiled.getStatistics()).isEqualTo(reference.getStatistics());
+  }
+
+  @Test
+  public void compute_WithManyRuns_UpdatesMetrics() {
+    MeteredTuringMachineSimulator simulator =
+        new MeteredTuringMachineSimulator(new CompiledTuringMachineSimulator(UNARY_MULT), metrics);
+
+    Output first = simulator.compute(tape("11x111"), Limits.unlimited());
+    Output second = simulator.compute(tape("1x1"), Limits.unlimited());
+    Output limited = simulator.compute(tape("111x111"), Limits.maxSteps(5));
+
+    assertThat(metrics.getRuns()).isEqualTo(3);
+    assertThat(metrics.getSucceededRuns()).isEqualTo(2);
+    assertThat(metrics.getLimitReachedRuns()).isEqualTo(1);
+    assertThat(metrics.getTotalSteps()).isEqualTo(first.getSteps() + second.getSteps() + 5);
+    assertThat(Arrays.stream(metrics.getRunLengthHistogram()).sum()).isEqualTo(3);
+    assertThat(Arrays.stream(metrics.getTransitionHitCounts()).sum()).isEqualTo(metrics.getTotalSteps());
+    assertThat(metrics.getTransitionHits().values().stream().mapToLong(Long::longValue).sum())
+        .isEqualTo(metrics.getTotalSteps());
+    assertThat(metrics.getMaxTapeExtent()).isEqualTo(first.getStatistics().orElseThrow().getCellsVisited());
+  }
+
+  @Test
+  public void compute_WithListener_PassesStepsOn() {
+    AtomicLong steps = new AtomicLong();
+    StepListener listener = new StepListener() {
+      @Override
+      public void onSteps(StepBatch batch) {
+        steps.addAndGet(batch.size());
+      }
+    };
+
+    Output output = new MeteredTuringMachineSimulator(new CompiledTuringMachineSimulator(UNARY_MULT), metrics)
+        .compute(tape("11x11"), Limits.unlimited(), listener);
+
+    assertThat(steps.get()).isEqualTo(output.getSteps());
+  }
+
+  @Test
+  public void register_WithRegisteredName_ThrowsException() {
+    assertThatThrownBy(() -> MachineMetrics.register("unary_mult", UNARY_MULT))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Failed to register metrics for unary_mult");
+  }
+
+  @Test
+  public void getAttribute_WithRegisteredMetrics_ReadsThroughJmx() throws Exception {
+    new MeteredTuringMachineSimulator(new CompiledTuringMachineSimulator(UNARY_MULT), metrics)
+        .compute(tape("11x11"), Limits.unlimited());
+
+    Object runs = ManagementFactory.getPlatformMBeanServer().getAttribute(metrics.getObjectName(), "Runs");
+    Object hits = ManagementFactory.getPlatformMBeanServer().getAttribute(metrics.getObjectName(), "TransitionHits");
+
+    assertThat(runs).isEqualTo(1L);
+    assertThat(hits).isNotNull();
+    assertThat(metrics.getTransitionHits()).isNotEmpty().allSatisfy((String key, Long count) ->
+        assertThat(count).isPositive());
+  }
+
+  private static Tape tape(String input) {
+    return TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(input));
+  }
+}
@@ -0,0 +1,158 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.ArrayTape;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.MultiTapeMachine;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MultiTapeSimulatorTest {
+
+  /**
+   * Copies the input to tape 1, rewinds tape 1 and appends it to the input, so the output is the input twice.
+   */
+  private static final List<String> DUPLICATE = List.of(
+      "# Copy the input to tape 1",
+      "(0, '0', '^') -> (0, '0', '0', R, R)",
+      "(0, '1', '^') -> (0, '1', '1', R, R)",
+      "(0, '^', '^') -> (1, '^', '^', 0, L)",
+      "",
+      "# Rewind tape 1",
+      "(1, '^', '0') -> (1, '^', '0', 0, L)",
+      "(1, '^', '1') -> (1, '^', '1', 0, L)",
+      "(1, '^', '^') -> (2, '^', '^', 0, R)",
+      "",
+      "# Append tape 1 to tape 0",
+      "(2,'^','0')->(2,'0','0',R,R)",
+      "(2, '^', '1') -> (2, '1', '1', R, R)",
+      "(2, '^', '^') -> (3, '^', '^', 0, 0)");
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void compute_WithTwoTapeProgram_ReturnsOutputOfTapeZero() throws IOException {
+    MultiTapeSimulator simulator = new MultiTapeSimulator(load(DUPLICATE));
+
+    Output output = simulator.compute(input("0110"), Limits.unlimited());
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo("01100110");
+    assertThat(output.getSteps()).isEqualTo(15);
+  }
+
+  @Test
+  public void compute_WithLongInput_GrowsTapes() throws IOException {
+    MultiTapeSimulator simulator = new MultiTapeSimulator(load(DUPLICATE));
+    String input = "01".repeat(5000);
+
+    Output output = simulator.compute(input(input), Limits.unlimited());
+
+    assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo(input + input);
+  }
+
+  @Test
+  public void compute_WithManyTapes_UsesSparseTableAndMatchesResult() throws IOException {
+    String idle = ", '^'".repeat(12);
+    String idleWrite = ", 0".repeat(12);
+    List<String> program = new ArrayList<>();
+    for (String line : DUPLICATE) {
+      program.add(line.startsWith("(") ? line.replaceFirst("\\) ?->", idle + ") ->")
+          .replaceFirst("\\)$", idleWrite + ")")
+          .replaceFirst("(->.*?'.'.*?'.')", "$1" + idle) : line);
+    }
+
+    MultiTapeMachine machine = load(program);
+    Output output = new MultiTapeSimulator(machine).compute(input("0110"), Limits.unlimited());
+
+    assertThat(machine.getTapeCount()).isEqualTo(14);
+    assertThat((long) machine.getStates().size() * (long) Math.pow(3, 14))
+        .isGreaterThan(MultiTapeSimulator.MAX_DENSE_SLOTS);
+    assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo("01100110");
+    assertThat(output.getSteps()).isEqualTo(15);
+  }
+
+  @Test
+  public void compute_WithLargestKeySpaceThatFits_MatchesResult() throws IOException {
+    Output output = new MultiTapeSimulator(load(markOnTapes(61))).compute(input("1"), Limits.unlimited());
+
+    assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo("1");
+    assertThat(output.getSteps()).isEqualTo(1);
+  }
+
+  @Test
+  public void constructor_WithKeySpaceOverflowingLong_ThrowsException() throws IOException {
+    MultiTapeMachine machine = load(markOnTapes(62));
+
+    assertThatThrownBy(() -> new MultiTapeSimulator(machine))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Cannot index the actions of 2 states and 2 symbols on 62 tapes");
+  }
+
+  @Test
+  public void compute_WithStepLimit_StopsAtLimit() throws IOException {
+    Output output = new MultiTapeSimulator(load(DUPLICATE)).compute(input("0110"), Limits.maxSteps(10));
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.STEP_LIMIT_REACHED);
+    assertThat(output.getSteps()).isEqualTo(10);
+  }
+
+  @Test
+  public void compute_WithUnknownInputSymbol_HaltsAndFails() throws IOException {
+    Output output = new MultiTapeSimulator(load(DUPLICATE)).compute(input("01x"), Limits.unlimited());
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.HALTS_AND_FAILS);
+    assertThat(output.getSteps()).isEqualTo(2);
+  }
+
+  @Test
+  public void readMultiTape_WithInvalidLine_ThrowsException() {
+    assertThatThrownBy(() -> load(List.of("(0, '0', '^') -> (0, '0', '0', R)")))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("Invalid line 1: (0, '0', '^') -> (0, '0', '0', R)");
+  }
+
+  @Test
+  public void readMultiTape_WithDifferentTapeCounts_ThrowsException() {
+    assertThatThrownBy(() -> load(List.of("(0, '0', '^') -> (0, '0', '0', R, R)", "(0, '1') -> (1, '1', R)")))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("Invalid line 2: (0, '1') -> (1, '1', R)");
+  }
+
+  @Test
+  public void readMultiTape_WithEmptyProgram_ThrowsException() {
+    assertThatThrownBy(() -> load(Collections.singletonList("# nothing")))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("Invalid program - no actions");
+  }
+
+  /**
+   * Returns a program of two states and two symbols on the given number of tapes, so its key space is 2^(tapes + 1).
+   */
+  private static List<String> markOnTapes(int tapes) {
+    String idle = ", '^'".repeat(tapes - 1);
+    return List.of("(0, '1'" + idle + ") -> (1, '1'" + idle + ", 0".repeat(tapes) + ")");
+  }
+
+  private MultiTapeMachine load(List<String> lines) throws IOException {
+    Path path = directory.resolve("program.tm");
+    Files.write(path, lines);
+    return new MachineLoader().readMultiTape(path.toString());
+  }
+
+  private static Tape input(String symbols) {
+    return ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(symbols));
+  }
+}
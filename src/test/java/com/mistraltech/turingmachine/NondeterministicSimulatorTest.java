@@ -0,0 +1,147 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.ArrayTape;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.NondeterministicProgram;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NondeterministicSimulatorTest {
+
+  /**
+   * Accepts inputs containing "11" by guessing where the pair starts.
+   */
+  private static final List<String> CONTAINS_ONE_ONE = List.of(
+      "(0, '0') -> (0, '0', R)",
+      "(0, '1') -> (0, '1', R)",
+      "(0, '1') -> (1, '1', R)",
+      "(1, '1') -> (2, '1', 0)");
+
+  /**
+   * Guesses a string of a and b the length of the input, and accepts only the string of all b.
+   */
+  private static final List<String> GUESS_ALL_B = List.of(
+      "(0, '1') -> (0, 'a', R)",
+      "(0, '1') -> (0, 'b', R)",
+      "(0, '^') -> (1, '^', L)",
+      "(1, 'b') -> (1, 'b', L)",
+      "(1, '^') -> (2, '^', R)");
+
+  /**
+   * Two branches that write the same symbol and rejoin, looping forever unless converging branches are pruned.
+   */
+  private static final List<String> CONVERGING_LOOP = List.of(
+      "(0, '^') -> (1, 'x', 0)",
+      "(0, '^') -> (2, 'x', 0)",
+      "(1, 'x') -> (3, '^', 0)",
+      "(2, 'x') -> (3, '^', 0)",
+      "(3, '^') -> (0, '^', 0)",
+      "(1, 'y') -> (4, 'y', 0)");
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void compute_WithAcceptingBranch_ReturnsItsOutputAndDepth() throws IOException {
+    Output output = new NondeterministicSimulator(load(CONTAINS_ONE_ONE)).compute(input("0110"), Limits.unlimited());
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo("0110");
+    assertThat(output.getSteps()).isEqualTo(3);
+  }
+
+  @Test
+  public void compute_WhenEveryBranchHalts_HaltsAndFails() throws IOException {
+    Output output = new NondeterministicSimulator(load(CONTAINS_ONE_ONE)).compute(input("0101"), Limits.unlimited());
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.HALTS_AND_FAILS);
+    assertThat(output.getSteps()).isEqualTo(4);
+  }
+
+  @Test
+  public void compute_WithStepLimit_StopsAtLimit() throws IOException {
+    Output output = new NondeterministicSimulator(load(CONTAINS_ONE_ONE))
+        .compute(input("0000000011"), Limits.maxSteps(3));
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.STEP_LIMIT_REACHED);
+    assertThat(output.getSteps()).isEqualTo(3);
+  }
+
+  @Test
+  public void compute_WithWideSearchOnPool_FindsOnlyAcceptingBranch() throws IOException {
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    try {
+      Output output = new NondeterministicSimulator(load(GUESS_ALL_B)).withPool(pool)
+          .compute(input("1111111111"), Limits.unlimited());
+
+      assertThat(output.succeeded()).isTrue();
+      assertThat(CharSymbolUtils.symbolListToString(output.getOutputString())).isEqualTo("bbbbbbbbbb");
+      assertThat(output.getSteps()).isEqualTo(22);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void compute_WithConvergingBranches_PrunesRevisitedConfigurations() throws IOException {
+    Output output = new NondeterministicSimulator(load(CONVERGING_LOOP)).compute(input(""), Limits.unlimited());
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.HALTS_AND_FAILS);
+    assertThat(output.getSteps()).isEqualTo(2);
+  }
+
+  @Test
+  public void compute_WithDeterministicMachine_MatchesDeterministicSimulator() throws IOException {
+    TuringMachine machine = load(List.of(
+        "(0, '0') -> (0, '0', R)",
+        "(0, '1') -> (1, '1', R)",
+        "(1, '0') -> (0, '0', R)",
+        "(1, '1') -> (2, '1', 0)"));
+    Output expected = new TuringMachineSimulatorImpl(machine).compute(input("0100110"), Limits.unlimited());
+    Output output = new NondeterministicSimulator(machine).compute(input("0100110"), Limits.unlimited());
+
+    assertThat(output.getOutcome()).isEqualTo(expected.getOutcome());
+    assertThat(output.getSteps()).isEqualTo(expected.getSteps());
+    assertThat(output.getOutputString()).isEqualTo(expected.getOutputString());
+  }
+
+  @Test
+  public void readNondeterministic_WithSharedStateAndSymbol_ReturnsNondeterministicProgram() throws IOException {
+    TuringMachine machine = load(CONTAINS_ONE_ONE);
+
+    assertThat(machine.findActions(machine.getInitialState(), CharSymbol.getSymbol('1'))).hasSize(2);
+  }
+
+  @Test
+  public void read_WithSharedStateAndSymbol_ThrowsException() throws IOException {
+    Path path = directory.resolve("program.tm");
+    Files.write(path, CONTAINS_ONE_ONE);
+
+    assertThatThrownBy(() -> new MachineLoader().read(path.toString()))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("state and symbol combination must be unique - multiple actions with state '0' and symbol '1'");
+  }
+
+  private TuringMachine load(List<String> lines) throws IOException {
+    Path path = directory.resolve("program.tm");
+    Files.write(path, lines);
+    return new MachineLoader().readNondeterministic(path.toString());
+  }
+
+  private static Tape input(String symbols) {
+    return ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList(symbols));
+  }
+}
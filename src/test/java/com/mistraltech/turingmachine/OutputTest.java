@@ -3,12 +3,21 @@ package com.mistraltech.turingmachine;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.mistraltech.turingmachine.model.ArrayTape;
 import com.mistraltech.turingmachine.model.CharSymbol;
 import com.mistraltech.turingmachine.model.Configuration;
 import com.mistraltech.turingmachine.model.IntState;
 import com.mistraltech.turingmachine.model.Move;
+import com.mistraltech.turingmachine.model.PackedSymbolList;
 import com.mistraltech.turingmachine.model.Symbol;
 import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +25,7 @@ class OutputTest {
 
   private static final TapeImpl BLANK_TAPE = TapeImpl.create(CharSymbol.BLANK);
   private static final IntState STATE_0 = IntState.getState(0);
+  private static final Symbol SYMBOL_0 = CharSymbol.getSymbol('0');
   private static final Symbol SYMBOL_1 = CharSymbol.getSymbol('1');
 
   @Test
@@ -51,4 +61,80 @@ class OutputTest {
         .isInstanceOf(IllegalStateException.class)
         .hasMessage("No output available");
   }
-}
\ No newline at end of file
+
+  @Test
+  void doesNotHalt_ReturnsOutputWithCycleAndNotHalted() {
+    Output output = Output.doesNotHalt(3, 2, 8);
+
+    assertThat(output.halted()).isFalse();
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.DOES_NOT_HALT);
+    assertThat(output.getOutcome().isLimitReached()).isFalse();
+    assertThat(output.getCycleStart()).isEqualTo(3);
+    assertThat(output.getPeriod()).isEqualTo(2);
+    assertThat(output.getSteps()).isEqualTo(8);
+  }
+
+  @Test
+  void haltsAndFails_ReturnsOutputWhereGetPeriodThrowsException() {
+    Output output = Output.haltsAndFails();
+
+    assertThatThrownBy(output::getPeriod)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("No cycle detected");
+  }
+
+  @Test
+  void writeOutputTo_WithStream_WritesOutputStringAsUtf8() throws IOException {
+    Output output = Output.haltsAndSucceeds(CharSymbolUtils.stringToSymbolList("1x\u00e9"), 3);
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+    output.writeOutputTo(stream);
+
+    assertThat(stream.toString(StandardCharsets.UTF_8)).isEqualTo("1x\u00e9");
+    assertThat(output.getOutputLength()).isEqualTo(4);
+  }
+
+  @Test
+  void writeOutputTo_WithLongPackedOutput_WritesEveryChunk() throws IOException {
+    ArrayTape tape = ArrayTape.create(CharSymbol.BLANK);
+    for (int i = 0; i < 200_000; i++) {
+      tape.apply(i % 2 == 0 ? SYMBOL_1 : SYMBOL_0, Move.RIGHT);
+    }
+    Output output = Output.haltsAndSucceeds(new Configuration(STATE_0, tape), 200_000);
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+    output.writeOutputTo(Channels.newChannel(stream));
+
+    assertThat(output.getOutputString()).isInstanceOf(PackedSymbolList.class);
+    assertThat(stream.toString(StandardCharsets.UTF_8)).isEqualTo("10".repeat(100_000));
+  }
+
+  @Test
+  void writeOutputTo_WithBuffer_WritesFromBufferPosition() {
+    Output output = Output.haltsAndSucceeds(CharSymbolUtils.stringToSymbolList("101"), 3);
+    ByteBuffer buffer = ByteBuffer.allocate(4).put((byte) '>');
+
+    output.writeOutputTo(buffer);
+
+    assertThat(buffer.array()).isEqualTo(">101".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writeOutputTo_WithBufferTooSmall_ThrowsExceptionAndWritesNothing() {
+    Output output = Output.haltsAndSucceeds(CharSymbolUtils.stringToSymbolList("101"), 3);
+    ByteBuffer buffer = ByteBuffer.allocate(2);
+
+    assertThatThrownBy(() -> output.writeOutputTo(buffer))
+        .isInstanceOf(BufferOverflowException.class);
+    assertThat(buffer.position()).isZero();
+  }
+
+  @Test
+  void writeOutputTo_WhenFailed_ThrowsException() {
+    Output output = Output.haltsAndFails();
+
+    assertThatThrownBy(() -> output.writeOutputTo(new ByteArrayOutputStream()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("No output available");
+  }
+}
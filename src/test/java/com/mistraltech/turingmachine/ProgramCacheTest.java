@@ -0,0 +1,168 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProgramCacheTest {
+
+  private static final String PROGRAM = "(0, '1') -> (1, '0', R)\n";
+  private static final String CHANGED_PROGRAM = "(0, '1') -> (1, '1', R)\n";
+
+  @TempDir
+  Path directory;
+
+  private final CountingLoader loader = new CountingLoader();
+
+  @Test
+  public void getMachine_RequestedTwice_LoadsOnce() throws IOException {
+    ProgramCache cache = new ProgramCache(loader, 10);
+    String path = write("a.tm", PROGRAM);
+
+    TuringMachine first = cache.getMachine(path);
+    TuringMachine second = cache.getMachine(path);
+
+    assertThat(second).isSameAs(first);
+    assertThat(loader.reads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void getMachine_AfterFileChanged_Reloads() throws IOException {
+    ProgramCache cache = new ProgramCache(loader, 10);
+    String path = write("a.tm", PROGRAM);
+    TuringMachine first = cache.getMachine(path);
+
+    write("a.tm", CHANGED_PROGRAM);
+    Files.setLastModifiedTime(Path.of(path), FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+    TuringMachine second = cache.getMachine(path);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(loader.reads.get()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void getMachine_FromManyThreads_LoadsOnceAndSharesResult() throws Exception {
+    ProgramCache cache = new ProgramCache(loader, 10);
+    String path = write("a.tm", PROGRAM);
+    loader.delay = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      List<Future<TuringMachine>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> cache.getMachine(path)));
+      }
+      Thread.sleep(100);
+      loader.delay.countDown();
+
+      TuringMachine first = results.get(0).get();
+      for (Future<TuringMachine> result : results) {
+        assertThat(result.get()).isSameAs(first);
+      }
+      assertThat(loader.reads.get()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void getMachine_BeyondMaximumSize_EvictsLeastRecentlyUsed() throws IOException {
+    ProgramCache cache = new ProgramCache(loader, 2);
+    String a = write("a.tm", PROGRAM);
+    String b = write("b.tm", PROGRAM);
+    String c = write("c.tm", PROGRAM);
+
+    cache.getMachine(a);
+    cache.getMachine(b);
+    cache.getMachine(a);
+    cache.getMachine(c);
+    cache.getMachine(a);
+    assertThat(loader.reads.get()).isEqualTo(3);
+
+    cache.getMachine(b);
+    assertThat(loader.reads.get()).isEqualTo(4);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void getMachine_WhenLoadFails_DoesNotCacheFailure() throws IOException {
+    ProgramCache cache = new ProgramCache(loader, 10);
+    String path = write("a.tm", "not a program\n");
+
+    assertThatThrownBy(() -> cache.getMachine(path))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("Invalid line 1: not a program");
+    assertThatThrownBy(() -> cache.getMachine(path))
+        .isInstanceOf(ProgramLoadException.class);
+    assertThat(loader.reads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void getCompiled_WithTextProgram_SharesCachedMachine() throws IOException {
+    ProgramCache cache = new ProgramCache(loader, 10);
+    String path = write("a.tm", PROGRAM);
+
+    cache.getMachine(path);
+    TransitionTable first = cache.getCompiled(path);
+    TransitionTable second = cache.getCompiled(path);
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.getStateCount()).isEqualTo(2);
+    assertThat(loader.reads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void getCompiled_WithBinaryProgram_LoadsBinaryFormat() {
+    ProgramCache cache = new ProgramCache(loader, 10);
+    Path path = directory.resolve("unary_mult" + BinaryProgramFormat.FILE_EXTENSION);
+    TransitionTable table = new ProgramConverter().convert("classpath:unary_mult.tm", path);
+
+    TransitionTable loaded = cache.getCompiled(path.toString());
+
+    assertThat(loaded.getStateCount()).isEqualTo(table.getStateCount());
+    assertThat(cache.getCompiled(path.toString())).isSameAs(loaded);
+    assertThat(loader.reads.get()).isZero();
+  }
+
+  private String write(String name, String content) throws IOException {
+    return Files.writeString(directory.resolve(name), content).toString();
+  }
+
+  private static final class CountingLoader extends MachineLoader {
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private volatile CountDownLatch delay;
+
+    @Override
+    public TuringMachine read(String path) {
+      reads.incrementAndGet();
+
+      if (delay != null) {
+        try {
+          delay.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+
+      return super.read(path);
+    }
+  }
+}
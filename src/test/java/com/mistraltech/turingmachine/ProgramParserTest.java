@@ -0,0 +1,106 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.ProgramLoadException;
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class ProgramParserTest {
+
+  private static final IntStateCharSymbolActionFactory ACTION_FACTORY = new IntStateCharSymbolActionFactory();
+
+  private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+  @Test
+  public void parse_WithValidLines_ReturnsActionsInOrder() {
+    List<Action> actions = parse("# comment\n"
+        + "(0, '1') -> (1, '1', L)\r\n"
+        + "\n"
+        + "  (1,'^')->(2,'=',R)  \n"
+        + "(2,\t'é') -> (12, ''', 0)\r"
+        + "(3, '𝄞') -> (3, ' ', R)");
+
+    assertThat(actions).containsExactly(
+        ACTION_FACTORY.createAction(0, '1', 1, '1', 'L'),
+        ACTION_FACTORY.createAction(1, '^', 2, '=', 'R'),
+        ACTION_FACTORY.createAction(2, 'é', 12, '\'', '0'),
+        ACTION_FACTORY.createAction(3, Character.highSurrogate(0x1D11E), 3, ' ', 'R'));
+  }
+
+  @Test
+  public void parse_WithInvalidLine_ThrowsExceptionWithLineNumber() {
+    assertThatThrownBy(() -> parse("(0, '1') -> (1, '1', L)\n\n(1,  '1') -> (1, '1', L)\n"))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("Invalid line 3: (1,  '1') -> (1, '1', L)");
+  }
+
+  @Test
+  public void parse_WithWhitespaceOnlyLine_ThrowsException() {
+    assertThatThrownBy(() -> parse("(0, '1') -> (1, '1', L)\n   \n"))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("Invalid line 2:    ");
+  }
+
+  @Test
+  public void parse_WithBadMoveOrNumber_ThrowsException() {
+    assertThatThrownBy(() -> parse("(0, '1') -> (1, '1', X)"))
+        .isInstanceOf(ProgramLoadException.class);
+    assertThatThrownBy(() -> parse("(99999999999, '1') -> (1, '1', L)"))
+        .isInstanceOf(ProgramLoadException.class);
+  }
+
+  @Test
+  public void parse_WithRepeatedIdenticalAction_KeepsOne() {
+    List<Action> actions = parse("(0, '1') -> (1, '1', L)\n(0, '1') -> (1, '1', L)\n");
+
+    assertThat(actions).hasSize(1);
+  }
+
+  @Test
+  public void parse_WithConflictingActions_ThrowsException() {
+    assertThatThrownBy(() -> parse("(0, '1') -> (1, '1', L)\n(0, '1') -> (2, '1', L)\n"))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessage("state and symbol combination must be unique - multiple actions with state '0' and symbol '1'");
+  }
+
+  @Test
+  public void parse_WithLargeProgram_ParsesChunksInOrder() {
+    StringBuilder program = new StringBuilder();
+    int count = 100_000;
+    for (int i = 0; i < count; i++) {
+      program.append('(').append(i).append(", '1') -> (").append(i + 1).append(", '1', R)\n");
+    }
+    assertThat(program.length()).isGreaterThan(4 * ProgramParser.MIN_CHUNK_SIZE);
+
+    List<Action> actions = parse(program.toString());
+
+    assertThat(actions).hasSize(count);
+    for (int i = 0; i < count; i += 997) {
+      assertThat(actions.get(i)).isEqualTo(ACTION_FACTORY.createAction(i, '1', i + 1, '1', 'R'));
+    }
+  }
+
+  @Test
+  public void parse_WithConflictInLaterChunk_ThrowsException() {
+    StringBuilder program = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      program.append('(').append(i).append(", '1') -> (").append(i + 1).append(", '1', R)\n");
+    }
+    program.append("(5, '1') -> (5, '1', L)\n");
+
+    assertThatThrownBy(() -> parse(program.toString()))
+        .isInstanceOf(ProgramLoadException.class)
+        .hasMessageContaining("state '5' and symbol '1'");
+  }
+
+  private static List<Action> parse(String program) {
+    return ProgramParser.parse(ByteBuffer.wrap(program.getBytes(StandardCharsets.UTF_8)), POOL);
+  }
+}
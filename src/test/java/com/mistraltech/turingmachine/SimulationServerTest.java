@@ -0,0 +1,169 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mistraltech.turingmachine.model.ArrayTape;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SimulationServerTest {
+
+  private static final String PROGRAM = "(0, '1') -> (0, '0', R)\n(0, '^') -> (1, '^', L)\n";
+  private static final String LOOP = "(0, '^') -> (0, '1', R)\n(0, '1') -> (1, '1', 0)\n";
+
+  @TempDir
+  Path directory;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private SimulationServer server;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    Path programRoot = Files.createDirectory(directory.resolve("programs"));
+    try (InputStream program = getClass().getResourceAsStream("/unary_mult.tm")) {
+      Files.copy(program, programRoot.resolve("unary_mult.tm"));
+    }
+    Files.writeString(directory.resolve("secret.txt"), "secret\n");
+
+    server = SimulationServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), new ProgramCache(),
+        programRoot, Limits.maxSteps(10_000));
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.close();
+  }
+
+  @Test
+  public void simulate_WithProgramPathAndInputs_ReturnsJsonPerInput() throws Exception {
+    HttpResponse<String> response = post("program=unary_mult.tm&input=11x111&input=1x1", "");
+
+    String expected = CharSymbolUtils.symbolListToString(new CompiledTuringMachineSimulator(
+        new MachineLoader().read("classpath:unary_mult.tm"))
+        .compute(ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("11x111")), Limits.unlimited())
+        .getOutputString());
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue("Content-Type")).contains("application/json; charset=utf-8");
+    assertThat(response.body()).startsWith("[{\"outcome\":\"HALTS_AND_SUCCEEDS\",\"steps\":")
+        .contains("\"output\":\"" + expected + "\"}")
+        .contains("},{\"outcome\":\"HALTS_AND_SUCCEEDS\"");
+  }
+
+  @Test
+  public void simulate_WithProgramBody_RunsInlineProgram() throws Exception {
+    HttpResponse<String> response = post("input=111", PROGRAM);
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.body()).isEqualTo("[{\"outcome\":\"HALTS_AND_SUCCEEDS\",\"steps\":4,\"output\":\"000\"}]");
+  }
+
+  @Test
+  public void simulate_WithRawFormat_StreamsOutputBody() throws Exception {
+    HttpResponse<String> response = post("input=111&format=raw", PROGRAM);
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue("X-Outcome")).contains("HALTS_AND_SUCCEEDS");
+    assertThat(response.headers().firstValue("X-Steps")).contains("4");
+    assertThat(response.body()).isEqualTo("000");
+  }
+
+  @Test
+  public void simulate_WithProgramPathOutsideRoot_ReturnsBadRequest() throws Exception {
+    for (String path : new String[] {"../secret.txt", directory.resolve("secret.txt").toString(), "/etc/passwd"}) {
+      HttpResponse<String> response = post("program=" + path + "&input=1", "");
+
+      assertThat(response.statusCode()).isEqualTo(400);
+      assertThat(response.body()).isEqualTo("{\"error\":\"program must be a path inside the program root\"}");
+    }
+  }
+
+  @Test
+  public void simulate_WithProgramPathAndNoProgramRoot_ReturnsBadRequest() throws Exception {
+    server.close();
+    server = SimulationServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), new ProgramCache(),
+        Limits.maxSteps(10_000));
+
+    HttpResponse<String> response = post("program=unary_mult.tm&input=1", "");
+
+    assertThat(response.statusCode()).isEqualTo(400);
+    assertThat(response.body()).isEqualTo("{\"error\":\"program paths are not accepted by this server\"}");
+  }
+
+  @Test
+  public void simulate_WithStepBudgetAboveServerLimit_IsCappedAtServerLimit() throws Exception {
+    HttpResponse<String> response = post("input=&maxSteps=1000000", LOOP);
+
+    assertThat(response.body()).isEqualTo("[{\"outcome\":\"STEP_LIMIT_REACHED\",\"steps\":10000}]");
+  }
+
+  @Test
+  public void simulate_WithSmallerStepBudget_UsesRequestBudget() throws Exception {
+    HttpResponse<String> response = post("input=111&maxSteps=2", PROGRAM);
+
+    assertThat(response.body()).isEqualTo("[{\"outcome\":\"STEP_LIMIT_REACHED\",\"steps\":2}]");
+  }
+
+  @Test
+  public void simulate_WithRepeatedInputs_SharesBudgetAcrossInputs() throws Exception {
+    HttpResponse<String> response = post("input=&input=&input=", LOOP);
+
+    assertThat(response.body()).isEqualTo("[{\"outcome\":\"STEP_LIMIT_REACHED\",\"steps\":10000},"
+        + "{\"outcome\":\"STEP_LIMIT_REACHED\",\"steps\":0},{\"outcome\":\"STEP_LIMIT_REACHED\",\"steps\":0}]");
+  }
+
+  @Test
+  public void simulate_WithTooManyInputs_ReturnsBadRequest() throws Exception {
+    HttpResponse<String> response =
+        post(String.join("&", Collections.nCopies(SimulationServer.MAX_INPUTS + 1, "input=1")), PROGRAM);
+
+    assertThat(response.statusCode()).isEqualTo(400);
+    assertThat(response.body()).isEqualTo("{\"error\":\"At most 100 inputs are allowed\"}");
+  }
+
+  @Test
+  public void simulate_WithOversizedBody_ReturnsPayloadTooLarge() throws Exception {
+    HttpResponse<String> response = post("input=1", PROGRAM + " ".repeat(SimulationServer.MAX_BODY_SIZE));
+
+    assertThat(response.statusCode()).isEqualTo(413);
+    assertThat(response.body()).isEqualTo("{\"error\":\"Request body is too large\"}");
+  }
+
+  @Test
+  public void simulate_WithInvalidProgram_ReturnsBadRequestWithoutEchoingProgram() throws Exception {
+    HttpResponse<String> response = post("input=1", "(0, '1') -> nowhere\n");
+
+    assertThat(response.statusCode()).isEqualTo(400);
+    assertThat(response.body()).isEqualTo("{\"error\":\"Invalid program or input\"}");
+  }
+
+  @Test
+  public void simulate_WithoutInput_ReturnsBadRequest() throws Exception {
+    HttpResponse<String> response = post("program=unary_mult.tm", "");
+
+    assertThat(response.statusCode()).isEqualTo(400);
+    assertThat(response.body()).isEqualTo("{\"error\":\"At least one input is required\"}");
+  }
+
+  private HttpResponse<String> post(String query, String body) throws IOException, InterruptedException {
+    InetSocketAddress address = server.getAddress();
+    URI uri = URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/simulate?" + query);
+    HttpRequest request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
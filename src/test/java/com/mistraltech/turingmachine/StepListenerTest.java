@@ -0,0 +1,131 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.model.Action;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.State;
+import com.mistraltech.turingmachine.model.Symbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class StepListenerTest {
+
+  private static final TuringMachine UNARY_MULT = new MachineLoader().read("classpath:unary_mult.tm");
+
+  private static final Tape INPUT =
+      TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("1111111x11111111"));
+
+  @Test
+  public void compute_WithListener_DeliversEveryStepInOrder() {
+    Recorder recorder = new Recorder();
+
+    Output output = new CompiledTuringMachineSimulator(UNARY_MULT).compute(INPUT, Limits.unlimited(), recorder);
+
+    assertThat(output.getSteps()).isGreaterThan(StepBatch.DEFAULT_CAPACITY);
+    assertThat(recorder.steps).hasSize((int) output.getSteps());
+    for (int i = 0; i < recorder.steps.size(); i++) {
+      assertThat(recorder.steps.get(i)).isEqualTo(i);
+    }
+    assertThat(recorder.halted).containsExactly(output);
+    assertThat(recorder.limited).isEmpty();
+  }
+
+  @Test
+  public void compute_WithListener_DeliversSameStepsFromEverySimulator() {
+    Recorder expected = new Recorder();
+    new TuringMachineSimulatorImpl(UNARY_MULT).compute(INPUT, Limits.unlimited(), expected);
+
+    List<TuringMachineSimulator> simulators = List.of(new CompiledTuringMachineSimulator(UNARY_MULT),
+        new BytecodeTuringMachineSimulator(UNARY_MULT), new ChainStepSimulator(UNARY_MULT),
+        new MacroMachineSimulator(UNARY_MULT, 2));
+
+    for (TuringMachineSimulator simulator : simulators) {
+      Recorder recorder = new Recorder();
+      simulator.compute(INPUT, Limits.unlimited(), recorder);
+
+      assertThat(recorder.actions).isEqualTo(expected.actions);
+      assertThat(recorder.headPositions).isEqualTo(expected.headPositions);
+    }
+  }
+
+  @Test
+  public void compute_WithListenerAndStepLimit_DeliversStepsThenLimit() {
+    Recorder recorder = new Recorder();
+
+    Output output = new TuringMachineSimulatorImpl(UNARY_MULT).compute(INPUT, Limits.maxSteps(10), recorder);
+
+    assertThat(recorder.steps).hasSize(10);
+    assertThat(recorder.limited).containsExactly(output);
+    assertThat(recorder.halted).isEmpty();
+  }
+
+  @Test
+  public void onSteps_WithBatchOverride_ReceivesSlots() {
+    long[] count = new long[1];
+    StepListener listener = new StepListener() {
+      @Override
+      public void onSteps(StepBatch batch) {
+        assertThat(batch.hasSlots()).isTrue();
+        count[0] += batch.size();
+      }
+    };
+
+    Output output = new CompiledTuringMachineSimulator(UNARY_MULT).compute(INPUT, Limits.unlimited(), listener);
+
+    assertThat(count[0]).isEqualTo(output.getSteps());
+  }
+
+  @Test
+  public void compute_WithUnsupportedSimulator_ThrowsException() {
+    TuringMachineSimulator simulator = new TuringMachineSimulator() {
+      @Override
+      public Output compute(Tape input) {
+        return Output.haltsAndFails();
+      }
+
+      @Override
+      public Output compute(Tape input, Limits limits) {
+        return Output.haltsAndFails();
+      }
+    };
+
+    assertThatThrownBy(() -> simulator.compute(INPUT, Limits.unlimited(), new Recorder()))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private static final class Recorder implements StepListener {
+
+    private final List<Long> steps = new ArrayList<>();
+    private final List<Action> actions = new ArrayList<>();
+    private final List<Integer> headPositions = new ArrayList<>();
+    private final List<Output> halted = new ArrayList<>();
+    private final List<Output> limited = new ArrayList<>();
+
+    @Override
+    public void onStep(long step, State state, Symbol symbol, Action action, int headPosition) {
+      assertThat(action.getState()).isEqualTo(state);
+      assertThat(action.getSymbol()).isEqualTo(symbol);
+
+      steps.add(step);
+      actions.add(action);
+      headPositions.add(headPosition);
+    }
+
+    @Override
+    public void onHalt(Output output) {
+      halted.add(output);
+    }
+
+    @Override
+    public void onLimit(Output output) {
+      limited.add(output);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.TapeLoadException;
+import com.mistraltech.turingmachine.model.ArrayTape;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TuringMachine;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TapeReaderTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void read_WithTrailingLineBreak_IgnoresLineBreak() throws IOException {
+    Path path = directory.resolve("input.txt");
+    Files.writeString(path, "111x11\r\n");
+
+    Tape tape = new TapeReader().read(path);
+
+    assertThat(CharSymbolUtils.symbolListToString(tape.getOutputString())).isEqualTo("111x11");
+    assertThat(tape.getRightBound()).isEqualTo(7);
+  }
+
+  @Test
+  public void read_WithMissingFile_ThrowsException() {
+    assertThatThrownBy(() -> new TapeReader().read(directory.resolve("missing.txt")))
+        .isInstanceOf(TapeLoadException.class)
+        .hasMessageStartingWith("Failed to read tape from ");
+  }
+
+  @Test
+  public void read_WithProgramInput_ComputesSameAsArrayTape() throws IOException {
+    Path path = directory.resolve("input.txt");
+    Files.writeString(path, "111x11\n");
+    TuringMachine tm = new MachineLoader().read("classpath:unary_mult.tm");
+    Tape expectedInput = ArrayTape.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("111x11"));
+
+    Output interpreted = new TuringMachineSimulatorImpl(tm).compute(new TapeReader().read(path));
+    Output compiled = new CompiledTuringMachineSimulator(tm).compute(new TapeReader().read(path), Limits.unlimited());
+
+    Output expected = new TuringMachineSimulatorImpl(tm).compute(expectedInput);
+    assertThat(interpreted.getOutputString()).isEqualTo(expected.getOutputString());
+    assertThat(compiled.getOutputString()).isEqualTo(expected.getOutputString());
+    assertThat(compiled.getSteps()).isEqualTo(expected.getSteps());
+  }
+}
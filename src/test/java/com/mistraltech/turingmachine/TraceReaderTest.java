@@ -0,0 +1,111 @@
+package com.mistraltech.turingmachine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.exceptions.CheckpointException;
+import com.mistraltech.turingmachine.exceptions.TraceException;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.Configuration;
+import com.mistraltech.turingmachine.model.Tape;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import com.mistraltech.turingmachine.model.TransitionTable;
+import com.mistraltech.utils.CharSymbolUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TraceReaderTest {
+
+  private static final TransitionTable UNARY_MULT =
+      TransitionTable.compile(new MachineLoader().read("classpath:unary_mult.tm"));
+
+  private static final Tape INPUT = TapeImpl.create(CharSymbol.BLANK, CharSymbolUtils.stringToSymbolList("111x1111"));
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void getConfiguration_WithAllSteps_ReturnsHaltingConfiguration() {
+    Output output = new CompiledTuringMachineSimulator(UNARY_MULT).computeTraced(INPUT, Limits.unlimited(), directory);
+
+    TraceReader reader = TraceReader.open(directory, UNARY_MULT);
+    Configuration halting = reader.getConfiguration(reader.getSteps());
+
+    assertThat(reader.getSteps()).isEqualTo(output.getSteps());
+    assertThat(UNARY_MULT.isFinalState(UNARY_MULT.indexOf(halting.getState()))).isTrue();
+    assertThat(halting.getTape().getOutputString()).isEqualTo(output.getOutputString());
+  }
+
+  @Test
+  public void getConfiguration_WithMiddleStep_ResumesToSameOutput() {
+    CompiledTuringMachineSimulator simulator = new CompiledTuringMachineSimulator(UNARY_MULT);
+    Output output = simulator.computeTraced(INPUT, Limits.unlimited(), directory);
+
+    TraceReader reader = TraceReader.open(directory, UNARY_MULT);
+    long middle = reader.getSteps() / 2;
+    Output resumed =
+        simulator.resume(Checkpoint.of(UNARY_MULT, INPUT, reader.getConfiguration(middle), middle), Limits.unlimited());
+
+    assertThat(resumed.getOutputString()).isEqualTo(output.getOutputString());
+    assertThat(resumed.getSteps()).isEqualTo(output.getSteps());
+  }
+
+  @Test
+  public void getConfiguration_WithManySegments_ReplaysAcrossSegments() {
+    new CompiledTuringMachineSimulator(UNARY_MULT).computeTraced(INPUT, Limits.unlimited(), directory);
+    TraceReader reader = TraceReader.open(directory, UNARY_MULT);
+
+    Path copy = directory.resolve("copy");
+    try (TraceWriter writer = TraceWriter.create(copy, UNARY_MULT, reader.getInitialConfiguration(), 5)) {
+      for (long step = 0; step < reader.getSteps(); step++) {
+        writer.record(reader.getSlot(step));
+      }
+    }
+    TraceReader copyReader = TraceReader.open(copy, UNARY_MULT);
+
+    assertThat(copyReader.getSteps()).isEqualTo(reader.getSteps());
+    assertThat(copyReader.getConfiguration(copyReader.getSteps()).getTape().getOutputString())
+        .isEqualTo(reader.getConfiguration(reader.getSteps()).getTape().getOutputString());
+  }
+
+  @Test
+  public void getAction_WithFirstStep_ReturnsInitialAction() {
+    new CompiledTuringMachineSimulator(UNARY_MULT).computeTraced(INPUT, Limits.unlimited(), directory);
+
+    TraceReader reader = TraceReader.open(directory, UNARY_MULT);
+
+    assertThat(reader.getAction(0).getState()).isEqualTo(reader.getInitialConfiguration().getState());
+  }
+
+  @Test
+  public void open_WithNoTrace_ThrowsException() {
+    assertThatThrownBy(() -> TraceReader.open(directory, UNARY_MULT))
+        .isInstanceOf(TraceException.class)
+        .hasMessageStartingWith("No completed trace in ");
+  }
+
+  @Test
+  public void open_WithDifferentProgram_ThrowsException() {
+    new CompiledTuringMachineSimulator(UNARY_MULT).computeTraced(INPUT, Limits.unlimited(), directory);
+    TransitionTable other = TransitionTable.compile(new MachineLoader().read("classpath:head.tm"));
+
+    assertThatThrownBy(() -> TraceReader.open(directory, other))
+        .isInstanceOf(CheckpointException.class);
+  }
+
+  @Test
+  public void record_WithSegmentsFilled_WritesSegmentFiles() throws Exception {
+    try (TraceWriter writer = TraceWriter.create(directory, UNARY_MULT,
+        new Configuration(UNARY_MULT.getState(UNARY_MULT.getInitialState()), INPUT), 4)) {
+      for (int i = 0; i < 10; i++) {
+        writer.record(0);
+      }
+    }
+
+    assertThat(Files.size(directory.resolve("segment-000000.bin"))).isEqualTo(4);
+    assertThat(Files.size(directory.resolve("segment-000002.bin"))).isEqualTo(2);
+    assertThat(TraceReader.open(directory, UNARY_MULT).getSteps()).isEqualTo(10);
+  }
+}
@@ -4,15 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.mistraltech.turingmachine.exceptions.DidNotHaltException;
+import com.mistraltech.turingmachine.model.ArrayTape;
 import com.mistraltech.turingmachine.model.CharSymbol;
 import com.mistraltech.turingmachine.model.IntState;
 import com.mistraltech.turingmachine.model.Program;
+import com.mistraltech.turingmachine.model.Symbol;
 import com.mistraltech.turingmachine.model.Tape;
 import com.mistraltech.turingmachine.model.TapeImpl;
 import com.mistraltech.turingmachine.model.TuringMachine;
 import com.mistraltech.turingmachine.model.builder.ProgramBuilder;
 import com.mistraltech.turingmachine.model.builder.TuringMachineBuilder;
 import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -191,4 +195,106 @@ class TuringMachineSimulatorImplTest {
 
     assertThat(output.succeeded()).isTrue();
   }
-}
\ No newline at end of file
+
+  @Test
+  public void compute_WithMutableTapeAndLongRun_HaltsAndSucceeds() {
+    Program sweep = ProgramBuilder.aProgram()
+        .withActions(Set.of(
+            actionFactory.createAction(0, '1', 0, '1', 'R'),
+            actionFactory.createAction(0, '^', 1, '^', '0')))
+        .build();
+
+    TuringMachine tm = TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(STATE_0, STATE_1))
+        .withFinalStates(Set.of(STATE_1))
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK, SYMBOL_1))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of(SYMBOL_1))
+        .withProgram(sweep)
+        .build();
+
+    List<Symbol> ones = Collections.nCopies(1_000_000, SYMBOL_1);
+
+    Output output = new TuringMachineSimulatorImpl(tm).compute(ArrayTape.create(CharSymbol.BLANK, ones), 2_000_000);
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getOutputString()).hasSize(1_000_000);
+  }
+
+  @Test
+  public void compute_WithLimitsAndHaltingProgram_ReportsStepsRun() {
+    TuringMachine tm = TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(STATE_0, STATE_1, STATE_2, STATE_3, STATE_4))
+        .withFinalStates(Set.of(STATE_4))
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of())
+        .withProgram(FOUR_ONES)
+        .build();
+
+    Output output = new TuringMachineSimulatorImpl(tm).compute(BLANK_TAPE, Limits.maxSteps(4));
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getSteps()).isEqualTo(4);
+  }
+
+  @Test
+  public void compute_WithStepLimitBelowHaltingStep_ReturnsStepLimitReached() {
+    TuringMachine tm = TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(STATE_0, STATE_1, STATE_2, STATE_3, STATE_4))
+        .withFinalStates(Set.of(STATE_4))
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of())
+        .withProgram(FOUR_ONES)
+        .build();
+
+    Output output = new TuringMachineSimulatorImpl(tm).compute(BLANK_TAPE, Limits.maxSteps(3));
+
+    assertThat(output.halted()).isFalse();
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.STEP_LIMIT_REACHED);
+    assertThat(output.getSteps()).isEqualTo(3);
+  }
+
+  @Test
+  public void compute_WithLoopingProgramAndStepBudgetBeyondIntRange_StopsOnTimeout() {
+    TuringMachine tm = TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(STATE_0, STATE_1, STATE_2, STATE_3, STATE_4))
+        .withFinalStates(Set.of())
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of())
+        .withProgram(LOOPER)
+        .build();
+
+    Limits limits = Limits.maxSteps(10_000_000_000L)
+        .withTimeout(Duration.ofMillis(50))
+        .withCheckInterval(1000);
+
+    Output output = new TuringMachineSimulatorImpl(tm).compute(BLANK_TAPE, limits);
+
+    assertThat(output.getOutcome()).isEqualTo(Output.Outcome.TIME_LIMIT_REACHED);
+    assertThat(output.getSteps()).isPositive().isLessThan(10_000_000_000L);
+  }
+
+  @Test
+  public void compute_WithLoopingProgramAndLongMaxIterations_ThrowsDidNotHaltException() {
+    TuringMachine tm = TuringMachineBuilder.aTuringMachine()
+        .withStates(Set.of(STATE_0, STATE_1, STATE_2, STATE_3, STATE_4))
+        .withFinalStates(Set.of())
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of())
+        .withProgram(LOOPER)
+        .build();
+
+    assertThatThrownBy(() -> new TuringMachineSimulatorImpl(tm).compute(BLANK_TAPE, 100_000L))
+        .isInstanceOf(DidNotHaltException.class)
+        .hasMessage("Machine did not halt within 100000 steps");
+  }
+}
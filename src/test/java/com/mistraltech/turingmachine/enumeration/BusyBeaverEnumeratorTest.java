@@ -0,0 +1,83 @@
+package com.mistraltech.turingmachine.enumeration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.Limits;
+import com.mistraltech.turingmachine.Output;
+import com.mistraltech.turingmachine.TuringMachineSimulatorImpl;
+import com.mistraltech.turingmachine.enumeration.EnumeratedMachine.Classification;
+import com.mistraltech.turingmachine.model.CharSymbol;
+import com.mistraltech.turingmachine.model.TapeImpl;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class BusyBeaverEnumeratorTest {
+
+  @Test
+  public void construct_WithTooManySymbols_ThrowsException() {
+    assertThatThrownBy(() -> new BusyBeaverEnumerator(2, 11))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("symbolCount must be between 2 and 10");
+  }
+
+  @Test
+  public void enumerate_WithOneStateTwoSymbols_FindsOneStepChampion() {
+    EnumerationResult result = new BusyBeaverEnumerator(1, 2).enumerate();
+
+    assertThat(result.getMaxSteps()).isEqualTo(1);
+    assertThat(result.getMachineCount()).isEqualTo(result.getHaltingCount() + result.getNonHaltingCount()
+        + result.getUndecidedCount());
+  }
+
+  @Test
+  public void enumerate_WithTwoStatesTwoSymbols_FindsBusyBeaverStepCountOfSix() {
+    EnumerationResult result = new BusyBeaverEnumerator(2, 2).enumerate();
+
+    assertThat(result.getMaxSteps()).isEqualTo(6);
+    assertThat(result.getHaltingCount()).isPositive();
+    assertThat(result.getNonHaltingCount()).isPositive();
+  }
+
+  @Test
+  public void enumerate_WithThreeStatesTwoSymbols_FindsBusyBeaverStepCountOfTwentyOne() {
+    EnumerationResult result = new BusyBeaverEnumerator(3, 2).withPool(new ForkJoinPool(4)).enumerate();
+
+    assertThat(result.getMaxSteps()).isEqualTo(21);
+  }
+
+  @Test
+  public void enumerate_WithChampion_HaltsInTheSameStepsWhenSimulated() {
+    EnumeratedMachine champion = new BusyBeaverEnumerator(2, 3).enumerate().getChampion().orElseThrow();
+
+    Output output = new TuringMachineSimulatorImpl(champion.toTuringMachine())
+        .compute(TapeImpl.create(CharSymbol.BLANK), Limits.unlimited());
+
+    assertThat(output.succeeded()).isTrue();
+    assertThat(output.getSteps()).isEqualTo(champion.getSteps());
+  }
+
+  @Test
+  public void enumerate_WithConsumer_ReceivesEveryClassifiedMachine() {
+    List<EnumeratedMachine> machines = new CopyOnWriteArrayList<>();
+
+    EnumerationResult result = new BusyBeaverEnumerator(2, 2).withStepLimit(100).enumerate(machines::add);
+
+    assertThat(machines).hasSize((int) result.getMachineCount());
+    assertThat(machines).filteredOn(machine -> machine.getClassification() == Classification.HALTING)
+        .hasSize((int) result.getHaltingCount());
+  }
+
+  @Test
+  public void enumerate_WithRepeatingMachines_ClassifiesThemWithoutRunningToStepLimit() {
+    List<EnumeratedMachine> machines = new CopyOnWriteArrayList<>();
+
+    new BusyBeaverEnumerator(2, 2).withStepLimit(1000).enumerate(machines::add);
+
+    assertThat(machines).filteredOn(machine -> machine.getClassification() == Classification.NON_HALTING)
+        .isNotEmpty()
+        .allSatisfy(machine -> assertThat(machine.getSteps()).isLessThan(1000));
+  }
+}
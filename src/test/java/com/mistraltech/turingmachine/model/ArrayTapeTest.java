@@ -0,0 +1,150 @@
+package com.mistraltech.turingmachine.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ArrayTapeTest {
+
+  private static final Symbol SYMBOL_BLANK = CharSymbol.BLANK;
+  private static final Symbol SYMBOL_0 = CharSymbol.getSymbol('0');
+  private static final Symbol SYMBOL_1 = CharSymbol.getSymbol('1');
+  private static final Symbol SYMBOL_2 = CharSymbol.getSymbol('2');
+  private static final Symbol SYMBOL_3 = CharSymbol.getSymbol('3');
+  private static final Symbol SYMBOL_4 = CharSymbol.getSymbol('4');
+
+  @Test
+  void create_WithGivenBlankSymbol_CreatesEmptyTape() {
+    ArrayTape tape = ArrayTape.create(CharSymbol.BLANK);
+
+    assertThat(tape.getString(1, 2)).isEqualTo(List.of(SYMBOL_BLANK));
+    assertThat(tape.getHeadPosition()).isEqualTo(1);
+  }
+
+  @Test
+  void create_WithNullBlankSymbol_ThrowsException() {
+    assertThatThrownBy(() -> ArrayTape.create(null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("blankSymbol cannot be null");
+  }
+
+  @Test
+  void create_WithInitialSymbols_PlacesThemFromPositionOne() {
+    ArrayTape tape = ArrayTape.create(CharSymbol.BLANK, List.of(SYMBOL_0, SYMBOL_1));
+
+    assertThat(tape.getString(0, 4)).isEqualTo(List.of(SYMBOL_BLANK, SYMBOL_0, SYMBOL_1, SYMBOL_BLANK));
+    assertThat(tape.getCurrentSymbol()).isEqualTo(SYMBOL_0);
+  }
+
+  @Test
+  void apply_WithNewSymbol_UpdatesTapeInPlace() {
+    ArrayTape tape = ArrayTape.create(CharSymbol.BLANK);
+
+    ArrayTape updatedTape = tape.apply(SYMBOL_0, Move.NONE);
+
+    assertThat(updatedTape).isSameAs(tape);
+    assertThat(tape.getCurrentSymbol()).isEqualTo(SYMBOL_0);
+  }
+
+  @Test
+  void apply_MovingFarLeftAndRight_GrowsTapeAtBothEnds() {
+    ArrayTape tape = ArrayTape.create(CharSymbol.BLANK);
+
+    for (int i = 0; i < 100; i++) {
+      tape.apply(SYMBOL_1, Move.LEFT);
+    }
+    for (int i = 0; i < 300; i++) {
+      tape.apply(SYMBOL_2, Move.RIGHT);
+    }
+
+    assertThat(tape.getHeadPosition()).isEqualTo(201);
+    assertThat(tape.getLeftBound()).isEqualTo(-99);
+    assertThat(tape.getRightBound()).isEqualTo(201);
+    assertThat(tape.getString(-100, -98)).isEqualTo(List.of(SYMBOL_BLANK, SYMBOL_2));
+    assertThat(tape.getOutputString()).isEqualTo(Collections.nCopies(200, SYMBOL_2));
+  }
+
+  @Test
+  void getString_WithFromGreaterThanTo_ThrowsException() {
+    ArrayTape tape = ArrayTape.create(SYMBOL_BLANK);
+
+    assertThatThrownBy(() -> tape.getString(4, 3))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("to cannot be less than from");
+  }
+
+  @Test
+  void getString_WithPopulatedLeftAndRightStrings_ReturnsString() {
+    ArrayTape tape = ArrayTape.create(CharSymbol.BLANK);
+
+    tape.apply(SYMBOL_0, Move.RIGHT)
+        .apply(SYMBOL_0, Move.RIGHT)
+        .apply(SYMBOL_0, Move.LEFT)
+        .apply(SYMBOL_1, Move.LEFT)
+        .apply(SYMBOL_2, Move.LEFT)
+        .apply(SYMBOL_3, Move.LEFT)
+        .apply(SYMBOL_4, Move.NONE);
+
+    List<Symbol> string = tape.getString(-2, 5);
+
+    assertThat(string).isEqualTo(List.of(SYMBOL_BLANK, SYMBOL_4, SYMBOL_3, SYMBOL_2, SYMBOL_1, SYMBOL_0, SYMBOL_BLANK));
+  }
+
+  @Test
+  void getOutputString_WithOutputToRightOfHead_ReturnsOnlySymbolsFromPositionOne() {
+    ArrayTape tape = ArrayTape.create(CharSymbol.BLANK);
+
+    tape.apply(SYMBOL_0, Move.RIGHT)
+        .apply(SYMBOL_0, Move.RIGHT)
+        .apply(SYMBOL_BLANK, Move.LEFT)
+        .apply(SYMBOL_1, Move.LEFT)
+        .apply(SYMBOL_2, Move.LEFT)
+        .apply(SYMBOL_3, Move.LEFT)
+        .apply(SYMBOL_4, Move.LEFT);
+
+    assertThat(tape.getOutputString()).isEqualTo(List.of(SYMBOL_2, SYMBOL_1));
+  }
+
+  @Test
+  void getOutputString_WithSymbolsWrittenRightOfPositionOne_ReturnsEmptyList() {
+    ArrayTape tape = ArrayTape.create(SYMBOL_BLANK, List.of(SYMBOL_1, SYMBOL_2), 100, 100);
+
+    // Write leftwards from position 100 down to 93, which is still inside the array
+    for (int i = 0; i < 7; i++) {
+      tape.apply(SYMBOL_0, Move.LEFT);
+    }
+    tape.apply(SYMBOL_0, Move.NONE);
+
+    assertThat(tape.getOutputString()).isEmpty();
+    assertThat(tape.getString(92, 95)).isEqualTo(List.of(SYMBOL_BLANK, SYMBOL_0, SYMBOL_0));
+  }
+
+  @Test
+  void copyOf_WithTapeImpl_CopiesContentAndHeadPosition() {
+    TapeImpl source = TapeImpl.create(CharSymbol.BLANK, List.of(SYMBOL_0, SYMBOL_1))
+        .apply(SYMBOL_2, Move.LEFT)
+        .apply(SYMBOL_3, Move.LEFT);
+
+    ArrayTape copy = ArrayTape.copyOf(CharSymbol.BLANK, source);
+
+    assertThat(copy.getHeadPosition()).isEqualTo(source.getHeadPosition());
+    assertThat(copy.getString(-3, 4)).isEqualTo(source.getString(-3, 4));
+    assertThat(copy.getOutputString()).isEqualTo(source.getOutputString());
+  }
+
+  @Test
+  void getContentHash_AfterWritesAndMoves_MatchesTapeWithSameContent() {
+    ArrayTape tape = ArrayTape.create(SYMBOL_BLANK, List.of(SYMBOL_0, SYMBOL_1));
+    tape.apply(SYMBOL_2, Move.LEFT);
+    long firstHash = tape.getContentHash();
+    tape.apply(SYMBOL_BLANK, Move.LEFT).apply(SYMBOL_1, Move.RIGHT);
+
+    assertThat(firstHash).isEqualTo(ArrayTape.create(SYMBOL_BLANK, List.of(SYMBOL_2, SYMBOL_1)).getContentHash());
+    assertThat(tape.getContentHash())
+        .isEqualTo(ArrayTape.create(SYMBOL_BLANK, List.of(SYMBOL_1, SYMBOL_BLANK, SYMBOL_2, SYMBOL_1), -1, 0)
+            .getContentHash());
+  }
+}
@@ -3,6 +3,9 @@ package com.mistraltech.turingmachine.model;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class CharSymbolTest {
@@ -65,4 +68,22 @@ class CharSymbolTest {
   void compareTo_SameValuedInstance_ReturnsZero() {
     assertThat(aSymbol.compareTo(CharSymbol.getSymbol('a'))).isEqualTo(0);
   }
-}
\ No newline at end of file
+
+  @Test
+  void getId_WithDifferentSymbols_ReturnsDistinctStableIds() {
+    CharSymbol wide = CharSymbol.getSymbol('\u2603');
+
+    assertThat(aSymbol.getId()).isNotEqualTo(bSymbol.getId()).isNotEqualTo(wide.getId());
+    assertThat(CharSymbol.getSymbol('\u2603').getId()).isEqualTo(wide.getId());
+  }
+
+  @Test
+  void getSymbol_FromManyThreads_ReturnsOneInstancePerCharacter() {
+    List<CharSymbol> symbols = IntStream.range(0, 20_000).parallel()
+        .mapToObj(i -> CharSymbol.getSymbol((char) (0x4E00 + i % 1000)))
+        .collect(Collectors.toList());
+
+    assertThat(symbols).allMatch(symbol -> symbol == CharSymbol.getSymbol(symbol.toString().charAt(0)));
+    assertThat(symbols.stream().map(CharSymbol::getId).distinct()).hasSize(1000);
+  }
+}
@@ -0,0 +1,60 @@
+package com.mistraltech.turingmachine.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ConfigurationTest {
+
+  private static final Symbol SYMBOL_BLANK = CharSymbol.BLANK;
+  private static final Symbol SYMBOL_0 = CharSymbol.getSymbol('0');
+  private static final Symbol SYMBOL_1 = CharSymbol.getSymbol('1');
+  private static final State STATE_0 = IntState.getState(0);
+  private static final State STATE_1 = IntState.getState(1);
+
+  @Test
+  void equals_WithSameContentOnDifferentTapes_ReturnsTrue() {
+    Tape tape = TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_0, SYMBOL_1))
+        .apply(SYMBOL_0, Move.LEFT)
+        .apply(SYMBOL_BLANK, Move.RIGHT);
+    Tape other = ArrayTape.create(SYMBOL_BLANK, List.of(SYMBOL_0, SYMBOL_1));
+
+    Configuration configuration = new Configuration(STATE_0, tape);
+
+    assertThat(configuration)
+        .isEqualTo(new Configuration(STATE_0, other))
+        .hasSameHashCodeAs(new Configuration(STATE_0, other));
+    assertThat(configuration.getHash()).isEqualTo(new Configuration(STATE_0, other).getHash());
+  }
+
+  @Test
+  void equals_WithDifferentState_ReturnsFalse() {
+    Tape tape = TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_0));
+
+    assertThat(new Configuration(STATE_0, tape)).isNotEqualTo(new Configuration(STATE_1, tape));
+  }
+
+  @Test
+  void equals_WithDifferentHeadPosition_ReturnsFalse() {
+    Tape tape = TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_0));
+
+    assertThat(new Configuration(STATE_0, tape))
+        .isNotEqualTo(new Configuration(STATE_0, tape.apply(SYMBOL_0, Move.RIGHT)));
+  }
+
+  @Test
+  void equals_WithDifferentContent_ReturnsFalse() {
+    assertThat(new Configuration(STATE_0, TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_0, SYMBOL_1))))
+        .isNotEqualTo(new Configuration(STATE_0, TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_1, SYMBOL_0))));
+  }
+
+  @Test
+  void equals_WithLongTapes_ComparesWithoutRecursion() {
+    List<Symbol> symbols = Collections.nCopies(200_000, SYMBOL_1);
+
+    assertThat(new Configuration(STATE_0, TapeImpl.create(SYMBOL_BLANK, symbols)))
+        .isEqualTo(new Configuration(STATE_0, TapeImpl.create(SYMBOL_BLANK, symbols)));
+  }
+}
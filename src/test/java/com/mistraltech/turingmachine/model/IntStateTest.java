@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 @SuppressWarnings("ConstantConditions")
@@ -94,4 +96,24 @@ class IntStateTest {
 
     assertThat(intStates).containsExactly(IntState.getState(0));
   }
-}
\ No newline at end of file
+
+  @Test
+  void getId_WithDifferentStates_ReturnsDistinctStableIds() {
+    IntState large = IntState.getState(1_000_000);
+
+    assertThat(intState1.getId()).isNotEqualTo(intState2.getId()).isNotEqualTo(large.getId());
+    assertThat(IntState.getState(1_000_000).getId()).isEqualTo(large.getId());
+    assertThat(IntState.getState(-1).getId()).isNotNegative();
+  }
+
+  @Test
+  void getState_FromManyThreads_ReturnsOneInstancePerValue() {
+    List<IntState> states = IntStream.range(0, 20_000).parallel()
+        .mapToObj(i -> IntState.getState(5_000_000 + i % 2000))
+        .collect(Collectors.toList());
+
+    assertThat(states.stream().filter(state -> state.getValue() == 5_000_000)).allMatch(state ->
+        state == IntState.getState(5_000_000));
+    assertThat(states.stream().map(IntState::getId).distinct()).hasSize(2000);
+  }
+}
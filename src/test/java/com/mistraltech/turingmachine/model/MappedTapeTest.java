@@ -0,0 +1,115 @@
+package com.mistraltech.turingmachine.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MappedTapeTest {
+
+  private static final Symbol SYMBOL_BLANK = CharSymbol.BLANK;
+  private static final Symbol SYMBOL_0 = CharSymbol.getSymbol('0');
+  private static final Symbol SYMBOL_1 = CharSymbol.getSymbol('1');
+  private static final Symbol SYMBOL_2 = CharSymbol.getSymbol('2');
+
+  @Test
+  void create_WithInput_PlacesBytesFromPositionOne() {
+    MappedTape tape = MappedTape.create(CharSymbol.BLANK, bytes("01"));
+
+    assertThat(tape.getString(0, 4)).isEqualTo(List.of(SYMBOL_BLANK, SYMBOL_0, SYMBOL_1, SYMBOL_BLANK));
+    assertThat(tape.getCurrentSymbol()).isEqualTo(SYMBOL_0);
+    assertThat(tape.getHeadPosition()).isEqualTo(1);
+    assertThat(tape.getLeftBound()).isEqualTo(1);
+    assertThat(tape.getRightBound()).isEqualTo(3);
+  }
+
+  @Test
+  void create_WithNullBlankSymbol_ThrowsException() {
+    assertThatThrownBy(() -> MappedTape.create(null, bytes("01")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("blankSymbol cannot be null");
+  }
+
+  @Test
+  void create_WithEmptyInput_CreatesEmptyTape() {
+    MappedTape tape = MappedTape.create(CharSymbol.BLANK, bytes(""));
+
+    assertThat(tape.getCurrentSymbol()).isEqualTo(SYMBOL_BLANK);
+    assertThat(tape.getOutputString()).isEmpty();
+  }
+
+  @Test
+  void apply_WithNewSymbol_UpdatesTapeInPlaceWithoutChangingInput() {
+    ByteBuffer input = bytes("000");
+    MappedTape tape = MappedTape.create(CharSymbol.BLANK, input);
+
+    MappedTape updatedTape = tape.apply(SYMBOL_1, Move.RIGHT);
+
+    assertThat(updatedTape).isSameAs(tape);
+    assertThat(tape.getString(1, 4)).isEqualTo(List.of(SYMBOL_1, SYMBOL_0, SYMBOL_0));
+    assertThat(input.get(0)).isEqualTo((byte) '0');
+  }
+
+  @Test
+  void apply_AcrossPages_KeepsUnwrittenInputCells() {
+    MappedTape tape = MappedTape.create(CharSymbol.BLANK, bytes(String.join("", Collections.nCopies(10_000, "0"))));
+
+    for (int i = 0; i < 5000; i++) {
+      tape.apply(SYMBOL_0, Move.RIGHT);
+    }
+    tape.apply(SYMBOL_1, Move.NONE);
+
+    assertThat(tape.getString(5000, 5003)).isEqualTo(List.of(SYMBOL_0, SYMBOL_1, SYMBOL_0));
+    assertThat(tape.getString(9999, 10_002)).isEqualTo(List.of(SYMBOL_0, SYMBOL_0, SYMBOL_BLANK));
+    assertThat(tape.getOutputString()).hasSize(10_000);
+  }
+
+  @Test
+  void apply_MovingLeftAndRightOfInput_ExtendsBounds() {
+    MappedTape tape = MappedTape.create(CharSymbol.BLANK, bytes("0"));
+
+    tape.apply(SYMBOL_0, Move.LEFT).apply(SYMBOL_BLANK, Move.LEFT).apply(SYMBOL_2, Move.NONE);
+    assertThat(tape.getLeftBound()).isEqualTo(-1);
+
+    for (int i = 0; i < 5; i++) {
+      tape.apply(SYMBOL_2, Move.RIGHT);
+    }
+    tape.apply(SYMBOL_1, Move.NONE);
+
+    assertThat(tape.getRightBound()).isEqualTo(5);
+    assertThat(tape.getString(-1, 5)).isEqualTo(List.of(SYMBOL_2, SYMBOL_2, SYMBOL_2, SYMBOL_2, SYMBOL_2, SYMBOL_1));
+  }
+
+  @Test
+  void getOutputString_WithBlankInInput_StopsAtBlank() {
+    MappedTape tape = MappedTape.create(CharSymbol.BLANK, bytes("01^1"));
+
+    assertThat(tape.getOutputString()).isEqualTo(List.of(SYMBOL_0, SYMBOL_1));
+  }
+
+  @Test
+  void toString_WithInput_ShowsBoundedContent() {
+    MappedTape tape = MappedTape.create(CharSymbol.BLANK, bytes("012"));
+
+    assertThat(tape.toString()).isEqualTo("Tape [012]");
+  }
+
+  private static ByteBuffer bytes(String text) {
+    return ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  void getContentHash_AfterWrites_MatchesTapeWithSameContent() {
+    MappedTape tape = MappedTape.create(SYMBOL_BLANK, ByteBuffer.wrap("01".getBytes(StandardCharsets.ISO_8859_1)));
+    long initialHash = tape.getContentHash();
+    tape.apply(SYMBOL_2, Move.RIGHT);
+
+    assertThat(initialHash).isEqualTo(TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_0, SYMBOL_1)).getContentHash());
+    assertThat(tape.getContentHash())
+        .isEqualTo(TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_2, SYMBOL_1)).getContentHash());
+  }
+}
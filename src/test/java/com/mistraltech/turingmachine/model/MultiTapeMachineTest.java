@@ -0,0 +1,59 @@
+package com.mistraltech.turingmachine.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MultiTapeMachineTest {
+
+  private static final IntState STATE_1 = IntState.getState(1);
+  private static final IntState STATE_2 = IntState.getState(2);
+  private static final CharSymbol SYMBOL_BLANK = CharSymbol.BLANK;
+  private static final CharSymbol SYMBOL_0 = CharSymbol.getSymbol('0');
+  private static final CharSymbol SYMBOL_1 = CharSymbol.getSymbol('1');
+
+  private final Set<State> states = Set.of(STATE_1, STATE_2);
+  private final Set<CharSymbol> symbols = Set.of(SYMBOL_BLANK, SYMBOL_0, SYMBOL_1);
+  private final MultiTapeAction action = new MultiTapeAction(STATE_1, List.of(SYMBOL_0, SYMBOL_BLANK), STATE_2,
+      List.of(SYMBOL_1, SYMBOL_0), List.of(Move.RIGHT, Move.LEFT));
+
+  @Test
+  void constructor_WithMismatchedMoves_ThrowsException() {
+    assertThatThrownBy(() -> new MultiTapeAction(STATE_1, List.of(SYMBOL_0, SYMBOL_BLANK), STATE_2,
+        List.of(SYMBOL_1, SYMBOL_0), List.of(Move.RIGHT)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("moves must have one per tape");
+  }
+
+  @Test
+  void constructor_WithActionForDifferentTapeCount_ThrowsException() {
+    assertThatThrownBy(() -> new MultiTapeMachine(3, states, Set.of(STATE_2), STATE_1, symbols, SYMBOL_BLANK,
+        List.of(action)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("action " + action + " must have 3 tapes");
+  }
+
+  @Test
+  void constructor_WithConflictingActions_ThrowsException() {
+    MultiTapeAction conflicting = new MultiTapeAction(STATE_1, List.of(SYMBOL_0, SYMBOL_BLANK), STATE_1,
+        List.of(SYMBOL_1, SYMBOL_0), List.of(Move.RIGHT, Move.LEFT));
+
+    assertThatThrownBy(() -> new MultiTapeMachine(2, states, Set.of(STATE_2), STATE_1, symbols, SYMBOL_BLANK,
+        List.of(action, conflicting)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("state and symbol combination must be unique - multiple actions with state '1' and symbols [0, ^]");
+  }
+
+  @Test
+  void findAction_WithDefinedSymbols_ReturnsAction() {
+    MultiTapeMachine machine = new MultiTapeMachine(2, states, Set.of(STATE_2), STATE_1, symbols, SYMBOL_BLANK,
+        List.of(action));
+
+    assertThat(machine.findAction(STATE_1, List.of(SYMBOL_0, SYMBOL_BLANK))).contains(action);
+    assertThat(machine.findAction(STATE_1, List.of(SYMBOL_1, SYMBOL_BLANK))).isEmpty();
+    assertThat(machine.findAction(STATE_2, List.of(SYMBOL_0, SYMBOL_BLANK))).isEmpty();
+  }
+}
@@ -0,0 +1,69 @@
+package com.mistraltech.turingmachine.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class NondeterministicProgramTest {
+
+  private final static IntStateCharSymbolActionFactory ACTION_FACTORY = new IntStateCharSymbolActionFactory();
+  private final static Action ACTION_1 = ACTION_FACTORY.createAction(1, '0', 2, '1', 'R');
+  private final static Action ACTION_1A = ACTION_FACTORY.createAction(1, '0', 3, '0', 'L');
+  private final static Action ACTION_2 = ACTION_FACTORY.createAction(2, '1', 1, '0', 'L');
+
+  @Test
+  @SuppressWarnings("ConstantConditions")
+  void construct_WithNullActions_ThrowsException() {
+    assertThatThrownBy(() -> new NondeterministicProgram(null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("actions must not be null");
+  }
+
+  @Test
+  void applyAll_WithSeveralActions_ReturnsAllInOrder() {
+    NondeterministicProgram program = new NondeterministicProgram(Set.of(ACTION_1A, ACTION_1, ACTION_2));
+
+    assertThat(program.applyAll(IntState.getState(1), CharSymbol.getSymbol('0'))).containsExactly(ACTION_1, ACTION_1A);
+    assertThat(program.applyAll(IntState.getState(2), CharSymbol.getSymbol('1'))).containsExactly(ACTION_2);
+  }
+
+  @Test
+  void applyAll_WithUnknownStateOrSymbol_ReturnsEmpty() {
+    NondeterministicProgram program = new NondeterministicProgram(Set.of(ACTION_1, ACTION_2));
+
+    assertThat(program.applyAll(IntState.getState(9), CharSymbol.getSymbol('0'))).isEmpty();
+    assertThat(program.applyAll(IntState.getState(1), CharSymbol.getSymbol('x'))).isEmpty();
+  }
+
+  @Test
+  void apply_WithSingleAction_ReturnsAction() {
+    NondeterministicProgram program = new NondeterministicProgram(Set.of(ACTION_1, ACTION_1A, ACTION_2));
+
+    assertThat(program.apply(IntState.getState(2), CharSymbol.getSymbol('1'))).contains(ACTION_2);
+  }
+
+  @Test
+  void apply_WithSeveralActions_ThrowsException() {
+    NondeterministicProgram program = new NondeterministicProgram(Set.of(ACTION_1, ACTION_1A));
+
+    assertThatThrownBy(() -> program.apply(IntState.getState(1), CharSymbol.getSymbol('0')))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Program is nondeterministic for state '1' and symbol '0'");
+  }
+
+  @Test
+  void isNondeterministic_WithSharedStateAndSymbol_ReturnsTrue() {
+    assertThat(new NondeterministicProgram(Set.of(ACTION_1, ACTION_1A)).isNondeterministic()).isTrue();
+    assertThat(new NondeterministicProgram(Set.of(ACTION_1, ACTION_2)).isNondeterministic()).isFalse();
+  }
+
+  @Test
+  void equals_WithSameActions_ReturnsTrue() {
+    assertThat(new NondeterministicProgram(Set.of(ACTION_1, ACTION_1A)))
+        .isEqualTo(new NondeterministicProgram(Set.of(ACTION_1A, ACTION_1)))
+        .hasSameHashCodeAs(new NondeterministicProgram(Set.of(ACTION_1A, ACTION_1)));
+  }
+}
@@ -0,0 +1,162 @@
+package com.mistraltech.turingmachine.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RunLengthTapeTest {
+
+  private static final Symbol SYMBOL_BLANK = CharSymbol.BLANK;
+  private static final Symbol SYMBOL_0 = CharSymbol.getSymbol('0');
+  private static final Symbol SYMBOL_1 = CharSymbol.getSymbol('1');
+  private static final Symbol SYMBOL_2 = CharSymbol.getSymbol('2');
+  private static final Symbol SYMBOL_3 = CharSymbol.getSymbol('3');
+  private static final Symbol SYMBOL_4 = CharSymbol.getSymbol('4');
+
+  @Test
+  void create_WithGivenBlankSymbol_CreatesEmptyTape() {
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK);
+
+    assertThat(tape.getString(-1, 2)).isEqualTo(List.of(SYMBOL_BLANK, SYMBOL_BLANK, SYMBOL_BLANK));
+    assertThat(tape.getHeadPosition()).isEqualTo(1);
+    assertThat(tape.getRunCount()).isZero();
+  }
+
+  @Test
+  void create_WithRepeatedSymbols_StoresThemAsRuns() {
+    List<Symbol> symbols = List.of(SYMBOL_1, SYMBOL_1, SYMBOL_1, SYMBOL_0, SYMBOL_0, SYMBOL_1);
+
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK, symbols);
+
+    assertThat(tape.getRunCount()).isEqualTo(3);
+    assertThat(tape.getOutputString()).isEqualTo(symbols);
+  }
+
+  @Test
+  void getString_WithPopulatedLeftAndRightStrings_ReturnsString() {
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK);
+
+    tape.apply(SYMBOL_0, Move.RIGHT)
+        .apply(SYMBOL_0, Move.RIGHT)
+        .apply(SYMBOL_0, Move.LEFT)
+        .apply(SYMBOL_1, Move.LEFT)
+        .apply(SYMBOL_2, Move.LEFT)
+        .apply(SYMBOL_3, Move.LEFT)
+        .apply(SYMBOL_4, Move.NONE);
+
+    List<Symbol> string = tape.getString(-2, 5);
+
+    assertThat(string).isEqualTo(List.of(SYMBOL_BLANK, SYMBOL_4, SYMBOL_3, SYMBOL_2, SYMBOL_1, SYMBOL_0, SYMBOL_BLANK));
+  }
+
+  @Test
+  void getString_WithFromGreaterThanTo_ThrowsException() {
+    RunLengthTape tape = RunLengthTape.create(SYMBOL_BLANK);
+
+    assertThatThrownBy(() -> tape.getString(4, 3))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("to cannot be less than from");
+  }
+
+  @Test
+  void getOutputString_WithOutputToRightOfHead_ReturnsOnlySymbolsFromPositionOne() {
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK);
+
+    tape.apply(SYMBOL_0, Move.RIGHT)
+        .apply(SYMBOL_0, Move.RIGHT)
+        .apply(SYMBOL_BLANK, Move.LEFT)
+        .apply(SYMBOL_1, Move.LEFT)
+        .apply(SYMBOL_2, Move.LEFT)
+        .apply(SYMBOL_3, Move.LEFT)
+        .apply(SYMBOL_4, Move.LEFT);
+
+    assertThat(tape.getOutputString()).isEqualTo(List.of(SYMBOL_2, SYMBOL_1));
+  }
+
+  @Test
+  void sweep_OverRunToTheRight_RewritesRunAndStopsOnNextSymbol() {
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK, List.of(SYMBOL_1, SYMBOL_1, SYMBOL_1, SYMBOL_0));
+
+    long cells = tape.sweep(SYMBOL_2, Move.RIGHT, Long.MAX_VALUE);
+
+    assertThat(cells).isEqualTo(3);
+    assertThat(tape.getHeadPosition()).isEqualTo(4);
+    assertThat(tape.getCurrentSymbol()).isEqualTo(SYMBOL_0);
+    assertThat(tape.getOutputString()).isEqualTo(List.of(SYMBOL_2, SYMBOL_2, SYMBOL_2, SYMBOL_0));
+  }
+
+  @Test
+  void sweep_OverRunToTheLeft_RewritesRunAndStopsOnNextSymbol() {
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK, List.of(SYMBOL_0, SYMBOL_1, SYMBOL_1, SYMBOL_1));
+    tape.apply(SYMBOL_0, Move.RIGHT).apply(SYMBOL_1, Move.RIGHT).apply(SYMBOL_1, Move.RIGHT);
+
+    long cells = tape.sweep(SYMBOL_2, Move.LEFT, Long.MAX_VALUE);
+
+    assertThat(cells).isEqualTo(3);
+    assertThat(tape.getHeadPosition()).isEqualTo(1);
+    assertThat(tape.getCurrentSymbol()).isEqualTo(SYMBOL_0);
+    assertThat(tape.getOutputString()).isEqualTo(List.of(SYMBOL_0, SYMBOL_2, SYMBOL_2, SYMBOL_2));
+  }
+
+  @Test
+  void sweep_WithCellLimit_RewritesOnlyThatManyCells() {
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK, Collections.nCopies(10, SYMBOL_1));
+
+    long cells = tape.sweep(SYMBOL_0, Move.RIGHT, 4);
+
+    assertThat(cells).isEqualTo(4);
+    assertThat(tape.getHeadPosition()).isEqualTo(5);
+    assertThat(tape.getString(1, 7)).isEqualTo(List.of(SYMBOL_0, SYMBOL_0, SYMBOL_0, SYMBOL_0, SYMBOL_1, SYMBOL_1));
+  }
+
+  @Test
+  void sweep_OverBlanksBeyondEndOfTape_IsBoundedByCellLimit() {
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK);
+
+    long cells = tape.sweep(SYMBOL_1, Move.RIGHT, 1_000_000);
+
+    assertThat(cells).isEqualTo(1_000_000);
+    assertThat(tape.getRunCount()).isEqualTo(1);
+    assertThat(tape.getOutputString()).hasSize(1_000_000);
+  }
+
+  @Test
+  void sweep_WithNoMove_ThrowsException() {
+    RunLengthTape tape = RunLengthTape.create(CharSymbol.BLANK);
+
+    assertThatThrownBy(() -> tape.sweep(SYMBOL_1, Move.NONE, 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("move must be LEFT or RIGHT");
+  }
+
+  @Test
+  void copyOf_WithTapeImpl_CopiesContentAndHeadPosition() {
+    TapeImpl source = TapeImpl.create(CharSymbol.BLANK, List.of(SYMBOL_0, SYMBOL_1))
+        .apply(SYMBOL_2, Move.LEFT)
+        .apply(SYMBOL_3, Move.LEFT);
+
+    RunLengthTape copy = RunLengthTape.copyOf(CharSymbol.BLANK, source);
+
+    assertThat(copy.getHeadPosition()).isEqualTo(source.getHeadPosition());
+    assertThat(copy.getString(-3, 4)).isEqualTo(source.getString(-3, 4));
+    assertThat(copy.getOutputString()).isEqualTo(source.getOutputString());
+  }
+
+  @Test
+  void getContentHash_AfterWritesAndSweeps_MatchesTapeWithSameContent() {
+    RunLengthTape tape = RunLengthTape.create(SYMBOL_BLANK, List.of(SYMBOL_0, SYMBOL_0, SYMBOL_0, SYMBOL_1));
+    long initialHash = tape.getContentHash();
+    tape.apply(SYMBOL_2, Move.NONE);
+    tape.apply(SYMBOL_0, Move.NONE);
+
+    assertThat(tape.getContentHash()).isEqualTo(initialHash);
+
+    tape.sweep(SYMBOL_3, Move.RIGHT, 10);
+
+    assertThat(tape.getContentHash()).isEqualTo(
+        TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_3, SYMBOL_3, SYMBOL_3, SYMBOL_1)).getContentHash());
+  }
+}
@@ -235,4 +235,51 @@ class TapeImplTest {
 
     assertThat(output).isEqualTo(expectedList);
   }
-}
\ No newline at end of file
+
+  @Test
+  void getHeadPosition_WithNewTape_ReturnsOne() {
+    Tape tape = TapeImpl.create(CharSymbol.BLANK);
+
+    assertThat(tape.getHeadPosition()).isEqualTo(1);
+  }
+
+  @Test
+  void getBounds_WithTapeVisitedBothSidesOfOrigin_CoverAllWrittenCells() {
+    TapeImpl tape = TapeImpl.create(CharSymbol.BLANK, List.of(SYMBOL_0, SYMBOL_1))
+        .apply(SYMBOL_2, Move.LEFT)
+        .apply(SYMBOL_3, Move.LEFT);
+
+    assertThat(tape.getHeadPosition()).isEqualTo(-1);
+    assertThat(tape.getLeftBound()).isLessThanOrEqualTo(0);
+    assertThat(tape.getRightBound()).isGreaterThanOrEqualTo(3);
+    assertThat(tape.getString(tape.getLeftBound(), tape.getRightBound())).containsSubsequence(SYMBOL_3, SYMBOL_2, SYMBOL_1);
+  }
+
+  @Test
+  void getOutputString_WithHeadFarRightOfStart_ReturnsWholeOutput() {
+    TapeImpl tape = TapeImpl.create(CharSymbol.BLANK);
+    for (int i = 0; i < 200_000; i++) {
+      tape = tape.apply(SYMBOL_1, Move.RIGHT);
+    }
+
+    List<Symbol> outputString = tape.getOutputString();
+
+    assertThat(outputString).hasSize(200_000).containsOnly(SYMBOL_1);
+  }
+
+  @Test
+  void getContentHash_AfterWritesAndMoves_MatchesTapeWithSameContent() {
+    TapeImpl tape = TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_0, SYMBOL_1))
+        .apply(SYMBOL_1, Move.LEFT)
+        .apply(SYMBOL_BLANK, Move.RIGHT);
+
+    assertThat(tape.getContentHash())
+        .isEqualTo(TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_1, SYMBOL_1)).getContentHash())
+        .isNotEqualTo(TapeImpl.create(SYMBOL_BLANK, List.of(SYMBOL_1, SYMBOL_0)).getContentHash());
+  }
+
+  @Test
+  void getContentHash_WithBlankTape_ReturnsZero() {
+    assertThat(TapeImpl.create(SYMBOL_BLANK).apply(SYMBOL_BLANK, Move.LEFT).getContentHash()).isZero();
+  }
+}
@@ -0,0 +1,139 @@
+package com.mistraltech.turingmachine.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mistraltech.turingmachine.model.builder.ProgramBuilder;
+import com.mistraltech.turingmachine.model.builder.TuringMachineBuilder;
+import com.mistraltech.turingmachine.model.factory.IntStateCharSymbolActionFactory;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class TransitionTableTest {
+
+  private static final IntStateCharSymbolActionFactory ACTION_FACTORY = new IntStateCharSymbolActionFactory();
+  private static final IntState STATE_0 = IntState.getState(0);
+  private static final IntState STATE_1 = IntState.getState(1);
+  private static final IntState STATE_2 = IntState.getState(2);
+  private static final CharSymbol SYMBOL_0 = CharSymbol.getSymbol('0');
+  private static final CharSymbol SYMBOL_1 = CharSymbol.getSymbol('1');
+  private static final Action ACTION_1 = ACTION_FACTORY.createAction(0, '0', 1, '1', 'R');
+  private static final Action ACTION_2 = ACTION_FACTORY.createAction(1, '^', 2, '1', 'L');
+
+  @Test
+  void compile_WithNullMachine_ThrowsException() {
+    assertThatThrownBy(() -> TransitionTable.compile(null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("turingMachine cannot be null");
+  }
+
+  @Test
+  void compile_WithMachine_PlacesBlankSymbolAtIndexZero() {
+    TransitionTable table = TransitionTable.compile(machine(Set.of(STATE_0, STATE_1, STATE_2)));
+
+    assertThat(table.getSymbol(0)).isEqualTo(CharSymbol.BLANK);
+    assertThat(table.indexOf(CharSymbol.BLANK)).isZero();
+  }
+
+  @Test
+  void compile_WithMachine_StoresActionsInSlots() {
+    TransitionTable table = TransitionTable.compile(machine(Set.of(STATE_0, STATE_1, STATE_2)));
+
+    int slot1 = table.slot(table.indexOf(STATE_0), table.indexOf(SYMBOL_0));
+    int slot2 = table.slot(table.indexOf(STATE_1), table.indexOf(CharSymbol.BLANK));
+
+    assertThat(table.getAction(slot1)).contains(ACTION_1);
+    assertThat(table.getAction(slot2)).contains(ACTION_2);
+    assertThat(table.getNextStates()[slot1]).isEqualTo(table.indexOf(STATE_1));
+    assertThat(table.getNewSymbols()[slot1]).isEqualTo((byte) table.indexOf(SYMBOL_1));
+    assertThat(table.getMoves()[slot1]).isEqualTo((byte) 1);
+    assertThat(table.getMoves()[slot2]).isEqualTo((byte) -1);
+  }
+
+  @Test
+  void compile_WithMissingAction_MarksSlotUndefined() {
+    TransitionTable table = TransitionTable.compile(machine(Set.of(STATE_0, STATE_1, STATE_2)));
+
+    int slot = table.slot(table.indexOf(STATE_0), table.indexOf(CharSymbol.BLANK));
+
+    assertThat(table.getNextStates()[slot]).isEqualTo(TransitionTable.UNDEFINED);
+    assertThat(table.getAction(slot)).isEmpty();
+  }
+
+  @Test
+  void compile_WithFinalState_MarksEverySlotOfStateFinal() {
+    TransitionTable table = TransitionTable.compile(machine(Set.of(STATE_0, STATE_1, STATE_2)));
+
+    int state = table.indexOf(STATE_2);
+
+    assertThat(table.isFinalState(state)).isTrue();
+    for (int symbol = 0; symbol < table.getSymbolCount(); symbol++) {
+      assertThat(table.getNextStates()[table.slot(state, symbol)]).isEqualTo(TransitionTable.FINAL);
+    }
+  }
+
+  @Test
+  void compile_WithStatesAndSymbolsOnlyReachableThroughProgram_AddsThemToTable() {
+    TransitionTable table = TransitionTable.compile(machine(Set.of(STATE_0)));
+
+    assertThat(table.getStateCount()).isEqualTo(3);
+    assertThat(table.indexOf(SYMBOL_1)).isNotEqualTo(TransitionTable.UNDEFINED);
+    assertThat(table.getAction(table.slot(table.indexOf(STATE_1), 0))).contains(ACTION_2);
+  }
+
+  @Test
+  void indexOf_WithUnknownSymbol_ReturnsUndefined() {
+    TransitionTable table = TransitionTable.compile(machine(Set.of(STATE_0, STATE_1, STATE_2)));
+
+    assertThat(table.indexOf(CharSymbol.getSymbol('z'))).isEqualTo(TransitionTable.UNDEFINED);
+  }
+
+  @Test
+  void indexOf_WithStatesInternedLongAfterOthers_FindsEachState() {
+    for (int value = 2_000_000; value < 2_005_000; value++) {
+      IntState.getState(value);
+    }
+    IntState late = IntState.getState(2_005_000);
+    TransitionTable table = TransitionTable.of(List.of(STATE_0, late), List.of(CharSymbol.BLANK, SYMBOL_1), 0,
+        new boolean[] {false, true}, new int[] {1, TransitionTable.UNDEFINED, 0, 0}, new byte[] {1, 0, 0, 0},
+        new byte[] {1, 0, 0, 0});
+
+    assertThat(table.indexOf(STATE_0)).isZero();
+    assertThat(table.indexOf(late)).isEqualTo(1);
+    assertThat(table.indexOf(STATE_1)).isEqualTo(TransitionTable.UNDEFINED);
+    assertThat(table.indexOf(IntState.getState(2_004_999))).isEqualTo(TransitionTable.UNDEFINED);
+  }
+
+  @Test
+  void of_WithArrays_HoldsActions() {
+    TransitionTable table = TransitionTable.of(List.of(STATE_0, STATE_1), List.of(CharSymbol.BLANK, SYMBOL_1), 0,
+        new boolean[] {false, true}, new int[] {1, TransitionTable.UNDEFINED, 0, 0}, new byte[] {1, 0, 0, 0},
+        new byte[] {1, 0, 0, 0});
+
+    assertThat(table.getAction(0)).contains(ACTION_FACTORY.createAction(0, '^', 1, '1', 'R'));
+    assertThat(table.getAction(1)).isEmpty();
+    assertThat(table.getNextStates()).containsExactly(1, TransitionTable.UNDEFINED, TransitionTable.FINAL,
+        TransitionTable.FINAL);
+  }
+
+  @Test
+  void of_WithNextStateOutOfRange_ThrowsException() {
+    assertThatThrownBy(() -> TransitionTable.of(List.of(STATE_0), List.of(CharSymbol.BLANK), 0, new boolean[1],
+        new int[] {1}, new byte[1], new byte[1]))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Slot 0 has an invalid next state");
+  }
+
+  private TuringMachine machine(Set<State> states) {
+    return TuringMachineBuilder.aTuringMachine()
+        .withStates(states)
+        .withFinalStates(states.contains(STATE_2) ? Set.of(STATE_2) : Set.of())
+        .withInitialState(STATE_0)
+        .withSymbols(Set.of(CharSymbol.BLANK, SYMBOL_0))
+        .withBlankSymbol(CharSymbol.BLANK)
+        .withInputSymbols(Set.of(SYMBOL_0))
+        .withProgram(ProgramBuilder.aProgram().withActions(ACTION_1, ACTION_2).build())
+        .build();
+  }
+}
@@ -6,6 +6,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 @SuppressWarnings({"ConstantConditions", "ResultOfMethodCallIgnored"})
@@ -373,4 +375,53 @@ class PersistentStackImplTest {
 
     assertThat(result).isEqualTo(expected);
   }
-}
\ No newline at end of file
+
+  @Test
+  void truncate_WithLongStack_ReturnsFirstElementsInOrder() {
+    PersistentStackImpl<Integer> stack = PersistentStackImpl.from(
+        IntStream.range(0, 500_000).boxed().collect(Collectors.toList()));
+
+    PersistentStackImpl<Integer> result = stack.truncate(400_000);
+
+    assertThat(result.size()).isEqualTo(400_000);
+    assertThat(result.read()).isEqualTo(0);
+    assertThat(result.pop(399_999).read()).isEqualTo(399_999);
+  }
+
+  @Test
+  void truncate_BeyondSize_ThrowsException() {
+    assertThatThrownBy(() -> PersistentStackImpl.singleton(1).truncate(2))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Attempt to read from empty stack");
+  }
+
+  @Test
+  void pad_WithLongStack_AddsElementsBelowExisting() {
+    PersistentStackImpl<Integer> stack = PersistentStackImpl.from(
+        IntStream.range(0, 500_000).boxed().collect(Collectors.toList()));
+
+    PersistentStackImpl<Integer> result = stack.pad(-1, 500_002);
+
+    assertThat(result.size()).isEqualTo(500_002);
+    assertThat(result.read()).isEqualTo(0);
+    assertThat(result.pop(499_999).read()).isEqualTo(499_999);
+    assertThat(result.pop(500_000).read()).isEqualTo(-1);
+  }
+
+  @Test
+  void hashCode_WithStack_CombinesElementsFromTop() {
+    PersistentStackImpl<Integer> stack = PersistentStackImpl.<Integer>empty().push(2).push(1);
+
+    assertThat(stack.hashCode()).isEqualTo(31 * 1 + 31 * 2);
+    assertThat(stack.hashCode()).isEqualTo(PersistentStackImpl.from(List.of(1, 2)).hashCode());
+  }
+
+  @Test
+  void equals_WithLongStacks_ComparesWithoutRecursion() {
+    List<Integer> elements = IntStream.range(0, 500_000).boxed().collect(Collectors.toList());
+    PersistentStackImpl<Integer> stack = PersistentStackImpl.from(elements);
+
+    assertThat(stack).isEqualTo(PersistentStackImpl.from(elements)).hasSameHashCodeAs(PersistentStackImpl.from(elements));
+    assertThat(stack).isNotEqualTo(PersistentStackImpl.from(elements).pop().push(-1));
+  }
+}